@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser2;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.boot.dash.model.actuator.Boot2RequestMappingsParser;
+import org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMapping;
+
+/**
+ * Benchmarks of the parsers of the Spring Boot 2 'beans' and 'mappings' actuator endpoint responses. Types are not
+ * looked up, the parsers get no type lookup just like when the application's project isn't known.
+ * @since 3.9.13
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActuatorJsonBenchmark {
+
+	@Param({ "SMALL", "MEDIUM", "LARGE", "HUGE" })
+	public FixtureSize size;
+
+	private String beansJson;
+
+	private String mappingsJson;
+
+	@Setup
+	public void setup() {
+		beansJson = Fixtures.liveBeansJson(size);
+		mappingsJson = Fixtures.requestMappingsJson(size);
+	}
+
+	@Benchmark
+	public LiveBeansModel parseLiveBeans() throws Exception {
+		return new LiveBeansJsonParser2(null, beansJson).parse();
+	}
+
+	@Benchmark
+	public List<RequestMapping> parseRequestMappings() throws Exception {
+		return new Boot2RequestMappingsParser().parse(new JSONObject(mappingsJson), null);
+	}
+
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+/**
+ * Sizes of the synthetic fixtures the benchmarks run against. Each size is roughly an order of magnitude larger than
+ * the previous one; what a single 'element' is depends on the fixture (a class, a property, a bean, ...).
+ * @since 3.9.13
+ */
+public enum FixtureSize {
+
+	SMALL(10),
+	MEDIUM(100),
+	LARGE(1000),
+	HUGE(10000);
+
+	private final int elements;
+
+	private FixtureSize(int elements) {
+		this.elements = elements;
+	}
+
+	public int getElements() {
+		return elements;
+	}
+
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Generators for the synthetic fixtures of the benchmarks. All generators are deterministic, so results of different
+ * runs are comparable.
+ * @since 3.9.13
+ */
+public final class Fixtures {
+
+	public static final String PACKAGE = "org/example/fixture/";
+
+	/** Number of classes in each chain of subclasses */
+	public static final int HIERARCHY_DEPTH = 10;
+
+	private static final String[] WORDS = { "server", "port", "datasource", "url", "username", "password",
+			"jpa", "hibernate", "ddl-auto", "logging", "level", "cache", "type", "security", "user", "name",
+			"management", "endpoints", "web", "exposure", "include", "mvc", "view", "prefix", "suffix" };
+
+	private Fixtures() {
+	}
+
+	public static String className(int i) {
+		return PACKAGE + "Type" + i;
+	}
+
+	public static String interfaceName(int i) {
+		return PACKAGE + "Contract" + i;
+	}
+
+	public static int interfaceCount(FixtureSize size) {
+		return Math.max(4, size.getElements() / 10);
+	}
+
+	/**
+	 * Class files of a type hierarchy, keyed by class file name. Classes form chains of {@link #HIERARCHY_DEPTH}
+	 * subclasses, every class implements one interface and interfaces form chains of four.
+	 */
+	public static Map<String, byte[]> classFiles(FixtureSize size) {
+		Map<String, byte[]> classFiles = new LinkedHashMap<>();
+		int interfaces = interfaceCount(size);
+		for (int i = 0; i < interfaces; i++) {
+			String[] superInterfaces = i % 4 == 0 ? null : new String[] { interfaceName(i - 1) };
+			classFiles.put(interfaceName(i) + ".class", classFile(
+					Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT,
+					interfaceName(i), "java/lang/Object", superInterfaces));
+		}
+		for (int i = 0; i < size.getElements(); i++) {
+			String superclass = i % HIERARCHY_DEPTH == 0 ? "java/lang/Object" : className(i - 1);
+			classFiles.put(className(i) + ".class", classFile(
+					Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER | Opcodes.ACC_ABSTRACT,
+					className(i), superclass, new String[] { interfaceName(i % interfaces) }));
+		}
+		return classFiles;
+	}
+
+	private static byte[] classFile(int access, String name, String superclass, String[] interfaces) {
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, access, name, null, superclass, interfaces);
+		writer.visitField(Opcodes.ACC_PRIVATE, "value", "Ljava/lang/String;", null, null).visitEnd();
+		writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "getValue", "()Ljava/lang/String;", null, null)
+				.visitEnd();
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Dotted property names like those found in Spring Boot configuration metadata.
+	 */
+	public static List<String> propertyNames(FixtureSize size) {
+		Random random = new Random(size.getElements());
+		List<String> names = new ArrayList<>(size.getElements());
+		for (int i = 0; i < size.getElements(); i++) {
+			StringBuilder name = new StringBuilder("spring");
+			int segments = 2 + random.nextInt(3);
+			for (int j = 0; j < segments; j++) {
+				name.append('.').append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			names.add(name.append(i).toString());
+		}
+		return names;
+	}
+
+	/**
+	 * A Spring Boot application.yml with nested maps, sequences and comments.
+	 */
+	public static String applicationYaml(FixtureSize size) {
+		StringBuilder yaml = new StringBuilder();
+		int groups = Math.max(1, size.getElements() / 10);
+		for (int i = 0; i < size.getElements(); i++) {
+			if (i % groups == 0) {
+				if (i > 0) {
+					yaml.append("---\n");
+				}
+				yaml.append("# profile ").append(i / groups).append('\n');
+				yaml.append("spring:\n  profiles: profile").append(i / groups).append('\n');
+			}
+			yaml.append(WORDS[i % WORDS.length]).append(i).append(":\n");
+			yaml.append("  ").append(WORDS[(i + 1) % WORDS.length]).append(": value").append(i).append('\n');
+			yaml.append("  ").append(WORDS[(i + 2) % WORDS.length]).append(":\n");
+			yaml.append("    enabled: true\n");
+			yaml.append("    timeout: ").append(i * 10).append(" # millis\n");
+			yaml.append("  items:\n");
+			yaml.append("  - first").append(i).append('\n');
+			yaml.append("  - name: second").append(i).append("\n    weight: ").append(i % 7).append('\n');
+		}
+		return yaml.toString();
+	}
+
+	/**
+	 * Response of the Spring Boot 2 'beans' actuator endpoint.
+	 */
+	public static String liveBeansJson(FixtureSize size) {
+		StringBuilder json = new StringBuilder("{\"contexts\":{\"application\":{\"beans\":{");
+		for (int i = 0; i < size.getElements(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("\"bean").append(i).append("\":{\"aliases\":[],\"scope\":\"singleton\",\"type\":\"")
+					.append(className(i).replace('/', '.')).append("\",\"resource\":\"class path resource [")
+					.append(className(i / 10)).append(".class]\",\"dependencies\":[");
+			for (int j = 1; j <= 3 && i - j >= 0; j++) {
+				if (j > 1) {
+					json.append(',');
+				}
+				json.append("\"bean").append(i - j).append('"');
+			}
+			json.append("]}");
+		}
+		return json.append("},\"parentId\":null}}}").toString();
+	}
+
+	/**
+	 * Response of the Spring Boot 2 'mappings' actuator endpoint.
+	 */
+	public static String requestMappingsJson(FixtureSize size) {
+		StringBuilder json = new StringBuilder(
+				"{\"contexts\":{\"application\":{\"mappings\":{\"dispatcherServlets\":{\"dispatcherServlet\":[");
+		for (int i = 0; i < size.getElements(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			String type = className(i / 10).replace('/', '.');
+			json.append("{\"handler\":\"public java.lang.String ").append(type).append(".handle").append(i)
+					.append("()\",\"predicate\":\"{GET /resource").append(i).append("}\",\"details\":{")
+					.append("\"handlerMethod\":{\"className\":\"").append(type).append("\",\"name\":\"handle")
+					.append(i).append("\",\"descriptor\":\"()Ljava/lang/String;\"},")
+					.append("\"requestMappingConditions\":{\"consumes\":[],\"headers\":[],\"methods\":[\"GET\"],")
+					.append("\"params\":[],\"patterns\":[\"/resource").append(i).append("\",\"/resource").append(i)
+					.append("/{id}\"],\"produces\":[]}}}");
+		}
+		json.append("]},\"servlets\":[{\"mappings\":[\"/\"],\"name\":\"dispatcherServlet\",")
+				.append("\"className\":\"org.springframework.web.servlet.DispatcherServlet\"}]}}}}");
+		return json.toString();
+	}
+
+	/**
+	 * A Spring beans XML configuration file.
+	 */
+	public static String beansXml(FixtureSize size) {
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+				.append("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n")
+				.append("\txmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+				.append("\txsi:schemaLocation=\"http://www.springframework.org/schema/beans ")
+				.append("http://www.springframework.org/schema/beans/spring-beans.xsd\">\n\n");
+		for (int i = 0; i < size.getElements(); i++) {
+			xml.append("\t<!-- bean ").append(i).append(" -->\n");
+			xml.append("\t<bean id=\"bean").append(i).append("\" class=\"").append(className(i).replace('/', '.'))
+					.append("\">\n");
+			xml.append("\t\t<property name=\"value\" value=\"value").append(i).append("\"/>\n");
+			if (i > 0) {
+				xml.append("\t\t<property name=\"delegate\" ref=\"bean").append(i - 1).append("\"/>\n");
+			}
+			xml.append("\t\t<property name=\"items\">\n\t\t\t<list>\n");
+			for (int j = 0; j < 3; j++) {
+				xml.append("\t\t\t\t<value>item").append(j).append("</value>\n");
+			}
+			xml.append("\t\t\t</list>\n\t\t</property>\n\t</bean>\n\n");
+		}
+		return xml.append("</beans>\n").toString();
+	}
+
+}
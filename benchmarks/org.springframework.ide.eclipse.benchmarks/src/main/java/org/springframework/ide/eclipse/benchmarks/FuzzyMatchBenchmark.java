@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap;
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap.Match;
+import org.springframework.ide.eclipse.editor.support.util.FuzzyMatcher;
+
+/**
+ * Benchmarks of the fuzzy matching behind content assist in the Spring Boot properties editors, against synthetic
+ * property names.
+ * @since 3.9.13
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyMatchBenchmark {
+
+	@Param({ "SMALL", "MEDIUM", "LARGE", "HUGE" })
+	public FixtureSize size;
+
+	/**
+	 * A pattern typed at the start of a completion, one that narrows down to a few properties and one that matches
+	 * nothing.
+	 */
+	@Param({ "s", "sdsurl", "xyz" })
+	public String pattern;
+
+	private List<String> propertyNames;
+
+	private FuzzyMap<String> index;
+
+	@Setup
+	public void setup() {
+		propertyNames = Fixtures.propertyNames(size);
+		index = new FuzzyMap<String>() {
+			@Override
+			protected String getKey(String entry) {
+				return entry;
+			}
+		};
+		for (String name : propertyNames) {
+			index.add(name);
+		}
+	}
+
+	@Benchmark
+	public List<Match<String>> find() {
+		return index.find(pattern);
+	}
+
+	@Benchmark
+	public void matchScore(Blackhole blackhole) {
+		for (String name : propertyNames) {
+			blackhole.consume(FuzzyMatcher.matchScore(pattern, name));
+		}
+	}
+
+}
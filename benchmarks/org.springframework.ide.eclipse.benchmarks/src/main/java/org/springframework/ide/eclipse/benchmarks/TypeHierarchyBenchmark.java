@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ide.eclipse.core.java.typehierarchy.BytecodeTypeHierarchyClassReader;
+import org.springframework.ide.eclipse.core.java.typehierarchy.ClasspathLookup;
+import org.springframework.ide.eclipse.core.java.typehierarchy.DirectTypeHierarchyElementCacheFactory;
+import org.springframework.ide.eclipse.core.java.typehierarchy.TypeHierarchyClassReader;
+import org.springframework.ide.eclipse.core.java.typehierarchy.TypeHierarchyClassReaderFactory;
+import org.springframework.ide.eclipse.core.java.typehierarchy.TypeHierarchyEngine;
+
+/**
+ * Benchmarks of {@link BytecodeTypeHierarchyClassReader} and {@link TypeHierarchyEngine} against a synthetic class
+ * hierarchy held in memory.
+ * <p>
+ * The 'warm' engine benchmarks keep the type hierarchy elements cached between queries, as during a build; the
+ * 'cold' ones clean up after every query, as the engine does when it is used outside of a build.
+ * @since 3.9.13
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeHierarchyBenchmark {
+
+	@Param({ "SMALL", "MEDIUM", "LARGE", "HUGE" })
+	public FixtureSize size;
+
+	private Map<String, byte[]> classFiles;
+
+	private IProject project;
+
+	private TypeHierarchyEngine warmEngine;
+
+	private TypeHierarchyEngine coldEngine;
+
+	private String leafClass;
+
+	private String chainRootClass;
+
+	private String leafInterface;
+
+	@Setup
+	public void setup() {
+		classFiles = Fixtures.classFiles(size);
+		project = createProject();
+
+		warmEngine = createEngine(false);
+		coldEngine = createEngine(true);
+
+		int leaf = size.getElements() - 1;
+		int chainRoot = leaf / Fixtures.HIERARCHY_DEPTH * Fixtures.HIERARCHY_DEPTH;
+		int chainRootInterface = chainRoot % Fixtures.interfaceCount(size);
+		leafClass = Fixtures.className(leaf).replace('/', '.');
+		chainRootClass = Fixtures.className(chainRoot).replace('/', '.');
+		leafInterface = Fixtures.interfaceName(chainRootInterface / 4 * 4).replace('/', '.');
+	}
+
+	@Benchmark
+	public void readTypeHierarchy(Blackhole blackhole) throws Exception {
+		BytecodeTypeHierarchyClassReader reader = new BytecodeTypeHierarchyClassReader(new InMemoryClasspathLookup());
+		for (byte[] classFile : classFiles.values()) {
+			blackhole.consume(reader.readTypeHierarchy(new ByteArrayInputStream(classFile)));
+		}
+	}
+
+	@Benchmark
+	public boolean doesExtendWarm() {
+		return warmEngine.doesExtend(leafClass, chainRootClass, project);
+	}
+
+	@Benchmark
+	public boolean doesImplementWarm() {
+		return warmEngine.doesImplement(leafClass, leafInterface, project);
+	}
+
+	@Benchmark
+	public boolean doesNotImplementWarm() {
+		return warmEngine.doesImplement(leafClass, "java.io.Serializable", project);
+	}
+
+	@Benchmark
+	public boolean doesExtendCold() {
+		return coldEngine.doesExtend(leafClass, chainRootClass, project);
+	}
+
+	@Benchmark
+	public boolean doesImplementCold() {
+		return coldEngine.doesImplement(leafClass, leafInterface, project);
+	}
+
+	private TypeHierarchyEngine createEngine(boolean autoCleanup) {
+		TypeHierarchyEngine engine = new TypeHierarchyEngine(autoCleanup);
+		engine.setTypeHierarchyElementCacheFactory(new DirectTypeHierarchyElementCacheFactory());
+		engine.setClassReaderFactory(new TypeHierarchyClassReaderFactory() {
+			public TypeHierarchyClassReader createClassReader(IProject project) {
+				return new BytecodeTypeHierarchyClassReader(new InMemoryClasspathLookup());
+			}
+		});
+		return engine;
+	}
+
+	/**
+	 * The engine only uses the project as a key of its caches, so a proxy without any behavior will do.
+	 */
+	private static IProject createProject() {
+		return (IProject) Proxy.newProxyInstance(IProject.class.getClassLoader(), new Class<?>[] { IProject.class },
+				new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						switch (method.getName()) {
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return "benchmark";
+						default:
+							throw new UnsupportedOperationException(method.getName());
+						}
+					}
+				});
+	}
+
+	private class InMemoryClasspathLookup implements ClasspathLookup {
+
+		public InputStream getStream(String fullyQualifiedClassFileName, String packageName, String className) {
+			byte[] classFile = classFiles.get(fullyQualifiedClassFileName);
+			return classFile != null ? new ByteArrayInputStream(classFile) : null;
+		}
+
+		public void close() {
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ide.eclipse.core.io.xml.LineNumberPreservingDOMParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/**
+ * Benchmarks of {@link LineNumberPreservingDOMParser} against synthetic Spring beans configuration files, both
+ * parsing and the line number lookups the beans model does for every element afterwards.
+ * <p>
+ * Validation is off, so no schema is fetched and the numbers are those of the parser alone.
+ * @since 3.9.13
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlParserBenchmark {
+
+	@Param({ "SMALL", "MEDIUM", "LARGE", "HUGE" })
+	public FixtureSize size;
+
+	/** Whether line numbers are kept by the document or in the parser's thread local map */
+	@Param({ "true", "false" })
+	public boolean compactLineNumbers;
+
+	private String xml;
+
+	private Document document;
+
+	@Setup
+	public void setup() throws Exception {
+		xml = Fixtures.beansXml(size);
+		document = parseDocument();
+	}
+
+	@Benchmark
+	public Document parse() throws Exception {
+		return parseDocument();
+	}
+
+	@Benchmark
+	public long lineNumbers() {
+		return sumLineNumbers(document.getDocumentElement());
+	}
+
+	private Document parseDocument() throws Exception {
+		LineNumberPreservingDOMParser parser = new LineNumberPreservingDOMParser(compactLineNumbers);
+		parser.setFeature("http://xml.org/sax/features/namespaces", true);
+		parser.setFeature("http://xml.org/sax/features/validation", false);
+		parser.parse(new InputSource(new StringReader(xml)));
+		return parser.getDocument();
+	}
+
+	private long sumLineNumbers(Element element) {
+		long sum = LineNumberPreservingDOMParser.getStartLineNumber(element)
+				+ LineNumberPreservingDOMParser.getEndLineNumber(element);
+		for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child instanceof Element) {
+				sum += sumLineNumbers((Element) child);
+			}
+		}
+		return sum;
+	}
+
+}
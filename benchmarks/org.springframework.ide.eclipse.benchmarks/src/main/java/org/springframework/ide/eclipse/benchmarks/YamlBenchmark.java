@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ide.eclipse.editor.support.yaml.YamlDocument;
+import org.springframework.ide.eclipse.editor.support.yaml.ast.YamlASTProvider;
+import org.springframework.ide.eclipse.editor.support.yaml.path.KeyAliases;
+import org.springframework.ide.eclipse.editor.support.yaml.structure.YamlStructureParser;
+import org.springframework.ide.eclipse.editor.support.yaml.structure.YamlStructureParser.SRootNode;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.Node;
+
+/**
+ * Benchmarks of the two ways the YAML editors look at a document: the line based {@link YamlStructureParser} and
+ * the SnakeYAML node graph that {@link YamlASTProvider} composes.
+ * @since 3.9.13
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlBenchmark {
+
+	@Param({ "SMALL", "MEDIUM", "LARGE", "HUGE" })
+	public FixtureSize size;
+
+	private String yaml;
+
+	@Setup
+	public void setup() {
+		yaml = Fixtures.applicationYaml(size);
+	}
+
+	@Benchmark
+	public SRootNode parseStructure() throws Exception {
+		// a new document each time, since the structure is parsed once per document change in the editor too
+		YamlDocument doc = new YamlDocument(new Document(yaml), null);
+		return new YamlStructureParser(doc, KeyAliases.NONE).parse();
+	}
+
+	@Benchmark
+	public void composeAst(Blackhole blackhole) {
+		for (Node node : new Yaml().composeAll(new StringReader(yaml))) {
+			blackhole.consume(node);
+		}
+	}
+
+}
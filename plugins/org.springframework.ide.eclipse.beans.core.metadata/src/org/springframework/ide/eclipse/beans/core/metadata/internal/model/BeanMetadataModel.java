@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 Spring IDE Developers
+ * Copyright (c) 2010, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,14 +12,18 @@ package org.springframework.ide.eclipse.beans.core.metadata.internal.model;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadata;
 import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadataModel;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadataModelListener;
 import org.springframework.ide.eclipse.beans.core.metadata.model.IMethodMetadata;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.core.model.IBeanProperty;
@@ -47,6 +51,16 @@ public class BeanMetadataModel implements IBeanMetadataModel {
 
 	private Map<String, BeanPropertyDataHolder> beanPropertyData = new ConcurrentHashMap<String, BeanPropertyDataHolder>();
 
+	private final CopyOnWriteArrayList<IBeanMetadataModelListener> listeners = new CopyOnWriteArrayList<IBeanMetadataModelListener>();
+
+	/**
+	 * Notifications queued in the order of the changes while holding the write lock, and delivered one at a time
+	 * after releasing it, so that listeners neither block readers nor see changes out of order.
+	 */
+	private final Queue<Notification> notifications = new ConcurrentLinkedQueue<Notification>();
+
+	private final Object notificationLock = new Object();
+
 	public Set<IBeanMetadata> getBeanMetadata(IBean bean) {
 		try {
 			r.lock();
@@ -71,20 +85,46 @@ public class BeanMetadataModel implements IBeanMetadataModel {
 			// safe time so we can purge very old entries after a while
 			holder.setLastModified(System.currentTimeMillis());
 			beanMetadata.put(bean.getElementID(), holder);
+			queueNotification(null, bean.getElementID(), bMetaData);
 		}
 		finally {
 			w.unlock();
 		}
+		deliverNotifications();
 	}
 
 	public void clearBeanMetadata(IBean bean) {
 		try {
 			w.lock();
-			beanMetadata.remove(bean.getElementID());
+			if (beanMetadata.remove(bean.getElementID()) != null) {
+				queueNotification(null, bean.getElementID(), Collections.<IBeanMetadata> emptySet());
+			}
 		}
 		finally {
 			w.unlock();
 		}
+		deliverNotifications();
+	}
+
+	public void addListener(IBeanMetadataModelListener listener) {
+		try {
+			// Queue the replay while holding the write lock so that the listener doesn't miss or reorder concurrent
+			// changes
+			w.lock();
+			if (listeners.addIfAbsent(listener)) {
+				for (BeanMetadataHolder holder : beanMetadata.values()) {
+					queueNotification(listener, holder.getElemenetId(), holder.getBeanMetaData());
+				}
+			}
+		}
+		finally {
+			w.unlock();
+		}
+		deliverNotifications();
+	}
+
+	public void removeListener(IBeanMetadataModelListener listener) {
+		listeners.remove(listener);
 	}
 
 	public Set<IBeanProperty> getBeanProperties(IBean bean) {
@@ -135,16 +175,28 @@ public class BeanMetadataModel implements IBeanMetadataModel {
 				.loadProperties();
 		try {
 			w.lock();
-			beanMetadata = storedBeanMetadata;
-			beanPropertyData = storedProperties;
-		}
-		catch (Exception e) {
-			beanMetadata = new ConcurrentHashMap<String, BeanMetadataHolder>();
-			beanPropertyData = new ConcurrentHashMap<String, BeanPropertyDataHolder>();
+			Map<String, BeanMetadataHolder> previousBeanMetadata = beanMetadata;
+			try {
+				beanMetadata = storedBeanMetadata;
+				beanPropertyData = storedProperties;
+			}
+			catch (Exception e) {
+				beanMetadata = new ConcurrentHashMap<String, BeanMetadataHolder>();
+				beanPropertyData = new ConcurrentHashMap<String, BeanPropertyDataHolder>();
+			}
+			for (String beanId : previousBeanMetadata.keySet()) {
+				if (!beanMetadata.containsKey(beanId)) {
+					queueNotification(null, beanId, Collections.<IBeanMetadata> emptySet());
+				}
+			}
+			for (BeanMetadataHolder holder : beanMetadata.values()) {
+				queueNotification(null, holder.getElemenetId(), holder.getBeanMetaData());
+			}
 		}
 		finally {
 			w.unlock();
 		}
+		deliverNotifications();
 	}
 
 	/**
@@ -155,4 +207,57 @@ public class BeanMetadataModel implements IBeanMetadataModel {
 		BeanMetadataPersistence.storeProperties(beanPropertyData);
 	}
 
+	/**
+	 * Queues a notification for the given listener, or for all listeners if <code>listener</code> is
+	 * <code>null</code>. Must be called while holding the write lock.
+	 */
+	private void queueNotification(IBeanMetadataModelListener listener, String beanId, Set<IBeanMetadata> metadata) {
+		notifications.add(new Notification(listener, beanId, metadata));
+	}
+
+	/**
+	 * Delivers the queued notifications. Must be called after releasing the write lock; returns once the
+	 * notifications queued by the calling thread have been delivered, by this or another thread.
+	 */
+	private void deliverNotifications() {
+		synchronized (notificationLock) {
+			Notification notification;
+			while ((notification = notifications.poll()) != null) {
+				if (notification.listener != null) {
+					notifyListener(notification.listener, notification.beanId, notification.metadata);
+				}
+				else {
+					for (IBeanMetadataModelListener listener : listeners) {
+						notifyListener(listener, notification.beanId, notification.metadata);
+					}
+				}
+			}
+		}
+	}
+
+	private void notifyListener(IBeanMetadataModelListener listener, String beanId, Set<IBeanMetadata> metadata) {
+		try {
+			listener.beanMetadataChanged(beanId,
+					(metadata != null ? metadata : Collections.<IBeanMetadata> emptySet()));
+		}
+		catch (Exception e) {
+			SpringCore.log(e);
+		}
+	}
+
+	private static class Notification {
+
+		private final IBeanMetadataModelListener listener;
+
+		private final String beanId;
+
+		private final Set<IBeanMetadata> metadata;
+
+		public Notification(IBeanMetadataModelListener listener, String beanId, Set<IBeanMetadata> metadata) {
+			this.listener = listener;
+			this.beanId = beanId;
+			this.metadata = metadata;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 Spring IDE Developers
+ * Copyright (c) 2010, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -56,5 +56,18 @@ public interface IBeanMetadataModel {
 	 * Clears the meta data for a certain {@link IBean}. 
 	 */
 	void clearBeanProperties(IBean bean);
-	
+
+	/**
+	 * Registers the given listener. The listener is notified of the metadata of all beans known to the model right
+	 * away.
+	 * @since 3.9.13
+	 */
+	void addListener(IBeanMetadataModelListener listener);
+
+	/**
+	 * Unregisters the given listener.
+	 * @since 3.9.13
+	 */
+	void removeListener(IBeanMetadataModelListener listener);
+
 }
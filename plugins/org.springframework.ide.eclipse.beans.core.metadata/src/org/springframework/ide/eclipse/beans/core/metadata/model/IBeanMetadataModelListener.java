@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.metadata.model;
+
+import java.util.Set;
+
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+
+/**
+ * Listener to be notified whenever the {@link IBeanMetadata} of an {@link IBean} changes in the
+ * {@link IBeanMetadataModel}. Can be used to maintain derived indexes incrementally instead of querying the model for
+ * every bean.
+ * <p>
+ * Listeners are notified while the model is locked, so they should only do quick in-memory updates and must not call
+ * back into the model.
+ * @since 3.9.13
+ */
+public interface IBeanMetadataModelListener {
+
+	/**
+	 * Notifies that the metadata of the bean with the given element id has been set, loaded from the backing store or
+	 * cleared.
+	 * @param beanId the element id of the bean
+	 * @param beanMetadata the new metadata of the bean; empty if the metadata has been cleared
+	 */
+	void beanMetadataChanged(String beanId, Set<IBeanMetadata> beanMetadata);
+
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfigGraph;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorDefinition;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorFactory;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class BeansConfigGraphTest {
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+	private BeansConfigGraph graph;
+
+	private BeansModel realModel;
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-config-tests", "org.springframework.ide.eclipse.beans.core.tests");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+		graph = model.getConfigGraph();
+
+		realModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		// disable automatic configuration of Java configs
+		for (BeansConfigLocatorDefinition locator : BeansConfigLocatorFactory.getBeansConfigLocatorDefinitions()) {
+			locator.setEnabled(false, project);
+		}
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, null);
+		BeansCorePlugin.setModel(realModel);
+	}
+
+	@Test
+	public void testImportsRecordedWhenConfigIsRead() throws Exception {
+		beansProject.addConfig("importing-bean-config.xml", IBeansConfig.Type.MANUAL);
+		IBeansConfig config = beansProject.getConfig("importing-bean-config.xml");
+		IFile importedFile = (IFile) project.findMember("advanced-bean-config.xml");
+
+		// Nothing is known about configs that have not been read yet
+		assertTrue(graph.getImportingConfigs(importedFile).isEmpty());
+
+		config.getBeans();
+		assertEquals(Collections.singleton(config), graph.getImportingConfigs(importedFile));
+		assertEquals(Collections.singleton(importedFile), graph.getImportedResources(config));
+	}
+
+	@Test
+	public void testNestedImports() throws Exception {
+		beansProject.addConfig("importing-bean-config-advanced.xml", IBeansConfig.Type.MANUAL);
+		IBeansConfig config = beansProject.getConfig("importing-bean-config-advanced.xml");
+		config.getBeans();
+
+		IFile secondFile = (IFile) project.findMember("importing-bean-config-advanced-second.xml");
+		IFile thirdFile = (IFile) project.findMember("importing-bean-config-advanced-third.xml");
+		assertEquals(Collections.singleton(config), graph.getImportingConfigs(secondFile));
+		assertEquals(Collections.singleton(config), graph.getImportingConfigs(thirdFile));
+		assertTrue(graph.getImportingConfigs(project.findMember("basic-bean-config.xml")).isEmpty());
+	}
+
+	@Test
+	public void testRemovedConfigsNotReturned() throws Exception {
+		beansProject.addConfig("importing-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.getConfig("importing-bean-config.xml").getBeans();
+		IFile importedFile = (IFile) project.findMember("advanced-bean-config.xml");
+		assertEquals(1, graph.getImportingConfigs(importedFile).size());
+
+		beansProject.removeConfig("importing-bean-config.xml");
+		assertTrue(graph.getImportingConfigs(importedFile).isEmpty());
+	}
+
+	@Test
+	public void testConfigSetsFollowModifications() throws Exception {
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("advanced-bean-config.xml", IBeansConfig.Type.MANUAL);
+		IFile basicFile = (IFile) project.findMember("basic-bean-config.xml");
+		IFile advancedFile = (IFile) project.findMember("advanced-bean-config.xml");
+
+		BeansConfigSet configSet = new BeansConfigSet(beansProject, "test-set", IBeansConfigSet.Type.MANUAL);
+		configSet.addConfig("basic-bean-config.xml");
+		beansProject.addConfigSet(configSet);
+		assertEquals(Collections.singleton(configSet), graph.getConfigSets(basicFile));
+		assertTrue(graph.getConfigSets(advancedFile).isEmpty());
+
+		configSet.addConfig("advanced-bean-config.xml");
+		assertEquals(Collections.singleton(configSet), graph.getConfigSets(advancedFile));
+
+		beansProject.removeConfigSet("test-set");
+		assertTrue(graph.getConfigSets(basicFile).isEmpty());
+	}
+
+}
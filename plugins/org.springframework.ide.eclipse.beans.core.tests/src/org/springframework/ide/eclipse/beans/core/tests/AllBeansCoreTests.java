@@ -33,14 +33,30 @@ import org.springframework.ide.eclipse.beans.core.internal.model.validation.rule
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansProjectAutoConfigTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansProjectDescriptionWriterTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansConfigFactoryTest;
+import org.springframework.ide.eclipse.beans.core.model.tests.BeansConfigGraphTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansConfigTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansJavaConfigTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansModelUtilsTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansProjectTest;
+import org.springframework.ide.eclipse.beans.ui.graph.tests.LayeredGraphLayoutTest;
+import org.springframework.ide.eclipse.beans.ui.inplace.tests.BeansInplaceOutlineContentProviderTest;
+import org.springframework.ide.eclipse.beans.ui.model.tests.BeanClassIndexTest;
 import org.springframework.ide.eclipse.beans.ui.refactoring.tests.BeansJavaConfigRenameTypeRefactoringParticipantTest;
+import org.springframework.ide.eclipse.beans.ui.search.tests.BeansSearchIndexTest;
+import org.springframework.ide.eclipse.core.internal.model.validation.ValidationReportTest;
+import org.springframework.ide.eclipse.core.io.ClassResourceIndexTest;
+import org.springframework.ide.eclipse.core.io.VersionedStateFileTest;
+import org.springframework.ide.eclipse.core.io.xml.LineNumberPreservingDOMParserTest;
+import org.springframework.ide.eclipse.core.io.xml.SchemaGrammarPoolTest;
 import org.springframework.ide.eclipse.core.java.IntrospectorTest;
 import org.springframework.ide.eclipse.core.java.JdtUtilsTest;
 import org.springframework.ide.eclipse.core.java.TypeHierarchyEngineTest;
+import org.springframework.ide.eclipse.core.java.TypeStructureCacheTest;
+import org.springframework.ide.eclipse.core.model.ModelChangeEventBusTest;
+import org.springframework.ide.eclipse.core.model.validation.ValidationStatisticsTest;
+import org.springframework.ide.eclipse.metadata.core.tests.RequestMappingIndexTest;
+import org.springframework.ide.eclipse.webflow.core.tests.ParentFlowCacheTest;
+import org.springframework.ide.eclipse.webflow.core.tests.WebflowValidatorTest;
 
 /**
  * Test suite for <code>beans.core</code> plugin.
@@ -66,6 +82,14 @@ import org.springframework.ide.eclipse.core.java.TypeHierarchyEngineTest;
 	NamespaceElementsRuleTest.class,
 	IntrospectorTest.class,
 	JdtUtilsTest.class,
+	TypeStructureCacheTest.class,
+	ClassResourceIndexTest.class,
+	VersionedStateFileTest.class,
+	ValidationStatisticsTest.class,
+	ValidationReportTest.class,
+	ModelChangeEventBusTest.class,
+	LineNumberPreservingDOMParserTest.class,
+	SchemaGrammarPoolTest.class,
 	AutowireDependencyProviderTest.class,
 	CommonAnnotationInjectionMetadataProviderTests.class,
 	JdtAnnotationMetadataTest.class,
@@ -75,9 +99,17 @@ import org.springframework.ide.eclipse.core.java.TypeHierarchyEngineTest;
 	BeansJavaConfigTest.class,
 	BeansConfigFactoryTest.class,
 	BeansProjectTest.class,
+	BeansConfigGraphTest.class,
 	BeansProjectAutoConfigTest.class,
 	BeansProjectDescriptionWriterTest.class,
 	BeansJavaConfigRenameTypeRefactoringParticipantTest.class,
+	BeansSearchIndexTest.class,
+	LayeredGraphLayoutTest.class,
+	BeanClassIndexTest.class,
+	BeansInplaceOutlineContentProviderTest.class,
+	ParentFlowCacheTest.class,
+	WebflowValidatorTest.class,
+	RequestMappingIndexTest.class,
 	ResourceChangeEventHandlerTest.class,
 	TypeHierarchyEngineTest.class,
 	BeansModelUtilsTest.class
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.ui.graph.model.LayeredGraphLayout;
+
+public class LayeredGraphLayoutTest {
+
+	private static final int HORIZONTAL_SPACING = 10;
+
+	private static final int VERTICAL_SPACING = 20;
+
+	private final List<Node> nodes = new ArrayList<Node>();
+
+	private final List<Edge> edges = new ArrayList<Edge>();
+
+	@Test
+	public void testAcyclicGraph() throws Exception {
+		Node a = node("a");
+		Node b = node("b");
+		Node c = node("c");
+		Node d = node("d");
+		edge(a, b);
+		edge(a, c);
+		edge(b, d);
+		edge(c, d);
+		Edge longEdge = edge(a, d);
+		layout();
+
+		assertLayout(0);
+		assertEquals(3, getLayerCount());
+		assertEquals(b.y, c.y);
+		assertTrue(a.y < b.y && b.y < d.y);
+
+		// The edge spanning two layers bends once, in the layer in between
+		assertEquals(1, longEdge.vNodes.size());
+		assertEquals(b.y, longEdge.vNodes.getNode(0).y);
+		assertNull(edges.get(0).vNodes);
+	}
+
+	@Test
+	public void testCyclicGraph() throws Exception {
+		Node a = node("a");
+		Node b = node("b");
+		Node c = node("c");
+		Node d = node("d");
+		edge(a, b);
+		edge(b, c);
+		edge(c, a);
+		edge(c, d);
+		Edge selfReference = edge(d, d);
+		layout();
+
+		// Breaking the cycle reverses a single edge
+		assertLayout(1);
+		assertEquals(4, getLayerCount());
+		assertTrue(c.y < d.y);
+		assertNull(selfReference.vNodes);
+	}
+
+	@Test
+	public void testDisconnectedGraph() throws Exception {
+		Node a = node("a");
+		Node b = node("b");
+		Node c = node("c");
+		Node d = node("d");
+		Node e = node("e");
+		Node isolated = node("isolated");
+		edge(a, b);
+		edge(c, d);
+		edge(d, e);
+		layout();
+
+		assertLayout(0);
+		assertEquals(3, getLayerCount());
+		assertEquals(0, isolated.y);
+		assertEquals(a.y, c.y);
+		assertTrue(a.y < b.y);
+		assertTrue(c.y < d.y && d.y < e.y);
+	}
+
+	@Test
+	public void testRandomGraphs() throws Exception {
+		Random random = new Random(42);
+		for (int i = 0; i < 20; i++) {
+			nodes.clear();
+			edges.clear();
+			int nodeCount = 1 + random.nextInt(60);
+			for (int j = 0; j < nodeCount; j++) {
+				node("node" + j).width = 10 + random.nextInt(90);
+			}
+			int edgeCount = random.nextInt(2 * nodeCount);
+			for (int j = 0; j < edgeCount; j++) {
+				edge(nodes.get(random.nextInt(nodeCount)), nodes.get(random.nextInt(nodeCount)));
+			}
+			layout();
+
+			assertLayout(-1);
+		}
+	}
+
+	private Node node(String name) {
+		Node node = new Node(name);
+		node.width = 50;
+		node.height = 20;
+		nodes.add(node);
+		return node;
+	}
+
+	private Edge edge(Node source, Node target) {
+		Edge edge = new Edge(source, target);
+		edges.add(edge);
+		return edge;
+	}
+
+	private void layout() {
+		new LayeredGraphLayout(HORIZONTAL_SPACING, VERTICAL_SPACING).layout(nodes, edges);
+	}
+
+	/**
+	 * Asserts that all nodes are placed in layers without overlapping and that edges connect different layers.
+	 * @param upwardEdges the expected number of edges reversed to break cycles, or -1 if it's not known
+	 */
+	private void assertLayout(int upwardEdges) {
+		for (Node node : nodes) {
+			assertTrue(node.data + " not placed", node.x >= 0 && node.y >= 0);
+			for (Node other : nodes) {
+				if (node != other && node.y == other.y) {
+					assertTrue(node.data + " overlaps " + other.data, node.x + node.width + HORIZONTAL_SPACING <= other.x
+							|| other.x + other.width + HORIZONTAL_SPACING <= node.x);
+				}
+			}
+		}
+
+		int upward = 0;
+		for (Edge edge : edges) {
+			if (edge.source == edge.target) {
+				continue;
+			}
+			assertTrue(edge + " within a layer", edge.source.y != edge.target.y);
+			if (edge.source.y > edge.target.y) {
+				upward++;
+			}
+		}
+		if (upwardEdges >= 0) {
+			assertEquals(upwardEdges, upward);
+		}
+	}
+
+	private int getLayerCount() {
+		Set<Integer> layers = new HashSet<Integer>();
+		for (Node node : nodes) {
+			layers.add(node.y);
+		}
+		return layers.size();
+	}
+
+}
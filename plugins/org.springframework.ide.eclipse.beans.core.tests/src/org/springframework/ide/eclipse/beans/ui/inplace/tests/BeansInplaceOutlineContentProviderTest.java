@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.inplace.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorDefinition;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorFactory;
+import org.springframework.ide.eclipse.beans.ui.inplace.BeansInplaceOutlineContentProvider;
+import org.springframework.ide.eclipse.core.io.ZipEntryStorage;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class BeansInplaceOutlineContentProviderTest {
+
+	private static final String ARCHIVED_CONFIG = "configs.jar!/archived-bean-config.xml";
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+
+	private BeansModel realModel;
+
+	private BeansInplaceOutlineContentProvider contentProvider;
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-config-tests", "org.springframework.ide.eclipse.beans.core.tests");
+		createArchive("configs.jar", "archived-bean-config.xml", "basic-bean-config.xml");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+
+		realModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		// disable automatic configuration of Java configs
+		for (BeansConfigLocatorDefinition locator : BeansConfigLocatorFactory.getBeansConfigLocatorDefinitions()) {
+			locator.setEnabled(false, project);
+		}
+
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("advanced-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig(ARCHIVED_CONFIG, IBeansConfig.Type.MANUAL);
+
+		contentProvider = new BeansInplaceOutlineContentProvider(new ViewerFilter[0]);
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		contentProvider.dispose();
+		project.delete(true, null);
+		BeansCorePlugin.setModel(realModel);
+	}
+
+	@Test
+	public void testPathOfBeanInConfig() throws Exception {
+		IBeansConfig config = beansProject.getConfig("basic-bean-config.xml");
+		IBean bean = config.getBean("simpleBean");
+		contentProvider.inputChanged(null, null, beansProject);
+
+		assertEquals(new TreePath(new Object[] { config, bean }), contentProvider.getPath(bean));
+		assertArrayEquals(new TreePath[] { new TreePath(new Object[] { config }) }, contentProvider.getParents(bean));
+	}
+
+	@Test
+	public void testPathOfBeanInArchivedConfig() throws Exception {
+		IBeansConfig config = beansProject.getConfig(ARCHIVED_CONFIG);
+		IBean bean = config.getBean("simpleBean");
+		contentProvider.inputChanged(null, null, beansProject);
+
+		// The tree shows archived configs below their ZIP file entry
+		TreePath path = contentProvider.getPath(bean);
+		assertEquals(3, path.getSegmentCount());
+		assertTrue(path.getFirstSegment() instanceof ZipEntryStorage);
+		assertEquals(ARCHIVED_CONFIG, ((ZipEntryStorage) path.getFirstSegment()).getFullName());
+		assertEquals(config, path.getSegment(1));
+		assertEquals(bean, path.getLastSegment());
+		assertArrayEquals(new TreePath[] { path.getParentPath() }, contentProvider.getParents(bean));
+
+		assertTrue(Arrays.asList(contentProvider.getChildren(TreePath.EMPTY)).contains(path.getFirstSegment()));
+	}
+
+	@Test
+	public void testPathOfBeanInConfigSet() throws Exception {
+		BeansConfigSet configSet = new BeansConfigSet(beansProject, "test-set", IBeansConfigSet.Type.MANUAL);
+		configSet.addConfig("basic-bean-config.xml");
+		beansProject.addConfigSet(configSet);
+
+		IBean bean = beansProject.getConfig("basic-bean-config.xml").getBean("simpleBean");
+		IBean otherBean = beansProject.getConfig("advanced-bean-config.xml").getBean("simpleBean");
+		contentProvider.inputChanged(null, null, beansProject.getConfigSet("test-set"));
+
+		// Config sets show the beans of their configs directly
+		assertEquals(new TreePath(new Object[] { bean }), contentProvider.getPath(bean));
+		assertArrayEquals(new TreePath[] { TreePath.EMPTY }, contentProvider.getParents(bean));
+
+		assertNull(contentProvider.getPath(otherBean));
+		assertEquals(0, contentProvider.getParents(otherBean).length);
+	}
+
+	private void createArchive(String archiveName, String entryName, String configName) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ZipOutputStream zip = new ZipOutputStream(bytes);
+		zip.putNextEntry(new ZipEntry(entryName));
+		InputStream contents = project.getFile(configName).getContents();
+		try {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = contents.read(buffer)) != -1) {
+				zip.write(buffer, 0, read);
+			}
+		}
+		finally {
+			contents.close();
+		}
+		zip.closeEntry();
+		zip.close();
+		project.getFile(archiveName).create(new ByteArrayInputStream(bytes.toByteArray()), true, null);
+	}
+
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorDefinition;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorFactory;
+import org.springframework.ide.eclipse.beans.ui.model.BeanClassIndex;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class BeanClassIndexTest {
+
+	private static final String BEAN_CLASS = "org.test.spring.SimpleBeanClass";
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+
+	private BeansModel realModel;
+
+	private BeanClassIndex index;
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-config-tests", "org.springframework.ide.eclipse.beans.core.tests");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+
+		realModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		// disable automatic configuration of Java configs
+		for (BeansConfigLocatorDefinition locator : BeansConfigLocatorFactory.getBeansConfigLocatorDefinitions()) {
+			locator.setEnabled(false, project);
+		}
+
+		// all configs use the same bean class
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("advanced-bean-config.xml", IBeansConfig.Type.MANUAL);
+
+		index = new BeanClassIndex();
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, null);
+		BeansCorePlugin.setModel(realModel);
+	}
+
+	@Test
+	public void testNoBeanClassesBeforeBuild() throws Exception {
+		assertFalse(index.isBuilt());
+		assertFalse(index.contains(BEAN_CLASS));
+		assertTrue(index.update(beansProject).isEmpty());
+		assertFalse(index.isBuilt());
+
+		index.build();
+		assertTrue(index.isBuilt());
+		assertTrue(index.contains(BEAN_CLASS));
+		assertFalse(index.contains("org.test.spring.SimpleConfigurationClass"));
+	}
+
+	@Test
+	public void testConfigUpdateAndRemove() throws Exception {
+		index.build();
+		IBeansConfig basic = beansProject.getConfig("basic-bean-config.xml");
+		IBeansConfig advanced = beansProject.getConfig("advanced-bean-config.xml");
+
+		// the class stays a bean class as long as any config uses it
+		beansProject.removeConfig(basic.getElementName());
+		assertTrue(index.remove(basic).isEmpty());
+		assertTrue(index.contains(BEAN_CLASS));
+
+		beansProject.removeConfig(advanced.getElementName());
+		assertEquals(Collections.singleton(BEAN_CLASS), index.remove(advanced));
+		assertFalse(index.contains(BEAN_CLASS));
+
+		beansProject.addConfig("importing-bean-config-many-base.xml", IBeansConfig.Type.MANUAL);
+		IBeansConfig added = beansProject.getConfig("importing-bean-config-many-base.xml");
+		assertEquals(Collections.singleton(BEAN_CLASS), index.update(added));
+		assertTrue(index.contains(BEAN_CLASS));
+
+		// updating an unchanged config changes nothing
+		assertTrue(index.update(added).isEmpty());
+	}
+
+	@Test
+	public void testProjectUpdateAndRemove() throws Exception {
+		index.build();
+
+		beansProject.removeConfig("basic-bean-config.xml");
+		assertTrue(index.update(beansProject).isEmpty());
+		assertTrue(index.contains(BEAN_CLASS));
+
+		beansProject.removeConfig("advanced-bean-config.xml");
+		assertEquals(Collections.singleton(BEAN_CLASS), index.update(beansProject));
+		assertFalse(index.contains(BEAN_CLASS));
+
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		assertEquals(Collections.singleton(BEAN_CLASS), index.update(beansProject));
+		assertTrue(index.contains(BEAN_CLASS));
+
+		assertEquals(Collections.singleton(BEAN_CLASS), index.remove(project));
+		assertFalse(index.contains(BEAN_CLASS));
+	}
+
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.search.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorDefinition;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorFactory;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
+import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeanNameQuery;
+import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeansSearchIndex;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+import org.springsource.ide.eclipse.commons.frameworks.test.util.ACondition;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class BeansSearchIndexTest {
+
+	private static final String IMPORTING_CONFIG = "importing-bean-config-many.xml";
+
+	/**
+	 * Gives every bean the same key, and the beans of one config a second key
+	 * differing from it only in case.
+	 */
+	private static final BeansSearchIndex.KeyProvider SHARED_KEYS = new BeansSearchIndex.KeyProvider() {
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				keys.add("shared");
+				if ("basic-bean-config.xml".equals(getImportingConfig(element).getElementName())) {
+					keys.add("Shared");
+				}
+			}
+		}
+	};
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+
+	private BeansModel realModel;
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-config-tests", "org.springframework.ide.eclipse.beans.core.tests");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+
+		realModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		// disable automatic configuration of Java configs
+		for (BeansConfigLocatorDefinition locator : BeansConfigLocatorFactory.getBeansConfigLocatorDefinitions()) {
+			locator.setEnabled(false, project);
+		}
+
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("advanced-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("importing-bean-config-many-base.xml", IBeansConfig.Type.MANUAL);
+
+		// Start with an index listening to the test model
+		BeansSearchIndex.disposeInstance();
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		BeansSearchIndex.disposeInstance();
+		project.delete(true, null);
+		BeansCorePlugin.setModel(realModel);
+	}
+
+	@Test
+	public void testFindBeansByName() throws Exception {
+		assertEquals(setOf("basic-bean-config.xml", "advanced-bean-config.xml"), findBeanNames("simpleBean"));
+		assertEquals(setOf("importing-bean-config-many-base.xml"), findBeanNames("base*"));
+		assertEquals(setOf("basic-bean-config.xml", "advanced-bean-config.xml", "importing-bean-config-many-base.xml"),
+				findBeanNames("*Bean"));
+		assertTrue(findBeanNames("unknown*").isEmpty());
+	}
+
+	@Test
+	public void testRemovedConfigIsDroppedFromSharedKeys() throws Exception {
+		assertEquals(setOf("basic-bean-config.xml", "advanced-bean-config.xml"), findBeanNames("simpleBean"));
+
+		beansProject.removeConfig("basic-bean-config.xml");
+		model.notifyListeners(beansProject, ModelChangeEvent.Type.CHANGED);
+
+		new ACondition("Wait for removed config") {
+			@Override
+			public boolean test() throws Exception {
+				assertEquals(setOf("advanced-bean-config.xml"), findBeanNames("simpleBean"));
+				return true;
+			}
+		}.waitFor(30 * 1000);
+		assertEquals(setOf("importing-bean-config-many-base.xml"), findBeanNames("baseBean"));
+	}
+
+	@Test
+	public void testAddedConfigIsIndexed() throws Exception {
+		assertTrue(findBeanNames("importedBean").isEmpty());
+
+		beansProject.addConfig("importing-bean-config-advanced-second.xml", IBeansConfig.Type.MANUAL);
+		model.notifyListeners(beansProject, ModelChangeEvent.Type.CHANGED);
+
+		new ACondition("Wait for added config") {
+			@Override
+			public boolean test() throws Exception {
+				assertEquals(setOf("importing-bean-config-advanced-second.xml"), findBeanNames("importedBean"));
+				return true;
+			}
+		}.waitFor(30 * 1000);
+	}
+
+	@Test
+	public void testManyElementsSharingAKey() throws Exception {
+		beansProject.addConfig(IMPORTING_CONFIG, IBeansConfig.Type.MANUAL);
+
+		Set<IModelElement> beans = find(BeanNameQuery.KEYS, "*", Pattern.CASE_INSENSITIVE);
+		assertTrue(beans.size() > 10);
+		assertEquals(beans, find(SHARED_KEYS, "shared", Pattern.CASE_INSENSITIVE));
+		assertEquals(beans, find(SHARED_KEYS, "sha*", 0));
+		assertEquals(beans, find(SHARED_KEYS, "shared", 0));
+
+		Set<IModelElement> basicBeans = find(SHARED_KEYS, "Shared", 0);
+		assertEquals(setOf("basic-bean-config.xml"), getConfigNames(basicBeans));
+		assertTrue(beans.containsAll(basicBeans));
+
+		beansProject.removeConfig(IMPORTING_CONFIG);
+		model.notifyListeners(beansProject, ModelChangeEvent.Type.CHANGED);
+
+		new ACondition("Wait for removed config") {
+			@Override
+			public boolean test() throws Exception {
+				Set<IModelElement> remainingBeans = find(SHARED_KEYS, "shared", 0);
+				assertFalse(getConfigNames(remainingBeans).contains(IMPORTING_CONFIG));
+				assertEquals(find(BeanNameQuery.KEYS, "*", Pattern.CASE_INSENSITIVE), remainingBeans);
+				return true;
+			}
+		}.waitFor(30 * 1000);
+		assertEquals(basicBeans, find(SHARED_KEYS, "Shared", 0));
+	}
+
+	@Test
+	public void testImportedConfigsAreIndexedWithImportingConfig() throws Exception {
+		assertEquals(setOf("importing-bean-config-many-base.xml"), findBeanNames("baseBean"));
+
+		beansProject.addConfig(IMPORTING_CONFIG, IBeansConfig.Type.MANUAL);
+		model.notifyListeners(beansProject, ModelChangeEvent.Type.CHANGED);
+
+		new ACondition("Wait for added config") {
+			@Override
+			public boolean test() throws Exception {
+				assertEquals(setOf("importing-bean-config-many-base.xml", IMPORTING_CONFIG), findBeanNames("baseBean"));
+				return true;
+			}
+		}.waitFor(30 * 1000);
+
+		// A change within an imported config indexes the importing config again
+		IBeansImport beansImport = beansProject.getConfig(IMPORTING_CONFIG).getImports().iterator().next();
+		IBean importedBean = beansImport.getImportedBeansConfigs().iterator().next().getBean("simpleBean");
+		model.notifyListeners(importedBean, ModelChangeEvent.Type.CHANGED);
+		assertTrue(find(BeanNameQuery.KEYS, "simpleBean", 0).contains(importedBean));
+
+		beansProject.removeConfig(IMPORTING_CONFIG);
+		model.notifyListeners(beansProject, ModelChangeEvent.Type.CHANGED);
+
+		new ACondition("Wait for removed config") {
+			@Override
+			public boolean test() throws Exception {
+				assertEquals(setOf("importing-bean-config-many-base.xml"), findBeanNames("baseBean"));
+				return true;
+			}
+		}.waitFor(30 * 1000);
+		assertEquals(setOf("basic-bean-config.xml", "advanced-bean-config.xml"), findBeanNames("simpleBean"));
+	}
+
+	/**
+	 * Returns the names of the configs of the beans found by the given wildcard pattern.
+	 */
+	private Set<String> findBeanNames(String searchString) {
+		return getConfigNames(find(BeanNameQuery.KEYS, searchString, Pattern.CASE_INSENSITIVE));
+	}
+
+	private Set<IModelElement> find(BeansSearchIndex.KeyProvider provider, String searchString, int flags) {
+		Pattern pattern = Pattern.compile(searchString.replace("*", ".*"), flags);
+		return BeansSearchIndex.getInstance().find(provider, searchString, false, pattern,
+				BeansSearchScope.newSearchScope(), new NullProgressMonitor());
+	}
+
+	/**
+	 * Returns the names of the configs the given elements were found in,
+	 * resolving imported configs to the config importing them.
+	 */
+	private static Set<String> getConfigNames(Set<IModelElement> elements) {
+		Set<String> configNames = new HashSet<String>();
+		for (IModelElement element : elements) {
+			configNames.add(getImportingConfig(element).getElementName());
+		}
+		return configNames;
+	}
+
+	private static IBeansConfig getImportingConfig(IModelElement element) {
+		IBeansConfig config = BeansModelUtils.getConfig(element);
+		while (BeansModelUtils.getImportingBeansConfig(config) != null) {
+			config = BeansModelUtils.getImportingBeansConfig(config);
+		}
+		return config;
+	}
+
+	private static Set<String> setOf(String... names) {
+		Set<String> set = new HashSet<String>();
+		for (String name : names) {
+			set.add(name);
+		}
+		return set;
+	}
+
+}
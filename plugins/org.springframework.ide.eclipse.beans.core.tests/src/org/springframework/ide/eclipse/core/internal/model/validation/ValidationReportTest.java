@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.internal.model.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.equinox.app.IApplication;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.model.validation.IValidationProblemMarker;
+
+public class ValidationReportTest {
+
+	private IProject project;
+
+	private IFile file;
+
+	private ValidatorDefinition validator;
+
+	private StringWriter writer;
+
+	@Before
+	public void createProject() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("validation-report-tests");
+		project.create(new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+		file = project.getFile("config.xml");
+		file.create(new ByteArrayInputStream("<beans/>".getBytes("UTF-8")), true, new NullProgressMonitor());
+		validator = ValidatorDefinitionFactory.getValidatorDefinitions().get(0);
+		writer = new StringWriter();
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, true, new NullProgressMonitor());
+	}
+
+	@Test
+	public void testProblemCounts() throws Exception {
+		ValidationReport report = ValidationReport.create(ValidationReport.JSON_LINES, writer);
+		report.problem(validator, createMarker(IMarker.SEVERITY_ERROR, "error"));
+		report.problem(validator, createMarker(IMarker.SEVERITY_WARNING, "first warning"));
+		report.problem(validator, createMarker(IMarker.SEVERITY_WARNING, "second warning"));
+		report.problem(validator, createMarker(IMarker.SEVERITY_INFO, "info"));
+
+		assertEquals(1, report.getProblemCount(IMarker.SEVERITY_ERROR));
+		assertEquals(3, report.getProblemCount(IMarker.SEVERITY_WARNING));
+		assertEquals(4, report.getProblemCount(IMarker.SEVERITY_INFO));
+		assertEquals(0, report.getProblemCount(ValidationApplication.getFailOnSeverity("never")));
+	}
+
+	@Test
+	public void testExitCodes() throws Exception {
+		ValidationReport report = ValidationReport.create(ValidationReport.JSON_LINES, writer);
+		assertEquals(IApplication.EXIT_OK, getExitCode(report, "info"));
+
+		report.problem(validator, createMarker(IMarker.SEVERITY_WARNING, "warning"));
+		assertEquals(IApplication.EXIT_OK, getExitCode(report, "error"));
+		assertEquals(ValidationApplication.EXIT_PROBLEMS, getExitCode(report, "warning"));
+		assertEquals(ValidationApplication.EXIT_PROBLEMS, getExitCode(report, "info"));
+		assertEquals(IApplication.EXIT_OK, getExitCode(report, "never"));
+
+		report.problem(validator, createMarker(IMarker.SEVERITY_ERROR, "error"));
+		assertEquals(ValidationApplication.EXIT_PROBLEMS, getExitCode(report, "error"));
+		assertEquals(IApplication.EXIT_OK, getExitCode(report, "never"));
+
+		assertEquals(ValidationApplication.EXIT_FAILURE, ValidationApplication.getExitCode(false, report,
+				IMarker.SEVERITY_ERROR));
+		assertNull(ValidationApplication.getFailOnSeverity("fatal"));
+	}
+
+	@Test
+	public void testJsonLines() throws Exception {
+		ValidationReport report = ValidationReport.create(ValidationReport.JSON_LINES, writer);
+		report.start();
+		report.problem(validator, createMarker(IMarker.SEVERITY_ERROR, "Bean \"a\" is\tbroken"));
+		report.problem(validator, createMarker(IMarker.SEVERITY_INFO, "note"));
+		report.timing(project, validator, 3, 2, 1500000);
+		report.finish(true, 1, 2000000);
+
+		String[] lines = writer.toString().split("\n");
+		assertEquals(4, lines.length);
+		assertEquals("{\"type\":\"problem\",\"validator\":\"" + validator.getID() + "\",\"rule\":\"rule\","
+				+ "\"errorId\":\"ERROR_ID\",\"severity\":\"error\",\"resource\":\"/validation-report-tests/config.xml\","
+				+ "\"line\":3,\"message\":\"Bean \\\"a\\\" is\\tbroken\"}", lines[0]);
+		assertTrue(lines[1].contains("\"severity\":\"info\""));
+		assertEquals("{\"type\":\"timing\",\"project\":\"validation-report-tests\",\"validator\":\""
+				+ validator.getID() + "\",\"resources\":3,\"problems\":2,\"millis\":1.5}", lines[2]);
+		assertEquals("{\"type\":\"summary\",\"successful\":true,\"errors\":1,\"warnings\":0,\"infos\":1,"
+				+ "\"exitCode\":1,\"millis\":2.0}", lines[3]);
+	}
+
+	@Test
+	public void testSarif() throws Exception {
+		ValidationReport report = ValidationReport.create(ValidationReport.SARIF, writer);
+		report.start();
+		report.problem(validator, createMarker(IMarker.SEVERITY_WARNING, "warning"));
+		report.timing(project, validator, 1, 1, 1000000);
+		report.finish(true, 0, 2000000);
+
+		String sarif = writer.toString();
+		assertTrue(sarif.startsWith("{\"version\":\"2.1.0\""));
+		assertTrue(sarif.contains("{\"ruleId\":\"rule\",\"level\":\"warning\",\"message\":{\"text\":\"warning\"}"));
+		assertTrue(sarif.contains("\"region\":{\"startLine\":3}"));
+		assertTrue(sarif.contains("\"executionSuccessful\":true,\"exitCode\":0"));
+		assertTrue(sarif.endsWith("]}}]}]}\n"));
+	}
+
+	private Integer getExitCode(ValidationReport report, String failOn) {
+		return ValidationApplication.getExitCode(true, report, ValidationApplication.getFailOnSeverity(failOn));
+	}
+
+	private IMarker createMarker(int severity, String message) throws Exception {
+		IMarker marker = file.createMarker(SpringCore.MARKER_ID);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		marker.setAttribute(IMarker.LINE_NUMBER, 3);
+		marker.setAttribute(IMarker.MESSAGE, message);
+		marker.setAttribute(IValidationProblemMarker.RULE_ID, "rule");
+		marker.setAttribute(IValidationProblemMarker.ERROR_ID, "ERROR_ID");
+		return marker;
+	}
+
+}
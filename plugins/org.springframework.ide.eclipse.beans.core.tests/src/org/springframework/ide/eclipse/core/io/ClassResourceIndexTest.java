@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class ClassResourceIndexTest {
+
+	private IProject project;
+
+	@Before
+	public void setup() throws Exception {
+		project = StsTestUtil.createPredefinedProject("find-type-testcases", "org.springframework.ide.eclipse.beans.core.tests");
+		project.build(IncrementalProjectBuilder.FULL_BUILD, null);
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testCanResolve() {
+		ClassResourceIndex index = SpringCore.getClassResourceIndex();
+		assertTrue(index.canResolve("classpath*:find/**/*.class"));
+		assertFalse(index.canResolve("classpath:find/**/*.class"));
+		assertFalse(index.canResolve("classpath*:find/type/tests/SourceLevelType.class"));
+		assertFalse(index.canResolve("classpath*:META-INF/**/*.xml"));
+	}
+
+	@Test
+	public void testJarClassResources() throws Exception {
+		Set<String> names = getFileNames("classpath*:find/binary/type/**/*.class");
+		assertEquals(6, names.size());
+		assertTrue(names.contains("SourceLevelType.class"));
+		assertTrue(names.contains("SourceLevelType$SourceLevelInnerType.class"));
+	}
+
+	@Test
+	public void testOutputFolderUpdatedFromBuild() throws Exception {
+		assertEquals(getFileNames("classpath*:find/type/tests/*.class"),
+				getFileNames("classpath*:find/type/tests/**/SourceLevelType*.class"));
+		assertFalse(getFileNames("classpath*:find/type/tests/*.class").contains("CreatedLaterType.class"));
+
+		IFolder src = project.getFolder("src");
+		IPackageFragmentRoot root = JavaCore.create(project).getPackageFragmentRoot(src);
+		IPackageFragment pkg = root.getPackageFragment("find.type.tests");
+		pkg.createCompilationUnit("CreatedLaterType.java",
+				"package find.type.tests;\n\npublic class CreatedLaterType {\n}\n", true, null);
+		project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+
+		assertTrue(getFileNames("classpath*:find/type/tests/*.class").contains("CreatedLaterType.class"));
+	}
+
+	private Set<String> getFileNames(String locationPattern) throws Exception {
+		Set<String> names = new HashSet<String>();
+		for (Resource resource : SpringCore.getClassResourceIndex().getResources(project, locationPattern)) {
+			names.add(resource.getFilename());
+		}
+		return names;
+	}
+
+}
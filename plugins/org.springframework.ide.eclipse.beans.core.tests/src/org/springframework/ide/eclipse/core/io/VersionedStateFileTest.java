@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VersionedStateFileTest {
+
+	private File directory;
+
+	@Before
+	public void setup() throws Exception {
+		directory = File.createTempFile("state", "");
+		directory.delete();
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testReadWhatWasWritten() throws Exception {
+		VersionedStateFile stateFile = newStateFile(1);
+		assertNull(stateFile.read());
+
+		Map<String, FileStamp> state = new HashMap<String, FileStamp>();
+		state.put("stamp", new FileStamp(stateFile.getFile()));
+		stateFile.write(state);
+
+		@SuppressWarnings("unchecked")
+		Map<String, FileStamp> read = (Map<String, FileStamp>) newStateFile(1).read();
+		assertEquals(state.keySet(), read.keySet());
+		assertEquals(state.get("stamp").toString(), read.get("stamp").toString());
+	}
+
+	@Test
+	public void testOtherVersionIsIgnored() throws Exception {
+		newStateFile(1).write("old");
+		assertNull(newStateFile(2).read());
+		assertEquals("old", newStateFile(1).read());
+	}
+
+	@Test
+	public void testFileStamp() throws Exception {
+		File file = new File(directory, "stamped.txt");
+		directory.mkdirs();
+		write(file, "a");
+		FileStamp stamp = new FileStamp(file);
+		assertTrue(stamp.isCurrent(file));
+
+		write(file, "ab");
+		assertFalse(stamp.isCurrent(file));
+	}
+
+	private VersionedStateFile newStateFile(int version) {
+		return new VersionedStateFile(new File(directory, "state.ser"), version, getClass().getClassLoader());
+	}
+
+	private static void write(File file, String content) throws Exception {
+		FileWriter writer = new FileWriter(file);
+		try {
+			writer.write(content);
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+public class LineNumberPreservingDOMParserTest {
+
+	private static final String XML = "<?xml version=\"1.0\"?>\n"
+			+ "<beans xmlns=\"http://www.springframework.org/schema/beans\">\n"
+			+ "  <bean id=\"a\" class=\"A\">\n"
+			+ "    <property name=\"b\" ref=\"b\"/>\n"
+			+ "  </bean>\n"
+			+ "  <bean id=\"b\" class=\"B\"/>\n"
+			+ "</beans>\n";
+
+	@Test
+	public void testLineNumbers() throws Exception {
+		assertLineNumbers(parse(false, true));
+	}
+
+	@Test
+	public void testCompactLineNumbers() throws Exception {
+		assertLineNumbers(parse(true, true));
+	}
+
+	@Test
+	public void testCompactLineNumbersWithoutNamespaces() throws Exception {
+		assertLineNumbers(parse(true, false));
+	}
+
+	@Test
+	public void testCompactLineNumbersQueriedFromOtherThread() throws Exception {
+		final Document document = parse(true, true);
+		final int[] lines = new int[2];
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				Element bean = (Element) document.getElementsByTagName("bean").item(0);
+				lines[0] = LineNumberPreservingDOMParser.getStartLineNumber(bean);
+				lines[1] = LineNumberPreservingDOMParser.getEndLineNumber(bean);
+			}
+		};
+		thread.start();
+		thread.join();
+		assertEquals(3, lines[0]);
+		assertEquals(5, lines[1]);
+	}
+
+	@Test
+	public void testCompactLineNumbersOfAdoptedElement() throws Exception {
+		Document document = parse(true, true);
+		Document other = parse(true, true);
+		// The index of the adopted bean must not be looked up in the lines of the other document
+		Element bean = (Element) document.getElementsByTagName("bean").item(1);
+		other.getDocumentElement().appendChild(other.adoptNode(bean));
+		assertEquals(-1, LineNumberPreservingDOMParser.getStartLineNumber(bean));
+		assertEquals(-1, LineNumberPreservingDOMParser.getEndLineNumber(bean));
+		assertLineNumbers(other);
+	}
+
+	private Document parse(boolean compactLineNumbers, boolean namespaceAware) throws Exception {
+		LineNumberPreservingDOMParser parser = new LineNumberPreservingDOMParser(compactLineNumbers);
+		parser.setFeature("http://xml.org/sax/features/namespaces", namespaceAware);
+		parser.parse(new InputSource(new StringReader(XML)));
+		return parser.getDocument();
+	}
+
+	private void assertLineNumbers(Document document) {
+		Element beans = document.getDocumentElement();
+		assertEquals(2, LineNumberPreservingDOMParser.getStartLineNumber(beans));
+		assertEquals(7, LineNumberPreservingDOMParser.getEndLineNumber(beans));
+
+		Element first = (Element) document.getElementsByTagName("bean").item(0);
+		assertEquals(3, LineNumberPreservingDOMParser.getStartLineNumber(first));
+		assertEquals(5, LineNumberPreservingDOMParser.getEndLineNumber(first));
+
+		Element property = (Element) document.getElementsByTagName("property").item(0);
+		assertEquals(4, LineNumberPreservingDOMParser.getStartLineNumber(property));
+		assertEquals(4, LineNumberPreservingDOMParser.getEndLineNumber(property));
+
+		Element second = (Element) document.getElementsByTagName("bean").item(1);
+		assertEquals(6, LineNumberPreservingDOMParser.getStartLineNumber(second));
+		assertEquals(6, LineNumberPreservingDOMParser.getEndLineNumber(second));
+
+		assertEquals(-1, LineNumberPreservingDOMParser.getStartLineNumber(document));
+	}
+
+}
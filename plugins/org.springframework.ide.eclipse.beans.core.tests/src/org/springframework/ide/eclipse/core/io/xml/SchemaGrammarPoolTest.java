@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.StringReader;
+import java.io.Writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.w3c.dom.Document;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class SchemaGrammarPoolTest {
+
+	private static final String SCHEMA = "<?xml version=\"1.0\"?>\n"
+			+ "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"urn:test\" "
+			+ "elementFormDefault=\"qualified\">\n"
+			+ "<xsd:element name=\"root\"><xsd:complexType>"
+			+ "<xsd:attribute name=\"mode\" type=\"xsd:string\" default=\"%s\"/>"
+			+ "</xsd:complexType></xsd:element>\n"
+			+ "</xsd:schema>\n";
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void testSchemaCompiledOnce() throws Exception {
+		File schema = createSchema("test.xsd", "pooled");
+		SchemaGrammarPool pool = new SchemaGrammarPool();
+
+		assertEquals("pooled", loadRoot(schema, pool).getDocumentElement().getAttribute("mode"));
+		assertEquals(1, pool.size());
+		assertEquals(0, pool.getHits());
+
+		assertEquals("pooled", loadRoot(schema, pool).getDocumentElement().getAttribute("mode"));
+		assertEquals(1, pool.size());
+		assertEquals(1, pool.getHits());
+	}
+
+	@Test
+	public void testSchemaLocationsPooledSeparately() throws Exception {
+		File schema = createSchema("test.xsd", "first");
+		File otherVersion = createSchema("test-2.0.xsd", "second");
+		SchemaGrammarPool pool = new SchemaGrammarPool();
+
+		assertEquals("first", loadRoot(schema, pool).getDocumentElement().getAttribute("mode"));
+		assertEquals("second", loadRoot(otherVersion, pool).getDocumentElement().getAttribute("mode"));
+		assertEquals(2, pool.size());
+		assertEquals(0, pool.getHits());
+
+		pool.clear();
+		assertEquals(0, pool.size());
+	}
+
+	private File createSchema(String name, String defaultMode) throws Exception {
+		File schema = tmp.newFile(name);
+		Writer writer = new FileWriter(schema);
+		try {
+			writer.write(String.format(SCHEMA, defaultMode));
+		}
+		finally {
+			writer.close();
+		}
+		return schema;
+	}
+
+	private Document loadRoot(File schema, SchemaGrammarPool pool) throws Exception {
+		String xml = "<root xmlns=\"urn:test\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+				+ "xsi:schemaLocation=\"urn:test " + schema.toURI() + "\"/>";
+		EntityResolver defaultResolution = new DefaultHandler();
+		return new XercesDocumentLoader(pool).loadDocument(new InputSource(new StringReader(xml)), defaultResolution,
+				new DefaultHandler(), XmlBeanDefinitionReader.VALIDATION_XSD, true);
+	}
+
+}
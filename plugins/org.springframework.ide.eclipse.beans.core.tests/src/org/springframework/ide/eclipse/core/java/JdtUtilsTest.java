@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 Spring IDE Developers
+ * Copyright (c) 2013, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,17 @@ package org.springframework.ide.eclipse.core.java;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
 import org.junit.After;
 import org.junit.Before;
@@ -60,6 +66,67 @@ public class JdtUtilsTest {
 		assertEquals("find.type.tests.SourceLevelType", type.getFullyQualifiedName());
 	}
 
+	@Test
+	public void testUnresolvedTypeCachedUntilCreated() throws Exception {
+		JavaTypeCache cache = SpringCore.getJavaTypeCache();
+		assertNull(JdtUtils.getJavaType(project, "find.type.tests.CreatedLaterType"));
+		long negativeHits = cache.getNegativeHitCount();
+		assertNull(JdtUtils.getJavaType(project, "find.type.tests.CreatedLaterType"));
+		assertEquals(negativeHits + 1, cache.getNegativeHitCount());
+
+		IPackageFragment pkg = JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType").getPackageFragment();
+		pkg.createCompilationUnit("CreatedLaterType.java",
+				"package find.type.tests;\n\npublic class CreatedLaterType {\n}\n", true, null);
+
+		IType type = JdtUtils.getJavaType(project, "find.type.tests.CreatedLaterType");
+		assertNotNull(type);
+		assertEquals("find.type.tests.CreatedLaterType", type.getFullyQualifiedName());
+	}
+
+	@Test
+	public void testTypeStaysCachedWhileReconcilingItsCompilationUnit() throws Exception {
+		JavaTypeCache cache = SpringCore.getJavaTypeCache();
+		IType type = JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType");
+		ICompilationUnit workingCopy = type.getCompilationUnit().getWorkingCopy(null);
+		try {
+			workingCopy.getBuffer().append("\n// edited\n");
+			workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+			long misses = cache.getMissCount();
+			assertEquals(type, JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType"));
+			assertEquals(misses, cache.getMissCount());
+		}
+		finally {
+			workingCopy.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testChangedCompilationUnitInvalidatesItsTypes() throws Exception {
+		JavaTypeCache cache = SpringCore.getJavaTypeCache();
+		IType type = JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType");
+		assertNull(JdtUtils.getJavaType(project, "find.type.tests.UnknownType"));
+		assertTrue(cache.getAverageMissMillis() > 0);
+
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+		assertEquals(type, JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType"));
+		assertNull(JdtUtils.getJavaType(project, "find.type.tests.UnknownType"));
+		assertEquals(hits + 2, cache.getHitCount());
+		assertEquals(misses, cache.getMissCount());
+
+		// Saving the compilation unit discards its type and the unresolved names of its package
+		long invalidations = cache.getInvalidationCount();
+		IFile file = (IFile) type.getCompilationUnit().getResource();
+		String source = type.getCompilationUnit().getSource() + "\n// edited\n";
+		file.setContents(new ByteArrayInputStream(source.getBytes()), true, false, null);
+		assertTrue(cache.getInvalidationCount() >= invalidations + 2);
+
+		assertEquals(type, JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType"));
+		assertNull(JdtUtils.getJavaType(project, "find.type.tests.UnknownType"));
+		assertEquals(misses + 2, cache.getMissCount());
+	}
+
 	@Test
 	public void testGetJavaSourceNamedInnerType() {
 		IType type = JdtUtils.getJavaType(project, "find.type.tests.SourceLevelType$SourceLevelInnerType");
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.java;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class TypeStructureCacheTest {
+
+	private static final int ANNOTATION_VALUE_FLAGS = ITypeStructureCache.FLAG_ANNOTATION
+			| ITypeStructureCache.FLAG_ANNOTATION_VALUE;
+
+	private IProject project;
+
+	private IFile sourceFile;
+
+	private TestTypeStructureCache cache;
+
+	@Before
+	public void setup() throws Exception {
+		project = StsTestUtil.createPredefinedProject("find-type-testcases", "org.springframework.ide.eclipse.beans.core.tests");
+		sourceFile = project.getFile("src/find/type/tests/SourceLevelType.java");
+		cache = new TestTypeStructureCache();
+		build();
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testBodyChangesKeepTheFingerprint() throws Exception {
+		recordTypeStructures();
+		assertFalse(hasStructuralChanges(sourceFile, ANNOTATION_VALUE_FLAGS));
+
+		replaceInSource("public void foo() {", "public void foo() {\n\t\tSystem.out.println(\"changed\");");
+		assertFalse(hasStructuralChanges(sourceFile, 0));
+		assertFalse(hasStructuralChanges(sourceFile, ANNOTATION_VALUE_FLAGS));
+	}
+
+	@Test
+	public void testStructuralChangesAlterTheFingerprint() throws Exception {
+		recordTypeStructures();
+
+		replaceInSource("public void foo() {", "public void bar() {\n\t}\n\n\tpublic void foo() {");
+		assertTrue(hasStructuralChanges(sourceFile, 0));
+	}
+
+	@Test
+	public void testStructuralChangesOfInnerTypesAlterTheFingerprint() throws Exception {
+		recordTypeStructures();
+
+		replaceInSource("public static class SourceLevelInnerType {",
+				"public static class SourceLevelInnerType implements Runnable {\n\t\tpublic void run() {\n\t\t}");
+		assertTrue(hasStructuralChanges(sourceFile, 0));
+	}
+
+	@Test
+	public void testRemovingATypeDropsItsInnerTypes() throws Exception {
+		IPackageFragment pkg = (IPackageFragment) JavaCore.create(sourceFile).getParent();
+		ICompilationUnit sibling = pkg.createCompilationUnit("SourceLevelTypeSibling.java",
+				"package find.type.tests;\n\npublic class SourceLevelTypeSibling {\n}\n", true, null);
+		build();
+		recordTypeStructures();
+
+		cache.removeRecordedTypeStructures(project, "find.type.tests.SourceLevelType");
+		assertTrue(hasStructuralChanges(sourceFile, 0));
+		assertFalse(hasStructuralChanges(sibling.getResource(), 0));
+
+		// Recording the outer type again doesn't bring back its inner type
+		cache.recordTypeStructures(project, project.getFile("bin/find/type/tests/SourceLevelType.class"));
+		assertTrue(hasStructuralChanges(sourceFile, 0));
+
+		cache.recordTypeStructures(project,
+				project.getFile("bin/find/type/tests/SourceLevelType$SourceLevelInnerType.class"));
+		assertFalse(hasStructuralChanges(sourceFile, 0));
+	}
+
+	private void recordTypeStructures() throws Exception {
+		cache.recordTypeStructures(project, project.getFolder("bin/find/type/tests").members());
+	}
+
+	private boolean hasStructuralChanges(IResource resource, int flags) throws Exception {
+		// Only the types of open compilation units are compared
+		((ICompilationUnit) JavaCore.create(resource)).open(null);
+		return cache.hasStructuralChanges(resource, flags);
+	}
+
+	private void replaceInSource(String text, String replacement) throws Exception {
+		String source = ((ICompilationUnit) JavaCore.create(sourceFile)).getSource();
+		assertTrue(source.contains(text));
+		sourceFile.setContents(new ByteArrayInputStream(source.replace(text, replacement).getBytes()), true, false,
+				null);
+		build();
+	}
+
+	private void build() throws Exception {
+		project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+	}
+
+	private static class TestTypeStructureCache extends TypeStructureCache {
+
+		void removeRecordedTypeStructures(IProject project, String className) {
+			removeRecordedTyeStructures(project, className);
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+
+public class ModelChangeEventBusTest {
+
+	private final ModelChangeEventBus bus = new ModelChangeEventBus("test", 500);
+
+	private final List<ModelChangeEvent> events = new ArrayList<ModelChangeEvent>();
+
+	private final IAsyncModelChangeListener listener = new IAsyncModelChangeListener() {
+
+		public void elementChanged(ModelChangeEvent event) {
+			synchronized (events) {
+				events.add(event);
+			}
+		}
+	};
+
+	@After
+	public void dispose() {
+		bus.dispose();
+	}
+
+	@Test
+	public void testCollapsesEventsPerElement() throws Exception {
+		TestElement parent = new TestElement(null, "parent");
+		TestElement added = new TestElement(parent, "added");
+		TestElement addedAndRemoved = new TestElement(parent, "addedAndRemoved");
+		TestElement removed = new TestElement(parent, "removed");
+		TestElement readded = new TestElement(parent, "removed");
+		bus.addListener(listener);
+
+		bus.post(new ModelChangeEvent(parent, Type.CHANGED));
+		bus.post(new ModelChangeEvent(added, Type.ADDED));
+		bus.post(new ModelChangeEvent(addedAndRemoved, Type.ADDED));
+		bus.post(new ModelChangeEvent(added, Type.CHANGED));
+		bus.post(new ModelChangeEvent(removed, Type.REMOVED));
+		bus.post(new ModelChangeEvent(parent, Type.CHANGED));
+		bus.post(new ModelChangeEvent(addedAndRemoved, Type.REMOVED));
+		bus.post(new ModelChangeEvent(readded, Type.ADDED));
+		waitForDelivery(3);
+
+		assertEquals(3, events.size());
+		assertSame(parent, events.get(0).getElement());
+		assertEquals(Type.CHANGED, events.get(0).getType());
+		assertSame(added, events.get(1).getElement());
+		assertEquals(Type.ADDED, events.get(1).getType());
+		assertSame(readded, events.get(2).getElement());
+		assertEquals(Type.CHANGED, events.get(2).getType());
+
+		assertEquals(8, bus.getPostedEvents());
+		assertEquals(3, bus.getDeliveredEvents());
+		assertEquals(1, bus.getBatches());
+		assertEquals(0, bus.getPendingEvents());
+	}
+
+	@Test
+	public void testElementsWithSameNameInDifferentParents() throws Exception {
+		TestElement first = new TestElement(new TestElement(null, "first"), "bean");
+		TestElement second = new TestElement(new TestElement(null, "second"), "bean");
+		assertFalse(first.getElementID().equals(second.getElementID()));
+		bus.addListener(listener);
+
+		bus.post(new ModelChangeEvent(first, Type.CHANGED));
+		bus.post(new ModelChangeEvent(second, Type.CHANGED));
+		waitForDelivery(2);
+
+		assertEquals(2, bus.getDeliveredEvents());
+	}
+
+	@Test
+	public void testEventsDroppedWithoutListeners() {
+		bus.post(new ModelChangeEvent(new TestElement(null, "element"), Type.CHANGED));
+		assertEquals(0, bus.getPostedEvents());
+		assertEquals(0, bus.getPendingEvents());
+	}
+
+	@Test
+	public void testNoEventsDeliveredAfterDispose() throws Exception {
+		bus.addListener(listener);
+		bus.post(new ModelChangeEvent(new TestElement(null, "pending"), Type.CHANGED));
+		assertEquals(1, bus.getPendingEvents());
+
+		bus.dispose();
+		bus.post(new ModelChangeEvent(new TestElement(null, "late"), Type.CHANGED));
+		assertEquals(0, bus.getPendingEvents());
+		assertEquals(1, bus.getPostedEvents());
+
+		// Give a delivery job that escaped the cancellation time to run
+		Thread.sleep(1000);
+		assertEquals(0, bus.getDeliveredEvents());
+		synchronized (events) {
+			assertTrue(events.isEmpty());
+		}
+	}
+
+	private void waitForDelivery(int expectedEvents) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (bus.getDeliveredEvents() < expectedEvents && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static class TestElement extends AbstractModelElement {
+
+		public TestElement(IModelElement parent, String name) {
+			super(parent, name);
+		}
+
+		public int getElementType() {
+			return IModelElementTypes.MODEL_TYPE;
+		}
+	}
+
+}
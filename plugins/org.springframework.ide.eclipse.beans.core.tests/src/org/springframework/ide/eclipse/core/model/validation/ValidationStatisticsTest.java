@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
+import org.springframework.ide.eclipse.core.model.validation.ValidationStatistics.Statistic;
+
+public class ValidationStatisticsTest {
+
+	private final ValidationRuleDefinition slowRule = new ValidationRuleDefinition("validator", "slowRule", "Slow",
+			null);
+
+	private final ValidationRuleDefinition fastRule = new ValidationRuleDefinition("validator", "fastRule", "Fast",
+			null);
+
+	@Test
+	public void testAggregatesPerRuleAndValidator() {
+		ValidationStatistics statistics = new ValidationStatistics(true, false, null);
+		statistics.record("validator", slowRule, null, 300, -1);
+		statistics.record("validator", slowRule, null, 200, -1);
+		statistics.record("validator", fastRule, null, 10, -1);
+		statistics.record("otherValidator", fastRule, null, 5, -1);
+
+		List<Statistic> rules = statistics.getRuleStatistics();
+		assertEquals(2, rules.size());
+		assertEquals("slowRule", rules.get(0).getId());
+		assertEquals(2, rules.get(0).getInvocations());
+		assertEquals(500, rules.get(0).getNanos());
+		assertEquals("fastRule", rules.get(1).getId());
+		assertEquals(15, rules.get(1).getNanos());
+
+		List<Statistic> validators = statistics.getValidatorStatistics();
+		assertEquals(2, validators.size());
+		assertEquals("validator", validators.get(0).getId());
+		assertEquals(3, validators.get(0).getInvocations());
+
+		statistics.reset();
+		assertTrue(statistics.getRuleStatistics().isEmpty());
+	}
+
+	@Test
+	public void testReportsAllocationsOnlyIfRecorded() {
+		ValidationStatistics statistics = new ValidationStatistics(true, false, null);
+		assertFalse(statistics.isRecordingAllocations());
+		assertEquals(-1, statistics.getAllocatedBytes());
+		statistics.record("validator", slowRule, null, 1000000, -1);
+
+		StringWriter report = new StringWriter();
+		statistics.writeReport(report);
+		assertTrue(report.toString().contains("slowRule"));
+		assertFalse(report.toString().contains("allocated"));
+	}
+
+	@Test
+	public void testDisabled() {
+		ValidationStatistics statistics = new ValidationStatistics(false, true, null);
+		assertFalse(statistics.isEnabled());
+		assertFalse(statistics.isRecordingAllocations());
+	}
+
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.metadata.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.ide.eclipse.beans.core.internal.model.Bean;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadata;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IMethodMetadata;
+import org.springframework.ide.eclipse.core.java.annotation.AnnotationMemberValuePair;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingEndpoint;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingIndex;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
+import org.springframework.util.AntPathMatcher;
+
+public class RequestMappingIndexTest {
+
+	private static final String PROJECT_NAME = "request-mapping-index-test";
+
+	private static final String OTHER_PROJECT_NAME = "request-mapping-index-test-other";
+
+	private final RequestMappingIndex index = new RequestMappingIndex();
+
+	private IProject project;
+
+	private IProject otherProject;
+
+	@Before
+	public void setUp() throws Exception {
+		project = createProject(PROJECT_NAME);
+		otherProject = createProject(OTHER_PROJECT_NAME);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		project.delete(true, true, new NullProgressMonitor());
+		otherProject.delete(true, true, new NullProgressMonitor());
+	}
+
+	@Test
+	public void testFindEndpointsMatchingLiteralAndWildcardPatterns() throws Exception {
+		setEndpoints("ownerController", PROJECT_NAME, "/owners", "/owners/{ownerId}", "/owners/{ownerId}/pets");
+		setEndpoints("genericController", PROJECT_NAME, "/*/{id}", "/**/*.html", "/");
+
+		assertEquals(Arrays.asList("/*/{id}", "/owners/{ownerId}"), findUrlsMatching("/owners/5"));
+		assertEquals(Arrays.asList("/owners"), findUrlsMatching("/owners"));
+		assertEquals(Arrays.asList("/owners/{ownerId}/pets"), findUrlsMatching("/owners/5/pets"));
+		assertEquals(Arrays.asList("/**/*.html", "/*/{id}"), findUrlsMatching("/vets/index.html"));
+		assertEquals(Arrays.asList("/*/{id}"), findUrlsMatching("/vets/5"));
+		assertEquals(Arrays.asList("/"), findUrlsMatching("/"));
+		assertTrue(findUrlsMatching("/vets").isEmpty());
+	}
+
+	@Test
+	public void testFindEndpointsMatchingOnlyReturnsEndpointsOfProject() throws Exception {
+		setEndpoints("ownerController", PROJECT_NAME, "/owners/{ownerId}");
+		setEndpoints("otherOwnerController", OTHER_PROJECT_NAME, "/owners/{ownerId}", "/*/{id}");
+
+		assertEquals(Arrays.asList("/owners/{ownerId}"), findUrlsMatching("/owners/5"));
+		assertEquals(Arrays.asList("/*/{id}", "/owners/{ownerId}"),
+				getUrls(index.findEndpointsMatching("/owners/5", OTHER_PROJECT_NAME)));
+
+		otherProject.close(new NullProgressMonitor());
+		assertTrue(index.findEndpointsMatching("/owners/5", OTHER_PROJECT_NAME).isEmpty());
+	}
+
+	@Test
+	public void testChangedAndRemovedBeansAreDropped() throws Exception {
+		setEndpoints("ownerController", PROJECT_NAME, "/owners", "/owners/{ownerId}");
+		setEndpoints("vetController", PROJECT_NAME, "/vets/{vetId}");
+		assertEquals(3, index.size());
+
+		setEndpoints("ownerController", PROJECT_NAME, "/owners/{ownerId}/edit");
+		assertEquals(2, index.size());
+		assertTrue(findUrlsMatching("/owners/5").isEmpty());
+		assertEquals(Arrays.asList("/owners/{ownerId}/edit"), findUrlsMatching("/owners/5/edit"));
+
+		setEndpoints("vetController", PROJECT_NAME);
+		assertEquals(1, index.size());
+		assertTrue(findUrlsMatching("/vets/5").isEmpty());
+		assertEquals(Arrays.asList("/owners/{ownerId}/edit"), getUrls(index.findEndpoints(null)));
+	}
+
+	@Test
+	public void testFindEndpointsMatchingAgreesWithMatchingAllPatterns() throws Exception {
+		String[] segments = { "owners", "vets", "{type}", "*", "**", "pets", "{id}", "v?ts" };
+		for (int i = 0; i < 200; i++) {
+			String[] urls = new String[5];
+			for (int j = 0; j < urls.length; j++) {
+				int k = i * urls.length + j;
+				urls[j] = "/" + segments[k % segments.length] + "/" + segments[(k / segments.length) % segments.length]
+						+ (k % 3 == 0 ? "/" + k : "");
+			}
+			setEndpoints("controller" + i, PROJECT_NAME, urls);
+		}
+
+		AntPathMatcher matcher = new AntPathMatcher();
+		for (String path : new String[] { "/owners/5", "/vets/pets", "/pets/owners/3", "/vits/5", "/5/owners", "/",
+				"/owners/vets/12" }) {
+			List<String> expected = new ArrayList<String>();
+			for (RequestMappingEndpoint endpoint : index.findEndpoints(null)) {
+				if (matcher.match(endpoint.getUrl(), path)) {
+					expected.add(endpoint.getUrl());
+				}
+			}
+			assertEquals(path, expected, findUrlsMatching(path));
+		}
+	}
+
+	private List<String> findUrlsMatching(String path) {
+		return getUrls(index.findEndpointsMatching(path, PROJECT_NAME));
+	}
+
+	/**
+	 * Sets the handler methods of the given bean to ones mapped to the given URL patterns.
+	 */
+	private void setEndpoints(String beanName, String projectName, String... urls) {
+		String typeHandle = "=" + projectName + "/src<org.test{Controller.java[Controller";
+		Set<IMethodMetadata> methodMetadata = new HashSet<IMethodMetadata>();
+		for (int i = 0; i < urls.length; i++) {
+			String methodHandle = typeHandle + "~" + beanName + i;
+			methodMetadata.add(new RequestMappingMethodAnnotationMetadata(RequestMappingMethodAnnotationMetadata.class
+					.getName(), methodHandle, Collections.singleton(new AnnotationMemberValuePair(null, urls[i])), null));
+		}
+		Set<IBeanMetadata> beanMetadata = new HashSet<IBeanMetadata>();
+		if (!methodMetadata.isEmpty()) {
+			Bean bean = new Bean(null, beanName, null, new RootBeanDefinition("org.test.Controller"));
+			beanMetadata.add(new RequestMappingAnnotationMetadata(bean, typeHandle, Collections
+					.<AnnotationMemberValuePair> emptySet(), null, methodMetadata, typeHandle));
+		}
+		index.beanMetadataChanged(beanName, beanMetadata);
+	}
+
+	private static List<String> getUrls(List<RequestMappingEndpoint> endpoints) {
+		List<String> urls = new ArrayList<String>();
+		for (RequestMappingEndpoint endpoint : endpoints) {
+			urls.add(endpoint.getUrl());
+		}
+		return urls;
+	}
+
+	private static IProject createProject(String name) throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		project.create(new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+		return project;
+	}
+
+}
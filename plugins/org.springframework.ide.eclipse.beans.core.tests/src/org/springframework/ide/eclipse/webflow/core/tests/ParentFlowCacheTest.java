@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.webflow.core.Activator;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowConfig;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowProject;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.ParentFlowCache;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.ParentFlowCache.FlowState;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.ParentFlowCache.ParentFlow;
+
+@SuppressWarnings("restriction")
+public class ParentFlowCacheTest {
+
+	private static final String FLOW = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<flow xmlns=\"http://www.springframework.org/schema/webflow\"\n"
+			+ "  xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+			+ "  xsi:schemaLocation=\"http://www.springframework.org/schema/webflow "
+			+ "http://www.springframework.org/schema/webflow/spring-webflow-2.0.xsd\"\n"
+			+ "  parent=\"base\">\n"
+			+ "  <view-state id=\"start\"/>\n"
+			+ "  <subflow-state id=\"sub\" subflow=\"other\"/>\n"
+			+ "</flow>\n";
+
+	private IProject project;
+
+	private IFile file;
+
+	private WebflowConfig config;
+
+	@Before
+	public void createFlow() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("parent-flow-cache-tests");
+		project.create(new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+		file = project.getFile("parent-flow.xml");
+		file.create(new ByteArrayInputStream(FLOW.getBytes("UTF-8")), true, new NullProgressMonitor());
+
+		config = new WebflowConfig(new WebflowProject(project, Activator.getModel()));
+		config.setResource(file);
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, true, new NullProgressMonitor());
+	}
+
+	@Test
+	public void testParentAndStates() throws Exception {
+		ParentFlow flow = ParentFlowCache.getFlow(config);
+		assertEquals("base", flow.getParent());
+
+		FlowState start = flow.getState("start");
+		assertEquals("start", start.getId());
+		assertEquals(6, start.getStartLine());
+		assertFalse(start.isSubflowState());
+		assertNull(start.getSubflow());
+
+		FlowState sub = flow.getState("sub");
+		assertEquals(7, sub.getStartLine());
+		assertTrue(sub.isSubflowState());
+		assertEquals("other", sub.getSubflow());
+
+		assertNull(flow.getState("unknown"));
+	}
+
+	@Test
+	public void testFlowIsCachedUntilFileChanges() throws Exception {
+		ParentFlow flow = ParentFlowCache.getFlow(config);
+		assertSame(flow, ParentFlowCache.getFlow(config));
+
+		file.setContents(new ByteArrayInputStream(FLOW.replace("start", "changed").getBytes("UTF-8")), true, false,
+				new NullProgressMonitor());
+		ParentFlow changedFlow = ParentFlowCache.getFlow(config);
+		assertNotSame(flow, changedFlow);
+		assertNull(changedFlow.getState("start"));
+		assertNotNull(changedFlow.getState("changed"));
+	}
+
+	@Test
+	public void testUnsavedChangesOfOpenModel() throws Exception {
+		assertNotNull(ParentFlowCache.getFlow(config).getState("start"));
+
+		IStructuredModel model = StructuredModelManager.getModelManager().getModelForEdit(file);
+		try {
+			model.getStructuredDocument().set(FLOW.replace("start", "unsaved"));
+			assertTrue(model.isDirty());
+
+			ParentFlow flow = ParentFlowCache.getFlow(config);
+			assertNull(flow.getState("start"));
+			assertNotNull(flow.getState("unsaved"));
+		}
+		finally {
+			model.releaseFromEdit();
+		}
+
+		// the unsaved changes are neither cached nor saved
+		ParentFlow flow = ParentFlowCache.getFlow(config);
+		assertNotNull(flow.getState("start"));
+		assertNull(flow.getState("unsaved"));
+	}
+
+}
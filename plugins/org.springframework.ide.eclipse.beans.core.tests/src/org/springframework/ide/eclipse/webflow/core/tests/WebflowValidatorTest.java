@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.webflow.core.Activator;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowValidator;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class WebflowValidatorTest {
+
+	private IProject project;
+
+	private IFile flow;
+
+	private IFile referencedType;
+
+	private IFile unrelatedType;
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("webflow-validation-tests", "org.springframework.ide.eclipse.beans.core.tests");
+		flow = project.getFile("flow.xml");
+		referencedType = project.getFile("src/org/test/webflow/ReferencedType.java");
+		unrelatedType = project.getFile("src/org/test/webflow/UnrelatedType.java");
+
+		// drop what previous tests recorded for the flow
+		newValidator().getAffectedResources(flow, IncrementalProjectBuilder.INCREMENTAL_BUILD, IResourceDelta.REMOVED);
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testFlowNotValidatedYetIsNotAffectedByTypeChanges() throws Exception {
+		WebflowValidator validator = newValidator();
+		assertTrue(validator.getAffectedResources(referencedType, IncrementalProjectBuilder.INCREMENTAL_BUILD,
+				IResourceDelta.CHANGED).isEmpty());
+		assertTrue(validator.getAffectedResources(unrelatedType, IncrementalProjectBuilder.INCREMENTAL_BUILD,
+				IResourceDelta.CHANGED).isEmpty());
+	}
+
+	@Test
+	public void testDependenciesRecordedByPreviousBuild() throws Exception {
+		newValidator().validate(Collections.<IResource> singleton(flow),
+				IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
+
+		// the next build uses a new validator
+		WebflowValidator validator = newValidator();
+		assertTrue(validator.getAffectedResources(unrelatedType, IncrementalProjectBuilder.INCREMENTAL_BUILD,
+				IResourceDelta.CHANGED).isEmpty());
+		assertEquals(Collections.singleton(flow), validator.getAffectedResources(referencedType,
+				IncrementalProjectBuilder.INCREMENTAL_BUILD, IResourceDelta.CHANGED));
+		assertEquals(Collections.singleton(flow), validator.getAffectedResources(flow,
+				IncrementalProjectBuilder.INCREMENTAL_BUILD, IResourceDelta.CHANGED));
+	}
+
+	private WebflowValidator newValidator() {
+		WebflowValidator validator = new WebflowValidator();
+		validator.setValidatorId(WebflowValidator.VALIDATOR_ID);
+		validator.setMarkerId(Activator.PLUGIN_ID + ".problemmarker");
+		return validator;
+	}
+
+}
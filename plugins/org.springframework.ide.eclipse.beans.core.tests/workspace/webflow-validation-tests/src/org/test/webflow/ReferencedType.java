@@ -0,0 +1,4 @@
+package org.test.webflow;
+
+public class ReferencedType {
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -37,6 +37,7 @@ import org.osgi.framework.BundleListener;
 import org.osgi.framework.Constants;
 import org.osgi.framework.Version;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.namespaces.ProjectSchemaGrammarPools;
 import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
 import org.springframework.ide.eclipse.core.MessageUtils;
 import org.springframework.ide.eclipse.xml.namespaces.NamespaceManagerProvider;
@@ -72,6 +73,9 @@ public class BeansCorePlugin extends AbstractUIPlugin {
 	/** The singleton beans model */
 	private BeansModel model;
 
+	/** Compiled XSDs shared by the configs of a project */
+	private ProjectSchemaGrammarPools schemaGrammarPools;
+
 	/** Internal executor service */
 	private ExecutorService executorService;
 	private AtomicInteger threadCount = new AtomicInteger(0);
@@ -103,6 +107,7 @@ public class BeansCorePlugin extends AbstractUIPlugin {
 	public BeansCorePlugin() {
 		plugin = this;
 		model = new BeansModel();
+		schemaGrammarPools = new ProjectSchemaGrammarPools();
 		
 		try {
 			resourceBundle = ResourceBundle.getBundle(RESOURCE_NAME);
@@ -115,6 +120,7 @@ public class BeansCorePlugin extends AbstractUIPlugin {
 	@Override
 	public void start(final BundleContext context) throws Exception {
 		super.start(context);
+		schemaGrammarPools.startup();
 		
 //		Hashtable<String, String> properties = new Hashtable<String, String>();
 //		properties.put(URLConstants.URL_HANDLER_PROTOCOL,
@@ -167,6 +173,7 @@ public class BeansCorePlugin extends AbstractUIPlugin {
 			isClosed = true;
 		}
 		model.stop();
+		schemaGrammarPools.shutdown();
 //		if (projectAwareUrlService != null) {
 //			projectAwareUrlService.unregister();
 //		}
@@ -194,6 +201,14 @@ public class BeansCorePlugin extends AbstractUIPlugin {
 		getDefault().model = model;
 	}
 
+	/**
+	 * Returns the pools of compiled XSDs shared by the configs of each project.
+	 * @since 3.9.13
+	 */
+	public static ProjectSchemaGrammarPools getSchemaGrammarPools() {
+		return getDefault().schemaGrammarPools;
+	}
+
 	public static ExecutorService getExecutorService() {
 		return getDefault().executorService;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2017 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -427,7 +427,8 @@ public class BeansConfig extends AbstractBeansConfig implements IBeansConfig, IL
 						}
 					};
 
-					reader.setDocumentLoader(new XercesDocumentLoader());
+					reader.setDocumentLoader(new XercesDocumentLoader(BeansCorePlugin.getSchemaGrammarPools().getGrammarPool(
+							file.getProject(), namespaceResolvingClassloader)));
 					reader.setResourceLoader(resourceLoader);
 
 					reader.setEntityResolver(resolver);
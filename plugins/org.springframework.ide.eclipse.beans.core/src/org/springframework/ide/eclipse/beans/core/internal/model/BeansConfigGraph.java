@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.internal.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IImportedBeansConfig;
+
+/**
+ * Graph of the imports between the {@link IBeansConfig}s of a {@link IBeansModel} and of the {@link IBeansConfigSet}s
+ * the configs belong to. It tells which configs are affected by a change to a config file without walking all configs,
+ * imports and config sets of the workspace.
+ * <p>
+ * The imports of a config are recorded whenever the config has been read, including the nested imports of its
+ * imported configs. Configs that have not been read yet are not part of the graph; they pick up the current state of
+ * their imports as soon as they are read. The config set memberships of a project are indexed by config name on first
+ * request and indexed again after the project's config sets have been modified.
+ * @since 3.9.13
+ */
+public class BeansConfigGraph {
+
+	private final IBeansModel model;
+
+	/** Resources of all configs imported by a config, directly or by one of its imported configs */
+	private final Map<IBeansConfig, Set<IResource>> importedResources = new IdentityHashMap<IBeansConfig, Set<IResource>>();
+
+	/** Configs importing a resource, directly or by one of their imported configs */
+	private final Map<IResource, Set<IBeansConfig>> importingConfigs = new HashMap<IResource, Set<IBeansConfig>>();
+
+	private final ConcurrentMap<IBeansProject, ConfigSetIndex> configSetIndexes = new ConcurrentHashMap<IBeansProject, ConfigSetIndex>();
+
+	public BeansConfigGraph(IBeansModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * Records the imports of the given config, replacing the ones recorded when the config was read before.
+	 */
+	public void updateImports(IBeansConfig config) {
+		Set<IResource> resources = new LinkedHashSet<IResource>();
+		addImportedResources(config, resources);
+		synchronized (this) {
+			removeImportsInternal(config);
+			if (!resources.isEmpty()) {
+				importedResources.put(config, resources);
+				for (IResource resource : resources) {
+					Set<IBeansConfig> configs = importingConfigs.get(resource);
+					if (configs == null) {
+						configs = Collections.newSetFromMap(new IdentityHashMap<IBeansConfig, Boolean>());
+						importingConfigs.put(resource, configs);
+					}
+					configs.add(config);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops the imports recorded for the given config.
+	 */
+	public synchronized void removeImports(IBeansConfig config) {
+		removeImportsInternal(config);
+	}
+
+	/**
+	 * Returns the configs of the model which import the given resource, either directly or by one of their imported
+	 * configs.
+	 */
+	public Set<IBeansConfig> getImportingConfigs(IResource resource) {
+		Set<IBeansConfig> candidates;
+		synchronized (this) {
+			Set<IBeansConfig> configs = importingConfigs.get(resource);
+			if (configs == null) {
+				return Collections.emptySet();
+			}
+			candidates = new LinkedHashSet<IBeansConfig>(configs);
+		}
+
+		// Configs are checked outside of the lock as this takes the project's lock
+		Set<IBeansConfig> configs = new LinkedHashSet<IBeansConfig>();
+		for (IBeansConfig config : candidates) {
+			if (isAttached(config)) {
+				configs.add(config);
+			}
+			else {
+				removeImports(config);
+			}
+		}
+		return configs;
+	}
+
+	/**
+	 * Returns the resources imported by the given config, either directly or by one of its imported configs.
+	 */
+	public synchronized Set<IResource> getImportedResources(IBeansConfig config) {
+		Set<IResource> resources = importedResources.get(config);
+		if (resources == null) {
+			return Collections.emptySet();
+		}
+		return new LinkedHashSet<IResource>(resources);
+	}
+
+	/**
+	 * Returns the config sets of all projects of the model which contain the given config file.
+	 */
+	public Set<IBeansConfigSet> getConfigSets(IFile file) {
+		Set<IBeansConfigSet> configSets = new LinkedHashSet<IBeansConfigSet>();
+		for (IBeansProject project : model.getProjects()) {
+			// Same naming as BeansConfigSet.hasConfig(IFile)
+			String configName;
+			if (file.getProject().equals(project.getProject())) {
+				configName = file.getProjectRelativePath().toString();
+			}
+			else {
+				configName = file.getFullPath().toString();
+			}
+			Set<IBeansConfigSet> projectConfigSets = getConfigSetIndex(project).configSets.get(configName);
+			if (projectConfigSets != null) {
+				configSets.addAll(projectConfigSets);
+			}
+		}
+		return configSets;
+	}
+
+	/**
+	 * Drops all recorded imports and config set memberships.
+	 */
+	public void clear() {
+		synchronized (this) {
+			importedResources.clear();
+			importingConfigs.clear();
+		}
+		configSetIndexes.clear();
+	}
+
+	private void removeImportsInternal(IBeansConfig config) {
+		Set<IResource> resources = importedResources.remove(config);
+		if (resources != null) {
+			for (IResource resource : resources) {
+				Set<IBeansConfig> configs = importingConfigs.get(resource);
+				if (configs != null) {
+					configs.remove(config);
+					if (configs.isEmpty()) {
+						importingConfigs.remove(resource);
+					}
+				}
+			}
+		}
+	}
+
+	private void addImportedResources(IBeansConfig config, Set<IResource> resources) {
+		for (IBeansImport beansImport : config.getImports()) {
+			for (IImportedBeansConfig importedConfig : beansImport.getImportedBeansConfigs()) {
+				IResource resource = importedConfig.getElementResource();
+				if (resource != null && resources.add(resource)) {
+					addImportedResources(importedConfig, resources);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if the given config is still one of the configs of a project of the model. Configs are replaced by new
+	 * instances if their project is reset or the config is removed and added again.
+	 */
+	private boolean isAttached(IBeansConfig config) {
+		if (config.getElementParent() instanceof BeansProject) {
+			BeansProject project = (BeansProject) config.getElementParent();
+			return model.getProject(project.getProject()) == project && project.containsConfig(config);
+		}
+		return false;
+	}
+
+	private ConfigSetIndex getConfigSetIndex(IBeansProject project) {
+		long modificationStamp = (project instanceof BeansProject ? ((BeansProject) project)
+				.getConfigSetsModificationStamp() : -1);
+		ConfigSetIndex index = configSetIndexes.get(project);
+		if (index == null || index.project != project || index.modificationStamp != modificationStamp
+				|| modificationStamp == -1) {
+			index = new ConfigSetIndex(project, modificationStamp);
+			configSetIndexes.put(project, index);
+		}
+		return index;
+	}
+
+	/**
+	 * The config sets of a project by the names of their configs.
+	 */
+	private static class ConfigSetIndex {
+
+		private final IBeansProject project;
+
+		private final long modificationStamp;
+
+		private final Map<String, Set<IBeansConfigSet>> configSets = new HashMap<String, Set<IBeansConfigSet>>();
+
+		public ConfigSetIndex(IBeansProject project, long modificationStamp) {
+			this.project = project;
+			this.modificationStamp = modificationStamp;
+			for (IBeansConfigSet configSet : project.getConfigSets()) {
+				for (String configName : configSet.getConfigNames()) {
+					Set<IBeansConfigSet> sets = configSets.get(configName);
+					if (sets == null) {
+						sets = new LinkedHashSet<IBeansConfigSet>();
+						configSets.put(configName, sets);
+					}
+					sets.add(configSet);
+				}
+			}
+		}
+	}
+
+}
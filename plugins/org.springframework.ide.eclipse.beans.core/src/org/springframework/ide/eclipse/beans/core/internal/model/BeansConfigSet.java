@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2011 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -160,7 +160,7 @@ public class BeansConfigSet extends AbstractResourceModelElement implements IBea
 			finally {
 				w.unlock();
 			}
-			reset();
+			configNamesChanged();
 		}
 	}
 
@@ -185,7 +185,7 @@ public class BeansConfigSet extends AbstractResourceModelElement implements IBea
 		finally {
 			w.unlock();
 		}
-		reset();
+		configNamesChanged();
 	}
 
 	public void removeAllConfigs() {
@@ -196,7 +196,14 @@ public class BeansConfigSet extends AbstractResourceModelElement implements IBea
 		finally {
 			w.unlock();
 		}
+		configNamesChanged();
+	}
+
+	private void configNamesChanged() {
 		reset();
+		if (getElementParent() instanceof BeansProject) {
+			((BeansProject) getElementParent()).configSetsChanged();
+		}
 	}
 
 	public Set<IBeansConfig> getConfigs() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -91,6 +91,8 @@ public class BeansModel extends AbstractModel implements IBeansModel {
 
 	private IFacetedProjectListener facetedProjectListener;
 
+	private final BeansConfigGraph configGraph = new BeansConfigGraph(this);
+
 	public BeansModel() {
 		super(null, IBeansModel.ELEMENT_NAME);
 		projects = new ConcurrentHashMap<IProject, IBeansProject>();
@@ -142,6 +144,7 @@ public class BeansModel extends AbstractModel implements IBeansModel {
 		try {
 			w.lock();
 			projects.clear();
+			configGraph.clear();
 			for (IProject project : SpringCoreUtils.getSpringProjects()) {
 				BeansProject beansProject = new BeansProject(BeansModel.this, project);
 				addProject(beansProject);
@@ -192,10 +195,13 @@ public class BeansModel extends AbstractModel implements IBeansModel {
 		FacetedProjectFramework.removeListener(facetedProjectListener);
 		facetedProjectListener = null;
 
+		disposeChangeEventBus();
+
 		try {
 			w.lock();
 			// Remove all projects
 			projects.clear();
+			configGraph.clear();
 		}
 		finally {
 			w.unlock();
@@ -356,6 +362,14 @@ public class BeansModel extends AbstractModel implements IBeansModel {
 		return configs;
 	}
 
+	/**
+	 * Returns the graph of imports and config set memberships between the configs of this model.
+	 * @since 3.9.13
+	 */
+	public BeansConfigGraph getConfigGraph() {
+		return configGraph;
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if (this == other) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2016 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -122,6 +123,9 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 
 	protected volatile IBeansConfigEventListener eventListener;
 
+	/** Incremented on every change to the config sets or their configs */
+	private final AtomicLong configSetsModificationStamp = new AtomicLong();
+
 	private boolean isAutoConfigStatePersisted = false;
 
 	public BeansProject(IBeansModel model, IProject project) {
@@ -737,6 +741,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 				this.configSets.put(configSet.getElementName(), configSet);
 			}
 		} finally {
+			configSetsChanged();
 			w.unlock();
 		}
 	}
@@ -754,6 +759,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 					autoDetectedConfigSets.remove(configSet.getElementName());
 					autoDetectedConfigSetsByLocator.remove(configSet.getElementName());
 				}
+				configSetsChanged();
 
 				return true;
 			}
@@ -768,6 +774,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 			w.lock();
 			configSets.remove(configSetName);
 		} finally {
+			configSetsChanged();
 			w.unlock();
 		}
 	}
@@ -896,6 +903,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 			autoDetectedConfigSetsByLocator.clear();
 		} finally {
 			updateAllConfigsCache();
+			configSetsChanged();
 			w.unlock();
 		}
 	}
@@ -994,6 +1002,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 			}
 		} finally {
 			updateAllConfigsCache();
+			configSetsChanged();
 			w.unlock();
 		}
 	}
@@ -1288,6 +1297,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 			}
 
 		} finally {
+			configSetsChanged();
 			w.unlock();
 			
 			//The commented line below was a fix for 'STS-3541: added additional project build after asynchronous beans config scanning'
@@ -1321,6 +1331,36 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		this.allConfigs = Collections.unmodifiableSet(newAllConfigs);
 	}
 
+	/**
+	 * Returns <code>true</code> if the given instance is one of this project's
+	 * configs.
+	 */
+	boolean containsConfig(IBeansConfig config) {
+		try {
+			r.lock();
+			String configName = config.getElementName();
+			return configs.get(configName) == config || autoDetectedConfigs.get(configName) == config;
+		} finally {
+			r.unlock();
+		}
+	}
+
+	/**
+	 * Records a change to this project's config sets or the configs they
+	 * contain.
+	 */
+	void configSetsChanged() {
+		configSetsModificationStamp.incrementAndGet();
+	}
+
+	/**
+	 * Returns a stamp that changes whenever this project's config sets or the
+	 * configs they contain change.
+	 */
+	long getConfigSetsModificationStamp() {
+		return configSetsModificationStamp.get();
+	}
+
 	/**
 	 * Default implementation of {@link IBeansConfigEventListener} that handles
 	 * events and propagates those to {@link IBeansConfigSet}s and other
@@ -1372,6 +1412,9 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onReadEnd(IBeansConfig config) {
+			if (getElementParent() instanceof BeansModel) {
+				((BeansModel) getElementParent()).getConfigGraph().updateImports(config);
+			}
 		}
 
 		/**
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.internal.model.namespaces;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.springframework.ide.eclipse.core.io.xml.SchemaGrammarPool;
+import org.springframework.ide.eclipse.core.io.xml.XercesDocumentLoader;
+import org.springframework.ide.eclipse.xml.namespaces.NamespaceManagerProvider;
+import org.springframework.ide.eclipse.xml.namespaces.model.INamespaceDefinitionListener;
+
+/**
+ * Keeps a {@link SchemaGrammarPool} per project that is shared by the {@link XercesDocumentLoader}s of all the
+ * project's configs, so that each XSD is compiled once per project instead of once per config file.
+ * <p>
+ * Which XSD a schema location resolves to depends on the class loader the {@link XmlCatalogDelegatingEntityResolver}
+ * of a config resolves schemas with. A pool therefore belongs to the class loader it was created for and is replaced
+ * as soon as the project's configs are loaded with a different one, which happens if the project's classpath changes
+ * or if loading namespaces from the classpath is switched on or off. Pools are dropped as well when namespace
+ * definitions change or when the project is closed or deleted.
+ * @since 3.9.13
+ */
+public class ProjectSchemaGrammarPools {
+
+	private final ConcurrentMap<IProject, ProjectGrammarPool> pools = new ConcurrentHashMap<IProject, ProjectGrammarPool>();
+
+	private final IResourceChangeListener resourceChangeListener = new IResourceChangeListener() {
+
+		public void resourceChanged(IResourceChangeEvent event) {
+			if (event.getResource() instanceof IProject) {
+				pools.remove(event.getResource());
+			}
+		}
+	};
+
+	private final INamespaceDefinitionListener namespaceDefinitionListener = new INamespaceDefinitionListener() {
+
+		public void onNamespaceDefinitionRegistered(NamespaceDefinitionChangeEvent event) {
+			clear(event.getProject());
+		}
+
+		public void onNamespaceDefinitionUnregistered(NamespaceDefinitionChangeEvent event) {
+			clear(event.getProject());
+		}
+	};
+
+	public void startup() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceChangeListener,
+				IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		NamespaceManagerProvider.get().registerNamespaceDefinitionListener(namespaceDefinitionListener);
+	}
+
+	public void shutdown() {
+		NamespaceManagerProvider.get().unregisterNamespaceDefinitionListener(namespaceDefinitionListener);
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceChangeListener);
+		pools.clear();
+	}
+
+	/**
+	 * Returns the pool for configs of the given project whose schemas are resolved with the given class loader.
+	 */
+	public SchemaGrammarPool getGrammarPool(IProject project, ClassLoader namespaceResolvingClassLoader) {
+		ProjectGrammarPool pool = pools.get(project);
+		while (pool == null || pool.classLoader.get() != namespaceResolvingClassLoader) {
+			ProjectGrammarPool newPool = new ProjectGrammarPool(namespaceResolvingClassLoader);
+			if (pool == null ? pools.putIfAbsent(project, newPool) == null : pools.replace(project, pool, newPool)) {
+				return newPool.grammarPool;
+			}
+			// another thread got there first, use its pool if it is for the same class loader
+			pool = pools.get(project);
+		}
+		return pool.grammarPool;
+	}
+
+	/**
+	 * Drops the pool of the given project, or all pools if <code>project</code> is <code>null</code>.
+	 */
+	public void clear(IProject project) {
+		if (project == null) {
+			pools.clear();
+		}
+		else {
+			pools.remove(project);
+		}
+	}
+
+	private static class ProjectGrammarPool {
+
+		/** Weak, to not keep the class loader of a project with an outdated classpath */
+		private final WeakReference<ClassLoader> classLoader;
+
+		private final SchemaGrammarPool grammarPool = new SchemaGrammarPool();
+
+		public ProjectGrammarPool(ClassLoader classLoader) {
+			this.classLoader = new WeakReference<ClassLoader>(classLoader);
+		}
+	}
+
+}
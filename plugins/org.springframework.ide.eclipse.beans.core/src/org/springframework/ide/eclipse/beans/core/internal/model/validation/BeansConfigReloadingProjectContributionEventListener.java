@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2014 Spring IDE Developers
+ * Copyright (c) 2009, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,11 +28,11 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.BeansCoreUtils;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfigGraph;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
-import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
 import org.springframework.ide.eclipse.beans.core.model.IImportedBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IReloadableBeansConfig;
@@ -50,6 +50,9 @@ import org.springsource.ide.eclipse.commons.core.SpringCoreUtils;
 /**
  * {@link IProjectContributionEventListener} implementation that handles resetting of {@link IBeansConfig}s based on
  * changes to the resource tree.
+ * <p>
+ * The configs importing a changed config and the config sets containing it are looked up in the model's
+ * {@link BeansConfigGraph} instead of walking all configs and config sets of the workspace.
  * @author Christian Dupuis
  * @author Martin Lippert
  * @since 2.2.5
@@ -174,29 +177,21 @@ public class BeansConfigReloadingProjectContributionEventListener extends Projec
 	}
 
 	private void propagateToConfigsFromConfigSet(IBeansConfig config, boolean onlyImportsCheck) {
+		BeansConfigGraph configGraph = ((BeansModel) BeansCorePlugin.getModel()).getConfigGraph();
+
 		// Add config to make sure that in case on config set is configured
 		if (!onlyImportsCheck) {
 			configs.add(config);
-		}
 
-		for (IBeansProject beansProject : BeansCorePlugin.getModel().getProjects()) {
-			if (!onlyImportsCheck) {
-				for (IBeansConfigSet configSet : beansProject.getConfigSets()) {
-					if (configSet.hasConfig((IFile) config.getElementResource())) {
-						configs.addAll(configSet.getConfigs());
-					}
-				}
-			}
-			for (IBeansConfig bc : beansProject.getConfigs()) {
-				for (IBeansImport beansImport : bc.getImports()) {
-					for (IImportedBeansConfig importedBeansConfig : beansImport.getImportedBeansConfigs()) {
-						if (config.getElementResource().equals(importedBeansConfig.getElementResource())) {
-							configs.add(bc);
-						}
-					}
+			if (config.getElementResource() instanceof IFile) {
+				for (IBeansConfigSet configSet : configGraph.getConfigSets((IFile) config.getElementResource())) {
+					configs.addAll(configSet.getConfigs());
 				}
 			}
 		}
+
+		// Configs importing the config through nested imports are included as well
+		configs.addAll(configGraph.getImportingConfigs(config.getElementResource()));
 	}
 
 	/**
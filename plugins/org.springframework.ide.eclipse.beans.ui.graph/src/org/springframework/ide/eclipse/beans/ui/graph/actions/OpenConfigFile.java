@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2007 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.springframework.ide.eclipse.beans.ui.BeansUIUtils;
 import org.springframework.ide.eclipse.beans.ui.graph.BeansGraphPlugin;
 import org.springframework.ide.eclipse.beans.ui.graph.editor.GraphEditor;
 import org.springframework.ide.eclipse.beans.ui.graph.model.Bean;
+import org.springframework.ide.eclipse.beans.ui.graph.model.BeanGroup;
 import org.springframework.ide.eclipse.beans.ui.graph.parts.BeanPart;
 
 /**
@@ -56,7 +57,13 @@ public class OpenConfigFile extends EditorPartAction {
 	@Override
 	public void run() {
 		Bean bean = ((BeanPart) getFirstSelectedEditPart()).getBean();
-		BeansUIUtils.openInEditor(bean.getBean());
+		if (bean instanceof BeanGroup) {
+			// Collapsed components have no bean; open the component instead
+			BeansUIUtils.openInEditor(((BeanGroup) bean).getComponent());
+		}
+		else {
+			BeansUIUtils.openInEditor(bean.getBean());
+		}
 	}
 
 	protected EditPart getFirstSelectedEditPart() {
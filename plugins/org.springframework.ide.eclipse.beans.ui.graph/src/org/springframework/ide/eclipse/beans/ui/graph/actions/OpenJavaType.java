@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2007 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.ui.graph.BeansGraphPlugin;
 import org.springframework.ide.eclipse.beans.ui.graph.editor.GraphEditor;
 import org.springframework.ide.eclipse.beans.ui.graph.model.Bean;
+import org.springframework.ide.eclipse.beans.ui.graph.model.BeanGroup;
 import org.springframework.ide.eclipse.beans.ui.graph.parts.BeanPart;
 import org.springframework.ide.eclipse.ui.SpringUIUtils;
 
@@ -53,7 +54,8 @@ public class OpenJavaType extends EditorPartAction {
 		EditPart part = getFirstSelectedEditPart();
 		if (part instanceof BeanPart) {
 			Bean bean = ((BeanPart) part).getBean();
-			if (bean.isRootBean() && bean.getClassName() != null) {
+			// Collapsed components have no single Java type
+			if (!(bean instanceof BeanGroup) && bean.isRootBean() && bean.getClassName() != null) {
 				return true;
 			}
 		}
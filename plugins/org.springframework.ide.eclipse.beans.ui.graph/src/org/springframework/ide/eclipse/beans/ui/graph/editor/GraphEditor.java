@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Preferences.IPropertyChangeListener;
 import org.eclipse.core.runtime.Preferences.PropertyChangeEvent;
 import org.eclipse.core.runtime.Status;
@@ -256,14 +257,29 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 							final Graph graph = new Graph(input);
 							graph.init();
 
+							// Node sizes depend on fonts and therefore need to be calculated in the UI thread; the
+							// layout itself can be expensive for large graphs and is calculated in this job
+							final boolean[] sized = new boolean[1];
+							Display.getDefault().syncExec(new Runnable() {
+
+								public void run() {
+									if (getGraphicalViewer() != null && getGraphicalViewer().getControl() != null) {
+										graph.computeSizes(getGraphicalViewer().getControl().getFont());
+										sized[0] = true;
+									}
+								}
+							});
+							if (!sized[0]) {
+								return Status.OK_STATUS;
+							}
+							graph.layout(monitor);
+
 							Display.getDefault().asyncExec(new Runnable() {
 
 								public void run() {
 									if (getGraphicalViewer() != null && getGraphicalViewer().getControl() != null) {
 										setPartName(input.getName());
 										setContentDescription(input.getToolTipText());
-
-										graph.layout(getGraphicalViewer().getControl().getFont());
 										getGraphicalViewer().setContents(graph);
 									}
 								}
@@ -271,6 +287,9 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 						}
 						return Status.OK_STATUS;
 					}
+					catch (OperationCanceledException e) {
+						return Status.CANCEL_STATUS;
+					}
 					finally {
 						// reset global boolean value
 						isUpdating = false;
@@ -287,6 +306,16 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 		}
 	}
 
+	/**
+	 * Expands the collapsed component with the given ID and re-layouts the graph.
+	 */
+	public void expandComponent(String componentId) {
+		if (getEditorInput() instanceof GraphEditorInput) {
+			((GraphEditorInput) getEditorInput()).setExpanded(componentId);
+			initializeGraphicalViewer();
+		}
+	}
+
 	/**
 	 * Called to configure the graphical viewer before it receives its contents. This is where the root editpart should
 	 * be configured.
@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.graph.editor;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.IEditorInput;
@@ -51,6 +54,9 @@ public class GraphEditorInput implements IEditorInput, IPersistableElement {
 
 	private boolean hasError;
 
+	/* IDs of components the user expanded in the graph; components are collapsed into group nodes otherwise */
+	private final Set<String> expandedComponents = new HashSet<String>();
+
 	/**
 	 * Creates a list with all beans which are referenced from the model element defined by given ID.
 	 * @param elementID the model element's ID
@@ -152,6 +158,14 @@ public class GraphEditorInput implements IEditorInput, IPersistableElement {
 		this.hasError = hasError;
 	}
 
+	public synchronized boolean isExpanded(String componentId) {
+		return expandedComponents.contains(componentId);
+	}
+
+	public synchronized void setExpanded(String componentId) {
+		expandedComponents.add(componentId);
+	}
+
 	public Object getAdapter(Class adapter) {
 		if (adapter == IModelElement.class) {
 			return getElement(elementId);
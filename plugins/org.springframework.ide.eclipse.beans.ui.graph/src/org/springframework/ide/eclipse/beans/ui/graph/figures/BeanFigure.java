@@ -23,9 +23,11 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.ide.eclipse.beans.core.model.IBeansComponent;
 import org.springframework.ide.eclipse.beans.core.namespaces.NamespaceUtils;
 import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.beans.ui.graph.model.Bean;
+import org.springframework.ide.eclipse.beans.ui.graph.model.BeanGroup;
 import org.springframework.ide.eclipse.beans.ui.graph.model.ConstructorArgument;
 import org.springframework.ide.eclipse.beans.ui.graph.model.Property;
 import org.springframework.ide.eclipse.core.model.xml.XmlSourceLocation;
@@ -119,6 +121,11 @@ public class BeanFigure extends Figure {
 				label.setToolTip(new Label("Class: <no class specified>"));
 			}
 		}
+		else if (bean instanceof BeanGroup) {
+			IBeansComponent component = ((BeanGroup) bean).getComponent();
+			label.setIcon(BeansUIPlugin.getLabelProvider().getImage(component));
+			label.setToolTip(new Label("Double-click to show the beans of " + component.getElementName()));
+		}
 		else if (bean.isChildBean()) {
 			label.setIcon(BeansUIPlugin.getLabelProvider().getImage(bean.getBean()));
 			label.setToolTip(new Label("Parent: " + bean.getParentName()));
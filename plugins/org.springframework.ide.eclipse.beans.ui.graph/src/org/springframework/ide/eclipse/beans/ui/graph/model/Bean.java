@@ -54,6 +54,10 @@ public class Bean extends Node implements IAdaptable {
 		this.bean = bean;
 	}
 
+	protected Bean(String name) {
+		super(name);
+	}
+
 	public IBean getBean() {
 		return bean;
 	}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.graph.model;
+
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.ui.views.properties.IPropertySource;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansComponent;
+import org.springframework.ide.eclipse.beans.ui.BeansUIUtils;
+
+/**
+ * A collapsed {@link IBeansComponent}. All beans registered by the component (including beans of nested components)
+ * are represented by this single node until the user expands it.
+ * @since 3.9.13
+ */
+public class BeanGroup extends Bean {
+
+	private static final ConstructorArgument[] NO_CONSTRUCTOR_ARGUMENTS = new ConstructorArgument[0];
+
+	private static final Property[] NO_PROPERTIES = new Property[0];
+
+	private static final Bean[] NO_INNER_BEANS = new Bean[0];
+
+	private final IBeansComponent component;
+
+	private final Set<IBean> members;
+
+	public BeanGroup(IBeansComponent component, Set<IBean> members) {
+		super(component.getElementName());
+		this.component = component;
+		this.members = members;
+	}
+
+	public IBeansComponent getComponent() {
+		return component;
+	}
+
+	/**
+	 * Returns the beans collapsed into this group.
+	 */
+	public Set<IBean> getMembers() {
+		return members;
+	}
+
+	@Override
+	public String getName() {
+		return component.getElementName() + " (" + members.size() + " beans)";
+	}
+
+	@Override
+	public String getClassName() {
+		return null;
+	}
+
+	@Override
+	public String getParentName() {
+		return null;
+	}
+
+	@Override
+	public IFile getConfigFile() {
+		return (IFile) BeansModelUtils.getConfig(component).getElementResource();
+	}
+
+	@Override
+	public int getStartLine() {
+		return component.getElementStartLine();
+	}
+
+	@Override
+	public ConstructorArgument[] getConstructorArguments() {
+		return NO_CONSTRUCTOR_ARGUMENTS;
+	}
+
+	@Override
+	public Property[] getProperties() {
+		return NO_PROPERTIES;
+	}
+
+	@Override
+	public Bean[] getInnerBeans() {
+		return NO_INNER_BEANS;
+	}
+
+	@Override
+	public boolean isRootBean() {
+		return false;
+	}
+
+	@Override
+	public boolean isChildBean() {
+		return false;
+	}
+
+	@Override
+	public Object getAdapter(Class adapter) {
+		if (adapter == IPropertySource.class) {
+			return BeansUIUtils.getPropertySource(component);
+		}
+		return null;
+	}
+}
@@ -12,7 +12,9 @@ package org.springframework.ide.eclipse.beans.ui.graph.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -25,16 +27,16 @@ import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Insets;
 import org.eclipse.draw2d.graph.DirectedGraph;
-import org.eclipse.draw2d.graph.DirectedGraphLayout;
-import org.eclipse.draw2d.graph.Edge;
-import org.eclipse.draw2d.graph.EdgeList;
-import org.eclipse.draw2d.graph.Node;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.widgets.Display;
 import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansConnection;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansConnection.BeanType;
@@ -48,12 +50,11 @@ import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.beans.ui.graph.BeansGraphPlugin;
 import org.springframework.ide.eclipse.beans.ui.graph.editor.GraphEditorInput;
 import org.springframework.ide.eclipse.beans.ui.graph.figures.BeanFigure;
-import org.springframework.ide.eclipse.core.SpringCoreUtils;
 import org.springframework.ide.eclipse.core.model.IModelElement;
 
 /**
- * This class builds the graphical representation of the model data (given as {@link GraphEditorInput}) via GEF's
- * {@link DirectedGraphLayout}.
+ * This class builds the graphical representation of the model data (given as {@link GraphEditorInput}) via
+ * {@link LayeredGraphLayout}.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -74,6 +75,13 @@ public class Graph implements IAdaptable {
 
 	private static final String ERROR_TITLE = "Graph.error.title";
 
+	/*
+	 * Graphs with at least this number of beans show components as collapsed group nodes
+	 */
+	private static final int COLLAPSE_COMPONENTS_THRESHOLD = 200;
+
+	private static final String GROUP_KEY_PREFIX = "#component:";
+
 	private GraphEditorInput input;
 
 	private DirectedGraph graph;
@@ -82,6 +90,9 @@ public class Graph implements IAdaptable {
 
 	private List<Reference> beanReferences = new ArrayList<Reference>();
 
+	/* Group nodes of collapsed components by names of their member beans */
+	private Map<String, BeanGroup> memberGroups;
+
 	private String elementId;
 
 	private String contextId;
@@ -134,10 +145,20 @@ public class Graph implements IAdaptable {
 		return graph.nodes;
 	}
 
-	@SuppressWarnings({ "unchecked", "deprecation" })
+	/**
+	 * Calculates the size of all nodes and their positions. Must be called from the UI thread.
+	 * @see #computeSizes(Font)
+	 * @see #layout(IProgressMonitor)
+	 */
 	public void layout(Font font) {
+		computeSizes(font);
+		layout(new NullProgressMonitor());
+	}
 
-		// Iterate through all graph nodes (beans) to calculate label width
+	/**
+	 * Calculates the size of each node from a temporary {@link BeanFigure}. Must be called from the UI thread.
+	 */
+	public void computeSizes(Font font) {
 		Iterator beans = graph.nodes.iterator();
 		while (beans.hasNext()) {
 			Bean bean = (Bean) beans.next();
@@ -150,84 +171,40 @@ public class Graph implements IAdaptable {
 			bean.height = size.height;
 			bean.preferredHeight = size.height;
 		}
+	}
 
-		// Remove all unreferenced single beans and connect all unreferenced
-		// subgraphs with a temporary root bean
-		Bean root = new Bean();
-		graph.nodes.add(root);
+	/**
+	 * Calculates the positions of all nodes via {@link LayeredGraphLayout}. The sizes of the nodes have to be computed
+	 * before. This doesn't touch any SWT resources and is therefore safe to be called from a background job.
+	 * @throws OperationCanceledException if the given monitor has been canceled
+	 */
+	@SuppressWarnings("unchecked")
+	public void layout(IProgressMonitor monitor) {
 
-		EdgeList rootEdges = new EdgeList();
+		// Unreferenced single beans are not layouted but added in rows at the bottom of the graph
+		List<Bean> connectedBeans = new ArrayList<Bean>();
 		List<Bean> orphanBeans = new ArrayList<Bean>();
-		beans = getBeans().iterator();
+		Iterator beans = graph.nodes.iterator();
 		while (beans.hasNext()) {
 			Bean bean = (Bean) beans.next();
 			if (bean.incoming.isEmpty() && bean.outgoing.isEmpty()) {
 				orphanBeans.add(bean);
-				graph.nodes.remove(bean);
 			}
 			else {
-				Reference reference = new Reference(BeanType.STANDARD, root, bean, false);
-				reference.weight = 0;
-				rootEdges.add(reference);
-				graph.edges.add(reference);
+				connectedBeans.add(bean);
 			}
 		}
 
 		// Calculate position of all beans in graph
 		try {
-			new DirectedGraphLayout().visit(graph);
-
-			// Re-invert edges inverted while breaking cycles; this only seems to be required on earlier GEF versions
-			if (!SpringCoreUtils.isEclipseSameOrNewer(3, 6)) {
-				for (int i = 0; i < graph.edges.size(); i++) {
-					Edge e = graph.edges.getEdge(i);
-					if (e.isFeedback()) {
-						e.invert();
-					}
-				}
-			}
-
-			// Remove temporary root and root edges
-			for (int i = 0; i < rootEdges.size(); i++) {
-				Edge e = rootEdges.getEdge(i);
-				e.source.outgoing.remove(e);
-				e.target.incoming.remove(e);
-				graph.edges.remove(e);
-			}
-			graph.nodes.remove(root);
+			new LayeredGraphLayout(DEFAULT_PADDING.getWidth(), 2 * DEFAULT_PADDING.getHeight()).layout(connectedBeans,
+					graph.edges, monitor);
 
-			// Re-align nodes and edges' bend points topmost vertical position
 			int maxY = 0; // max height of graph
 			int maxX = 0; // max width of graph
-			int ranks = graph.ranks.size();
-			if (ranks > 1) {
-				int deltaY = graph.ranks.getRank(1).getNode(0).y;
-				Iterator nodes = graph.nodes.iterator();
-				while (nodes.hasNext()) {
-					Bean node = (Bean) nodes.next();
-
-					// Move node vertically and update max height
-					node.y -= deltaY;
-					if ((node.y + node.height) > maxY) {
-						maxY = node.y + node.height;
-					}
-
-					// Update max width
-					if ((node.x + node.width) > maxX) {
-						maxX = node.x + node.width;
-					}
-				}
-				Iterator edges = graph.edges.iterator();
-				while (edges.hasNext()) {
-					Edge edge = (Edge) edges.next();
-					if (edge.vNodes != null) {
-						Iterator points = edge.vNodes.iterator();
-						while (points.hasNext()) {
-							Node node = (Node) points.next();
-							node.y -= deltaY;
-						}
-					}
-				}
+			for (Bean bean : connectedBeans) {
+				maxY = Math.max(maxY, bean.y + bean.height);
+				maxX = Math.max(maxX, bean.x + bean.width);
 			}
 
 			// Re-add all unconnected beans to the bottom of the graph
@@ -240,9 +217,7 @@ public class Graph implements IAdaptable {
 				maxX = MAX_ORPHAN_ROW_WIDTH;
 			}
 			maxY = 0; // max height of all figures in current row
-			beans = orphanBeans.iterator();
-			while (beans.hasNext()) {
-				Bean bean = (Bean) beans.next();
+			for (Bean bean : orphanBeans) {
 
 				// If current row is filled then start new row
 				if ((x + bean.width) > maxX) {
@@ -258,20 +233,26 @@ public class Graph implements IAdaptable {
 					}
 				}
 				x += bean.width + DEFAULT_PADDING.getWidth();
-				graph.nodes.add(bean);
 			}
 		}
+		catch (OperationCanceledException e) {
+			throw e;
+		}
 		catch (RuntimeException e) {
 
-			// If an error occured during layouting (graph contains cylces,
-			// graph not fully connected, ...) then clear graph, invalidate
+			// If an error occured during layouting then clear graph, invalidate
 			// editor input (not saved when Eclipse is closed) and display an
 			// error message
 			graph = new DirectedGraph();
 			input.setHasError(true);
-			MessageDialog.openError(BeansGraphPlugin.getActiveWorkbenchWindow().getShell(),
-					BeansGraphPlugin.getResourceString(ERROR_TITLE), e.getMessage());
+			final String message = e.getMessage();
+			Display.getDefault().asyncExec(new Runnable() {
 
+				public void run() {
+					MessageDialog.openError(BeansGraphPlugin.getActiveWorkbenchWindow().getShell(),
+							BeansGraphPlugin.getResourceString(ERROR_TITLE), message);
+				}
+			});
 		}
 	}
 
@@ -305,21 +286,21 @@ public class Graph implements IAdaptable {
 
 	/**
 	 * Creates a list with all beans belonging to the specified config / config set or being connected with the
-	 * specified bean.
+	 * specified bean. For large graphs the beans registered by components are collapsed into a {@link BeanGroup} per
+	 * component which hasn't been expanded by the user.
 	 */
 	protected void createBeansMap() {
 		Set<IBean> list = new LinkedHashSet<IBean>();
+		Set<IBeansComponent> components = null;
 		if (getElement(elementId) instanceof IBeansConfig) {
 			IBeansConfig bc = (IBeansConfig) getElement(elementId);
 			list.addAll(bc.getBeans());
-			// add component registered beans
-			addBeansFromComponents(list, bc.getComponents());
+			components = bc.getComponents();
 		}
 		else if (getElement(elementId) instanceof IBeansConfigSet) {
 			IBeansConfigSet bcs = (IBeansConfigSet) getElement(elementId);
 			list.addAll(bcs.getBeans());
-			// add component registered beans
-			addBeansFromComponents(list, bcs.getComponents());
+			components = bcs.getComponents();
 		}
 		else if (getElement(elementId) instanceof IBean) {
 			list.add((IBean) getElement(elementId));
@@ -331,6 +312,19 @@ public class Graph implements IAdaptable {
 			}
 		}
 
+		// add component registered beans
+		List<BeanGroup> groups = new ArrayList<BeanGroup>();
+		if (components != null) {
+			Set<IBean> componentBeans = new LinkedHashSet<IBean>();
+			addBeansFromComponents(componentBeans, components);
+			if (list.size() + componentBeans.size() < COLLAPSE_COMPONENTS_THRESHOLD) {
+				list.addAll(componentBeans);
+			}
+			else {
+				addBeansFromComponents(list, groups, components);
+			}
+		}
+
 		// Marshall all beans into a graph bean node
 		beans = new LinkedHashMap<String, Bean>();
 		for (IBean bean : list) {
@@ -338,6 +332,13 @@ public class Graph implements IAdaptable {
 				beans.put(bean.getElementName(), new Bean(bean));
 			}
 		}
+		memberGroups = new HashMap<String, BeanGroup>();
+		for (BeanGroup group : groups) {
+			beans.put(GROUP_KEY_PREFIX + group.getComponent().getElementID(), group);
+			for (IBean member : group.getMembers()) {
+				memberGroups.put(member.getElementName(), group);
+			}
+		}
 	}
 
 	@SuppressWarnings("deprecation")
@@ -359,12 +360,40 @@ public class Graph implements IAdaptable {
 		}
 	}
 
+	/**
+	 * Adds the beans of all expanded components to the given set of beans and creates a {@link BeanGroup} for all
+	 * other components.
+	 */
+	private void addBeansFromComponents(Set<IBean> beans, List<BeanGroup> groups, Set<IBeansComponent> components) {
+		for (IBeansComponent component : components) {
+			if (input == null || input.isExpanded(component.getElementID())) {
+				for (IBean nestedBean : component.getBeans()) {
+					if (shouldAddBean(nestedBean)) {
+						beans.add(nestedBean);
+					}
+				}
+				addBeansFromComponents(beans, groups, component.getComponents());
+			}
+			else {
+				Set<IBean> members = new LinkedHashSet<IBean>();
+				addBeansFromComponents(members, Collections.singleton(component));
+				if (!members.isEmpty()) {
+					groups.add(new BeanGroup(component, members));
+				}
+			}
+		}
+	}
+
 	protected void createReferences() {
 		beanReferences = new ArrayList<Reference>();
 		// Add all beans defined in GraphEditorInput as nodes to the graph
 		Iterator beans = this.beans.values().iterator();
 		while (beans.hasNext()) {
 			Bean bean = (Bean) beans.next();
+			if (bean instanceof BeanGroup) {
+				createGroupReferences((BeanGroup) bean);
+				continue;
+			}
 
 			// Add all beans references from bean (parent, factory or
 			// depends-on beans) to list of graph edges
@@ -372,7 +401,7 @@ public class Graph implements IAdaptable {
 					BeansCorePlugin.getModel().getElement(contextId), false).iterator();
 			while (beanRefs.hasNext()) {
 				BeansConnection beanRef = (BeansConnection) beanRefs.next();
-				Bean targetBean = this.beans.get(beanRef.getTarget().getElementName());
+				Bean targetBean = getNode(beanRef.getTarget().getElementName());
 				if (targetBean != null && targetBean != bean && beanRef.getSource() instanceof IBean) {
 					beanReferences.add(new Reference(beanRef.getType(), bean, targetBean, bean, beanRef.isInner()));
 				}
@@ -386,7 +415,7 @@ public class Graph implements IAdaptable {
 						BeansCorePlugin.getModel().getElement(contextId), false).iterator();
 				while (cargRefs.hasNext()) {
 					BeansConnection beanRef = (BeansConnection) cargRefs.next();
-					Bean targetBean = this.beans.get(beanRef.getTarget().getElementName());
+					Bean targetBean = getNode(beanRef.getTarget().getElementName());
 					if (targetBean != null && targetBean != bean) {
 						beanReferences.add(new Reference(beanRef.getType(), bean, targetBean, carg, beanRef.isInner()));
 					}
@@ -400,7 +429,7 @@ public class Graph implements IAdaptable {
 						BeansCorePlugin.getModel().getElement(contextId), false).iterator();
 				while (propRefs.hasNext()) {
 					BeansConnection beanRef = (BeansConnection) propRefs.next();
-					Bean targetBean = this.beans.get(beanRef.getTarget().getElementName());
+					Bean targetBean = getNode(beanRef.getTarget().getElementName());
 					if (targetBean != null && targetBean != bean) {
 						beanReferences.add(new Reference(beanRef.getType(), bean, targetBean, property, beanRef
 								.isInner()));
@@ -410,6 +439,35 @@ public class Graph implements IAdaptable {
 		}
 	}
 
+	/**
+	 * Adds a single edge from the given group to every other node referenced by any of the group's members.
+	 */
+	private void createGroupReferences(BeanGroup group) {
+		Set<Bean> targets = new HashSet<Bean>();
+		for (IBean member : group.getMembers()) {
+			for (BeansConnection beanRef : BeansModelUtils.getBeanReferences(member,
+					BeansCorePlugin.getModel().getElement(contextId), true)) {
+				Bean targetBean = getNode(beanRef.getTarget().getElementName());
+				if (targetBean != null && targetBean != group && targets.add(targetBean)) {
+					beanReferences.add(new Reference(beanRef.getType(), group, targetBean, null, beanRef.isInner(),
+							member));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the node representing the bean with the given name; this is either the bean's own node or the group
+	 * node the bean has been collapsed into.
+	 */
+	private Bean getNode(String beanName) {
+		Bean bean = beans.get(beanName);
+		if (bean == null && memberGroups != null) {
+			bean = memberGroups.get(beanName);
+		}
+		return bean;
+	}
+
 	private IModelElement getElement(String elementId) {
 		return BeansCorePlugin.getModel().getElement(elementId);
 	}
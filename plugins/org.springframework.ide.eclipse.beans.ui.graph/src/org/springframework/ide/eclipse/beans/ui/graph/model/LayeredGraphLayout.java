@@ -0,0 +1,632 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.graph.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.NodeList;
+
+/**
+ * Layered (Sugiyama style) layout for the beans graph. Unlike GEF's {@link org.eclipse.draw2d.graph.DirectedGraphLayout}
+ * this implementation works on primitive adjacency arrays and only materializes draw2d {@link Node}s for the bend
+ * points of the final edges, so that it scales to graphs with many thousands of beans.
+ * <p>
+ * The layout runs in the following phases:
+ * <ol>
+ * <li>cycles are broken by reversing the back edges found by a depth first search</li>
+ * <li>nodes are assigned to layers using the longest path from the sources</li>
+ * <li>edges spanning multiple (but not too many) layers are split with virtual nodes</li>
+ * <li>crossings are reduced by barycenter sweeps; sweeping stops as soon as the number of crossings no longer
+ * improves and the best ordering seen is kept</li>
+ * <li>coordinates are assigned by aligning nodes with their neighbors in the adjacent layers</li>
+ * </ol>
+ * Edges spanning multiple layers get their virtual nodes assigned to {@link Edge#vNodes}, ordered from the edge's
+ * source to its target.
+ * @since 3.9.13
+ */
+public class LayeredGraphLayout {
+
+	/* Max number of down/up sweep pairs done to reduce edge crossings */
+	private static final int MAX_SWEEPS = 12;
+
+	/*
+	 * Edges spanning more layers are not split into virtual nodes and drawn as straight lines. This bounds the number
+	 * of virtual nodes for deep graphs, which would otherwise grow quadratically.
+	 */
+	private static final int MAX_SPLIT_SPAN = 8;
+
+	private static final int VIRTUAL_NODE_WIDTH = 1;
+
+	private final int horizontalSpacing;
+
+	private final int verticalSpacing;
+
+	/* Number of real and virtual nodes */
+	private int nodeCount;
+
+	private int realNodeCount;
+
+	private int[] layer;
+
+	private int[] width;
+
+	/* Per virtual node: index of the real edge it belongs to */
+	private int[] virtualEdge;
+
+	/* Segments between adjacent layers (from upper layer to lower layer) */
+	private int segmentCount;
+
+	private int[] segmentUpper;
+
+	private int[] segmentLower;
+
+	/* Compressed adjacency (upper and lower neighbors) of all nodes */
+	private int[] upStart, up;
+
+	private int[] downStart, down;
+
+	/* Nodes per layer in their current order and each node's position within its layer */
+	private int[][] layers;
+
+	private int[] position;
+
+	private int[] x;
+
+	public LayeredGraphLayout(int horizontalSpacing, int verticalSpacing) {
+		this.horizontalSpacing = horizontalSpacing;
+		this.verticalSpacing = verticalSpacing;
+	}
+
+	public void layout(List<? extends Node> nodes, List<? extends Edge> edges) {
+		layout(nodes, edges, new NullProgressMonitor());
+	}
+
+	/**
+	 * Calculates the positions of the given nodes. Node sizes must have been set before. Only edges whose source and
+	 * target are contained in the given list of nodes are considered.
+	 * @throws OperationCanceledException if the given monitor has been canceled
+	 */
+	public void layout(List<? extends Node> nodes, List<? extends Edge> edges, IProgressMonitor monitor) {
+		monitor.beginTask("Layouting beans graph", 6);
+		try {
+			realNodeCount = nodes.size();
+			Map<Node, Integer> index = new IdentityHashMap<Node, Integer>(realNodeCount * 2);
+			for (int i = 0; i < realNodeCount; i++) {
+				index.put(nodes.get(i), i);
+			}
+
+			// Collect edges between known nodes, ignoring self references
+			int[] src = new int[edges.size()];
+			int[] dst = new int[edges.size()];
+			Edge[] edgeObjects = new Edge[edges.size()];
+			int edgeCount = 0;
+			for (Edge edge : edges) {
+				Integer s = index.get(edge.source);
+				Integer t = index.get(edge.target);
+				edge.vNodes = null;
+				if (s != null && t != null && s.intValue() != t.intValue()) {
+					src[edgeCount] = s;
+					dst[edgeCount] = t;
+					edgeObjects[edgeCount++] = edge;
+				}
+			}
+			checkCanceled(monitor);
+
+			boolean[] reversed = breakCycles(src, dst, edgeCount);
+			monitor.worked(1);
+			checkCanceled(monitor);
+
+			assignLayers(src, dst, reversed, edgeCount);
+			monitor.worked(1);
+			checkCanceled(monitor);
+
+			int[] firstVirtual = createVirtualNodes(nodes, src, dst, reversed, edgeCount);
+			monitor.worked(1);
+			checkCanceled(monitor);
+
+			reduceCrossings(monitor);
+			monitor.worked(1);
+			checkCanceled(monitor);
+
+			assignXCoordinates();
+			monitor.worked(1);
+			checkCanceled(monitor);
+
+			applyCoordinates(nodes, edgeObjects, edgeCount, firstVirtual, reversed);
+			monitor.worked(1);
+		}
+		finally {
+			monitor.done();
+		}
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Finds back edges with an iterative depth first search. Reversing these edges makes the graph acyclic.
+	 */
+	private boolean[] breakCycles(int[] src, int[] dst, int edgeCount) {
+		int n = realNodeCount;
+		int[] outStart = new int[n + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			outStart[src[e] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			outStart[i + 1] += outStart[i];
+		}
+		int[] outEdges = new int[edgeCount];
+		int[] fill = Arrays.copyOf(outStart, n);
+		for (int e = 0; e < edgeCount; e++) {
+			outEdges[fill[src[e]]++] = e;
+		}
+
+		boolean[] reversed = new boolean[edgeCount];
+		byte[] state = new byte[n]; // 0 = unvisited, 1 = on stack, 2 = done
+		int[] stack = new int[n];
+		int[] next = new int[n];
+		for (int root = 0; root < n; root++) {
+			if (state[root] != 0) {
+				continue;
+			}
+			int sp = 0;
+			stack[sp++] = root;
+			state[root] = 1;
+			next[root] = outStart[root];
+			while (sp > 0) {
+				int v = stack[sp - 1];
+				if (next[v] < outStart[v + 1]) {
+					int e = outEdges[next[v]++];
+					int w = dst[e];
+					if (state[w] == 0) {
+						state[w] = 1;
+						next[w] = outStart[w];
+						stack[sp++] = w;
+					}
+					else if (state[w] == 1) {
+						reversed[e] = true;
+					}
+				}
+				else {
+					state[v] = 2;
+					sp--;
+				}
+			}
+		}
+		return reversed;
+	}
+
+	/**
+	 * Longest path layering on the acyclic graph. Afterwards sources are moved down as close as possible to their
+	 * successors to avoid long edges from nodes that are only referenced further down.
+	 */
+	private void assignLayers(int[] src, int[] dst, boolean[] reversed, int edgeCount) {
+		int n = realNodeCount;
+		int[] inDegree = new int[n];
+		int[] outStart = new int[n + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			int from = reversed[e] ? dst[e] : src[e];
+			int to = reversed[e] ? src[e] : dst[e];
+			inDegree[to]++;
+			outStart[from + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			outStart[i + 1] += outStart[i];
+		}
+		int[] succ = new int[edgeCount];
+		int[] fill = Arrays.copyOf(outStart, n);
+		for (int e = 0; e < edgeCount; e++) {
+			int from = reversed[e] ? dst[e] : src[e];
+			int to = reversed[e] ? src[e] : dst[e];
+			succ[fill[from]++] = to;
+		}
+
+		layer = new int[n];
+		int[] queue = new int[n];
+		int head = 0, tail = 0;
+		int[] remaining = Arrays.copyOf(inDegree, n);
+		for (int v = 0; v < n; v++) {
+			if (remaining[v] == 0) {
+				queue[tail++] = v;
+			}
+		}
+		while (head < tail) {
+			int v = queue[head++];
+			for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+				int w = succ[i];
+				if (layer[v] + 1 > layer[w]) {
+					layer[w] = layer[v] + 1;
+				}
+				if (--remaining[w] == 0) {
+					queue[tail++] = w;
+				}
+			}
+		}
+
+		// Pull down sources
+		for (int v = 0; v < n; v++) {
+			if (inDegree[v] == 0 && outStart[v + 1] > outStart[v]) {
+				int min = Integer.MAX_VALUE;
+				for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+					min = Math.min(min, layer[succ[i]]);
+				}
+				layer[v] = min - 1;
+			}
+		}
+
+		// Remove layers which became empty
+		int maxLayer = 0;
+		for (int v = 0; v < n; v++) {
+			maxLayer = Math.max(maxLayer, layer[v]);
+		}
+		int[] compacted = new int[maxLayer + 1];
+		for (int v = 0; v < n; v++) {
+			compacted[layer[v]] = 1;
+		}
+		int next = 0;
+		for (int l = 0; l <= maxLayer; l++) {
+			compacted[l] = compacted[l] == 1 ? next++ : -1;
+		}
+		for (int v = 0; v < n; v++) {
+			layer[v] = compacted[layer[v]];
+		}
+	}
+
+	/**
+	 * Splits long edges into segments between adjacent layers and builds the per layer node lists.
+	 * @return the index of the first virtual node of each edge (or -1 if the edge doesn't need any)
+	 */
+	private int[] createVirtualNodes(List<? extends Node> nodes, int[] src, int[] dst, boolean[] reversed,
+			int edgeCount) {
+		int n = realNodeCount;
+		int virtualCount = 0;
+		for (int e = 0; e < edgeCount; e++) {
+			int span = Math.abs(layer[dst[e]] - layer[src[e]]);
+			if (span <= MAX_SPLIT_SPAN) {
+				virtualCount += span - 1;
+			}
+		}
+		nodeCount = n + virtualCount;
+		layer = Arrays.copyOf(layer, nodeCount);
+		width = new int[nodeCount];
+		virtualEdge = new int[nodeCount];
+		for (int v = 0; v < n; v++) {
+			width[v] = nodes.get(v).width;
+			virtualEdge[v] = -1;
+		}
+
+		int segmentCapacity = edgeCount + virtualCount;
+		segmentUpper = new int[segmentCapacity];
+		segmentLower = new int[segmentCapacity];
+		segmentCount = 0;
+		int[] firstVirtual = new int[edgeCount];
+		int nextVirtual = n;
+		for (int e = 0; e < edgeCount; e++) {
+			int upper = reversed[e] ? dst[e] : src[e];
+			int lower = reversed[e] ? src[e] : dst[e];
+			firstVirtual[e] = -1;
+			if (layer[lower] - layer[upper] > MAX_SPLIT_SPAN) {
+				continue;
+			}
+			int previous = upper;
+			for (int l = layer[upper] + 1; l < layer[lower]; l++) {
+				int v = nextVirtual++;
+				if (firstVirtual[e] < 0) {
+					firstVirtual[e] = v;
+				}
+				layer[v] = l;
+				width[v] = VIRTUAL_NODE_WIDTH;
+				virtualEdge[v] = e;
+				addSegment(previous, v);
+				previous = v;
+			}
+			addSegment(previous, lower);
+		}
+
+		// Adjacency in both directions
+		upStart = new int[nodeCount + 1];
+		downStart = new int[nodeCount + 1];
+		for (int s = 0; s < segmentCount; s++) {
+			downStart[segmentUpper[s] + 1]++;
+			upStart[segmentLower[s] + 1]++;
+		}
+		for (int v = 0; v < nodeCount; v++) {
+			downStart[v + 1] += downStart[v];
+			upStart[v + 1] += upStart[v];
+		}
+		down = new int[segmentCount];
+		up = new int[segmentCount];
+		int[] downFill = Arrays.copyOf(downStart, nodeCount);
+		int[] upFill = Arrays.copyOf(upStart, nodeCount);
+		for (int s = 0; s < segmentCount; s++) {
+			down[downFill[segmentUpper[s]]++] = segmentLower[s];
+			up[upFill[segmentLower[s]]++] = segmentUpper[s];
+		}
+
+		// Initial order: depth first order from the top layer which keeps connected nodes close together
+		int layerCount = 0;
+		for (int v = 0; v < nodeCount; v++) {
+			layerCount = Math.max(layerCount, layer[v] + 1);
+		}
+		int[] layerSize = new int[layerCount];
+		for (int v = 0; v < nodeCount; v++) {
+			layerSize[layer[v]]++;
+		}
+		layers = new int[layerCount][];
+		for (int l = 0; l < layerCount; l++) {
+			layers[l] = new int[layerSize[l]];
+		}
+		int[] byLayer = new int[nodeCount];
+		int[] layerFill = new int[layerCount];
+		for (int l = 1; l < layerCount; l++) {
+			layerFill[l] = layerFill[l - 1] + layerSize[l - 1];
+		}
+		for (int v = 0; v < nodeCount; v++) {
+			byLayer[layerFill[layer[v]]++] = v;
+		}
+		Arrays.fill(layerFill, 0);
+		position = new int[nodeCount];
+		boolean[] visited = new boolean[nodeCount];
+		int[] stack = new int[nodeCount];
+		for (int root : byLayer) {
+			if (!visited[root]) {
+				int sp = 0;
+				stack[sp++] = root;
+				visited[root] = true;
+				while (sp > 0) {
+					int v = stack[--sp];
+					position[v] = layerFill[layer[v]];
+					layers[layer[v]][layerFill[layer[v]]++] = v;
+					for (int i = downStart[v + 1] - 1; i >= downStart[v]; i--) {
+						int w = down[i];
+						if (!visited[w]) {
+							visited[w] = true;
+							stack[sp++] = w;
+						}
+					}
+				}
+			}
+		}
+		return firstVirtual;
+	}
+
+	private void addSegment(int upper, int lower) {
+		segmentUpper[segmentCount] = upper;
+		segmentLower[segmentCount] = lower;
+		segmentCount++;
+	}
+
+	/**
+	 * Barycenter heuristic with alternating down and up sweeps. The best ordering seen so far is kept and sweeping
+	 * stops once a sweep pair doesn't improve the number of crossings.
+	 */
+	private void reduceCrossings(IProgressMonitor monitor) {
+		if (layers.length < 2) {
+			return;
+		}
+		long best = countCrossings();
+		int[][] bestLayers = copyLayers();
+		double[] barycenter = new double[nodeCount];
+		for (int sweep = 0; sweep < MAX_SWEEPS && best > 0; sweep++) {
+			checkCanceled(monitor);
+			for (int l = 1; l < layers.length; l++) {
+				orderByBarycenter(layers[l], upStart, up, barycenter);
+			}
+			for (int l = layers.length - 2; l >= 0; l--) {
+				orderByBarycenter(layers[l], downStart, down, barycenter);
+			}
+			long crossings = countCrossings();
+			if (crossings < best) {
+				best = crossings;
+				bestLayers = copyLayers();
+			}
+			else {
+				break;
+			}
+		}
+		layers = bestLayers;
+		for (int[] nodesInLayer : layers) {
+			for (int i = 0; i < nodesInLayer.length; i++) {
+				position[nodesInLayer[i]] = i;
+			}
+		}
+	}
+
+	private void orderByBarycenter(int[] nodesInLayer, int[] start, int[] adjacent, final double[] barycenter) {
+		for (int v : nodesInLayer) {
+			int degree = start[v + 1] - start[v];
+			if (degree == 0) {
+				// Nodes without neighbors keep their current position
+				barycenter[v] = position[v];
+			}
+			else {
+				double sum = 0;
+				for (int i = start[v]; i < start[v + 1]; i++) {
+					sum += position[adjacent[i]];
+				}
+				barycenter[v] = sum / degree;
+			}
+		}
+		Integer[] sorted = new Integer[nodesInLayer.length];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = nodesInLayer[i];
+		}
+		// Stable sort, so ties keep their relative order
+		Arrays.sort(sorted, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return Double.compare(barycenter[a], barycenter[b]);
+			}
+		});
+		for (int i = 0; i < sorted.length; i++) {
+			nodesInLayer[i] = sorted[i];
+			position[sorted[i]] = i;
+		}
+	}
+
+	/**
+	 * Counts crossings between all adjacent layers using the accumulator tree algorithm of Barth, Juenger and Mutzel
+	 * which runs in O(E log V) per layer pair.
+	 */
+	private long countCrossings() {
+		long crossings = 0;
+		for (int l = 0; l < layers.length - 1; l++) {
+			int[] upper = layers[l];
+			int lowerSize = layers[l + 1].length;
+			if (upper.length < 2 || lowerSize < 2) {
+				continue;
+			}
+			// Lower end positions of all segments sorted by upper position then lower position
+			int total = 0;
+			for (int v : upper) {
+				total += downStart[v + 1] - downStart[v];
+			}
+			int[] ends = new int[total];
+			int k = 0;
+			for (int v : upper) {
+				int from = k;
+				for (int i = downStart[v]; i < downStart[v + 1]; i++) {
+					ends[k++] = position[down[i]];
+				}
+				Arrays.sort(ends, from, k);
+			}
+			int firstIndex = 1;
+			while (firstIndex < lowerSize) {
+				firstIndex *= 2;
+			}
+			int treeSize = 2 * firstIndex - 1;
+			firstIndex -= 1;
+			int[] tree = new int[treeSize];
+			for (int end : ends) {
+				int index = end + firstIndex;
+				tree[index]++;
+				while (index > 0) {
+					if (index % 2 == 1) {
+						crossings += tree[index + 1];
+					}
+					index = (index - 1) / 2;
+					tree[index]++;
+				}
+			}
+		}
+		return crossings;
+	}
+
+	private int[][] copyLayers() {
+		int[][] copy = new int[layers.length][];
+		for (int l = 0; l < layers.length; l++) {
+			copy[l] = layers[l].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * Packs each layer from left to right, then shifts nodes towards the average center of their neighbors in the
+	 * layer above (down pass) and below (up pass) without introducing overlaps.
+	 */
+	private void assignXCoordinates() {
+		x = new int[nodeCount];
+		for (int[] nodesInLayer : layers) {
+			int current = 0;
+			for (int v : nodesInLayer) {
+				x[v] = current;
+				current += width[v] + horizontalSpacing;
+			}
+		}
+		for (int l = 1; l < layers.length; l++) {
+			alignLayer(layers[l], upStart, up);
+		}
+		for (int l = layers.length - 2; l >= 0; l--) {
+			alignLayer(layers[l], downStart, down);
+		}
+		int min = Integer.MAX_VALUE;
+		for (int v = 0; v < nodeCount; v++) {
+			min = Math.min(min, x[v]);
+		}
+		if (min != 0 && min != Integer.MAX_VALUE) {
+			for (int v = 0; v < nodeCount; v++) {
+				x[v] -= min;
+			}
+		}
+	}
+
+	private void alignLayer(int[] nodesInLayer, int[] start, int[] adjacent) {
+		int minX = Integer.MIN_VALUE;
+		for (int v : nodesInLayer) {
+			int desired = x[v];
+			int degree = start[v + 1] - start[v];
+			if (degree > 0) {
+				long sum = 0;
+				for (int i = start[v]; i < start[v + 1]; i++) {
+					int w = adjacent[i];
+					sum += x[w] + width[w] / 2;
+				}
+				desired = (int) (sum / degree) - width[v] / 2;
+			}
+			x[v] = Math.max(desired, minX);
+			minX = x[v] + width[v] + horizontalSpacing;
+		}
+	}
+
+	private void applyCoordinates(List<? extends Node> nodes, Edge[] edges, int edgeCount, int[] firstVirtual,
+			boolean[] reversed) {
+		int[] layerY = new int[layers.length];
+		int[] layerHeight = new int[layers.length];
+		for (int v = 0; v < realNodeCount; v++) {
+			layerHeight[layer[v]] = Math.max(layerHeight[layer[v]], nodes.get(v).height);
+		}
+		int y = 0;
+		for (int l = 0; l < layers.length; l++) {
+			layerY[l] = y;
+			y += layerHeight[l] + verticalSpacing;
+		}
+		for (int v = 0; v < realNodeCount; v++) {
+			Node node = nodes.get(v);
+			node.x = x[v];
+			node.y = layerY[layer[v]];
+		}
+		for (int e = 0; e < edgeCount; e++) {
+			if (firstVirtual[e] < 0) {
+				continue;
+			}
+			NodeList vNodes = new NodeList();
+			for (int v = firstVirtual[e]; v < nodeCount && virtualEdge[v] == e; v++) {
+				Node node = new Node();
+				node.width = VIRTUAL_NODE_WIDTH;
+				node.x = x[v];
+				int l = layer[v];
+				if (reversed[e]) {
+					// Edge goes upwards; a single bend point in the middle of the layer avoids zig-zagging
+					node.y = layerY[l] + layerHeight[l] / 2;
+					node.height = 0;
+					vNodes.add(0, node);
+				}
+				else {
+					node.y = layerY[l];
+					node.height = layerHeight[l];
+					vNodes.add(node);
+				}
+			}
+			edges[e].vNodes = vNodes;
+		}
+	}
+}
@@ -21,6 +21,8 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.gef.DefaultEditDomain;
+import org.eclipse.gef.EditDomain;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.GraphicalEditPart;
 import org.eclipse.gef.NodeEditPart;
@@ -30,8 +32,10 @@ import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 import org.eclipse.jdt.core.IType;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.ui.BeansUIUtils;
+import org.springframework.ide.eclipse.beans.ui.graph.editor.GraphEditor;
 import org.springframework.ide.eclipse.beans.ui.graph.figures.BeanFigure;
 import org.springframework.ide.eclipse.beans.ui.graph.model.Bean;
+import org.springframework.ide.eclipse.beans.ui.graph.model.BeanGroup;
 import org.springframework.ide.eclipse.ui.SpringUIUtils;
 
 /**
@@ -114,11 +118,20 @@ public class BeanPart extends AbstractGraphicalEditPart implements NodeEditPart
 	}
 
 	/**
-	 * Opens this bean's config file or corresponding java element on double click.
+	 * Opens this bean's config file or corresponding java element on double click. Collapsed components are expanded
+	 * instead.
 	 */
 	@Override
 	public void performRequest(Request req) {
-		if (req.getType() == RequestConstants.REQ_OPEN) {
+		if (req.getType() == RequestConstants.REQ_OPEN && getBean() instanceof BeanGroup) {
+			EditDomain domain = getViewer().getEditDomain();
+			if (domain instanceof DefaultEditDomain
+					&& ((DefaultEditDomain) domain).getEditorPart() instanceof GraphEditor) {
+				((GraphEditor) ((DefaultEditDomain) domain).getEditorPart()).expandComponent(((BeanGroup) getBean())
+						.getComponent().getElementID());
+			}
+		}
+		else if (req.getType() == RequestConstants.REQ_OPEN) {
 			if (BeansUIUtils.shouldOpenConfigFile()) {
 				BeansUIUtils.openInEditor(getBean().getBean());
 			}
@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.beans.ui.live.model;
 
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
@@ -63,6 +64,26 @@ public class LiveBean extends AbstractLiveBeansModelElement {
 		dependency.injectInto(this);
 	}
 
+	public void removeDependency(LiveBean dependency) {
+		dependencies.remove(dependency);
+		dependency.injectedInto.remove(this);
+	}
+
+	/**
+	 * Drops all dependency links of this bean, without updating the beans on
+	 * the other end. Used when a bean of a snapshot is adopted by another model.
+	 */
+	void clearDependencies() {
+		dependencies.clear();
+		injectedInto.clear();
+	}
+
+	void setAttributes(Map<String, String> newAttributes) {
+		attributes.clear();
+		attributes.putAll(newAttributes);
+		displayName = null;
+	}
+
 	public String getApplicationName() {
 		return attributes.get(ATTR_APPLICATION);
 	}
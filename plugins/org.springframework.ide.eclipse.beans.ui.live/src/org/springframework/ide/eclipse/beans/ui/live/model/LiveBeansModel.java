@@ -12,8 +12,15 @@ package org.springframework.ide.eclipse.beans.ui.live.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Assert;
 
 /**
  * A model of a running Spring application to be graphed in the Live Beans Graph
@@ -50,6 +57,68 @@ public class LiveBeansModel implements Comparable<LiveBeansModel> {
 		resources.addAll(resourcesToAdd);
 	}
 
+	/**
+	 * Brings this model up to date with the snapshot the given diff was computed
+	 * against. Beans present in both keep their identity, so that viewers showing
+	 * this model only need to be told about the beans and dependencies in the
+	 * diff.
+	 */
+	public void applyDiff(LiveBeansModelDiff diff) {
+		Assert.isLegal(diff.getCurrent() == this, "Diff was computed for another model");
+		for (LiveBeansModelDiff.Dependency dependency : diff.getRemovedDependencies()) {
+			dependency.getSource().removeDependency(dependency.getTarget());
+		}
+		for (LiveBean bean : diff.getChangedBeans()) {
+			bean.setAttributes(diff.getNewAttributes(bean));
+		}
+
+		Map<String, LiveBean> beansById = new HashMap<String, LiveBean>();
+		for (LiveBean bean : beans) {
+			beansById.put(bean.getId(), bean);
+		}
+		Set<LiveBean> adopted = Collections.newSetFromMap(new IdentityHashMap<LiveBean, Boolean>());
+		for (LiveBean bean : diff.getAddedBeans()) {
+			bean.clearDependencies();
+			adopted.add(bean);
+			beansById.put(bean.getId(), bean);
+		}
+		for (LiveBeansModelDiff.Dependency dependency : diff.getAddedDependencies()) {
+			LiveBean target = dependency.getTarget();
+			if (adopted.add(target)) {
+				// Inner bean of the snapshot
+				target.clearDependencies();
+			}
+			dependency.getSource().addDependency(target);
+		}
+
+		// Take bean order and grouping from the snapshot, using our own instances
+		LiveBeansModel snapshot = diff.getSnapshot();
+		List<LiveBean> newBeans = new ArrayList<LiveBean>(snapshot.getBeans().size());
+		for (LiveBean bean : snapshot.getBeans()) {
+			newBeans.add(beansById.get(bean.getId()));
+		}
+		beans.clear();
+		beans.addAll(newBeans);
+		contexts.clear();
+		contexts.addAll(adoptElements(snapshot.getBeansByContext(), beansById));
+		resources.clear();
+		resources.addAll(adoptElements(snapshot.getBeansByResource(), beansById));
+	}
+
+	private static <G extends LiveBeansGroup<LiveBean>> List<G> adoptElements(List<G> groups,
+			Map<String, LiveBean> beansById) {
+		for (G group : groups) {
+			List<LiveBean> elements = group.getElements();
+			for (int i = 0; i < elements.size(); i++) {
+				LiveBean bean = beansById.get(elements.get(i).getId());
+				if (bean != null) {
+					elements.set(i, bean);
+				}
+			}
+		}
+		return groups;
+	}
+
 	public int compareTo(LiveBeansModel o) {
 		return getApplicationName().compareTo(o.getApplicationName());
 	}
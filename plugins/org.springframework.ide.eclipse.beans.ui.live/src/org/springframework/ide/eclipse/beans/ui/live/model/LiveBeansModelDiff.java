@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.live.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between a {@link LiveBeansModel} and a newer snapshot of the same
+ * application. Beans are matched by id, so that beans present in both the model
+ * and the snapshot keep their identity when the difference is applied to the
+ * model with {@link LiveBeansModel#applyDiff(LiveBeansModelDiff)}.
+ * <p>
+ * Computing the difference does not modify either model. Added beans and added
+ * dependency targets are the instances of the snapshot, all other beans are the
+ * instances of the current model.
+ *
+ * @since 3.9.13
+ */
+public class LiveBeansModelDiff {
+
+	/**
+	 * A dependency edge between two beans.
+	 */
+	public static final class Dependency {
+
+		private final LiveBean source;
+
+		private final LiveBean target;
+
+		Dependency(LiveBean source, LiveBean target) {
+			this.source = source;
+			this.target = target;
+		}
+
+		public LiveBean getSource() {
+			return source;
+		}
+
+		public LiveBean getTarget() {
+			return target;
+		}
+
+		@Override
+		public String toString() {
+			return source.getId() + " -> " + target.getId();
+		}
+	}
+
+	private final LiveBeansModel current;
+
+	private final LiveBeansModel snapshot;
+
+	private final List<LiveBean> addedBeans = new ArrayList<LiveBean>();
+
+	private final List<LiveBean> removedBeans = new ArrayList<LiveBean>();
+
+	/**
+	 * Beans of the current model mapped to their attributes in the snapshot
+	 */
+	private final Map<LiveBean, Map<String, String>> changedBeans = new LinkedHashMap<LiveBean, Map<String, String>>();
+
+	private final List<Dependency> addedDependencies = new ArrayList<Dependency>();
+
+	private final List<Dependency> removedDependencies = new ArrayList<Dependency>();
+
+	private boolean groupingChanged;
+
+	private LiveBeansModelDiff(LiveBeansModel current, LiveBeansModel snapshot) {
+		this.current = current;
+		this.snapshot = snapshot;
+	}
+
+	public static LiveBeansModelDiff compute(LiveBeansModel current, LiveBeansModel snapshot) {
+		LiveBeansModelDiff diff = new LiveBeansModelDiff(current, snapshot);
+		Map<String, LiveBean> currentBeans = indexById(current.getBeans());
+		Map<String, LiveBean> snapshotBeans = indexById(snapshot.getBeans());
+
+		for (LiveBean bean : current.getBeans()) {
+			LiveBean newBean = snapshotBeans.get(bean.getId());
+			if (newBean == null) {
+				diff.removedBeans.add(bean);
+			}
+			else if (!bean.getAttributes().equals(newBean.getAttributes())) {
+				diff.changedBeans.put(bean, newBean.getAttributes());
+			}
+		}
+
+		for (LiveBean newBean : snapshot.getBeans()) {
+			LiveBean bean = currentBeans.get(newBean.getId());
+			if (bean == null) {
+				diff.addedBeans.add(newBean);
+				for (LiveBean target : newBean.getDependencies()) {
+					diff.addedDependencies.add(new Dependency(newBean, canonical(currentBeans, target)));
+				}
+			}
+			else {
+				Map<String, LiveBean> oldTargets = indexById(bean.getDependencies());
+				Map<String, LiveBean> newTargets = indexById(newBean.getDependencies());
+				for (LiveBean target : bean.getDependencies()) {
+					if (!isSameTarget(target, newTargets.get(target.getId()))) {
+						diff.removedDependencies.add(new Dependency(bean, target));
+					}
+				}
+				for (LiveBean target : newBean.getDependencies()) {
+					if (!isSameTarget(oldTargets.get(target.getId()), target)) {
+						diff.addedDependencies.add(new Dependency(bean, canonical(currentBeans, target)));
+					}
+				}
+			}
+		}
+
+		for (LiveBean bean : diff.removedBeans) {
+			for (LiveBean target : bean.getDependencies()) {
+				diff.removedDependencies.add(new Dependency(bean, target));
+			}
+		}
+
+		diff.groupingChanged = !current.getBeansByContext().equals(snapshot.getBeansByContext())
+				|| !current.getBeansByResource().equals(snapshot.getBeansByResource());
+		return diff;
+	}
+
+	/**
+	 * A bean can turn into an inner bean (or vice versa) between snapshots, in
+	 * which case the old target instance can't be kept.
+	 */
+	private static boolean isSameTarget(LiveBean oldTarget, LiveBean newTarget) {
+		return oldTarget != null && newTarget != null && oldTarget.isInnerBean() == newTarget.isInnerBean();
+	}
+
+	private static LiveBean canonical(Map<String, LiveBean> currentBeans, LiveBean bean) {
+		LiveBean existing = currentBeans.get(bean.getId());
+		return existing == null ? bean : existing;
+	}
+
+	private static Map<String, LiveBean> indexById(Iterable<LiveBean> beans) {
+		Map<String, LiveBean> index = new LinkedHashMap<String, LiveBean>();
+		for (LiveBean bean : beans) {
+			index.put(bean.getId(), bean);
+		}
+		return index;
+	}
+
+	public LiveBeansModel getCurrent() {
+		return current;
+	}
+
+	public LiveBeansModel getSnapshot() {
+		return snapshot;
+	}
+
+	public List<LiveBean> getAddedBeans() {
+		return Collections.unmodifiableList(addedBeans);
+	}
+
+	public List<LiveBean> getRemovedBeans() {
+		return Collections.unmodifiableList(removedBeans);
+	}
+
+	/**
+	 * @return beans of the current model whose attributes differ in the snapshot
+	 */
+	public List<LiveBean> getChangedBeans() {
+		return Collections.unmodifiableList(new ArrayList<LiveBean>(changedBeans.keySet()));
+	}
+
+	Map<String, String> getNewAttributes(LiveBean bean) {
+		return changedBeans.get(bean);
+	}
+
+	public List<Dependency> getAddedDependencies() {
+		return Collections.unmodifiableList(addedDependencies);
+	}
+
+	public List<Dependency> getRemovedDependencies() {
+		return Collections.unmodifiableList(removedDependencies);
+	}
+
+	/**
+	 * @return <code>true</code> if neither the beans nor their dependencies changed.
+	 * Changes to the grouping of beans into contexts and resources alone are
+	 * reflected by {@link #isGroupingChanged()}.
+	 */
+	public boolean isEmpty() {
+		return addedBeans.isEmpty() && removedBeans.isEmpty() && changedBeans.isEmpty()
+				&& addedDependencies.isEmpty() && removedDependencies.isEmpty();
+	}
+
+	public boolean isGroupingChanged() {
+		return groupingChanged;
+	}
+
+	/**
+	 * @return total number of added, removed and changed beans and dependencies
+	 */
+	public int size() {
+		return addedBeans.size() + removedBeans.size() + changedBeans.size() + addedDependencies.size()
+				+ removedDependencies.size();
+	}
+
+	@Override
+	public String toString() {
+		return "LiveBeansModelDiff [added=" + addedBeans.size() + ", removed=" + removedBeans.size() + ", changed="
+				+ changedBeans.size() + ", addedDependencies=" + addedDependencies.size() + ", removedDependencies="
+				+ removedDependencies.size() + "]";
+	}
+
+}
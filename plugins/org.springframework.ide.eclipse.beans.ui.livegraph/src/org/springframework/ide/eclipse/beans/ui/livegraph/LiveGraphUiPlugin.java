@@ -16,6 +16,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.beans.ui.livegraph.model.LiveBeansModelGenerator;
 import org.springframework.ide.eclipse.beans.ui.livegraph.views.LiveBeansGraphView;
 
 /**
@@ -42,6 +43,7 @@ public class LiveGraphUiPlugin extends AbstractUIPlugin {
 		store.setDefault(LiveBeansGraphView.PREF_DISPLAY_MODE, LiveBeansGraphView.DISPLAY_MODE_GRAPH);
 		store.setDefault(LiveBeansGraphView.PREF_GROUP_MODE, LiveBeansGraphView.GROUP_BY_RESOURCE);
 		store.setDefault(LiveBeansGraphView.PREF_FILTER_INNER_BEANS, true);
+		store.setDefault(LiveBeansGraphView.PREF_AUTO_REFRESH, false);
 	}
 
 	@Override
@@ -57,6 +59,7 @@ public class LiveGraphUiPlugin extends AbstractUIPlugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		LiveBeansModelGenerator.disconnectAll();
 		plugin = null;
 		super.stop(context);
 	}
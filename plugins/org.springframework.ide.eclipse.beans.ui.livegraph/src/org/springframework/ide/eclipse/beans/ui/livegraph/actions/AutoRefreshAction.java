@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.livegraph.actions;
+
+import org.eclipse.jface.action.Action;
+import org.springframework.ide.eclipse.beans.ui.livegraph.views.LiveBeansGraphView;
+
+/**
+ * Toggles periodic refresh of the application shown in the Live Beans Graph.
+ * 
+ * @since 3.9.13
+ */
+public class AutoRefreshAction extends Action {
+
+	private final LiveBeansGraphView view;
+
+	public AutoRefreshAction(LiveBeansGraphView view) {
+		super("Refresh Automatically", AS_CHECK_BOX);
+		this.view = view;
+	}
+
+	@Override
+	public void run() {
+		view.setAutoRefresh(isChecked());
+	}
+
+}
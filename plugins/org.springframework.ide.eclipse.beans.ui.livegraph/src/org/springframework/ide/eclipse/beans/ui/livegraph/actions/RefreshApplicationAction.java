@@ -10,16 +10,9 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.livegraph.actions;
 
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.Action;
-import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
 import org.springframework.ide.eclipse.beans.ui.livegraph.LiveGraphUIImages;
-import org.springframework.ide.eclipse.beans.ui.livegraph.LiveGraphUiPlugin;
-import org.springframework.ide.eclipse.beans.ui.livegraph.model.LiveBeansModelGenerator;
 import org.springframework.ide.eclipse.beans.ui.livegraph.views.LiveBeansGraphView;
-import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
 /**
  * @author Leo Dos Santos
@@ -35,14 +28,8 @@ public class RefreshApplicationAction extends Action {
 
 	@Override
 	public void run() {
-		try {
-			LiveBeansModel model = view.getInput();
-			if (model != null) {
-				view.setInput(LiveBeansModelGenerator.refreshModel(model));
-			}
-		}
-		catch (CoreException e) {
-			StatusHandler.log(new Status(IStatus.ERROR, LiveGraphUiPlugin.PLUGIN_ID, e.getMessage(), e));
+		if (view.getInput() != null) {
+			view.refresh();
 		}
 	}
 
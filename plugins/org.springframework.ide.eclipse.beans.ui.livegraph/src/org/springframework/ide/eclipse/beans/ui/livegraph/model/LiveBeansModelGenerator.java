@@ -37,6 +37,7 @@ import org.springframework.context.support.LiveBeansViewMBean;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelCollection;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
 import org.springframework.ide.eclipse.beans.ui.livegraph.LiveGraphUiPlugin;
 import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
@@ -62,6 +63,15 @@ public class LiveBeansModelGenerator {
 	 * @throws CoreException
 	 */
 	public static LiveBeansModel connectToModel(JMXConnector connector, LiveBeansSession session) throws CoreException {
+		LiveBeansModel model = readSnapshot(connector, session);
+		if (model != null) {
+			// add model to collection
+			LiveBeansModelCollection.getInstance().addModel(model);
+		}
+		return model;
+	}
+
+	private static LiveBeansModel readSnapshot(JMXConnector connector, LiveBeansSession session) throws CoreException {
 		try {
 			String appName = session.getApplicationName();
 			if (connector != null) {
@@ -80,7 +90,7 @@ public class LiveBeansModelGenerator {
 				connection.getObjectInstance(name);
 				LiveBeansViewMBean mbean = MBeanServerInvocationHandler.newProxyInstance(connection, name,
 						LiveBeansViewMBean.class, false);
-				return generateModel(mbean, session);
+				return parseModel(mbean, session);
 			}
 		}
 		catch (MalformedObjectNameException e) {
@@ -185,16 +195,13 @@ public class LiveBeansModelGenerator {
 		return null;
 	}
 
-	private static LiveBeansModel generateModel(LiveBeansViewMBean mbean, LiveBeansSession session)
+	private static LiveBeansModel parseModel(LiveBeansViewMBean mbean, LiveBeansSession session)
 			throws CoreException {
 		try {
 			if (mbean != null) {
 				String json = mbean.getSnapshotAsJson();
 				LiveBeansJsonParser parser = new LiveBeansJsonParser(session, json);
-				LiveBeansModel model = parser.parse();
-				// add model to collection
-				LiveBeansModelCollection.getInstance().addModel(model);
-				return model;
+				return parser.parse();
 			}
 		}
 		catch (JSONException e) {
@@ -225,7 +232,62 @@ public class LiveBeansModelGenerator {
 		return originalModel;
 	}
 
-	private static JMXConnector setupConnector(String serviceUrl, String username, String password)
+	/**
+	 * This method will fetch a new snapshot of the application described by the
+	 * given session over the session's connection, which is opened if
+	 * necessary and stays open afterwards. The snapshot is not added to the
+	 * {@link LiveBeansModelCollection}. This method is not UI safe.
+	 * 
+	 * @param session
+	 * @return A new {@link LiveBeansModel} snapshot, or <code>null</code> if
+	 * connection has failed
+	 * @throws CoreException
+	 */
+	public static LiveBeansModel fetchSnapshot(LiveBeansSession session) throws CoreException {
+		try {
+			return readSnapshot(session.getConnector(), session);
+		}
+		catch (CoreException e) {
+			// The application may have been restarted since the connection was
+			// opened. Retry once with a new connection.
+			session.disconnect();
+			return readSnapshot(session.getConnector(), session);
+		}
+	}
+
+	/**
+	 * This method will compute the difference between the given model and a
+	 * new snapshot of its application, keeping the connection to the
+	 * application open for subsequent refreshes. Neither the model nor the
+	 * {@link LiveBeansModelCollection} are modified. This method is not UI safe.
+	 * 
+	 * @param model
+	 * @return {@link LiveBeansModelDiff} or <code>null</code> if the model is
+	 * not connected to an application
+	 * @throws CoreException
+	 */
+	public static LiveBeansModelDiff computeDiff(LiveBeansModel model) throws CoreException {
+		if (model.getWorkspaceContext() instanceof LiveBeansSession) {
+			LiveBeansModel snapshot = fetchSnapshot((LiveBeansSession) model.getWorkspaceContext());
+			if (snapshot != null) {
+				return LiveBeansModelDiff.compute(model, snapshot);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Closes the connections kept open by the sessions of all known models.
+	 */
+	public static void disconnectAll() {
+		for (LiveBeansModel model : LiveBeansModelCollection.getInstance().getCollection()) {
+			if (model.getWorkspaceContext() instanceof LiveBeansSession) {
+				((LiveBeansSession) model.getWorkspaceContext()).disconnect();
+			}
+		}
+	}
+
+	static JMXConnector setupConnector(String serviceUrl, String username, String password)
 			throws CoreException {
 		try {
 			if (serviceUrl != null && serviceUrl.length() > 0) {
@@ -10,15 +10,23 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.livegraph.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import javax.management.remote.JMXConnector;
+
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jst.server.core.IWebModule;
 import org.eclipse.wst.server.core.IModule;
 import org.eclipse.wst.server.core.ServerUtil;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookupImpl;
+import org.springframework.ide.eclipse.beans.ui.livegraph.LiveGraphUiPlugin;
+import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
 /**
  * Live Beans Session implementation
@@ -34,6 +42,8 @@ public class LiveBeansSession extends TypeLookupImpl {
 
 	private final String password;
 
+	private JMXConnector connector;
+
 	public LiveBeansSession(String serviceUrl, String username, String password, String appName, IProject project) {
 		super(appName, project);
 		this.serviceUrl = serviceUrl;
@@ -41,6 +51,34 @@ public class LiveBeansSession extends TypeLookupImpl {
 		this.password = password;
 	}
 
+	/**
+	 * Returns the connection to the application, opening one if there is no
+	 * open connection. The connection is kept open until {@link #disconnect()}
+	 * is called, so that the application can be refreshed periodically. This
+	 * method is not UI safe.
+	 */
+	public synchronized JMXConnector getConnector() throws CoreException {
+		if (connector == null) {
+			connector = LiveBeansModelGenerator.setupConnector(serviceUrl, username, password);
+		}
+		return connector;
+	}
+
+	public synchronized void disconnect() {
+		if (connector != null) {
+			try {
+				connector.close();
+			}
+			catch (IOException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, LiveGraphUiPlugin.PLUGIN_ID,
+						"An error occurred while closing connection to server.", e));
+			}
+			finally {
+				connector = null;
+			}
+		}
+	}
+
 	public String getPassword() {
 		return password;
 	}
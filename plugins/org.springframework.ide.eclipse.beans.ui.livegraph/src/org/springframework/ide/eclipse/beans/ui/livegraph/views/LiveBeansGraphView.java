@@ -10,8 +10,15 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.livegraph.views;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
@@ -27,23 +34,31 @@ import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IActionBars;
 import org.eclipse.ui.actions.BaseSelectionListenerAction;
 import org.eclipse.ui.part.PageBook;
 import org.eclipse.ui.part.ViewPart;
+import org.eclipse.zest.core.viewers.EntityConnectionData;
 import org.eclipse.zest.core.viewers.GraphViewer;
+import org.eclipse.zest.core.widgets.GraphItem;
+import org.eclipse.zest.core.widgets.GraphNode;
 import org.eclipse.zest.core.widgets.ZestStyles;
 import org.eclipse.zest.layouts.LayoutStyles;
 import org.springframework.ide.eclipse.beans.ui.live.actions.OpenBeanClassAction;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelCollection;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
 import org.springframework.ide.eclipse.beans.ui.live.tree.ContextGroupedBeansContentProvider;
 import org.springframework.ide.eclipse.beans.ui.live.tree.InnerBeansViewerFilter;
 import org.springframework.ide.eclipse.beans.ui.live.tree.LiveBeansTreeLabelProvider;
 import org.springframework.ide.eclipse.beans.ui.live.tree.ResourceGroupedBeansContentProvider;
 import org.springframework.ide.eclipse.beans.ui.livegraph.LiveGraphUiPlugin;
+import org.springframework.ide.eclipse.beans.ui.livegraph.actions.AutoRefreshAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.ConnectToApplicationAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.FilterInnerBeansAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.LoadModelAction;
@@ -51,6 +66,8 @@ import org.springframework.ide.eclipse.beans.ui.livegraph.actions.OpenXmlBeanDef
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.RefreshApplicationAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.ToggleGroupByAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.ToggleViewModeAction;
+import org.springframework.ide.eclipse.beans.ui.livegraph.model.LiveBeansModelGenerator;
+import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
 /**
  * A simple view to host our graph
@@ -69,6 +86,25 @@ public class LiveBeansGraphView extends ViewPart {
 	public static final String PREF_FILTER_INNER_BEANS = LiveGraphUiPlugin.PLUGIN_ID
 			+ ".prefs.filterInnerBeans.LiveBeansGraphView";
 
+	public static final String PREF_AUTO_REFRESH = LiveGraphUiPlugin.PLUGIN_ID
+			+ ".prefs.autoRefresh.LiveBeansGraphView";
+
+	/**
+	 * Delay between two refreshes of the active model when auto refresh is on
+	 */
+	public static final long AUTO_REFRESH_INTERVAL = 5000;
+
+	/**
+	 * Diffs adding or removing more beans than this fraction of the graph are
+	 * applied by setting the input again, which lays out the whole graph.
+	 */
+	private static final double FULL_REFRESH_RATIO = 0.5;
+
+	/**
+	 * Gap between a new node and the node it is placed next to
+	 */
+	private static final int NODE_SPACING = 20;
+
 	public static final int DISPLAY_MODE_GRAPH = 0;
 
 	public static final int DISPLAY_MODE_TREE = 1;
@@ -89,9 +125,47 @@ public class LiveBeansGraphView extends ViewPart {
 
 	private FilterInnerBeansAction filterInnerBeansAction;
 
+	private AutoRefreshAction autoRefreshAction;
+
+	private volatile boolean autoRefresh;
+
+	private final Job refreshJob = new Job("Refreshing Live Beans Graph") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final LiveBeansModel model = activeInput;
+			if (model != null) {
+				try {
+					final LiveBeansModelDiff diff = LiveBeansModelGenerator.computeDiff(model);
+					if (diff != null && !monitor.isCanceled()) {
+						syncExecInView(new Runnable() {
+							public void run() {
+								applyDiff(diff);
+							}
+						});
+					}
+				}
+				catch (CoreException e) {
+					StatusHandler.log(new Status(IStatus.ERROR, LiveGraphUiPlugin.PLUGIN_ID, e.getMessage(), e));
+					if (autoRefresh) {
+						// Don't keep on failing every few seconds when the application is gone
+						syncExecInView(new Runnable() {
+							public void run() {
+								setAutoRefresh(false);
+							}
+						});
+					}
+				}
+			}
+			if (autoRefresh && !monitor.isCanceled()) {
+				schedule(AUTO_REFRESH_INTERVAL);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	};
+
 	private final InnerBeansViewerFilter innerBeansFilter;
 
-	private LiveBeansModel activeInput;
+	private volatile LiveBeansModel activeInput;
 
 	private Action connectApplicationAction;
 
@@ -112,6 +186,7 @@ public class LiveBeansGraphView extends ViewPart {
 		prefStore = LiveGraphUiPlugin.getDefault().getPreferenceStore();
 		selectionProvider = new MultiViewerSelectionProvider();
 		innerBeansFilter = new InnerBeansViewerFilter();
+		refreshJob.setSystem(true);
 	}
 
 	private void createGraphViewer() {
@@ -149,6 +224,7 @@ public class LiveBeansGraphView extends ViewPart {
 		setDisplayMode(prefStore.getInt(PREF_DISPLAY_MODE));
 		setGroupByMode(prefStore.getInt(PREF_GROUP_MODE));
 		setFilterInnerBeans(prefStore.getBoolean(PREF_FILTER_INNER_BEANS));
+		setAutoRefresh(prefStore.getBoolean(PREF_AUTO_REFRESH));
 	}
 	
 	private ITreeContentProvider getTreeContentProvider() {
@@ -176,6 +252,9 @@ public class LiveBeansGraphView extends ViewPart {
 
 	@Override
 	public void dispose() {
+		autoRefresh = false;
+		refreshJob.cancel();
+		LiveBeansModelGenerator.disconnectAll();
 		selectionProvider.removeSelectionChangedListener(openBeanClassAction);
 		selectionProvider.removeSelectionChangedListener(openBeanDefAction);
 		super.dispose();
@@ -206,6 +285,7 @@ public class LiveBeansGraphView extends ViewPart {
 		menuManager.add(new Separator());
 		menuManager.add(filterInnerBeansAction);
 		// }
+		menuManager.add(autoRefreshAction);
 	}
 
 	public int getGroupByMode() {
@@ -271,6 +351,7 @@ public class LiveBeansGraphView extends ViewPart {
 		groupByActions = new ToggleGroupByAction[] { new ToggleGroupByAction(this, GROUP_BY_RESOURCE),
 				new ToggleGroupByAction(this, GROUP_BY_CONTEXT) };
 		filterInnerBeansAction = new FilterInnerBeansAction(this);
+		autoRefreshAction = new AutoRefreshAction(this);
 	}
 
 	public void setDisplayMode(int mode) {
@@ -318,6 +399,139 @@ public class LiveBeansGraphView extends ViewPart {
 		}
 	}
 
+	/**
+	 * Fetches a new snapshot of the application shown in the view in the
+	 * background and applies the difference to the active model.
+	 */
+	public void refresh() {
+		refreshJob.schedule();
+	}
+
+	public void setAutoRefresh(boolean enabled) {
+		autoRefresh = enabled;
+		if (enabled) {
+			refreshJob.schedule(AUTO_REFRESH_INTERVAL);
+		}
+		autoRefreshAction.setChecked(enabled);
+		prefStore.setValue(PREF_AUTO_REFRESH, enabled);
+	}
+
+	private void syncExecInView(Runnable runnable) {
+		Display display = pagebook == null || pagebook.isDisposed() ? null : pagebook.getDisplay();
+		if (display != null && !display.isDisposed()) {
+			display.syncExec(runnable);
+		}
+	}
+
+	/**
+	 * Applies a difference computed for the active model to the model and
+	 * the viewers. Nodes of beans that did not change keep their position in
+	 * the graph, new nodes are placed next to a node they are connected to.
+	 */
+	public void applyDiff(LiveBeansModelDiff diff) {
+		LiveBeansModel model = diff.getCurrent();
+		if (model != activeInput || pagebook.isDisposed() || (diff.isEmpty() && !diff.isGroupingChanged())) {
+			return;
+		}
+		int beanChanges = diff.getAddedBeans().size() + diff.getRemovedBeans().size();
+		if (beanChanges > model.getBeans().size() * FULL_REFRESH_RATIO) {
+			model.applyDiff(diff);
+			setInput(model);
+			return;
+		}
+
+		model.applyDiff(diff);
+		if (!diff.isEmpty()) {
+			graphViewer.getGraphControl().setRedraw(false);
+			try {
+				for (LiveBeansModelDiff.Dependency dependency : diff.getRemovedDependencies()) {
+					graphViewer.removeRelationship(new EntityConnectionData(dependency.getSource(), dependency.getTarget()));
+					LiveBean target = dependency.getTarget();
+					if (target.isInnerBean() && target.getInjectedInto().isEmpty()) {
+						graphViewer.removeNode(target);
+					}
+				}
+				for (LiveBean bean : diff.getRemovedBeans()) {
+					graphViewer.removeNode(bean);
+				}
+				List<GraphNode> newNodes = new ArrayList<GraphNode>();
+				for (LiveBean bean : diff.getAddedBeans()) {
+					addGraphNode(bean, newNodes);
+				}
+				for (LiveBeansModelDiff.Dependency dependency : diff.getAddedDependencies()) {
+					if (addGraphNode(dependency.getSource(), newNodes) && addGraphNode(dependency.getTarget(), newNodes)) {
+						graphViewer.addRelationship(new EntityConnectionData(dependency.getSource(), dependency.getTarget()),
+								dependency.getSource(), dependency.getTarget());
+					}
+				}
+				for (LiveBean bean : diff.getChangedBeans()) {
+					graphViewer.update(bean, null);
+				}
+				placeNodes(newNodes);
+			}
+			finally {
+				graphViewer.getGraphControl().setRedraw(true);
+			}
+		}
+		treeViewer.refresh();
+	}
+
+	/**
+	 * Adds a node for the given bean unless the graph has one already or the
+	 * bean is filtered out.
+	 * 
+	 * @return <code>true</code> if the graph has a node for the bean
+	 */
+	private boolean addGraphNode(LiveBean bean, List<GraphNode> newNodes) {
+		if (graphViewer.findGraphItem(bean) == null) {
+			for (ViewerFilter filter : graphViewer.getFilters()) {
+				if (!filter.select(graphViewer, activeInput, bean)) {
+					return false;
+				}
+			}
+			graphViewer.addNode(bean);
+			GraphItem item = graphViewer.findGraphItem(bean);
+			if (item instanceof GraphNode) {
+				newNodes.add((GraphNode) item);
+			}
+		}
+		return true;
+	}
+
+	private void placeNodes(List<GraphNode> newNodes) {
+		int bottom = 0;
+		for (Object node : graphViewer.getGraphControl().getNodes()) {
+			if (!newNodes.contains(node)) {
+				GraphNode graphNode = (GraphNode) node;
+				bottom = Math.max(bottom, graphNode.getLocation().y + graphNode.getSize().height);
+			}
+		}
+		int nextFreeX = NODE_SPACING;
+		for (GraphNode node : newNodes) {
+			GraphNode anchor = findPlacedNeighbour((LiveBean) node.getData(), newNodes);
+			if (anchor != null) {
+				node.setLocation(anchor.getLocation().x + anchor.getSize().width + NODE_SPACING,
+						anchor.getLocation().y + NODE_SPACING);
+			}
+			else {
+				node.setLocation(nextFreeX, bottom + NODE_SPACING);
+				nextFreeX += node.getSize().width + NODE_SPACING;
+			}
+		}
+	}
+
+	private GraphNode findPlacedNeighbour(LiveBean bean, List<GraphNode> newNodes) {
+		List<LiveBean> neighbours = new ArrayList<LiveBean>(bean.getInjectedInto());
+		neighbours.addAll(bean.getDependencies());
+		for (LiveBean neighbour : neighbours) {
+			GraphItem item = graphViewer.findGraphItem(neighbour);
+			if (item instanceof GraphNode && !newNodes.contains(item)) {
+				return (GraphNode) item;
+			}
+		}
+		return null;
+	}
+
 	public void setFilterInnerBeans(boolean filtered) {
 		if (graphViewer != null) {
 			if (filtered) {
@@ -45,6 +45,7 @@ import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeanClas
 import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeanNameQuery;
 import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeanPropertyQuery;
 import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeanReferenceQuery;
+import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeansSearchIndex;
 
 /**
  * Implementation of {@link ISearchPage} which provides the UI for searching the
@@ -300,6 +301,9 @@ public class BeansSearchPage extends DialogPage implements ISearchPage {
 		initializeDialogUnits(parent);
 		readConfiguration();
 
+		// Give the index a head start while the user enters the pattern
+		BeansSearchIndex.getInstance();
+
 		Composite result = new Composite(parent, SWT.NONE);
 
 		GridLayout layout = new GridLayout(2, false);
@@ -23,6 +23,8 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.beans.ui.search.internal.queries.BeansSearchIndex;
 
 /**
  * Central access point for the Spring Framework Search UI plug-in
@@ -61,6 +63,12 @@ public class BeansSearchPlugin extends AbstractUIPlugin {
 		}
 	}
 
+	@Override
+	public void stop(BundleContext context) throws Exception {
+		BeansSearchIndex.disposeInstance();
+		super.stop(context);
+	}
+
 	public static BeansSearchPlugin getDefault() {
 		return plugin;
 	}
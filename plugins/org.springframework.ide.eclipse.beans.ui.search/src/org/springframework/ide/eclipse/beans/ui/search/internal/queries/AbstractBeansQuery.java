@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 Spring IDE Developers
+ * Copyright (c) 2006, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.Assert;
@@ -20,6 +22,8 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.text.Match;
+import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
+import org.springframework.ide.eclipse.beans.core.model.IImportedBeansConfig;
 import org.springframework.ide.eclipse.beans.ui.search.BeansSearchPlugin;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchResult;
@@ -38,6 +42,7 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 
 	private BeansSearchScope scope;
 	private String pattern;
+	private boolean isRegexSearch;
 	private Pattern compiledPattern;
 	private ISearchResult result;
 
@@ -46,6 +51,7 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 		Assert.isNotNull(scope);
 		this.scope = scope;
 		this.pattern = pattern;
+		this.isRegexSearch = isRegexSearch;
 		this.compiledPattern = PatternUtils.createPattern(pattern,
 				isCaseSensitive, isRegexSearch);
 	}
@@ -76,34 +82,37 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 	public final IStatus run(IProgressMonitor monitor) {
 		final BeansSearchResult result = (BeansSearchResult) getSearchResult();
 		result.removeAll();
-		for (IModelElement element : scope.getModelElements()) {
-			if (monitor.isCanceled()) {
-				throw new OperationCanceledException();
+		BeansSearchIndex.KeyProvider keyProvider = getKeyProvider();
+		if (keyProvider != null && BeansSearchIndex.supports(scope)) {
+			for (IModelElement element : BeansSearchIndex.getInstance().find(
+					keyProvider, pattern, isRegexSearch, compiledPattern, scope,
+					monitor)) {
+				addMatch(result, element);
 			}
-			IModelElementVisitor visitor = new IModelElementVisitor() {
-				public boolean visit(IModelElement element,
-						IProgressMonitor monitor) {
-					if (doesMatch(element, compiledPattern, monitor)) {
-						int startLine;
-						int lines;
-						if (element instanceof ISourceModelElement) {
-							ISourceModelElement sourceElement =
-								(ISourceModelElement) element;
-							startLine = sourceElement.getElementStartLine();
-							lines = sourceElement.getElementEndLine()
-									- startLine + 1;
-						} else {
-							startLine = -1;
-							lines = -1;
+		} else {
+			for (IModelElement element : scope.getModelElements()) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				IModelElementVisitor visitor = new IModelElementVisitor() {
+					public boolean visit(IModelElement element,
+							IProgressMonitor monitor) {
+						if (doesMatch(element, compiledPattern, monitor)) {
+							addMatch(result, element);
+						}
+
+						// Search imported configs too, like the index does
+						if (element instanceof IBeansImport) {
+							for (IImportedBeansConfig importedConfig : ((IBeansImport) element)
+									.getImportedBeansConfigs()) {
+								importedConfig.accept(this, monitor);
+							}
 						}
-						Match match = new Match(element, Match.UNIT_LINE,
-								startLine, lines);
-						result.addMatch(match);
+						return true;
 					}
-					return true;
-				}
-			};
-			element.accept(visitor, monitor);
+				};
+				element.accept(visitor, monitor);
+			}
 		}
 		Object[] args = new Object[] { new Integer(result.getMatchCount()) };
 		String message = MessageUtils.format(
@@ -112,10 +121,51 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 				null);
 	}
 
+	private void addMatch(BeansSearchResult result, IModelElement element) {
+		int startLine;
+		int lines;
+		if (element instanceof ISourceModelElement) {
+			ISourceModelElement sourceElement =
+				(ISourceModelElement) element;
+			startLine = sourceElement.getElementStartLine();
+			lines = sourceElement.getElementEndLine()
+					- startLine + 1;
+		} else {
+			startLine = -1;
+			lines = -1;
+		}
+		Match match = new Match(element, Match.UNIT_LINE,
+				startLine, lines);
+		result.addMatch(match);
+	}
+
+	/**
+	 * Returns the {@link BeansSearchIndex.KeyProvider} extracting the strings
+	 * this query matches its pattern against, or <code>null</code> if the
+	 * query has to traverse the model and test each element with
+	 * {@link #doesMatch(IModelElement, Pattern, IProgressMonitor)}.
+	 */
+	protected BeansSearchIndex.KeyProvider getKeyProvider() {
+		return null;
+	}
+
 	/**
 	 * Returns <code>true</code> if given {@link IModelElement} matches
-	 * this query. 
+	 * this query. By default any of the keys provided by
+	 * {@link #getKeyProvider()} has to match the pattern.
 	 */
-	protected abstract boolean doesMatch(IModelElement element,
-			Pattern pattern, IProgressMonitor monitor);
+	protected boolean doesMatch(IModelElement element,
+			Pattern pattern, IProgressMonitor monitor) {
+		BeansSearchIndex.KeyProvider keyProvider = getKeyProvider();
+		if (keyProvider != null) {
+			List<String> keys = new ArrayList<String>();
+			keyProvider.collectKeys(element, keys);
+			for (String key : keys) {
+				if (pattern.matcher(key).matches()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 }
@@ -10,9 +10,8 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
-import java.util.regex.Pattern;
+import java.util.Collection;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
@@ -39,19 +38,23 @@ public class BeanChildQuery extends AbstractBeansQuery {
 				BeansSearchMessages.SearchQuery_searchFor_child, args);
 	}
 
-	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
-		if (element instanceof IBean) {
-			IBean bean = (IBean) element;
-			if (bean.isChildBean()) {
-
-				// Compare given parent bean's name with bean's one
-				if (pattern.matcher(bean.getParentName()).matches()) {
-					return true;
+	/**
+	 * Provides the parent bean names of child {@link IBean}s.
+	 */
+	public static final BeansSearchIndex.KeyProvider KEYS =
+			new BeansSearchIndex.KeyProvider() {
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				IBean bean = (IBean) element;
+				if (bean.isChildBean()) {
+					keys.add(bean.getParentName());
 				}
 			}
 		}
-		return false;
+	};
+
+	@Override
+	protected BeansSearchIndex.KeyProvider getKeyProvider() {
+		return KEYS;
 	}
 }
@@ -10,9 +10,8 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
-import java.util.regex.Pattern;
+import java.util.Collection;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.springframework.ide.eclipse.beans.core.internal.model.Bean;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
@@ -40,28 +39,27 @@ public class BeanNameQuery extends AbstractBeansQuery {
 				BeansSearchMessages.SearchQuery_searchFor_name, args);
 	}
 
-	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
-		if (element instanceof IBean) {
-			Bean bean = (Bean) element;
-
-			// Compare bean name first
-			if (pattern.matcher(bean.getElementName()).matches()) {
-				return true;
-			}
-
-			// Now compare aliases
-			String[] aliases = bean.getAliases();
-			if (aliases != null) {
-				for (String alias : aliases) {
-					if (pattern.matcher(alias).matches()) {
-						return true;
+	/**
+	 * Provides the ID and alias names of {@link IBean}s.
+	 */
+	public static final BeansSearchIndex.KeyProvider KEYS =
+			new BeansSearchIndex.KeyProvider() {
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				Bean bean = (Bean) element;
+				keys.add(bean.getElementName());
+				String[] aliases = bean.getAliases();
+				if (aliases != null) {
+					for (String alias : aliases) {
+						keys.add(alias);
 					}
-
 				}
 			}
 		}
-		return false;
+	};
+
+	@Override
+	protected BeansSearchIndex.KeyProvider getKeyProvider() {
+		return KEYS;
 	}
 }
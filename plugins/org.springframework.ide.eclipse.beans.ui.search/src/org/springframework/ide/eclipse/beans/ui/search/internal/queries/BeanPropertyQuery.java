@@ -10,9 +10,8 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
-import java.util.regex.Pattern;
+import java.util.Collection;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.core.model.IBeanProperty;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
@@ -40,18 +39,22 @@ public class BeanPropertyQuery extends AbstractBeansQuery {
 				BeansSearchMessages.SearchQuery_searchFor_property, args);
 	}
 
-	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
-		if (element instanceof IBean) {
-			for (IBeanProperty property : ((IBean) element).getProperties()) {
-
-				// Compare given property name with bean's one
-				if (pattern.matcher(property.getElementName()).matches()) {
-					return true;
+	/**
+	 * Provides the property names of {@link IBean}s.
+	 */
+	public static final BeansSearchIndex.KeyProvider KEYS =
+			new BeansSearchIndex.KeyProvider() {
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				for (IBeanProperty property : ((IBean) element).getProperties()) {
+					keys.add(property.getElementName());
 				}
 			}
 		}
-		return false;
+	};
+
+	@Override
+	protected BeansSearchIndex.KeyProvider getKeyProvider() {
+		return KEYS;
 	}
 }
@@ -10,10 +10,9 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
+import java.util.Collection;
 import java.util.Iterator;
-import java.util.regex.Pattern;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.search.ui.ISearchQuery;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.LookupOverride;
@@ -59,44 +58,54 @@ public class BeanReferenceQuery extends AbstractBeansQuery {
 				BeansSearchMessages.SearchQuery_searchFor_reference, args);
 	}
 
+	/**
+	 * Provides the names of all beans referenced by aliases, {@link IBean}s
+	 * (parent, factory bean, depends-on and method overrides) and
+	 * {@link IBeansValueHolder}s.
+	 */
+	public static final BeansSearchIndex.KeyProvider KEYS =
+			new BeansSearchIndex.KeyProvider() {
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			collectReferences(element, keys);
+		}
+	};
+
 	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
+	protected BeansSearchIndex.KeyProvider getKeyProvider() {
+		return KEYS;
+	}
+
+	private static void collectReferences(IModelElement element,
+			Collection<String> keys) {
 		if (element instanceof IBeanAlias) {
 			IBeanAlias alias = (IBeanAlias) element;
-			if (pattern.matcher(alias.getBeanName()).matches()) {
-				return true;
-			}
+			keys.add(alias.getBeanName());
 		}
 		else if (element instanceof IBean) {
 			IBean bean = (IBean) element;
 
-			// Compare reference with parent bean
-			if (bean.isChildBean()
-					&& pattern.matcher(bean.getParentName()).matches()) {
-				return true;
+			// Reference with parent bean
+			if (bean.isChildBean()) {
+				keys.add(bean.getParentName());
 			}
 			AbstractBeanDefinition bd = (AbstractBeanDefinition)
 					((Bean) element).getBeanDefinition();
 
-			// Compare reference with factory bean
+			// Reference with factory bean
 			String factoryBeanName = bd.getFactoryBeanName();
-			if (factoryBeanName != null
-					&& pattern.matcher(factoryBeanName).matches()) {
-				return true;
+			if (factoryBeanName != null) {
+				keys.add(factoryBeanName);
 			}
 
-			// Compare reference with depends-on beans
+			// Reference with depends-on beans
 			String dependsOnBeanNames[] = bd.getDependsOn();
 			if (dependsOnBeanNames != null) {
 				for (String name : dependsOnBeanNames) {
-					if (pattern.matcher(name).matches()) {
-						return true;
-					}
+					keys.add(name);
 				}
 			}
 
-			// Compare reference with method-override beans
+			// Reference with method-override beans
 			if (!bd.getMethodOverrides().isEmpty()) {
 				Iterator methodsOverrides = bd.getMethodOverrides()
 						.getOverrides().iterator();
@@ -104,40 +113,30 @@ public class BeanReferenceQuery extends AbstractBeansQuery {
 					MethodOverride methodOverride = (MethodOverride)
 							methodsOverrides.next();
 					if (methodOverride instanceof LookupOverride) {
-						String name = ((LookupOverride) methodOverride)
-								.getBeanName();
-						if (pattern.matcher(name).matches()) {
-							return true;
-						}
+						keys.add(((LookupOverride) methodOverride)
+								.getBeanName());
 					}
 					else if (methodOverride instanceof ReplaceOverride) {
-						String name = ((ReplaceOverride) methodOverride)
-								.getMethodReplacerBeanName();
-						if (pattern.matcher(name).matches()) {
-							return true;
-						}
+						keys.add(((ReplaceOverride) methodOverride)
+								.getMethodReplacerBeanName());
 					}
 				}
 			}
 		}
 		else if (element instanceof IBeansValueHolder) {
-			return doesValueMatch(element, ((IBeansValueHolder) element)
-					.getValue(), pattern);
+			collectValueReferences(element, ((IBeansValueHolder) element)
+					.getValue(), keys);
 		}
-		return false;
 	}
 
-	private boolean doesValueMatch(IModelElement element, Object value,
-			Pattern pattern) {
+	private static void collectValueReferences(IModelElement element,
+			Object value, Collection<String> keys) {
 		if (value instanceof IBeanReference) {
-			String name = ((IBeanReference) value).getBeanName();
-			if (pattern.matcher(name).matches()) {
-				return true;
-			}
+			keys.add(((IBeanReference) value).getBeanName());
 		}
 		else if (value instanceof IBeansList) {
 
-			// Compare reference with bean property's interceptors
+			// Reference with bean property's interceptors
 			if (element instanceof IBeanProperty
 					&& element.getElementName().equals("interceptorNames")) {
 				String beanClass = BeansModelUtils.getBeanClass((IBean) element
@@ -146,10 +145,7 @@ public class BeanReferenceQuery extends AbstractBeansQuery {
 					for (IModelElement child : ((IBeansList) value)
 							.getElementChildren()) {
 						if (child instanceof IBeansTypedString) {
-							if (pattern.matcher(((IBeansTypedString) child)
-									.getString()).matches()) {
-								return true;
-							}
+							keys.add(((IBeansTypedString) child).getString());
 						}
 					}
 				}
@@ -157,33 +153,26 @@ public class BeanReferenceQuery extends AbstractBeansQuery {
 			else {
 				for (IModelElement child : ((IBeansList) value)
 						.getElementChildren()) {
-					if (doesValueMatch(element, child, pattern)) {
-						return true;
-					}
+					collectValueReferences(element, child, keys);
 				}
 			}
 		}
 		else if (value instanceof IBeansSet) {
 			for (IModelElement child : ((IBeansSet) value)
 					.getElementChildren()) {
-				if (doesValueMatch(element, child, pattern)) {
-					return true;
-				}
+				collectValueReferences(element, child, keys);
 			}
 		}
 		else if (value instanceof IBeansMap) {
 			for (IModelElement child : ((IBeansMap) value)
 					.getElementChildren()) {
 				if (child instanceof IBeansMapEntry) {
-					if (doesValueMatch(element, ((IBeansMapEntry) child)
-							.getKey(), pattern)
-							|| doesValueMatch(element, ((IBeansMapEntry) child)
-									.getValue(), pattern)) {
-						return true;
-					}
+					collectValueReferences(element, ((IBeansMapEntry) child)
+							.getKey(), keys);
+					collectValueReferences(element, ((IBeansMapEntry) child)
+							.getValue(), keys);
 				}
 			}
 		}
-		return false;
 	}
 }
@@ -0,0 +1,447 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IImportedBeansConfig;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
+import org.springframework.ide.eclipse.core.model.IAsyncModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.IModelElementVisitor;
+import org.springframework.ide.eclipse.core.model.ISourceModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+
+/**
+ * Inverted index from the strings the {@link AbstractBeansQuery}s match their
+ * patterns against (bean names, aliases, class names, property names, bean
+ * references, ...) to the model elements they were found in.
+ * <p>
+ * The index is built in the background and kept up to date incrementally:
+ * on a {@link ModelChangeEvent} only the affected configs (or the configs of
+ * the affected project) are indexed again. Queries bring the index up to date
+ * with all pending changes before they look at it, so search results are never
+ * stale. Elements of imported configs are indexed as part of the config
+ * importing them.
+ * @since 3.9.13
+ */
+public class BeansSearchIndex {
+
+	/**
+	 * Extracts the strings a query matches its pattern against from a single
+	 * model element.
+	 */
+	public interface KeyProvider {
+
+		/**
+		 * Adds the strings the given element is to be found by to
+		 * <code>keys</code>.
+		 */
+		void collectKeys(IModelElement element, Collection<String> keys);
+	}
+
+	private static final long UPDATE_DELAY = 500;
+
+	private static BeansSearchIndex instance;
+
+	public static synchronized BeansSearchIndex getInstance() {
+		if (instance == null) {
+			instance = new BeansSearchIndex();
+			instance.initialize();
+		}
+		return instance;
+	}
+
+	public static synchronized void disposeInstance() {
+		if (instance != null) {
+			instance.dispose();
+			instance = null;
+		}
+	}
+
+	private static final class Posting {
+
+		private final KeyProvider provider;
+		private final String key;
+		private final IModelElement element;
+
+		Posting(KeyProvider provider, String key, IModelElement element) {
+			this.provider = provider;
+			this.key = key;
+			this.element = element;
+		}
+	}
+
+	/**
+	 * Per provider: keys ordered ignoring case (so that prefix lookups work for
+	 * case sensitive and insensitive searches) to the distinct keys equal to
+	 * them ignoring case, and from those to the postings of all elements having
+	 * that exact key. Queries match every distinct key only once, no matter how
+	 * many elements share it.
+	 */
+	private final Map<KeyProvider, TreeMap<String, Map<String, List<Posting>>>> index =
+			new LinkedHashMap<KeyProvider, TreeMap<String, Map<String, List<Posting>>>>();
+
+	private final Map<IBeansConfig, List<Posting>> configPostings = new HashMap<IBeansConfig, List<Posting>>();
+
+	private final Map<IBeansConfig, IBeansProject> configProjects = new HashMap<IBeansConfig, IBeansProject>();
+
+	/**
+	 * Projects and configs to index again. Not guarded by <code>this</code>, as
+	 * change events may be fired by threads holding locks of the model while
+	 * the index visits the model.
+	 */
+	private final Set<IModelElement> dirty = Collections.synchronizedSet(new LinkedHashSet<IModelElement>());
+
+	private volatile boolean rebuild = true;
+
+	private final Job updateJob = new Job("Updating Spring beans search index") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				update(monitor);
+			}
+			catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	private final IAsyncModelChangeListener modelListener = new IAsyncModelChangeListener() {
+		public void elementChanged(ModelChangeEvent event) {
+			markDirty(event.getElement());
+		}
+	};
+
+	private BeansSearchIndex() {
+		index.put(BeanNameQuery.KEYS, newKeyMap());
+		index.put(BeanClassQuery.KEYS, newKeyMap());
+		index.put(BeanPropertyQuery.KEYS, newKeyMap());
+		index.put(BeanReferenceQuery.KEYS, newKeyMap());
+		index.put(BeanChildQuery.KEYS, newKeyMap());
+	}
+
+	private static TreeMap<String, Map<String, List<Posting>>> newKeyMap() {
+		return new TreeMap<String, Map<String, List<Posting>>>(String.CASE_INSENSITIVE_ORDER);
+	}
+
+	private void initialize() {
+		updateJob.setSystem(true);
+		updateJob.setPriority(Job.DECORATE);
+		BeansCorePlugin.getModel().addChangeListener(modelListener);
+		updateJob.schedule(UPDATE_DELAY);
+	}
+
+	private void dispose() {
+		BeansCorePlugin.getModel().removeChangeListener(modelListener);
+		updateJob.cancel();
+	}
+
+	/**
+	 * Returns <code>true</code> if the index can answer queries for the given
+	 * scope. Scopes made up of anything but the model, projects and configs
+	 * (e.g. config sets) have to be searched by traversing the model.
+	 */
+	public static boolean supports(BeansSearchScope scope) {
+		for (IModelElement element : scope.getModelElements()) {
+			if (!(element instanceof IBeansModel || element instanceof IBeansProject
+					|| element instanceof IBeansConfig)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void markDirty(IModelElement element) {
+		if (element instanceof IBeansModel) {
+			rebuild = true;
+		}
+		else if (element instanceof IBeansProject) {
+			dirty.add(element);
+		}
+		else if (element instanceof IBeansConfig || element instanceof ISourceModelElement) {
+			IBeansConfig config = BeansModelUtils.getConfig(element);
+
+			// Imported configs are indexed as part of the config importing them
+			while (config instanceof IImportedBeansConfig) {
+				config = BeansModelUtils.getImportingBeansConfig(config);
+			}
+			if (config != null) {
+				dirty.add(config);
+			}
+		}
+		updateJob.schedule(UPDATE_DELAY);
+	}
+
+	/**
+	 * Returns the elements within the given scope having a key of the given
+	 * provider matching the given pattern.
+	 * @param searchString the pattern as entered by the user, used to narrow
+	 * down the keys to test for wildcard patterns
+	 */
+	public Set<IModelElement> find(KeyProvider provider, String searchString, boolean isRegexSearch,
+			Pattern pattern, BeansSearchScope scope, IProgressMonitor monitor) {
+		Set<IModelElement> matches = new LinkedHashSet<IModelElement>();
+		Set<IModelElement> scopeElements = new LinkedHashSet<IModelElement>();
+		for (IModelElement element : scope.getModelElements()) {
+			scopeElements.add(element);
+		}
+		synchronized (this) {
+			registerProvider(provider);
+			update(monitor);
+			TreeMap<String, Map<String, List<Posting>>> keys = index.get(provider);
+			SortedMap<String, Map<String, List<Posting>>> candidates = keys;
+			String prefix = isRegexSearch ? "" : getLiteralPrefix(searchString);
+			if (prefix.length() > 0) {
+				candidates = keys.subMap(prefix, prefix + Character.MAX_VALUE);
+			}
+			for (Map<String, List<Posting>> exactKeys : candidates.values()) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				for (Map.Entry<String, List<Posting>> entry : exactKeys.entrySet()) {
+					if (!pattern.matcher(entry.getKey()).matches()) {
+						continue;
+					}
+					for (Posting posting : entry.getValue()) {
+						if (!matches.contains(posting.element) && isInScope(posting.element, scopeElements)) {
+							matches.add(posting.element);
+						}
+					}
+				}
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the part of a wildcard pattern before the first unescaped
+	 * <code>*</code> or <code>?</code>. Stops at any other backslash, to stay
+	 * clear of how the pattern treats it.
+	 */
+	static String getLiteralPrefix(String searchString) {
+		StringBuilder prefix = new StringBuilder();
+		for (int i = 0; i < searchString.length(); i++) {
+			char c = searchString.charAt(i);
+			if (c == '*' || c == '?') {
+				break;
+			}
+			if (c == '\\') {
+				char next = i + 1 < searchString.length() ? searchString.charAt(i + 1) : 0;
+				if (next != '*' && next != '?' && next != '\\') {
+					break;
+				}
+				c = next;
+				i++;
+			}
+			prefix.append(c);
+		}
+		return prefix.toString();
+	}
+
+	private static boolean isInScope(IModelElement element, Set<IModelElement> scopeElements) {
+		for (IModelElement e = element; e != null; e = e.getElementParent()) {
+			if (scopeElements.contains(e)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized void registerProvider(KeyProvider provider) {
+		if (!index.containsKey(provider)) {
+			index.put(provider, newKeyMap());
+			rebuild = true;
+		}
+	}
+
+	private synchronized void update(IProgressMonitor monitor) {
+		if (rebuild) {
+			// Reset first, so that changes during the rebuild aren't lost
+			rebuild = false;
+			dirty.clear();
+			clear();
+			for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
+				addProject(project, monitor);
+			}
+		}
+		IModelElement element;
+		while ((element = pollDirty()) != null) {
+			if (monitor.isCanceled()) {
+				dirty.add(element);
+				throw new OperationCanceledException();
+			}
+			if (element instanceof IBeansProject) {
+				IBeansProject project = (IBeansProject) element;
+				for (IBeansConfig config : new ArrayList<IBeansConfig>(configPostings.keySet())) {
+					if (project.equals(configProjects.get(config))) {
+						removeConfig(config);
+					}
+				}
+				if (BeansCorePlugin.getModel().getProject(project.getProject()) != null) {
+					addProject(project, monitor);
+				}
+			}
+			else {
+				IBeansConfig config = (IBeansConfig) element;
+				removeConfig(config);
+				IBeansProject project = BeansModelUtils.getProject(config);
+				if (project != null && project.getConfigs().contains(config)) {
+					addConfig(config, project);
+				}
+			}
+		}
+	}
+
+	private IModelElement pollDirty() {
+		synchronized (dirty) {
+			Iterator<IModelElement> iter = dirty.iterator();
+			if (iter.hasNext()) {
+				IModelElement element = iter.next();
+				iter.remove();
+				return element;
+			}
+			return null;
+		}
+	}
+
+	private void clear() {
+		for (TreeMap<String, Map<String, List<Posting>>> keys : index.values()) {
+			keys.clear();
+		}
+		configPostings.clear();
+		configProjects.clear();
+	}
+
+	private void addProject(IBeansProject project, IProgressMonitor monitor) {
+		for (IBeansConfig config : project.getConfigs()) {
+			if (monitor.isCanceled()) {
+				// Pick up where we stopped with the next update
+				rebuild = true;
+				throw new OperationCanceledException();
+			}
+			addConfig(config, project);
+		}
+	}
+
+	private void addConfig(IBeansConfig config, IBeansProject project) {
+		final List<Posting> postings = new ArrayList<Posting>();
+		final List<String> elementKeys = new ArrayList<String>();
+		config.accept(new IModelElementVisitor() {
+			public boolean visit(IModelElement element, IProgressMonitor monitor) {
+				for (Map.Entry<KeyProvider, TreeMap<String, Map<String, List<Posting>>>> entry : index.entrySet()) {
+					elementKeys.clear();
+					entry.getKey().collectKeys(element, elementKeys);
+					for (String key : elementKeys) {
+						if (key == null) {
+							continue;
+						}
+						Posting posting = new Posting(entry.getKey(), key, element);
+						postings.add(posting);
+						Map<String, List<Posting>> exactKeys = entry.getValue().get(key);
+						if (exactKeys == null) {
+							exactKeys = new LinkedHashMap<String, List<Posting>>(2);
+							entry.getValue().put(key, exactKeys);
+						}
+						List<Posting> list = exactKeys.get(key);
+						if (list == null) {
+							list = new ArrayList<Posting>(1);
+							exactKeys.put(key, list);
+						}
+						list.add(posting);
+					}
+				}
+
+				// Imports don't visit the configs they import
+				if (element instanceof IBeansImport) {
+					for (IImportedBeansConfig importedConfig : ((IBeansImport) element).getImportedBeansConfigs()) {
+						importedConfig.accept(this, monitor);
+					}
+				}
+				return true;
+			}
+		}, new NullProgressMonitor());
+		configPostings.put(config, postings);
+		configProjects.put(config, project);
+	}
+
+	private void removeConfig(IBeansConfig config) {
+		List<Posting> postings = configPostings.remove(config);
+		configProjects.remove(config);
+		if (postings == null) {
+			return;
+		}
+
+		// Filter every affected list once instead of removing the postings one
+		// by one, which would be quadratic for keys shared by many elements
+		Set<Posting> removed = Collections.newSetFromMap(new IdentityHashMap<Posting, Boolean>());
+		removed.addAll(postings);
+		Set<List<Posting>> filtered = Collections.newSetFromMap(new IdentityHashMap<List<Posting>, Boolean>());
+		for (Posting posting : postings) {
+			TreeMap<String, Map<String, List<Posting>>> keys = index.get(posting.provider);
+			Map<String, List<Posting>> exactKeys = keys.get(posting.key);
+			List<Posting> list = exactKeys != null ? exactKeys.get(posting.key) : null;
+			if (list != null && filtered.add(list)) {
+				int size = 0;
+				for (Posting kept : list) {
+					if (!removed.contains(kept)) {
+						list.set(size++, kept);
+					}
+				}
+				list.subList(size, list.size()).clear();
+				if (list.isEmpty()) {
+					exactKeys.remove(posting.key);
+					if (exactKeys.isEmpty()) {
+						keys.remove(posting.key);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		int keys = 0;
+		for (TreeMap<String, Map<String, List<Posting>>> providerKeys : index.values()) {
+			for (Map<String, List<Posting>> exactKeys : providerKeys.values()) {
+				keys += exactKeys.size();
+			}
+		}
+		return "BeansSearchIndex [configs=" + configPostings.size() + ", keys=" + keys + ", pending="
+				+ dirty.size() + "]";
+	}
+}
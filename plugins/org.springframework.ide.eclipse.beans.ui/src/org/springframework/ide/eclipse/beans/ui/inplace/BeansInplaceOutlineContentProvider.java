@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.inplace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.internal.ui.util.StringMatcher;
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ILazyTreePathContentProvider;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.jface.viewers.ViewerSorter;
+import org.eclipse.swt.widgets.Control;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModelElement;
+import org.springframework.ide.eclipse.beans.ui.model.BeansModelContentProvider;
+import org.springframework.ide.eclipse.beans.ui.navigator.BeansNavigatorSorter;
+import org.springframework.ide.eclipse.core.io.ZipEntryStorage;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+
+/**
+ * Lazy content provider for the virtual tree of the {@link BeansInplaceOutlineDialog}. The children of an element are
+ * only retrieved, filtered with the navigator filters and sorted when the tree asks for them, so that opening the
+ * outline doesn't depend on the size of the shown config or config set.
+ * <p>
+ * Filtering by name uses a flattened index of the labels and bean class names of all elements, which is built once
+ * when the first filter is set. Every filter change then scans this index instead of walking the tree.
+ * @since 3.9.13
+ */
+@SuppressWarnings("restriction")
+public class BeansInplaceOutlineContentProvider implements ILazyTreePathContentProvider, IModelChangeListener {
+
+	private final BeansModelContentProvider contentProvider = new BeansModelContentProvider(false);
+
+	private final ViewerSorter sorter = new BeansNavigatorSorter();
+
+	private final ViewerFilter[] filters;
+
+	/** Sorted children as shown without a filter */
+	private final Map<TreePath, Object[]> children = new HashMap<TreePath, Object[]>();
+
+	/** Sorted children as shown with the current filter */
+	private final Map<TreePath, Object[]> filteredChildren = new HashMap<TreePath, Object[]>();
+
+	private TreeViewer viewer;
+
+	private Object input;
+
+	private List<IndexEntry> index;
+
+	private StringMatcher matcher;
+
+	/** Paths of the matching elements in tree order */
+	private List<TreePath> matches;
+
+	private Set<TreePath> matchSet;
+
+	/** Paths of the matching elements and their parents */
+	private Set<TreePath> visiblePaths;
+
+	private volatile boolean isRefreshScheduled = false;
+
+	public BeansInplaceOutlineContentProvider(ViewerFilter[] filters) {
+		this.filters = filters;
+		BeansCorePlugin.getModel().addChangeListener(this);
+	}
+
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		this.viewer = (viewer instanceof TreeViewer ? (TreeViewer) viewer : null);
+		this.input = newInput;
+		reset();
+	}
+
+	public void dispose() {
+		BeansCorePlugin.getModel().removeChangeListener(this);
+		reset();
+	}
+
+	public void updateChildCount(TreePath treePath, int currentChildCount) {
+		int count = getChildren(treePath).length;
+		if (count != currentChildCount) {
+			viewer.setChildCount(treePath, count);
+		}
+	}
+
+	public void updateElement(TreePath parentPath, int index) {
+		Object[] elements = getChildren(parentPath);
+		if (index < elements.length) {
+			Object element = elements[index];
+			viewer.replace(parentPath, index, element);
+			updateHasChildren(parentPath.createChildPath(element));
+		}
+	}
+
+	public void updateHasChildren(TreePath path) {
+		viewer.setHasChildren(path, getChildren(path).length > 0);
+	}
+
+	public TreePath[] getParents(Object element) {
+		TreePath path = getPath(element);
+		if (path != null) {
+			return new TreePath[] { path.getParentPath() };
+		}
+		return new TreePath[0];
+	}
+
+	/**
+	 * Returns the path of the given element below the current input or <code>null</code> if the element is not part
+	 * of the input. The path built from the parents of the element is only used if the tree shows it; otherwise, e.g.
+	 * for the beans of an archived config which are shown below a {@link ZipEntryStorage}, the tree is searched.
+	 */
+	public TreePath getPath(Object element) {
+		TreePath path = getParentPath(element);
+		if (path != null && isShown(path)) {
+			return path;
+		}
+		if (index != null) {
+			for (IndexEntry entry : index) {
+				if (entry.path.getLastSegment().equals(element)) {
+					return entry.path;
+				}
+			}
+			return null;
+		}
+		return findPath(TreePath.EMPTY, element);
+	}
+
+	/**
+	 * Returns the children shown for the element with the given path, which are restricted to the matching elements
+	 * and their parents if a matcher is set. All children of a matching element are shown.
+	 */
+	public Object[] getChildren(TreePath parentPath) {
+		Object[] elements = filteredChildren.get(parentPath);
+		if (elements == null) {
+			elements = getAllChildren(parentPath);
+			if (matcher != null) {
+				computeMatches();
+				if (!isMatchOrBelowMatch(parentPath)) {
+					List<Object> visibleElements = new ArrayList<Object>();
+					for (Object element : elements) {
+						if (visiblePaths.contains(parentPath.createChildPath(element))) {
+							visibleElements.add(element);
+						}
+					}
+					elements = visibleElements.toArray();
+				}
+			}
+			filteredChildren.put(parentPath, elements);
+		}
+		return elements;
+	}
+
+	/**
+	 * Sets the matcher to filter the elements by name or bean class name; <code>null</code> to show all elements. The
+	 * viewer has to be refreshed afterwards.
+	 */
+	public void setMatcher(StringMatcher matcher) {
+		this.matcher = matcher;
+		filteredChildren.clear();
+		clearMatches();
+	}
+
+	/**
+	 * Returns the path of the first matching {@link IBeansModelElement} in tree order or <code>null</code>.
+	 */
+	public TreePath getFirstMatch() {
+		if (matcher != null) {
+			computeMatches();
+			for (TreePath path : matches) {
+				if (path.getLastSegment() instanceof IBeansModelElement) {
+					return path;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the paths to expand in order to reveal the first matching elements, with parents before their children.
+	 * @param limit the maximum number of matching elements to reveal
+	 */
+	public TreePath[] getMatchParentPaths(int limit) {
+		Set<TreePath> paths = new LinkedHashSet<TreePath>();
+		if (matcher != null) {
+			computeMatches();
+			for (int i = 0; i < Math.min(limit, matches.size()); i++) {
+				addPathAndParents(paths, matches.get(i).getParentPath());
+			}
+		}
+		return paths.toArray(new TreePath[paths.size()]);
+	}
+
+	public void elementChanged(ModelChangeEvent event) {
+		final TreeViewer viewer = this.viewer;
+		if (viewer == null || isRefreshScheduled) {
+			return;
+		}
+		Control control = viewer.getControl();
+		if (control == null || control.isDisposed()) {
+			return;
+		}
+
+		// Coalesce the bursts of events sent while building
+		isRefreshScheduled = true;
+		control.getDisplay().asyncExec(new Runnable() {
+			public void run() {
+				isRefreshScheduled = false;
+				Control control = viewer.getControl();
+				if (control != null && !control.isDisposed()) {
+					reset();
+					viewer.refresh();
+				}
+			}
+		});
+	}
+
+	private Object[] getAllChildren(TreePath parentPath) {
+		Object[] elements = children.get(parentPath);
+		if (elements == null) {
+			if (parentPath.getSegmentCount() == 0) {
+				elements = contentProvider.getChildren(input);
+			}
+			else {
+				elements = contentProvider.getChildren(parentPath);
+			}
+			for (ViewerFilter filter : filters) {
+				elements = filter.filter(viewer, parentPath, elements);
+			}
+			// Don't sort an array owned by the model in place
+			elements = elements.clone();
+			sorter.sort(viewer, elements);
+			children.put(parentPath, elements);
+		}
+		return elements;
+	}
+
+	/**
+	 * Returns the path built from the parents of the given element or <code>null</code> if the input isn't one of its
+	 * parents.
+	 */
+	private TreePath getParentPath(Object element) {
+		LinkedList<Object> segments = new LinkedList<Object>();
+		Object current = element;
+		while (current != null && !current.equals(input)) {
+			segments.addFirst(current);
+			if (current instanceof IModelElement) {
+				current = ((IModelElement) current).getElementParent();
+			}
+			else {
+				current = contentProvider.getParent(current);
+			}
+		}
+		return (current != null ? new TreePath(segments.toArray()) : null);
+	}
+
+	/**
+	 * Returns whether every segment of the given path is one of the children of the previous segment.
+	 */
+	private boolean isShown(TreePath path) {
+		TreePath parentPath = TreePath.EMPTY;
+		for (int i = 0; i < path.getSegmentCount(); i++) {
+			Object segment = path.getSegment(i);
+			if (!Arrays.asList(getAllChildren(parentPath)).contains(segment)) {
+				return false;
+			}
+			parentPath = parentPath.createChildPath(segment);
+		}
+		return true;
+	}
+
+	/**
+	 * Searches the given element below the given path in tree order.
+	 */
+	private TreePath findPath(TreePath parentPath, Object element) {
+		for (Object child : getAllChildren(parentPath)) {
+			// Guard against cyclic imports
+			if (isOnPath(parentPath, child)) {
+				continue;
+			}
+			TreePath path = parentPath.createChildPath(child);
+			if (child.equals(element)) {
+				return path;
+			}
+			path = findPath(path, element);
+			if (path != null) {
+				return path;
+			}
+		}
+		return null;
+	}
+
+	private boolean isMatchOrBelowMatch(TreePath path) {
+		for (TreePath current = path; current.getSegmentCount() > 0; current = current.getParentPath()) {
+			if (matchSet.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void computeMatches() {
+		if (matchSet != null) {
+			return;
+		}
+		if (index == null) {
+			index = new ArrayList<IndexEntry>();
+			addToIndex(TreePath.EMPTY, (ILabelProvider) viewer.getLabelProvider());
+		}
+
+		matches = new ArrayList<TreePath>();
+		matchSet = new HashSet<TreePath>();
+		visiblePaths = new HashSet<TreePath>();
+		for (IndexEntry entry : index) {
+			if (entry.matches(matcher)) {
+				matches.add(entry.path);
+				matchSet.add(entry.path);
+				// Stop at the first parent already added by a previous match
+				TreePath path = entry.path;
+				while (path.getSegmentCount() > 0 && visiblePaths.add(path)) {
+					path = path.getParentPath();
+				}
+			}
+		}
+	}
+
+	private void addToIndex(TreePath parentPath, ILabelProvider labelProvider) {
+		for (Object element : getAllChildren(parentPath)) {
+			// Guard against cyclic imports
+			if (isOnPath(parentPath, element)) {
+				continue;
+			}
+			TreePath path = parentPath.createChildPath(element);
+			String className = (element instanceof IBean ? ((IBean) element).getClassName() : null);
+			index.add(new IndexEntry(path, labelProvider.getText(element), className));
+			addToIndex(path, labelProvider);
+		}
+	}
+
+	private void addPathAndParents(Set<TreePath> paths, TreePath path) {
+		if (path.getSegmentCount() > 0 && !paths.contains(path)) {
+			addPathAndParents(paths, path.getParentPath());
+			paths.add(path);
+		}
+	}
+
+	private void reset() {
+		children.clear();
+		filteredChildren.clear();
+		index = null;
+		clearMatches();
+	}
+
+	private void clearMatches() {
+		matches = null;
+		matchSet = null;
+		visiblePaths = null;
+	}
+
+	private static boolean isOnPath(TreePath path, Object element) {
+		for (int i = 0; i < path.getSegmentCount(); i++) {
+			if (path.getSegment(i).equals(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Entry of the flattened index with the names an element can be found by.
+	 */
+	private static class IndexEntry {
+
+		private final TreePath path;
+
+		private final String label;
+
+		private final String className;
+
+		private final String simpleClassName;
+
+		public IndexEntry(TreePath path, String label, String className) {
+			this.path = path;
+			this.label = label;
+			this.className = className;
+			this.simpleClassName = (className != null ? className.substring(className.lastIndexOf('.') + 1) : null);
+		}
+
+		public boolean matches(StringMatcher matcher) {
+			return (label != null && matcher.match(label))
+					|| (className != null && (matcher.match(simpleClassName) || matcher.match(className)));
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.inplace;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.eclipse.core.commands.Command;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jdt.internal.ui.JavaPluginImages;
@@ -29,16 +26,14 @@ import org.eclipse.jface.bindings.keys.SWTKeySupport;
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.util.Geometry;
-import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.DoubleClickEvent;
 import org.eclipse.jface.viewers.IDoubleClickListener;
-import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
-import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.TreeSelection;
 import org.eclipse.jface.viewers.TreeViewer;
-import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
@@ -100,13 +95,10 @@ import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.BeansCoreUtils;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
-import org.springframework.ide.eclipse.beans.core.model.IBeansModelElement;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
 import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.beans.ui.BeansUIUtils;
-import org.springframework.ide.eclipse.beans.ui.model.BeansModelContentProvider;
 import org.springframework.ide.eclipse.beans.ui.navigator.BeansNavigatorLabelProvider;
-import org.springframework.ide.eclipse.beans.ui.navigator.BeansNavigatorSorter;
 import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.ui.SpringUIPlugin;
@@ -139,6 +131,11 @@ public class BeansInplaceOutlineDialog {
 
 	private static final String STORE_SIZE_HEIGHT = "size.height"; //$NON-NLS-1$
 
+	/**
+	 * The maximum number of matches revealed when filtering.
+	 */
+	private static final int MAX_EXPANDED_MATCHES = 100;
+
 	/**
 	 * The name of the dialog store's section associated with the inplace
 	 * XReference view.
@@ -150,12 +147,8 @@ public class BeansInplaceOutlineDialog {
 	 */
 	private Text filterText;
 
-	private StringMatcher stringMatcher;
-
 	private Font statusTextFont;
 
-	private List<Object> filteredElements = new ArrayList<Object>();
-
 	/**
 	 * Remembers the bounds for this information control.
 	 */
@@ -212,6 +205,8 @@ public class BeansInplaceOutlineDialog {
 
 	private TreeViewer viewer;
 
+	private BeansInplaceOutlineContentProvider contentProvider;
+
 	/**
 	 * Constructor which takes the parent shell
 	 */
@@ -302,34 +297,24 @@ public class BeansInplaceOutlineDialog {
 	}
 
 	private TreeViewer createTreeViewer(Composite parent, int style) {
-		viewer = new TreeViewer(parent, SWT.SINGLE | (style & ~SWT.MULTI));
+		// use a virtual tree which only creates the items being shown
+		viewer = new TreeViewer(parent, SWT.SINGLE | SWT.VIRTUAL
+				| (style & ~SWT.MULTI));
 		viewer.getTree().setLayoutData(new GridData(GridData.FILL_BOTH));
+		viewer.setUseHashlookup(true);
 
-		viewer.setContentProvider(new BeansModelContentProvider() {
-
-			@Override
-			public Object[] getElements(Object inputElement) {
-				return getChildren(inputElement);
-			}
-
-		});
-		viewer.setLabelProvider(new BeansNavigatorLabelProvider());
-		viewer.setAutoExpandLevel(AbstractTreeViewer.ALL_LEVELS);
-		viewer.setSorter(new BeansNavigatorSorter());
-
-		// adding these filters which restrict the contents of
-		// the view according to what has been typed in the
-		// text bar
-		viewer.addFilter(new NamePatternFilter());
-
-		// add filter from the common navigator
+		// lazy content providers don't support viewer filters and sorters,
+		// so the filters from the common navigator, the sorting and the
+		// filtering according to what has been typed in the text bar are
+		// done by the content provider itself
 		INavigatorContentService contentService = NavigatorContentServiceFactory.INSTANCE
 				.createContentService("org.springframework.ide.eclipse.ui.navigator.springExplorer");
 		ViewerFilter[] viewFilters = contentService.getFilterService()
 				.getVisibleFilters(false);
-		for (ViewerFilter viewFilter : viewFilters) {
-			viewer.addFilter(viewFilter);
-		}
+		contentProvider = new BeansInplaceOutlineContentProvider(viewFilters);
+
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(new BeansNavigatorLabelProvider());
 
 		return viewer;
 	}
@@ -685,7 +670,7 @@ public class BeansInplaceOutlineDialog {
 			if (element != null) {
 				viewer.getControl().setRedraw(false);
 				viewer.setInput(element);
-				viewer.expandToLevel(AbstractTreeViewer.ALL_LEVELS);
+				expandMatches();
 				viewer.setSelection(
 						new StructuredSelection(this.lastSelection), true);
 				viewer.reveal(this.lastSelection);
@@ -706,7 +691,7 @@ public class BeansInplaceOutlineDialog {
 			if (element != null) {
 				viewer.getControl().setRedraw(false);
 				viewer.setInput(element);
-				viewer.expandToLevel(AbstractTreeViewer.ALL_LEVELS);
+				expandMatches();
 				viewer.setSelection(
 						new StructuredSelection(this.lastSelection), true);
 				viewer.reveal(this.lastSelection);
@@ -947,126 +932,49 @@ public class BeansInplaceOutlineDialog {
 	}
 
 	private void setMatcherString(String pattern) {
-		if (pattern.length() == 0) {
-			stringMatcher = null;
-		}
-		else {
+		StringMatcher stringMatcher = null;
+		if (pattern.length() > 0) {
 			boolean ignoreCase = pattern.toLowerCase().equals(pattern);
 			stringMatcher = new StringMatcher(pattern, ignoreCase, false);
 		}
+		contentProvider.setMatcher(stringMatcher);
 		stringMatcherUpdated();
 	}
 
 	private void stringMatcherUpdated() {
-		filteredElements.clear();
 		// refresh viewer to refilter
 		viewer.getControl().setRedraw(false);
 		viewer.refresh();
-		viewer.expandToLevel(AbstractTreeViewer.ALL_LEVELS);
+		expandMatches();
 		selectFirstMatch();
 		viewer.getControl().setRedraw(true);
 	}
 
-	private void selectFirstMatch() {
-		Tree tree = viewer.getTree();
-		Object element = findElement(tree.getItems());
-		if (element != null) {
-			viewer.setSelection(new StructuredSelection(element), true);
-		}
-		else {
-			TreeItem[] items = tree.getItems();
-			if (items != null && items.length > 0) {
-				Object wr = items[0].getData();
-				viewer.setSelection(new StructuredSelection(wr));
-			}
-		}
-	}
-
-	private Object findElement(TreeItem[] items) {
-		ILabelProvider labelProvider = (ILabelProvider) viewer
-				.getLabelProvider();
-		for (TreeItem element0 : items) {
-			Object o = element0.getData();
-			Object element = null;
-			if (o instanceof IBeansModelElement) {
-				element = o;
-			}
-			if (stringMatcher == null)
-				return null;
-
-			if (element != null) {
-				String label = labelProvider.getText(element);
-				if (stringMatcher.match(label))
-					return o;
-			}
-			o = findElement(element0.getItems());
-			if (o != null)
-				return o;
+	/**
+	 * Expands the parents of the first matches only, as expanding all levels
+	 * would create the items of the whole tree.
+	 */
+	private void expandMatches() {
+		for (TreePath path : contentProvider
+				.getMatchParentPaths(MAX_EXPANDED_MATCHES)) {
+			viewer.expandToLevel(path, 1);
 		}
-		return null;
 	}
 
-	protected class NamePatternFilter extends ViewerFilter {
-
-		@Override
-		public boolean select(Viewer viewer, Object parentElement,
-				Object element) {
-			StringMatcher matcher = getMatcher();
-			if (matcher == null || !(viewer instanceof TreeViewer))
-				return true;
-			TreeViewer treeViewer = (TreeViewer) viewer;
-
-			String matchName = ((ILabelProvider) treeViewer.getLabelProvider())
-					.getText(element);
-			if (matchName != null && matcher.match(matchName)) {
-				if (element instanceof IBeansModelElement || element instanceof IFile) {
-					filteredElements.add(element);
-				}
-				return true;
-			}
-			return hasUnfilteredChild(treeViewer, element);
-		}
-
-		private boolean hasUnfilteredChild(TreeViewer viewer, Object element) {
-			if (element instanceof IBeansModelElement || element instanceof IFile) {
-				Object[] children = ((ITreeContentProvider) viewer
-						.getContentProvider()).getChildren(element);
-				for (Object element0 : children) {
-					if (select(viewer, element, element0)) {
-						return true;
-					}
-				}
-			}
-			return false;
+	private void selectFirstMatch() {
+		TreePath path = contentProvider.getFirstMatch();
+		if (path != null) {
+			viewer.setSelection(new TreeSelection(path), true);
 		}
-
-		@Override
-		public Object[] filter(Viewer viewer, Object parent, Object[] elements) {
-			int size = elements.length;
-			List<Object> out = new ArrayList<Object>(size);
-			for (int i = 0; i < size; ++i) {
-				Object element = elements[i];
-				if (filteredElements.contains(parent)) {
-					if (element instanceof IBeansModelElement) {
-						filteredElements.add(element);
-					}
-					out.add(element);
-				}
-				else if (filteredElements.contains(element)) {
-					out.add(element);
-				}
-				else if (select(viewer, parent, element)) {
-					out.add(element);
-				}
+		else {
+			Object[] elements = contentProvider.getChildren(TreePath.EMPTY);
+			if (elements.length > 0) {
+				viewer.setSelection(new TreeSelection(new TreePath(
+						new Object[] { elements[0] })));
 			}
-			return out.toArray();
 		}
 	}
 
-	private StringMatcher getMatcher() {
-		return stringMatcher;
-	}
-
 	/**
 	 * Static inner class which sets the layout for the inplace view. Without
 	 * this, the inplace view will not be populated.
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+
+/**
+ * Names of the classes used as bean classes by any config in the beans model, used by the
+ * {@link BeansModelLabelDecorator} to tell in constant time that a Java type is not a bean class.
+ * <p>
+ * The index is {@link #build() built} from the beans model once, which may take a while and is therefore left to a
+ * background job, and then kept up to date with the configs that change. Every update returns the names of the classes
+ * that were added to or dropped from the index, which are the classes whose decoration changes. Until the index is
+ * built no class is reported as bean class, and updates are ignored as the build picks up the current configs anyway.
+ * @since 3.9.13
+ */
+public class BeanClassIndex {
+
+	/** Bean classes of every config by ID of the config, grouped by project */
+	private final Map<IProject, Map<String, Set<String>>> configs = new HashMap<IProject, Map<String, Set<String>>>();
+
+	/** Number of configs using each bean class, modified while holding the lock of the index but read without it */
+	private final Map<String, Integer> beanClasses = new ConcurrentHashMap<String, Integer>();
+
+	private volatile boolean built = false;
+
+	/**
+	 * Returns <code>true</code> if the given class is used as bean class by any config, regardless of whether it is on
+	 * the config's classpath. Returns <code>false</code> for all classes until the index is built; this never blocks.
+	 */
+	public boolean contains(String className) {
+		return built && beanClasses.containsKey(className);
+	}
+
+	/**
+	 * Indexes all configs of the beans model unless the index has been built already.
+	 */
+	public synchronized void build() {
+		if (!built) {
+			for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
+				updateProject(project);
+			}
+			built = true;
+		}
+	}
+
+	/**
+	 * Re-indexes all configs of the given project.
+	 */
+	public synchronized Set<String> update(IBeansProject project) {
+		if (!built) {
+			return Collections.emptySet();
+		}
+		return updateProject(project);
+	}
+
+	/**
+	 * Re-indexes the given config.
+	 */
+	public synchronized Set<String> update(IBeansConfig config) {
+		if (!built) {
+			return Collections.emptySet();
+		}
+		return updateConfig(config);
+	}
+
+	/**
+	 * Drops the given config from the index.
+	 */
+	public synchronized Set<String> remove(IBeansConfig config) {
+		IBeansProject project = BeansModelUtils.getProject(config);
+		if (!built || project == null) {
+			return Collections.emptySet();
+		}
+		return removeClasses(getConfigs(project.getProject()).remove(config.getElementID()));
+	}
+
+	/**
+	 * Drops all configs of the given project from the index.
+	 */
+	public synchronized Set<String> remove(IProject project) {
+		Set<String> changedClasses = new LinkedHashSet<String>();
+		Map<String, Set<String>> projectConfigs = configs.remove(project);
+		if (projectConfigs != null) {
+			for (Set<String> classes : projectConfigs.values()) {
+				changedClasses.addAll(removeClasses(classes));
+			}
+		}
+		return changedClasses;
+	}
+
+	private Set<String> updateProject(IBeansProject project) {
+		Set<String> changedClasses = new LinkedHashSet<String>();
+		Map<String, Set<String>> projectConfigs = getConfigs(project.getProject());
+		Set<String> removedConfigs = new HashSet<String>(projectConfigs.keySet());
+		for (IBeansConfig config : project.getConfigs()) {
+			removedConfigs.remove(config.getElementID());
+			changedClasses.addAll(updateConfig(config));
+		}
+		for (String configId : removedConfigs) {
+			changedClasses.addAll(removeClasses(projectConfigs.remove(configId)));
+		}
+		return changedClasses;
+	}
+
+	private Set<String> updateConfig(IBeansConfig config) {
+		IBeansProject project = BeansModelUtils.getProject(config);
+		if (project == null) {
+			return Collections.emptySet();
+		}
+		Set<String> newClasses = new HashSet<String>(config.getBeanClasses());
+		Set<String> oldClasses = getConfigs(project.getProject()).put(config.getElementID(), newClasses);
+		if (oldClasses == null) {
+			return addClasses(newClasses);
+		}
+		Set<String> changedClasses = new LinkedHashSet<String>();
+		for (String className : oldClasses) {
+			if (!newClasses.contains(className)) {
+				changedClasses.addAll(removeClasses(Collections.singleton(className)));
+			}
+		}
+		for (String className : newClasses) {
+			if (!oldClasses.contains(className)) {
+				changedClasses.addAll(addClasses(Collections.singleton(className)));
+			}
+		}
+		return changedClasses;
+	}
+
+	/**
+	 * Returns <code>true</code> if the index has been built, i.e. if anything might have been decorated according to
+	 * it.
+	 */
+	public boolean isBuilt() {
+		return built;
+	}
+
+	private Map<String, Set<String>> getConfigs(IProject project) {
+		Map<String, Set<String>> projectConfigs = configs.get(project);
+		if (projectConfigs == null) {
+			projectConfigs = new HashMap<String, Set<String>>();
+			configs.put(project, projectConfigs);
+		}
+		return projectConfigs;
+	}
+
+	private Set<String> addClasses(Set<String> classNames) {
+		Set<String> addedClasses = new LinkedHashSet<String>();
+		for (String className : classNames) {
+			Integer count = beanClasses.get(className);
+			if (count == null) {
+				beanClasses.put(className, 1);
+				addedClasses.add(className);
+			}
+			else {
+				beanClasses.put(className, count + 1);
+			}
+		}
+		return addedClasses;
+	}
+
+	private Set<String> removeClasses(Set<String> classNames) {
+		Set<String> removedClasses = new LinkedHashSet<String>();
+		if (classNames != null) {
+			for (String className : classNames) {
+				Integer count = beanClasses.get(className);
+				if (count == null) {
+					continue;
+				}
+				if (count == 1) {
+					beanClasses.remove(className);
+					removedClasses.add(className);
+				}
+				else {
+					beanClasses.put(className, count - 1);
+				}
+			}
+		}
+		return removedClasses;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2009 Spring IDE Developers
+ * Copyright (c) 2006, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,15 +10,25 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.model;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
@@ -44,8 +54,9 @@ import org.springframework.ide.eclipse.beans.ui.BeansUIImages;
 import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.core.MarkerUtils;
 import org.springframework.ide.eclipse.core.io.ZipEntryStorage;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.core.model.IAsyncModelChangeListener;
 import org.springframework.ide.eclipse.core.model.ILazyInitializedModelElement;
-import org.springframework.ide.eclipse.core.model.IModelChangeListener;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.core.model.ISourceModelElement;
 import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
@@ -54,7 +65,10 @@ import org.springframework.ide.eclipse.ui.SpringLabelDecorator;
 /**
  * This decorator adds an overlay image to all Spring beans config files and their corresponding folders and bean
  * classes (Java source and class files). This decoration is refreshed on every modification to the Spring Beans model.
- * Therefore the decorator adds a {@link IModelChangeListener change listener} to the beans model.
+ * Therefore the decorator adds a {@link IAsyncModelChangeListener change listener} to the beans model.
+ * <p>
+ * Bean classes are looked up in a {@link BeanClassIndex} that is updated along with the changed configs, so that only
+ * the changed configs, their folders and the Java types whose use as bean class changed are decorated again.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -63,6 +77,9 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 
 	public static final String DECORATOR_ID = BeansUIPlugin.PLUGIN_ID + ".model.beansModelLabelDecorator";
 
+	/** Number of changed elements above which all elements are decorated again instead */
+	private static final int MAX_UPDATED_ELEMENTS = 500;
+
 	public static void update() {
 		if (PlatformUI.isWorkbenchRunning()) {
 			IBaseLabelProvider provider = PlatformUI.getWorkbench().getDecoratorManager()
@@ -74,34 +91,137 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 	}
 
 	private void internalUpdate() {
+		internalUpdate(null);
+	}
+
+	/**
+	 * Refreshes the decoration of the given elements, or of all elements if <code>elements</code> is
+	 * <code>null</code>.
+	 */
+	private void internalUpdate(final Object[] elements) {
 		Display.getDefault().asyncExec(new Runnable() {
 			public void run() {
 
 				IBaseLabelProvider provider = PlatformUI.getWorkbench().getDecoratorManager().getBaseLabelProvider(
 						SpringLabelDecorator.DECORATOR_ID);
 				if (provider != null) {
-					fireLabelProviderChanged(new LabelProviderChangedEvent(provider));
+					fireLabelProviderChanged(new LabelProviderChangedEvent(provider, elements));
 				}
 
-				fireLabelProviderChanged(new LabelProviderChangedEvent(BeansModelLabelDecorator.this));
+				fireLabelProviderChanged(new LabelProviderChangedEvent(BeansModelLabelDecorator.this, elements));
 			}
 		});
 	}
 
-	private IModelChangeListener listener;
+	private final BeanClassIndex beanClassIndex = new BeanClassIndex();
+
+	/** Builds the index of bean classes and decorates the Java elements again once it's available */
+	private final Job beanClassIndexJob = new Job("Indexing bean classes") {
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (!beanClassIndex.isBuilt()) {
+				beanClassIndex.build();
+				internalUpdate();
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	private IAsyncModelChangeListener listener;
 
 	public BeansModelLabelDecorator() {
-		listener = new IModelChangeListener() {
+		beanClassIndexJob.setSystem(true);
+		listener = new IAsyncModelChangeListener() {
 			public void elementChanged(ModelChangeEvent event) {
-				if ((event.getElement() instanceof IBeansProject || event.getElement() instanceof IBeansConfig)
-						&& event.getType() != ModelChangeEvent.Type.REMOVED) {
-					internalUpdate();
+				if (event.getElement() instanceof IBeansProject) {
+					IBeansProject project = (IBeansProject) event.getElement();
+					if (event.getType() == ModelChangeEvent.Type.REMOVED) {
+						// the types of a removed project can't be looked up anymore
+						beanClassIndex.remove(project.getProject());
+						internalUpdate();
+					}
+					else {
+						Set<Object> elements = new LinkedHashSet<Object>();
+						for (IBeansConfig config : project.getConfigs()) {
+							addConfigElements(config, elements);
+						}
+						addTypeElements(project.getProject(), beanClassIndex.update(project), elements);
+						updateElements(elements);
+					}
+				}
+				else if (event.getElement() instanceof IBeansConfig) {
+					IBeansConfig config = (IBeansConfig) event.getElement();
+					Set<Object> elements = new LinkedHashSet<Object>();
+					addConfigElements(config, elements);
+					IBeansProject project = BeansModelUtils.getProject(config);
+					if (project != null) {
+						Set<String> changedClasses = (event.getType() == ModelChangeEvent.Type.REMOVED ? beanClassIndex
+								.remove(config) : beanClassIndex.update(config));
+						addTypeElements(project.getProject(), changedClasses, elements);
+					}
+					updateElements(elements);
 				}
 			}
 		};
 		BeansCorePlugin.getModel().addChangeListener(listener);
 	}
 
+	private void updateElements(Set<Object> elements) {
+		if (elements.size() > MAX_UPDATED_ELEMENTS) {
+			internalUpdate();
+		}
+		else if (!elements.isEmpty()) {
+			internalUpdate(elements.toArray());
+		}
+	}
+
+	/**
+	 * Adds the elements decorated according to the given config: the config and its parent, its file and the folders
+	 * containing the file.
+	 */
+	private void addConfigElements(IBeansConfig config, Set<Object> elements) {
+		elements.add(config);
+		if (config.getElementParent() != null) {
+			elements.add(config.getElementParent());
+		}
+		IResource resource = config.getElementResource();
+		if (resource != null) {
+			elements.add(resource);
+			IJavaElement javaElement = JavaCore.create(resource);
+			if (javaElement != null) {
+				// JAR files are decorated as package fragment roots
+				elements.add(javaElement);
+			}
+			for (IContainer folder = resource.getParent(); folder instanceof IFolder; folder = folder.getParent()) {
+				elements.add(folder);
+			}
+		}
+	}
+
+	/**
+	 * Adds the source or class files of the given types, as seen from the given project.
+	 */
+	private void addTypeElements(IProject project, Set<String> classNames, Set<Object> elements) {
+		for (String className : classNames) {
+			if (elements.size() > MAX_UPDATED_ELEMENTS) {
+				return;
+			}
+			IType type = JdtUtils.getJavaType(project, className);
+			if (type != null) {
+				if (type.getCompilationUnit() != null) {
+					elements.add(type.getCompilationUnit());
+				}
+				else if (type.getClassFile() != null) {
+					elements.add(type.getClassFile());
+				}
+				if (type.getResource() != null) {
+					elements.add(type.getResource());
+				}
+			}
+		}
+	}
+
 	public void decorate(Object element, IDecoration decoration) {
 		if (element instanceof IFolder) {
 			decorateFolder((IFolder) element, decoration);
@@ -212,7 +332,7 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 
 						// Decorate Java class file
 						IType javaType = ((IClassFile) element).getType();
-						if (BeansModelUtils.isBeanClass(javaType)) {
+						if (isBeanClass(javaType)) {
 							decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
 						}
 					}
@@ -220,7 +340,7 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 
 						// Decorate Java source file
 						for (IType javaType : ((ICompilationUnit) element).getTypes()) {
-							if (BeansModelUtils.isBeanClass(javaType)) {
+							if (isBeanClass(javaType)) {
 								decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
 								break;
 							}
@@ -234,9 +354,23 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 		}
 	}
 
+	/**
+	 * Checks the type against the bean classes of the whole model first, which rules out most types at once, and only
+	 * checks the classpaths of the projects using it for bean classes. No type is a bean class until the index is
+	 * built in the background.
+	 */
+	private boolean isBeanClass(IType type) {
+		if (!beanClassIndex.isBuilt()) {
+			beanClassIndexJob.schedule();
+			return false;
+		}
+		return beanClassIndex.contains(type.getFullyQualifiedName()) && BeansModelUtils.isBeanClass(type);
+	}
+
 	@Override
 	public void dispose() {
 		BeansCorePlugin.getModel().removeChangeListener(listener);
+		beanClassIndexJob.cancel();
 	}
 
 	protected int getSeverity(Object element) {
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.console.LogBuffer;
+import org.springframework.ide.eclipse.boot.dash.console.LogMessage;
+import org.springframework.ide.eclipse.boot.dash.console.LogType;
+
+public class LogBufferTest {
+
+	private static LogMessage msg(String text) {
+		return new LogMessage(LogType.STDOUT, text);
+	}
+
+	private static String messages(List<LogMessage> logs) {
+		StringBuilder buf = new StringBuilder();
+		for (LogMessage log : logs) {
+			buf.append(log.getMessage());
+		}
+		return buf.toString();
+	}
+
+	@Test
+	public void drainInOrder() throws Exception {
+		LogBuffer buffer = new LogBuffer(3);
+		assertTrue(buffer.isEmpty());
+		assertTrue(buffer.add(msg("a")));
+		assertTrue(buffer.add(msg("b")));
+
+		List<LogMessage> drained = new ArrayList<>();
+		assertEquals(0, buffer.drainTo(drained));
+		assertEquals("ab", messages(drained));
+		assertTrue(buffer.isEmpty());
+
+		assertTrue(buffer.add(msg("c")));
+		drained.clear();
+		buffer.drainTo(drained);
+		assertEquals("c", messages(drained));
+	}
+
+	@Test
+	public void overflowDropsOldest() throws Exception {
+		LogBuffer buffer = new LogBuffer(3);
+		for (String s : new String[] {"a", "b", "c", "d", "e"}) {
+			buffer.add(msg(s));
+		}
+		assertFalse(buffer.isEmpty());
+		assertEquals(3, buffer.size());
+
+		List<LogMessage> drained = new ArrayList<>();
+		assertEquals(2, buffer.drainTo(drained));
+		assertEquals("cde", messages(drained));
+
+		//Drop count is reset by a drain, but the totals are not
+		assertEquals(0, buffer.drainTo(new ArrayList<>()));
+		assertEquals(5, buffer.getReceivedCount());
+		assertEquals(3, buffer.getDrainedCount());
+		assertEquals(2, buffer.getDroppedCount());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void invalidCapacity() throws Exception {
+		new LogBuffer(0);
+	}
+}
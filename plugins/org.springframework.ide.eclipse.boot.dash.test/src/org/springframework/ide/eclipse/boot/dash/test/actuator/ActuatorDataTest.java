@@ -11,9 +11,12 @@
 package org.springframework.ide.eclipse.boot.dash.test.actuator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
 import java.util.List;
@@ -24,6 +27,7 @@ import org.junit.Test;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansContext;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.ActuatorClient;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMapping;
@@ -165,6 +169,52 @@ public class ActuatorDataTest {
 		assertEquals("spring.jackson-org.springframework.boot.autoconfigure.jackson.JacksonProperties", bean2.getId());
 	}
 
+	@Test public void testModelDiffNoChange() throws Exception {
+		TestActuatorClient client = new TestActuatorClient(null).beansJson(getContents("beans-sample.json")).version("1");
+		LiveBeansModelDiff diff = LiveBeansModelDiff.compute(client.getBeans(), client.getBeans());
+		assertTrue(diff.isEmpty());
+		assertFalse(diff.isGroupingChanged());
+		assertEquals(0, diff.size());
+	}
+
+	@Test public void testModelDiffChangedBean() throws Exception {
+		TestActuatorClient client = new TestActuatorClient(null).beansJson(getContents("beans-sample.json")).version("1");
+		TestActuatorClient otherClient = new TestActuatorClient(null).beansJson(getContents("beans-sample-diff1.json")).version("1");
+		LiveBeansModel liveBeans = client.getBeans();
+		LiveBeansModel snapshot = otherClient.getBeans();
+		LiveBean bean1 = liveBeans.getBeans().get(0);
+
+		LiveBeansModelDiff diff = LiveBeansModelDiff.compute(liveBeans, snapshot);
+		assertEquals(ImmutableList.of(bean1), diff.getChangedBeans());
+		assertTrue(diff.getAddedBeans().isEmpty());
+		assertTrue(diff.getRemovedBeans().isEmpty());
+		assertTrue(diff.isGroupingChanged());
+
+		liveBeans.applyDiff(diff);
+		assertEquals(snapshot, liveBeans);
+		assertSame(bean1, liveBeans.getBeans().get(0));
+		assertEquals(snapshot.getBeans().get(0).getResource(), bean1.getResource());
+	}
+
+	@Test public void testModelDiffAddedAndRemovedBeans() throws Exception {
+		TestActuatorClient client = new TestActuatorClient(null).beansJson(getContents("beans-sample.json")).version("1");
+		TestActuatorClient emptyClient = new TestActuatorClient(null).beansJson("[]").version("1");
+		LiveBeansModel liveBeans = emptyClient.getBeans();
+		LiveBeansModel snapshot = client.getBeans();
+
+		LiveBeansModelDiff diff = LiveBeansModelDiff.compute(liveBeans, snapshot);
+		assertEquals(2, diff.getAddedBeans().size());
+		liveBeans.applyDiff(diff);
+		assertEquals(snapshot, liveBeans);
+		assertEquals(2, liveBeans.getBeans().size());
+
+		diff = LiveBeansModelDiff.compute(liveBeans, emptyClient.getBeans());
+		assertEquals(2, diff.getRemovedBeans().size());
+		liveBeans.applyDiff(diff);
+		assertTrue(liveBeans.getBeans().isEmpty());
+		assertTrue(liveBeans.getBeansByContext().isEmpty());
+	}
+
 	@Test public void testRequestMappingsBoot2() throws Exception {
 		TestActuatorClient client = new TestActuatorClient(null).version("2").requestMappingJson(getContents("requestmappings-sample-boot2.json"));
 		List<RequestMapping> mappings = client.getRequestMappings();
@@ -11,9 +11,16 @@
 package org.springframework.ide.eclipse.boot.dash.console;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -31,12 +38,44 @@ import reactor.core.Disposable;
 
 public class ApplicationLogConsole extends MessageConsole implements IPropertyChangeListener, IApplicationLogConsole {
 
+	/**
+	 * Maximum number of streamed log messages held while waiting for the next flush.
+	 * When producers outpace the console the oldest messages are dropped and
+	 * replaced by a single 'lines dropped' marker.
+	 */
+	public static final int BUFFER_CAPACITY = 5000;
+
+	/**
+	 * Delay between receiving a streamed message and writing it (together with
+	 * anything else that arrived in the meantime) to the console.
+	 */
+	public static final long FLUSH_INTERVAL = 200/*ms*/;
+
 	private Map<LogType, IOConsoleOutputStream> activeStreams = new HashMap<>();
 
 	private Disposable logStreamingToken;
 
+	private final LogBuffer buffer = new LogBuffer(BUFFER_CAPACITY);
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private final Job flushJob;
+
+	private long writtenCount = 0;
+	private long writeCount = 0;
+
 	public ApplicationLogConsole(String name, String type) {
 		super(name, type, BootDashActivator.getImageDescriptor("icons/cloud_obj.png"), true);
+		this.flushJob = new Job("Flush log console '"+name+"'") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				flushScheduled.set(false);
+				flush();
+				if (!buffer.isEmpty()) {
+					scheduleFlush();
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		flushJob.setSystem(true);
 	}
 
 	public synchronized void setLogStreamingToken(Disposable logStreamingToken) {
@@ -50,15 +89,54 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 		return this.logStreamingToken;
 	}
 
-	public synchronized void writeLog(LogMessage log) {
-		if (log == null) {
+	/**
+	 * Queues a streamed log message. The message is written to the console
+	 * asynchronously, batched together with other messages received within the
+	 * same {@link #FLUSH_INTERVAL}. This method never blocks on the console.
+	 */
+	public void writeLog(LogMessage log) {
+		if (log == null || log.getMessage() == null) {
 			return;
 		}
-		final LogType logType = log.getType();
-		writeApplicationLog(log.getMessage(), logType);
+		buffer.add(log);
+		scheduleFlush();
+	}
+
+	private void scheduleFlush() {
+		if (flushScheduled.compareAndSet(false, true)) {
+			flushJob.schedule(FLUSH_INTERVAL);
+		}
+	}
+
+	/**
+	 * Writes all queued log messages to the console. Consecutive messages of the
+	 * same type are joined and written to their stream in a single call.
+	 */
+	public synchronized void flush() {
+		List<LogMessage> batch = new ArrayList<>();
+		int dropped = buffer.drainTo(batch);
+		if (dropped > 0) {
+			doWrite("[... " + dropped + " lines dropped ...]\n", LogType.STDERROR);
+		}
+		StringBuilder text = new StringBuilder();
+		LogType textType = null;
+		for (LogMessage log : batch) {
+			if (textType != null && textType != log.getType()) {
+				doWrite(text.toString(), textType);
+				text.setLength(0);
+			}
+			textType = log.getType();
+			text.append(format(log.getMessage()));
+		}
+		if (textType != null) {
+			doWrite(text.toString(), textType);
+		}
+		writtenCount += batch.size();
 	}
 
 	/**
+	 * Writes a message to the console right away, after any streamed messages
+	 * that are still queued.
 	 *
 	 * @param message
 	 * @param type
@@ -66,21 +144,60 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 	 */
 	public synchronized boolean writeApplicationLog(String message, LogType type) {
 		if (message != null) {
-			IOConsoleOutputStream stream = getStream(type);
+			flush();
+			boolean written = doWrite(format(message), type);
+			if (written) {
+				writtenCount++;
+			}
+			return written;
+		}
+		return false;
+	}
 
-			try {
-				if (stream != null && !stream.isClosed()) {
-					message = format(message);
-					stream.write(message);
-					return true;
-				}
-			} catch (IOException e) {
-				Log.log(e);
+	private boolean doWrite(String text, LogType type) {
+		IOConsoleOutputStream stream = getStream(type);
+		try {
+			if (stream != null && !stream.isClosed()) {
+				stream.write(text);
+				writeCount++;
+				return true;
 			}
+		} catch (IOException e) {
+			Log.log(e);
 		}
 		return false;
 	}
 
+	/**
+	 * @return total number of streamed log messages received by this console.
+	 */
+	public long getReceivedCount() {
+		return buffer.getReceivedCount();
+	}
+
+	/**
+	 * @return total number of streamed log messages dropped because the console
+	 *         could not keep up.
+	 */
+	public long getDroppedCount() {
+		return buffer.getDroppedCount();
+	}
+
+	/**
+	 * @return total number of log messages written to the console.
+	 */
+	public synchronized long getWrittenCount() {
+		return writtenCount;
+	}
+
+	/**
+	 * @return number of write operations performed on the console streams. Compared
+	 *         with {@link #getWrittenCount()} this shows how well messages are batched.
+	 */
+	public synchronized long getStreamWriteCount() {
+		return writeCount;
+	}
+
 	protected static String format(String message) {
 		if (message.contains("\n") || message.contains("\r")) {
 			return message;
@@ -99,6 +216,8 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 	 */
 	public synchronized void close() {
 		setLogStreamingToken(null);
+		flushJob.cancel();
+		flush();
 
 		for (IOConsoleOutputStream outputStream : activeStreams.values()) {
 			if (!outputStream.isClosed()) {
@@ -183,6 +302,7 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 
 	@Override
 	protected void dispose() {
+		flushJob.cancel();
 		JFaceResources.getFontRegistry().removeListener(this);
 		super.dispose();
 	}
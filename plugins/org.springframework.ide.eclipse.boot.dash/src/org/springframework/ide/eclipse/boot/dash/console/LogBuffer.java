@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.console;
+
+import java.util.List;
+
+/**
+ * Bounded ring buffer of {@link LogMessage}s sitting between a log producer
+ * (e.g. a CF log stream) and the console that eventually renders the messages.
+ * <p>
+ * Producers never block on the console. When the buffer is full the oldest
+ * buffered message is discarded, so that the console always shows the most
+ * recent output. The number of discarded messages is tracked so that the
+ * consumer can tell the user about it.
+ */
+public class LogBuffer {
+
+	private final LogMessage[] ring;
+	private int head = 0; // index of the oldest message
+	private int size = 0;
+
+	/**
+	 * Number of messages dropped since the last call to {@link #drainTo(List)}
+	 */
+	private int pendingDrops = 0;
+
+	private long received = 0;
+	private long drained = 0;
+	private long dropped = 0;
+
+	public LogBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: "+capacity);
+		}
+		this.ring = new LogMessage[capacity];
+	}
+
+	/**
+	 * Adds a message to the buffer, evicting the oldest message if the buffer is full.
+	 *
+	 * @return true if the message was added without evicting another message.
+	 */
+	public synchronized boolean add(LogMessage msg) {
+		received++;
+		if (size == ring.length) {
+			ring[head] = msg;
+			head = (head + 1) % ring.length;
+			pendingDrops++;
+			dropped++;
+			return false;
+		}
+		ring[(head + size) % ring.length] = msg;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Moves all currently buffered messages into the given list, oldest first.
+	 *
+	 * @return the number of messages that were dropped since the previous drain.
+	 */
+	public synchronized int drainTo(List<LogMessage> target) {
+		for (int i = 0; i < size; i++) {
+			int idx = (head + i) % ring.length;
+			target.add(ring[idx]);
+			ring[idx] = null;
+		}
+		drained += size;
+		head = 0;
+		size = 0;
+		int drops = pendingDrops;
+		pendingDrops = 0;
+		return drops;
+	}
+
+	public synchronized boolean isEmpty() {
+		return size == 0 && pendingDrops == 0;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * @return total number of messages ever added to this buffer.
+	 */
+	public synchronized long getReceivedCount() {
+		return received;
+	}
+
+	/**
+	 * @return total number of messages handed to the consumer.
+	 */
+	public synchronized long getDrainedCount() {
+		return drained;
+	}
+
+	/**
+	 * @return total number of messages discarded because the buffer was full.
+	 */
+	public synchronized long getDroppedCount() {
+		return dropped;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "LogBuffer [capacity=" + ring.length + ", size=" + size + ", received=" + received + ", drained=" + drained + ", dropped=" + dropped + "]";
+	}
+}
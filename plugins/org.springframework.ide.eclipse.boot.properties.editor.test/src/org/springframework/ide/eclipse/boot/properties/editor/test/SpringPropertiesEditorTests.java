@@ -15,24 +15,35 @@ import static org.springsource.ide.eclipse.commons.tests.util.StsTestCase.assert
 
 import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModel;
 import org.springframework.ide.eclipse.boot.properties.editor.SpringPropertiesCompletionEngine;
 import org.springframework.ide.eclipse.boot.properties.editor.StsConfigMetadataRepositoryJsonLoader;
 import org.springframework.ide.eclipse.boot.properties.editor.metadata.CachingValueProvider;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.ClassNameIndex;
+import org.springframework.ide.eclipse.boot.properties.editor.reconciling.SpringPropertiesReconcileEngine;
 import org.springframework.ide.eclipse.boot.properties.editor.reconciling.SpringPropertyProblem;
 import org.springframework.ide.eclipse.boot.properties.editor.test.ApplicationYamlEditorTestHarness.YamlEditor;
 import org.springframework.ide.eclipse.boot.properties.editor.util.AptUtils;
 import org.springframework.ide.eclipse.boot.util.JavaProjectUtil;
 import org.springframework.ide.eclipse.editor.support.reconcile.ProblemSeverity;
 import org.springframework.ide.eclipse.editor.support.reconcile.ReconcileProblem;
+import org.springframework.ide.eclipse.editor.support.reconcile.ReconcileProblemAnnotation;
+import org.springframework.ide.eclipse.editor.support.reconcile.ReconcileStrategy;
+import org.springsource.ide.eclipse.commons.frameworks.test.util.ACondition;
 
 import com.google.common.collect.ImmutableList;
 
@@ -268,6 +279,42 @@ public class SpringPropertiesEditorTests extends SpringPropertiesEditorTestHarne
 
 	}
 
+	public void testIncrementalReconcile() throws Exception {
+		defaultTestData();
+		MockEditor editor = newEditor(
+				"server.port=8080\n" +
+				"logging.snuggem=what?\n" +
+				"server.port=bad\n"
+		);
+		SpringPropertiesReconcileEngine engine = createReconcileEngine();
+		MockProblemCollector problems = new MockProblemCollector();
+		engine.reconcile(editor.document, problems, new NullProgressMonitor());
+		assertEquals(4, problems.getAllProblems().size());
+
+		//Insert a line at the start, so all cached problems must move.
+		String inserted = "bogus.no.good=true\n";
+		editor.document.replace(0, 0, inserted);
+		engine.reconcile(editor.document, new Region(0, inserted.length()), problems, new NullProgressMonitor());
+		List<ReconcileProblem> incremental = problems.getAllProblems();
+		assertProblems(editor,
+				"ogus.no.good|unknown property",
+				"server.port|Duplicate",
+				"snuggem|unknown property",
+				"server.port|Duplicate",
+				"bad|Integer"
+		);
+		assertEquals(reconcile(editor).size(), incremental.size());
+		for (ReconcileProblem p : incremental) {
+			assertProblem(editor, editor.getText(p.getOffset(), p.getLength()));
+		}
+
+		//Remove the duplicate, its neighbour must no longer be reported even though it wasn't edited.
+		int start = editor.startOf("server.port=bad");
+		editor.document.replace(start, "server.port=bad\n".length(), "");
+		engine.reconcile(editor.document, new Region(start, 0), problems, new NullProgressMonitor());
+		assertEquals(2, problems.getAllProblems().size());
+	}
+
 	public void testReconcilePojoArray() throws Exception {
 		IProject p = createPredefinedMavenProject("demo-list-of-pojo");
 		IJavaProject jp = JavaCore.create(p);
@@ -967,6 +1014,42 @@ public class SpringPropertiesEditorTests extends SpringPropertiesEditorTestHarne
 		);
 	}
 
+	public void testDeprecatedPropertyQuickfixAfterIncrementalReconcile() throws Exception {
+		data("error.path", "java.lang.String", null, "Path of the error controller.");
+		deprecate("error.path", "server.error.path", null);
+
+		MockEditor editor = newEditor(
+				"# a comment\n"+
+				"error.path=foo\n"
+		);
+		final AnnotationModel annotations = new AnnotationModel();
+		annotations.connect(editor.document);
+		ReconcileStrategy strategy = new ReconcileStrategy(null, createReconcileEngine()) {
+			@Override
+			protected IAnnotationModel getAnnotationModel() {
+				return annotations;
+			}
+		};
+		strategy.setDocument(editor.document);
+		strategy.initialReconcile();
+
+		//Edit above the problem, so that the annotation model moves its annotation.
+		String inserted = "# another comment\n";
+		editor.document.replace(0, 0, inserted);
+		strategy.reconcile(new DirtyRegion(0, inserted.length(), DirtyRegion.INSERT, inserted), new Region(0, inserted.length()));
+
+		ReconcileProblemAnnotation annotation = (ReconcileProblemAnnotation) annotations.getAnnotationIterator().next();
+		ReconcileProblem problem = annotation.getSpringPropertyProblem();
+		assertEquals(annotations.getPosition(annotation).getOffset(), problem.getOffset());
+		ICompletionProposal fix = assertFirstQuickfix(editor, problem, "Change to 'server.error.path'");
+		editor.apply(fix);
+		editor.assertText(
+				"# another comment\n"+
+				"# a comment\n"+
+				"server.error.path<*>=foo\n"
+		);
+	}
+
 	public void testDeprecatedBeanPropertyReconcile() throws Exception {
 		IProject jp = createPredefinedMavenProject("demo");
 		useProject(jp);
@@ -1381,6 +1464,40 @@ public class SpringPropertiesEditorTests extends SpringPropertiesEditorTestHarne
 		);
 	}
 
+	public void testClassNameIndex() throws Exception {
+		IJavaProject jp = JavaCore.create(createPredefinedMavenProject("boot13_with_mongo"));
+		useProject(jp);
+		ClassNameIndex index = ClassNameIndex.getInstance();
+		String target = "org.springframework.data.mapping.model.FieldNamingStrategy";
+		ACondition.waitFor("class name index", 30_000, () -> {
+			assertNotNull(index.getTypes(jp));
+			assertNotNull(index.getSubtypes(jp, target));
+		});
+		assertTrue(index.getTypes(jp).stream().anyMatch((e) -> e.getFullyQualifiedName().equals(target)));
+
+		List<String> concrete = index.getSubtypes(jp, target).stream()
+				.filter(ClassNameIndex.Entry::isConcrete)
+				.map(ClassNameIndex.Entry::getFullyQualifiedName)
+				.sorted()
+				.collect(Collectors.toList());
+		assertEquals(ImmutableList.of(
+				"org.springframework.data.mapping.model.CamelCaseAbbreviatingFieldNamingStrategy",
+				"org.springframework.data.mapping.model.CamelCaseSplittingFieldNamingStrategy",
+				"org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy",
+				"org.springframework.data.mapping.model.SnakeCaseFieldNamingStrategy"
+		), concrete);
+
+		//Completions answered from the index must be the same as those from searching.
+		assertCompletionsDisplayString(
+			"spring.data.mongodb.field-naming-strategy=<*>"
+			, // =>
+			"org.springframework.data.mapping.model.CamelCaseAbbreviatingFieldNamingStrategy",
+			"org.springframework.data.mapping.model.CamelCaseSplittingFieldNamingStrategy",
+			"org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy",
+			"org.springframework.data.mapping.model.SnakeCaseFieldNamingStrategy"
+		);
+	}
+
 	public void testClassReferenceInValueLink() throws Exception {
 		MockEditor editor;
 		useProject(createPredefinedMavenProject("boot13_with_mongo"));
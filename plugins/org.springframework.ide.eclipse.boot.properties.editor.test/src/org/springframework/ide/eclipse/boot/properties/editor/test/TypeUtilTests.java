@@ -13,9 +13,12 @@ package org.springframework.ide.eclipse.boot.properties.editor.test;
 import java.util.List;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.springframework.ide.eclipse.boot.properties.editor.util.Type;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache.Statistics;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeParser;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypedProperty;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeUtil.BeanPropertyNameMode;
@@ -132,5 +135,20 @@ public class TypeUtilTests extends SpringPropertiesEditorTestHarness {
 		assertType("java.lang.String[]", Type.fromSignature("[QString;", jp.findType("demo.ColorData")));
 	}
 
+	public void testDescriptorCacheInvalidatedByTypeChange() throws Exception {
+		IProject p = createPredefinedMavenProject("demo-enum");
+		IJavaProject jp = JavaCore.create(p);
+		useProject(jp);
+		Type data = TypeParser.parse("demo.ColorData");
+
+		assertType("java.lang.String", getPropertyType(data, "name"));
+		assertNull(getPropertyType(data, "extra"));
+		Statistics before = TypeDescriptorCache.getInstance().getStatistics();
+		assertType("java.lang.String", getPropertyType(data, "name"));
+		assertTrue(TypeDescriptorCache.getInstance().getStatistics().getHits() > before.getHits());
+
+		jp.findType("demo.ColorData").createMethod("public String getExtra() { return null; }", null, false, new NullProgressMonitor());
+		assertType("java.lang.String", getPropertyType(data, "extra"));
+	}
 
 }
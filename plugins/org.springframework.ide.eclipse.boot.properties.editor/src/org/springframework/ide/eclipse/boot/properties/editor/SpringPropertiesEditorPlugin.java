@@ -16,11 +16,13 @@ import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.ClassNameIndex;
 import org.springframework.ide.eclipse.boot.properties.editor.metadata.ValueProviderRegistry;
 import org.springframework.ide.eclipse.boot.properties.editor.util.ClasspathListener;
 import org.springframework.ide.eclipse.boot.properties.editor.util.ClasspathListenerManager;
 import org.springframework.ide.eclipse.boot.properties.editor.util.ListenerManager;
 import org.springframework.ide.eclipse.boot.properties.editor.util.SpringPropertiesIndexManager;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache;
 
 /**
  * The activator class controls the plug-in life cycle
@@ -53,6 +55,8 @@ public class SpringPropertiesEditorPlugin extends AbstractUIPlugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		TypeDescriptorCache.disposeInstance();
+		ClassNameIndex.disposeInstance();
 		plugin = null;
 		super.stop(context);
 	}
@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.properties.editor.metadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+import org.springframework.ide.eclipse.boot.util.Log;
+import org.springsource.ide.eclipse.commons.frameworks.core.async.FluxJdtSearch;
+
+/**
+ * Workspace-wide index of the type names visible from each {@link IJavaProject}, and of
+ * the subtypes of the 'target' types used by {@link ClassReferenceProvider}. This allows
+ * 'class-reference' value hints to be answered from memory and completely, rather than
+ * running a (time limited) JDT search for each content assist request.
+ * <p>
+ * The index of a project is built in the background the first time it is asked for.
+ * Until it is ready, callers get null and should fall back on searching. Afterwards
+ * the index is kept up-to-date from JDT element deltas: changed compilation units and
+ * class files are re-read individually, while classpath changes cause a rebuild.
+ * Subtypes of a target are computed with a {@link ITypeHierarchy}, which JDT keeps
+ * informing us about its changes.
+ *
+ * @since 3.9.13
+ */
+public class ClassNameIndex {
+
+	/**
+	 * A type in the index.
+	 */
+	public static final class Entry {
+		private final IType type;
+		private final String fqName;
+		private final int flags;
+
+		Entry(IType type, int flags) {
+			this.type = type;
+			this.fqName = type.getFullyQualifiedName();
+			this.flags = flags;
+		}
+
+		public IType getType() {
+			return type;
+		}
+
+		public String getFullyQualifiedName() {
+			return fqName;
+		}
+
+		public String getSimpleName() {
+			return type.getElementName();
+		}
+
+		/**
+		 * @return true unless the type is an interface, annotation or abstract class.
+		 */
+		public boolean isConcrete() {
+			return !Flags.isInterface(flags) && !Flags.isAbstract(flags);
+		}
+	}
+
+	/**
+	 * All types visible from a project, keyed by fully qualified name.
+	 */
+	private static final class ProjectIndex {
+		volatile Map<String, Entry> types = new ConcurrentHashMap<>();
+		volatile boolean ready = false;
+	}
+
+	/**
+	 * A target type and its subtypes, as seen from a project.
+	 */
+	private final class Subtypes implements ITypeHierarchyChangedListener {
+		final IJavaProject project;
+		final String target;
+		ITypeHierarchy hierarchy;
+		volatile Collection<Entry> entries;
+
+		Subtypes(IJavaProject project, String target) {
+			this.project = project;
+			this.target = target;
+		}
+
+		void compute(IProgressMonitor mon) throws Exception {
+			if (hierarchy==null) {
+				IType targetType = project.findType(target);
+				if (targetType==null) {
+					entries = Collections.emptyList();
+					return;
+				}
+				hierarchy = targetType.newTypeHierarchy(project, mon);
+				hierarchy.addTypeHierarchyChangedListener(this);
+			} else {
+				hierarchy.refresh(mon);
+			}
+			IType focus = hierarchy.getType();
+			List<Entry> result = new ArrayList<>();
+			result.add(new Entry(focus, getFlags(hierarchy, focus)));
+			for (IType t : hierarchy.getAllSubtypes(focus)) {
+				result.add(new Entry(t, getFlags(hierarchy, t)));
+			}
+			entries = Collections.unmodifiableList(result);
+		}
+
+		/**
+		 * The hierarchy answers -1 for types it couldn't resolve, which would make them look
+		 * like abstract interfaces. Ask the type itself in that case.
+		 */
+		private int getFlags(ITypeHierarchy hierarchy, IType type) {
+			int flags = hierarchy.getCachedFlags(type);
+			if (flags==-1) {
+				try {
+					flags = type.getFlags();
+				} catch (JavaModelException e) {
+					//Can't tell, so don't hide the type from the hints.
+					flags = 0;
+				}
+			}
+			return flags;
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			schedule(this);
+		}
+
+		void dispose() {
+			if (hierarchy!=null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
+			}
+		}
+	}
+
+	private static ClassNameIndex INSTANCE = null;
+
+	public static synchronized ClassNameIndex getInstance() {
+		if (INSTANCE==null) {
+			INSTANCE = new ClassNameIndex();
+			JavaCore.addElementChangedListener(INSTANCE.listener, ElementChangedEvent.POST_CHANGE);
+		}
+		return INSTANCE;
+	}
+
+	public static synchronized void disposeInstance() {
+		if (INSTANCE!=null) {
+			JavaCore.removeElementChangedListener(INSTANCE.listener);
+			INSTANCE.job.cancel();
+			INSTANCE.clear();
+			INSTANCE = null;
+		}
+	}
+
+	private final Map<IJavaProject, ProjectIndex> projects = new ConcurrentHashMap<>();
+	private final Map<IJavaProject, Map<String, Subtypes>> subtypes = new ConcurrentHashMap<>();
+
+	//Work for the background job
+	private final Set<IJavaProject> pendingBuilds = ConcurrentHashMap.newKeySet();
+	private final Set<ITypeRoot> pendingTypeRoots = ConcurrentHashMap.newKeySet();
+	private final Set<Subtypes> pendingSubtypes = ConcurrentHashMap.newKeySet();
+
+	private final Job job = new Job("Index class names") {
+		{
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor mon) {
+			try {
+				for (IJavaProject jp : pendingBuilds) {
+					pendingBuilds.remove(jp);
+					build(jp, mon);
+				}
+				for (ITypeRoot typeRoot : pendingTypeRoots) {
+					pendingTypeRoots.remove(typeRoot);
+					update(typeRoot);
+				}
+				for (Subtypes s : pendingSubtypes) {
+					pendingSubtypes.remove(s);
+					try {
+						s.compute(mon);
+					} catch (OperationCanceledException e) {
+						pendingSubtypes.add(s);
+						throw e;
+					} catch (Exception e) {
+						Log.log(e);
+					}
+				}
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	private final IElementChangedListener listener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			visit(event.getDelta());
+		}
+
+		private void visit(IJavaElementDelta delta) {
+			IJavaElement el = delta.getElement();
+			switch (el.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				visitChildren(delta);
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind()!=IJavaElementDelta.CHANGED || 0!=(delta.getFlags() & (
+						IJavaElementDelta.F_CLASSPATH_CHANGED |
+						IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+						IJavaElementDelta.F_OPENED |
+						IJavaElementDelta.F_CLOSED
+				))) {
+					//Other projects may see this project's types through their classpath.
+					rebuildAll();
+				} else {
+					visitChildren(delta);
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind()!=IJavaElementDelta.CHANGED || 0!=(delta.getFlags() & (
+						IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED |
+						IJavaElementDelta.F_ADDED_TO_CLASSPATH |
+						IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+				))) {
+					rebuildAll();
+				} else {
+					visitChildren(delta);
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				visitChildren(delta);
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				if (!projects.isEmpty()) {
+					pendingTypeRoots.add((ITypeRoot) el);
+					job.schedule();
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void visitChildren(IJavaElementDelta delta) {
+			for (IJavaElementDelta c : delta.getAffectedChildren()) {
+				visit(c);
+			}
+		}
+	};
+
+	private ClassNameIndex() {
+	}
+
+	/**
+	 * @return all types visible from the project, or null if the index of the project
+	 * isn't ready yet (in which case it is being built in the background).
+	 */
+	public Collection<Entry> getTypes(IJavaProject jp) {
+		ProjectIndex index = projects.computeIfAbsent(jp, (p) -> {
+			pendingBuilds.add(p);
+			job.schedule();
+			return new ProjectIndex();
+		});
+		return index.ready ? Collections.unmodifiableCollection(index.types.values()) : null;
+	}
+
+	/**
+	 * @return the target type and all of its subtypes visible from the project, or null
+	 * if they are not known yet (in which case they are computed in the background).
+	 * The result is empty if the target type isn't on the project's classpath.
+	 */
+	public Collection<Entry> getSubtypes(IJavaProject jp, String target) {
+		Subtypes s = subtypes.computeIfAbsent(jp, (p) -> new ConcurrentHashMap<>())
+			.computeIfAbsent(target, (t) -> {
+				Subtypes created = new Subtypes(jp, t);
+				schedule(created);
+				return created;
+			});
+		return s.entries;
+	}
+
+	private void schedule(Subtypes s) {
+		pendingSubtypes.add(s);
+		job.schedule();
+	}
+
+	private void build(IJavaProject jp, IProgressMonitor mon) {
+		ProjectIndex index = projects.get(jp);
+		if (index==null || !jp.exists()) {
+			return;
+		}
+		try {
+			Map<String, Entry> types = new ConcurrentHashMap<>();
+			new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH,
+					IJavaSearchConstants.TYPE, FluxJdtSearch.searchScope(jp), new TypeNameMatchRequestor() {
+						@Override
+						public void acceptTypeNameMatch(TypeNameMatch match) {
+							IType type = match.getType();
+							if (type!=null) {
+								types.putIfAbsent(type.getFullyQualifiedName(), new Entry(type, match.getModifiers()));
+							}
+						}
+					}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, mon);
+			index.types = types;
+			index.ready = true;
+		} catch (OperationCanceledException e) {
+			//Try again the next time the job runs.
+			pendingBuilds.add(jp);
+			throw e;
+		} catch (Exception e) {
+			Log.log(e);
+		}
+	}
+
+	/**
+	 * Replace the entries of the types defined by a compilation unit or class file in
+	 * each project that can see it.
+	 */
+	private void update(ITypeRoot typeRoot) {
+		for (Map.Entry<IJavaProject, ProjectIndex> e : projects.entrySet()) {
+			IJavaProject jp = e.getKey();
+			ProjectIndex index = e.getValue();
+			if (!index.ready || !jp.isOnClasspath(typeRoot)) {
+				continue;
+			}
+			index.types.values().removeIf((entry) -> isDefinedIn(entry.getType(), typeRoot));
+			if (typeRoot.exists()) {
+				try {
+					IType[] types = typeRoot instanceof ICompilationUnit
+							? ((ICompilationUnit) typeRoot).getAllTypes()
+							: new IType[] { typeRoot.findPrimaryType() };
+					for (IType t : types) {
+						if (t!=null) {
+							index.types.put(t.getFullyQualifiedName(), new Entry(t, t.getFlags()));
+						}
+					}
+				} catch (Exception ex) {
+					Log.log(ex);
+				}
+			}
+		}
+	}
+
+	private static boolean isDefinedIn(IType type, ITypeRoot typeRoot) {
+		ITypeRoot root = type.getTypeRoot();
+		return root!=null && root.getPath().equals(typeRoot.getPath())
+				&& root.getElementName().equals(typeRoot.getElementName());
+	}
+
+	private synchronized void rebuildAll() {
+		for (Map.Entry<IJavaProject, ProjectIndex> e : projects.entrySet()) {
+			if (e.getKey().exists()) {
+				pendingBuilds.add(e.getKey());
+			} else {
+				projects.remove(e.getKey());
+			}
+		}
+		for (Map<String, Subtypes> targets : subtypes.values()) {
+			for (Subtypes s : targets.values()) {
+				s.dispose();
+			}
+		}
+		subtypes.clear();
+		job.schedule();
+	}
+
+	private void clear() {
+		for (Map<String, Subtypes> targets : subtypes.values()) {
+			for (Subtypes s : targets.values()) {
+				s.dispose();
+			}
+		}
+		subtypes.clear();
+		projects.clear();
+	}
+
+}
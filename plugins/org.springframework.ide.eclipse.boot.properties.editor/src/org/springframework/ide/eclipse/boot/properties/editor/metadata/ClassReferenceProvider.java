@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.boot.properties.editor.metadata;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -25,10 +26,12 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.springframework.ide.eclipse.boot.properties.editor.metadata.ValueProviderRegistry.ValueProviderStrategy;
 import org.springframework.ide.eclipse.boot.util.Log;
+import org.springframework.ide.eclipse.editor.support.util.FuzzyMatcher;
 import org.springsource.ide.eclipse.commons.core.util.StringUtil;
 import org.springsource.ide.eclipse.commons.frameworks.core.async.FluxJdtSearch;
 import org.springsource.ide.eclipse.commons.frameworks.core.internal.cache.LimitedTimeCache;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -140,6 +143,49 @@ public class ClassReferenceProvider extends JdtSearchingValueProvider {
 	}
 
 
+	/**
+	 * Answers the query from the {@link ClassNameIndex} when it is ready for the project.
+	 * Otherwise falls back on a JDT search, while the index is built in the background.
+	 */
+	@Override
+	public Flux<StsValueHint> getValuesAsycn(IJavaProject javaProject, String query) {
+		if (javaProject!=null) {
+			ClassNameIndex index = ClassNameIndex.getInstance();
+			Collection<ClassNameIndex.Entry> types = target==null
+					? index.getTypes(javaProject)
+					: index.getSubtypes(javaProject, target);
+			if (types!=null) {
+				//Mimic the search pattern created by 'toPattern': the query chars must occur in the
+				// simple type name, or in the qualified name when the query is qualified.
+				boolean qualified = query.indexOf('.')>=0;
+				return Flux.fromIterable(types)
+				.filter((e) -> !concrete || e.isConcrete())
+				.filter((e) -> isSubsequence(query, qualified ? e.getFullyQualifiedName() : e.getSimpleName()))
+				.filter((e) ->  0!=FuzzyMatcher.matchScore(query, e.getFullyQualifiedName()))
+				.map((e) -> StsValueHint.create(e.getFullyQualifiedName(), e.getType()));
+			}
+		}
+		return super.getValuesAsycn(javaProject, query);
+	}
+
+	/**
+	 * Case insensitive check whether all chars of the query occur in the name, in order.
+	 */
+	private static boolean isSubsequence(String query, String name) {
+		int pos = 0;
+		for (int i = 0; i < query.length(); i++) {
+			char c = Character.toLowerCase(query.charAt(i));
+			while (pos<name.length() && Character.toLowerCase(name.charAt(pos))!=c) {
+				pos++;
+			}
+			if (pos>=name.length()) {
+				return false;
+			}
+			pos++;
+		}
+		return true;
+	}
+
 	@Override
 	protected SearchPattern toPattern(String query) {
 		String wildcardedQuery = toWildCardPattern(query);
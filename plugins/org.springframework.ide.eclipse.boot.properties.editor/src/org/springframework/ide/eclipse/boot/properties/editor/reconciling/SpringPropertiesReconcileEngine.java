@@ -15,6 +15,11 @@ import static org.springframework.ide.eclipse.boot.properties.editor.reconciling
 import static org.springframework.ide.eclipse.boot.properties.editor.reconciling.SpringPropertyProblem.problem;
 import static org.springsource.ide.eclipse.commons.core.util.StringUtil.commonPrefix;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import javax.inject.Provider;
@@ -31,6 +36,7 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextUtilities;
 import org.springframework.boot.configurationmetadata.Deprecation;
 import org.springframework.boot.configurationmetadata.Deprecation.Level;
@@ -42,8 +48,9 @@ import org.springframework.ide.eclipse.boot.properties.editor.quickfix.ReplaceDe
 import org.springframework.ide.eclipse.boot.properties.editor.util.Type;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeParser;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeUtil;
+import org.springframework.ide.eclipse.editor.support.reconcile.IIncrementalReconcileEngine;
 import org.springframework.ide.eclipse.editor.support.reconcile.IProblemCollector;
-import org.springframework.ide.eclipse.editor.support.reconcile.IReconcileEngine;
+import org.springframework.ide.eclipse.editor.support.reconcile.ReconcileProblem;
 import org.springframework.ide.eclipse.editor.support.util.DocumentRegion;
 import org.springframework.ide.eclipse.editor.support.util.DocumentUtil;
 import org.springframework.ide.eclipse.editor.support.util.ValueParseException;
@@ -60,7 +67,7 @@ import org.springsource.ide.eclipse.commons.livexp.util.ExceptionUtil;
  * @author Kris De Volder
  */
 @SuppressWarnings("restriction")
-public class SpringPropertiesReconcileEngine implements IReconcileEngine {
+public class SpringPropertiesReconcileEngine implements IIncrementalReconcileEngine {
 
 	/**
 	 * Regexp that matches a ',' surrounded by whitespace, including escaped whitespace / newlines
@@ -81,12 +88,32 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 	private Provider<FuzzyMap<PropertyInfo>> fIndexProvider;
 	private TypeUtil typeUtil;
 
+	/**
+	 * Problems of each entry seen by the previous reconcile, keyed by the entry's text. Only valid
+	 * as long as the index is the same, i.e. {@link #cachedIndex}.
+	 */
+	private Map<String, CachedEntry> entryCache = Collections.emptyMap();
+	private FuzzyMap<PropertyInfo> cachedIndex;
+
 	public SpringPropertiesReconcileEngine(Provider<FuzzyMap<PropertyInfo>> provider, TypeUtil typeUtil) {
 		this.fIndexProvider = provider;
 		this.typeUtil = typeUtil;
 	}
 
 	public void reconcile(IDocument doc, IProblemCollector problemCollector, IProgressMonitor mon) {
+		reconcile(doc, null, problemCollector, mon);
+	}
+
+	/**
+	 * Reconciles the whole document, but only re-checks the entries (i.e. a key and its
+	 * assigned value) which intersect the dirty region or whose text changed since the
+	 * previous reconcile. The problems of all other entries are replayed from the previous
+	 * reconcile. Duplicate keys are always checked for the whole document since editing
+	 * one key can create or resolve a duplicate anywhere else in the file.
+	 *
+	 * @param dirtyRegion the edited region, or null to re-check every entry.
+	 */
+	public void reconcile(IDocument doc, IRegion dirtyRegion, IProblemCollector problemCollector, IProgressMonitor mon) {
 		FuzzyMap<PropertyInfo> index = getIndex();
 		if (index==null || index.isEmpty()) {
 			//don't report errors when index is empty, simply don't check (otherwise we will just reprot
@@ -94,6 +121,8 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 			// some problem putting information about properties into the index.
 			return;
 		}
+		Map<String, CachedEntry> previous = dirtyRegion!=null && index==cachedIndex ? entryCache : Collections.<String, CachedEntry>emptyMap();
+		Map<String, CachedEntry> current = new HashMap<>();
 		problemCollector.beginCollecting();
 		try {
 			DuplicateNameChecker duplicateNameChecker = new DuplicateNameChecker(problemCollector);
@@ -114,27 +143,19 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 								}
 							}
 							duplicateNameChecker.check(fullName);
-							PropertyInfo validProperty = SpringPropertiesCompletionEngine.findLongestValidProperty(index, fullName.toString());
-							if (validProperty!=null) {
-								//TODO: Remove last remnants of 'IRegion trimmedRegion' here and replace
-								// it all with just passing around 'fullName' DocumentRegion. This may require changes
-								// in PropertyNavigator (probably these changes are also for the better making it simpler as well)
-								IRegion trimmedRegion = fullName.asRegion();
-								if (validProperty.isDeprecated()) {
-									problemCollector.accept(problemDeprecated(fullName, validProperty));
-								}
-								int offset = validProperty.getId().length() + trimmedRegion.getOffset();
-								PropertyNavigator navigator = new PropertyNavigator(doc, problemCollector, typeUtil, trimmedRegion);
-								Type valueType = navigator.navigate(offset, TypeParser.parse(validProperty.getType()));
-								if (valueType!=null) {
-									reconcileType(doc, valueType, regions, i, problemCollector);
-								}
-							} else { //validProperty==null
-								//The name is invalid, with no 'prefix' of the name being a valid property name.
-								PropertyInfo similarEntry = index.findLongestCommonPrefixEntry(fullName.toString());
-								CharSequence validPrefix = commonPrefix(similarEntry.getId(), fullName);
-								problemCollector.accept(problemUnkownProperty(fullName, similarEntry, validPrefix));
-							} //end: validProperty==null
+							IRegion entry = getEntryRegion(doc, regions, i);
+							String entryText = doc.get(entry.getOffset(), entry.getLength());
+							CachedEntry cached = intersects(entry, dirtyRegion) ? null : previous.get(entryText);
+							if (cached!=null) {
+								cached.replay(entry.getOffset(), problemCollector);
+							} else {
+								ProblemRecorder recorder = new ProblemRecorder(problemCollector);
+								reconcileEntry(doc, index, fullName, regions, i, recorder);
+								cached = recorder.getCachedEntry(entry);
+							}
+							if (cached!=null) {
+								current.put(entryText, cached);
+							}
 						}
 					} catch (Exception e) {
 						SpringPropertiesEditorPlugin.log(e);
@@ -144,10 +165,123 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 		} catch (Throwable e2) {
 			SpringPropertiesEditorPlugin.log(e2);
 		} finally {
+			entryCache = current;
+			cachedIndex = index;
 			problemCollector.endCollecting();
 		}
 	}
 
+	private void reconcileEntry(IDocument doc, FuzzyMap<PropertyInfo> index, DocumentRegion fullName, ITypedRegion[] regions, int i, IProblemCollector problemCollector) {
+		PropertyInfo validProperty = SpringPropertiesCompletionEngine.findLongestValidProperty(index, fullName.toString());
+		if (validProperty!=null) {
+			//TODO: Remove last remnants of 'IRegion trimmedRegion' here and replace
+			// it all with just passing around 'fullName' DocumentRegion. This may require changes
+			// in PropertyNavigator (probably these changes are also for the better making it simpler as well)
+			IRegion trimmedRegion = fullName.asRegion();
+			if (validProperty.isDeprecated()) {
+				problemCollector.accept(problemDeprecated(fullName, validProperty));
+			}
+			int offset = validProperty.getId().length() + trimmedRegion.getOffset();
+			PropertyNavigator navigator = new PropertyNavigator(doc, problemCollector, typeUtil, trimmedRegion);
+			Type valueType = navigator.navigate(offset, TypeParser.parse(validProperty.getType()));
+			if (valueType!=null) {
+				reconcileType(doc, valueType, regions, i, problemCollector);
+			}
+		} else { //validProperty==null
+			//The name is invalid, with no 'prefix' of the name being a valid property name.
+			PropertyInfo similarEntry = index.findLongestCommonPrefixEntry(fullName.toString());
+			CharSequence validPrefix = commonPrefix(similarEntry.getId(), fullName);
+			problemCollector.accept(problemUnkownProperty(fullName, similarEntry, validPrefix));
+		} //end: validProperty==null
+	}
+
+	/**
+	 * The text an entry's problems depend on: the key region followed by either its value
+	 * region or the single char that would be the assignment.
+	 */
+	private IRegion getEntryRegion(IDocument doc, ITypedRegion[] regions, int i) {
+		ITypedRegion key = regions[i];
+		int end;
+		if (i+1<regions.length && IPropertiesFilePartitions.PROPERTY_VALUE.equals(regions[i+1].getType())) {
+			end = regions[i+1].getOffset()+regions[i+1].getLength();
+		} else {
+			end = Math.min(key.getOffset()+key.getLength()+1, doc.getLength());
+		}
+		return new Region(key.getOffset(), end-key.getOffset());
+	}
+
+	private static boolean intersects(IRegion entry, IRegion dirtyRegion) {
+		return dirtyRegion!=null
+				&& entry.getOffset() <= dirtyRegion.getOffset()+dirtyRegion.getLength()
+				&& dirtyRegion.getOffset() <= entry.getOffset()+entry.getLength();
+	}
+
+	/**
+	 * Problems found for an entry, kept so they can be replayed for an identical entry
+	 * in the next reconcile, possibly at a different offset.
+	 */
+	private static class CachedEntry {
+		private final int offset;
+		private final List<SpringPropertyProblem> problems;
+
+		CachedEntry(int offset, List<SpringPropertyProblem> problems) {
+			this.offset = offset;
+			this.problems = problems;
+		}
+
+		void replay(int newOffset, IProblemCollector problemCollector) {
+			int delta = newOffset-offset;
+			for (SpringPropertyProblem p : problems) {
+				problemCollector.accept(delta==0 ? p : p.shift(delta));
+			}
+		}
+	}
+
+	/**
+	 * Passes problems on to another collector, remembering them for the entry cache.
+	 */
+	private static class ProblemRecorder implements IProblemCollector {
+		private final IProblemCollector delegate;
+		private final List<SpringPropertyProblem> problems = new ArrayList<>();
+		private boolean cacheable = true;
+
+		ProblemRecorder(IProblemCollector delegate) {
+			this.delegate = delegate;
+		}
+
+		public void beginCollecting() {
+		}
+
+		public void endCollecting() {
+		}
+
+		public void accept(ReconcileProblem problem) {
+			if (problem instanceof SpringPropertyProblem) {
+				problems.add((SpringPropertyProblem) problem);
+			} else {
+				cacheable = false;
+			}
+			delegate.accept(problem);
+		}
+
+		/**
+		 * @return the recorded problems, or null if they can't be safely replayed because
+		 * some problem isn't contained in the entry (and so might depend on text around it).
+		 */
+		CachedEntry getCachedEntry(IRegion entry) {
+			if (cacheable) {
+				int end = entry.getOffset()+entry.getLength();
+				for (SpringPropertyProblem p : problems) {
+					if (p.getOffset()<entry.getOffset() || p.getEnd()>end) {
+						return null;
+					}
+				}
+				return new CachedEntry(entry.getOffset(), problems);
+			}
+			return null;
+		}
+	}
+
 	protected SpringPropertyProblem problemDeprecated(DocumentRegion trimmedRegion, PropertyInfo property) {
 		SpringPropertyProblem p = problem(deprecationProblemType(property.getDeprecation()),
 				TypeUtil.deprecatedPropertyMessage(
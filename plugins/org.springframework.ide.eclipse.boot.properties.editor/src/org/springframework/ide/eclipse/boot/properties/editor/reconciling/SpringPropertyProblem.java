@@ -131,6 +131,17 @@ public class SpringPropertyProblem implements ReconcileProblem, FixableProblem {
 		return new SpringPropertyProblem(problemType, message , offset, len);
 	}
 
+	/**
+	 * Create a copy of this problem with its region moved by a given number of characters.
+	 */
+	public SpringPropertyProblem shift(int delta) {
+		SpringPropertyProblem p = problem(type, msg, offset+delta, length);
+		p.propertyName = propertyName;
+		p.metadata = metadata;
+		p.problemFixer = problemFixer;
+		return p;
+	}
+
 	public List<ICompletionProposal> getQuickfixes(QuickfixContext context) {
 		List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>(2);
 
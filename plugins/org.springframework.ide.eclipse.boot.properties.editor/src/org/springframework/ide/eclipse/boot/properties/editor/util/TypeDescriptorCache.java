@@ -0,0 +1,486 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.properties.editor.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.springframework.boot.configurationmetadata.Deprecation;
+import org.springframework.ide.eclipse.boot.core.BootActivator;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.DeprecationUtil;
+
+/**
+ * Workspace-wide, per {@link IJavaProject} cache of what {@link TypeUtil} needs to know
+ * about the Java types that properties are bound to: the {@link IType} a type name
+ * resolves to (or that it doesn't resolve), its enum constants, its methods and the
+ * bean properties defined by its getters.
+ * <p>
+ * Cached descriptors are discarded based on JDT element deltas. A change to a
+ * compilation unit or class file only discards descriptors of the types it defines
+ * (in every project, since projects can see each other's types). Classpath changes and
+ * changes to whole package fragment roots discard everything.
+ *
+ * @since 3.9.13
+ */
+public class TypeDescriptorCache {
+
+	/**
+	 * A getter method together with the bean property type and deprecation derived from it.
+	 */
+	public static final class Getter {
+		private final IMethod method;
+		private final Type type;
+		private final Deprecation deprecation;
+
+		Getter(IMethod method, Type type, Deprecation deprecation) {
+			this.method = method;
+			this.type = type;
+			this.deprecation = deprecation;
+		}
+
+		public IMethod getMethod() {
+			return method;
+		}
+
+		/**
+		 * @return the property type or null if it couldn't be determined.
+		 */
+		public Type getType() {
+			return type;
+		}
+
+		public Deprecation getDeprecation() {
+			return deprecation;
+		}
+	}
+
+	/**
+	 * What is known about a single type name in a given project. The different
+	 * parts are computed on first use.
+	 */
+	public static final class TypeDescriptor {
+
+		private static final IMethod[] NO_METHODS = new IMethod[0];
+
+		private final IType type;
+		private final boolean isEnum;
+
+		private volatile IField[] enumConstants;
+		private volatile IMethod[] methods;
+		private volatile List<Getter> getters;
+
+		private TypeDescriptor(IType type) {
+			this.type = type;
+			this.isEnum = isEnum(type);
+		}
+
+		private static boolean isEnum(IType type) {
+			try {
+				return type!=null && type.isEnum();
+			} catch (Exception e) {
+				BootActivator.log(e);
+			}
+			return false;
+		}
+
+		/**
+		 * @return the resolved type or null if the type name could not be resolved.
+		 */
+		public IType getType() {
+			return type;
+		}
+
+		public boolean isEnum() {
+			return isEnum;
+		}
+
+		/**
+		 * @return the enum constants in declaration order, or null if the type is not an enum.
+		 */
+		public IField[] getEnumConstants() throws JavaModelException {
+			if (!isEnum) {
+				return null;
+			}
+			IField[] constants = enumConstants;
+			if (constants==null) {
+				List<IField> list = new ArrayList<>();
+				for (IField f : type.getFields()) {
+					if (f.isEnumConstant()) {
+						list.add(f);
+					}
+				}
+				enumConstants = constants = list.toArray(new IField[list.size()]);
+			}
+			return constants;
+		}
+
+		/**
+		 * @return the methods declared by the type, empty if the type could not be resolved.
+		 */
+		public IMethod[] getMethods() throws JavaModelException {
+			IMethod[] ms = methods;
+			if (ms==null) {
+				methods = ms = type==null ? NO_METHODS : type.getMethods();
+			}
+			return ms;
+		}
+
+		/**
+		 * @return the public, non-static getters declared by a class, or null if the type isn't a class.
+		 */
+		public List<Getter> getGetters() {
+			List<Getter> gs = getters;
+			if (gs==null) {
+				getters = gs = computeGetters();
+			}
+			return gs==NO_GETTERS ? null : gs;
+		}
+
+		private List<Getter> computeGetters() {
+			try {
+				if (type!=null && type.isClass()) {
+					IMethod[] allMethods = getMethods();
+					if (ArrayUtils.hasElements(allMethods)) {
+						ArrayList<Getter> result = new ArrayList<>();
+						for (IMethod m : allMethods) {
+							if (!isStatic(m) && isPublic(m)) {
+								String mname = m.getElementName();
+								if (
+										(mname.startsWith("get") && mname.length()>=4) ||
+										(mname.startsWith("is") && mname.length()>=3)
+								) {
+									//Need at least 4 chars or the property name will be empty.
+									String sig = m.getSignature();
+									int numParams = Signature.getParameterCount(sig);
+									if (numParams==0) {
+										Type propType = null;
+										try {
+											propType = Type.fromSignature(m.getReturnType(), type);
+										} catch (JavaModelException e) {
+											BootActivator.log(e);
+										}
+										result.add(new Getter(m, propType, DeprecationUtil.extract(m)));
+									}
+								}
+							}
+						}
+						return Collections.unmodifiableList(result);
+					}
+				}
+			} catch (Exception e) {
+				BootActivator.log(e);
+			}
+			return NO_GETTERS;
+		}
+
+		private static boolean isStatic(IMethod m) {
+			try {
+				return Flags.isStatic(m.getFlags());
+			} catch (JavaModelException e) {
+				//Couldn't determine if it was public or not... let's assume it was NOT
+				// (will result in potentially more CA completions)
+				BootActivator.log(e);
+				return false;
+			}
+		}
+
+		private static boolean isPublic(IMethod m) {
+			try {
+				return m.getDeclaringType().isInterface()
+					|| Flags.isPublic(m.getFlags());
+			} catch (JavaModelException e) {
+				//Couldn't determine if it was public or not... let's assume it WAS
+				// (will result in potentially more CA completions)
+				BootActivator.log(e);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Marks 'no getters' in the lazily computed field so that it isn't recomputed.
+	 */
+	private static final List<Getter> NO_GETTERS = Collections.unmodifiableList(new ArrayList<Getter>());
+
+	/**
+	 * Snapshot of the cache's counters.
+	 */
+	public static final class Statistics {
+		private final long hits;
+		private final long misses;
+		private final long missNanos;
+		private final long invalidations;
+
+		Statistics(long hits, long misses, long missNanos, long invalidations) {
+			this.hits = hits;
+			this.misses = misses;
+			this.missNanos = missNanos;
+			this.invalidations = invalidations;
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * @return fraction of lookups answered from the cache, between 0 and 1.
+		 */
+		public double getHitRate() {
+			long total = hits + misses;
+			return total==0 ? 0 : (double)hits / total;
+		}
+
+		/**
+		 * @return average time in milliseconds spent resolving a type name on a cache miss.
+		 */
+		public double getAverageMissMillis() {
+			return misses==0 ? 0 : missNanos / 1_000_000.0 / misses;
+		}
+
+		/**
+		 * @return number of descriptors discarded because of java element changes.
+		 */
+		public long getInvalidations() {
+			return invalidations;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("TypeDescriptorCache [hits=%d, misses=%d, hitRate=%.3f, avgMissMs=%.3f, invalidations=%d]",
+					hits, misses, getHitRate(), getAverageMissMillis(), invalidations);
+		}
+	}
+
+	private static TypeDescriptorCache INSTANCE = null;
+
+	public static synchronized TypeDescriptorCache getInstance() {
+		if (INSTANCE==null) {
+			INSTANCE = new TypeDescriptorCache();
+			JavaCore.addElementChangedListener(INSTANCE.listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return INSTANCE;
+	}
+
+	public static synchronized void disposeInstance() {
+		if (INSTANCE!=null) {
+			JavaCore.removeElementChangedListener(INSTANCE.listener);
+			INSTANCE = null;
+		}
+	}
+
+	private final Map<IJavaProject, Map<String, TypeDescriptor>> projects = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong missNanos = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * Incremented on each invalidation, so that a descriptor computed concurrently
+	 * with an invalidation is not put into the cache.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final IElementChangedListener listener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			visit(event.getDelta());
+		}
+
+		private void visit(IJavaElementDelta delta) {
+			IJavaElement el = delta.getElement();
+			switch (el.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				visitChildren(delta);
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind()!=IJavaElementDelta.CHANGED || 0!=(delta.getFlags() & (
+						IJavaElementDelta.F_CLASSPATH_CHANGED |
+						IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+						IJavaElementDelta.F_OPENED |
+						IJavaElementDelta.F_CLOSED
+				))) {
+					invalidateAll();
+				} else {
+					visitChildren(delta);
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind()!=IJavaElementDelta.CHANGED || 0!=(delta.getFlags() & (
+						IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED |
+						IJavaElementDelta.F_ADDED_TO_CLASSPATH |
+						IJavaElementDelta.F_REMOVED_FROM_CLASSPATH |
+						IJavaElementDelta.F_REORDER
+				))) {
+					invalidateAll();
+				} else {
+					visitChildren(delta);
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind()!=IJavaElementDelta.CHANGED) {
+					invalidatePackage(el.getElementName());
+				} else {
+					visitChildren(delta);
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				invalidateTypes((ITypeRoot) el);
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void visitChildren(IJavaElementDelta delta) {
+			for (IJavaElementDelta c : delta.getAffectedChildren()) {
+				visit(c);
+			}
+		}
+	};
+
+	private TypeDescriptorCache() {
+	}
+
+	/**
+	 * Get the descriptor for a fully qualified type name as seen from a given project,
+	 * resolving the name on the calling thread when it is not cached.
+	 */
+	public TypeDescriptor getDescriptor(IJavaProject jp, String typeName) {
+		Map<String, TypeDescriptor> descriptors = projects.computeIfAbsent(jp, (p) -> new ConcurrentHashMap<>());
+		TypeDescriptor d = descriptors.get(typeName);
+		if (d!=null) {
+			hits.incrementAndGet();
+			return d;
+		}
+		long gen = generation.get();
+		long start = System.nanoTime();
+		IType type = null;
+		try {
+			type = jp.findType(typeName);
+		} catch (Exception e) {
+			BootActivator.log(e);
+		}
+		d = new TypeDescriptor(type);
+		misses.incrementAndGet();
+		missNanos.addAndGet(System.nanoTime()-start);
+		synchronized (this) {
+			if (gen==generation.get()) {
+				descriptors.put(typeName, d);
+			}
+		}
+		return d;
+	}
+
+	public Statistics getStatistics() {
+		return new Statistics(hits.get(), misses.get(), missNanos.get(), invalidations.get());
+	}
+
+	public synchronized void invalidateAll() {
+		generation.incrementAndGet();
+		for (Map<String, TypeDescriptor> descriptors : projects.values()) {
+			invalidations.addAndGet(descriptors.size());
+		}
+		projects.clear();
+	}
+
+	/**
+	 * Discard descriptors of the types defined in a compilation unit or class file. This
+	 * includes names that didn't resolve before, since the types may have just been created.
+	 */
+	private synchronized void invalidateTypes(ITypeRoot typeRoot) {
+		generation.incrementAndGet();
+		String packageName = typeRoot.getParent().getElementName();
+		String primaryName = typeRoot.getElementName();
+		int dot = primaryName.lastIndexOf('.');
+		if (dot>=0) {
+			primaryName = primaryName.substring(0, dot);
+		}
+		int dollar = primaryName.indexOf('$');
+		if (dollar>=0) {
+			//Class file of a nested type
+			primaryName = primaryName.substring(0, dollar);
+		}
+		String qualifiedName = packageName.isEmpty() ? primaryName : packageName + "." + primaryName;
+		for (Map<String, TypeDescriptor> descriptors : projects.values()) {
+			descriptors.entrySet().removeIf((e) -> {
+				boolean affected = isSameOrNested(e.getKey(), qualifiedName)
+						|| isDefinedIn(e.getValue().getType(), typeRoot);
+				if (affected) {
+					invalidations.incrementAndGet();
+				}
+				return affected;
+			});
+		}
+	}
+
+	private synchronized void invalidatePackage(String packageName) {
+		if (packageName.isEmpty()) {
+			//Names of types in the default package can't be told apart from qualified names by a prefix
+			invalidateAll();
+			return;
+		}
+		generation.incrementAndGet();
+		String prefix = packageName + ".";
+		for (Map<String, TypeDescriptor> descriptors : projects.values()) {
+			descriptors.entrySet().removeIf((e) -> {
+				boolean affected = e.getKey().startsWith(prefix);
+				if (affected) {
+					invalidations.incrementAndGet();
+				}
+				return affected;
+			});
+		}
+	}
+
+	private static boolean isSameOrNested(String typeName, String primaryName) {
+		if (typeName.startsWith(primaryName)) {
+			if (typeName.length()==primaryName.length()) {
+				return true;
+			}
+			char c = typeName.charAt(primaryName.length());
+			return c=='.' || c=='$';
+		}
+		return false;
+	}
+
+	private static boolean isDefinedIn(IType type, ITypeRoot typeRoot) {
+		if (type!=null) {
+			ITypeRoot root = type.getTypeRoot();
+			return root!=null && root.getPath().equals(typeRoot.getPath())
+					&& root.getElementName().equals(typeRoot.getElementName());
+		}
+		return false;
+	}
+
+}
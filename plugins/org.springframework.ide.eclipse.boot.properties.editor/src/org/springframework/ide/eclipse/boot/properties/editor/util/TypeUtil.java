@@ -34,24 +34,20 @@ import java.util.stream.Collectors;
 import javax.inject.Provider;
 
 import org.eclipse.core.runtime.Assert;
-import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.Signature;
 import org.springframework.boot.configurationmetadata.Deprecation;
 import org.springframework.ide.eclipse.boot.core.BootActivator;
-import org.springframework.ide.eclipse.boot.properties.editor.metadata.DeprecationUtil;
 import org.springframework.ide.eclipse.boot.properties.editor.metadata.StsValueHint;
 import org.springframework.ide.eclipse.boot.properties.editor.metadata.ValueProviderRegistry.ValueProviderStrategy;
 import org.springframework.ide.eclipse.boot.properties.editor.reconciling.AlwaysFailingParser;
-import org.springframework.ide.eclipse.boot.util.Log;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache.Getter;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache.TypeDescriptor;
 import org.springframework.ide.eclipse.editor.support.util.CollectionUtil;
 import org.springframework.ide.eclipse.editor.support.util.EnumValueParser;
-import org.springframework.ide.eclipse.editor.support.util.HtmlSnippet;
 import org.springframework.ide.eclipse.editor.support.util.ValueParser;
 import org.springsource.ide.eclipse.commons.core.util.StringUtil;
 
@@ -293,29 +289,23 @@ public class TypeUtil {
 						return Arrays.stream(values).map(StsValueHint::create).collect(Collectors.toList());
 					}
 				}
-				IType type = findType(enumType.getErasure());
-				if (type!=null && type.isEnum()) {
-					IField[] fields = type.getFields();
-
-					if (fields!=null) {
-						ImmutableList.Builder<StsValueHint> enums = ImmutableList.builder();
-						boolean addOriginal = caseMode==EnumCaseMode.ORIGNAL||caseMode==EnumCaseMode.ALIASED;
-						boolean addLowerCased = caseMode==EnumCaseMode.LOWER_CASE||caseMode==EnumCaseMode.ALIASED;
-						for (int i = 0; i < fields.length; i++) {
-							IField f = fields[i];
-							Provider<HtmlSnippet> jdoc = StsValueHint.javaDocSnippet(f);
-							if (f.isEnumConstant()) {
-								String rawName = f.getElementName();
-								if (addOriginal) {
-									enums.add(StsValueHint.create(rawName, f));
-								}
-								if (addLowerCased) {
-									enums.add(StsValueHint.create(StringUtil.upperCaseToHyphens(rawName), f));
-								}
-							}
+				TypeDescriptor descriptor = getDescriptor(enumType.getErasure());
+				IField[] fields = descriptor==null ? null : descriptor.getEnumConstants();
+				if (fields!=null) {
+					ImmutableList.Builder<StsValueHint> enums = ImmutableList.builder();
+					boolean addOriginal = caseMode==EnumCaseMode.ORIGNAL||caseMode==EnumCaseMode.ALIASED;
+					boolean addLowerCased = caseMode==EnumCaseMode.LOWER_CASE||caseMode==EnumCaseMode.ALIASED;
+					for (int i = 0; i < fields.length; i++) {
+						IField f = fields[i];
+						String rawName = f.getElementName();
+						if (addOriginal) {
+							enums.add(StsValueHint.create(rawName, f));
+						}
+						if (addLowerCased) {
+							enums.add(StsValueHint.create(StringUtil.upperCaseToHyphens(rawName), f));
 						}
-						return enums.build();
 					}
+					return enums.build();
 				}
 			} catch (Exception e) {
 				BootActivator.log(e);
@@ -544,33 +534,30 @@ public class TypeUtil {
 	}
 
 	public boolean isEnum(Type type) {
-		try {
-			IType eclipseType = findType(type.getErasure());
-			if (eclipseType!=null) {
-				return eclipseType.isEnum();
-			}
-		} catch (Exception e) {
-			Log.log(e);
-		}
-		return false;
+		TypeDescriptor descriptor = getDescriptor(type.getErasure());
+		return descriptor!=null && descriptor.isEnum();
 	}
 
-	private IType findType(String typeName) {
-		try {
-			if (javaProject!=null) {
-				return javaProject.findType(typeName);
-			}
-		} catch (Exception e) {
-			Log.log(e);
+	/**
+	 * @return cached information about the type with the given name, or null if there is no
+	 * project to resolve it in.
+	 */
+	private TypeDescriptor getDescriptor(String typeName) {
+		if (javaProject!=null) {
+			return TypeDescriptorCache.getInstance().getDescriptor(javaProject, typeName);
 		}
 		return null;
 	}
 
+	private IType findType(String typeName) {
+		TypeDescriptor descriptor = getDescriptor(typeName);
+		return descriptor==null ? null : descriptor.getType();
+	}
+
 	private IType findType(Type beanType) {
 		return findType(beanType.getErasure());
 	}
 
-	private static final String[] NO_PARAMS = new String[0];
 	private static final Map<String, ValueProviderStrategy> VALUE_HINTERS = new HashMap<>();
 	static {
 		valueHints("java.nio.charset.Charset", new LazyProvider<String[]>() {
@@ -649,27 +636,21 @@ public class TypeUtil {
 			}
 		} else {
 			String typename = type.getErasure();
-			IType eclipseType = findType(typename);
+			TypeDescriptor descriptor = getDescriptor(typename);
 
 			//TODO: handle type parameters.
-			if (eclipseType!=null) {
-				List<IMethod> getters = getGetterMethods(eclipseType);
+			if (descriptor!=null) {
+				List<Getter> getters = descriptor.getGetters();
 				//TODO: getters inherited from super classes?
 				if (getters!=null && !getters.isEmpty()) {
 					ArrayList<TypedProperty> properties = new ArrayList<>(getters.size());
-					for (IMethod m : getters) {
-						Deprecation deprecation = DeprecationUtil.extract(m);
-						Type propType = null;
-						try {
-							propType = Type.fromSignature(m.getReturnType(), eclipseType);
-						} catch (JavaModelException e) {
-							Log.log(e);
-						}
+					for (Getter g : getters) {
+						String methodName = g.getMethod().getElementName();
 						if (beanMode.includesHyphenated()) {
-							properties.add(new TypedProperty(getterOrSetterNameToProperty(m.getElementName()), propType, deprecation));
+							properties.add(new TypedProperty(getterOrSetterNameToProperty(methodName), g.getType(), g.getDeprecation()));
 						}
 						if (beanMode.includesCamelCase()) {
-							properties.add(new TypedProperty(getterOrSetterNameToCamelName(m.getElementName()), propType, deprecation));
+							properties.add(new TypedProperty(getterOrSetterNameToCamelName(methodName), g.getType(), g.getDeprecation()));
 						}
 					}
 					return properties;
@@ -718,37 +699,6 @@ public class TypeUtil {
 		return camelName;
 	}
 
-	private List<IMethod> getGetterMethods(IType eclipseType) {
-		try {
-			if (eclipseType!=null && eclipseType.isClass()) {
-				IMethod[] allMethods = eclipseType.getMethods();
-				if (ArrayUtils.hasElements(allMethods)) {
-					ArrayList<IMethod> getters = new ArrayList<>();
-					for (IMethod m : allMethods) {
-						if (!isStatic(m) && isPublic(m)) {
-							String mname = m.getElementName();
-							if (
-									(mname.startsWith("get") && mname.length()>=4) ||
-									(mname.startsWith("is") && mname.length()>=3)
-							) {
-								//Need at least 4 chars or the property name will be empty.
-								String sig = m.getSignature();
-								int numParams = Signature.getParameterCount(sig);
-								if (numParams==0) {
-									getters.add(m);
-								}
-							}
-						}
-					}
-					return getters;
-				}
-			}
-		} catch (Exception e) {
-			BootActivator.log(e);
-		}
-		return null;
-	}
-
 //	private List<IMethod> getSetterMethods(IType eclipseType) {
 //		try {
 //			if (eclipseType!=null && eclipseType.isClass()) {
@@ -775,29 +725,6 @@ public class TypeUtil {
 //		return null;
 //	}
 
-	private boolean isStatic(IMethod m) {
-		try {
-			return Flags.isStatic(m.getFlags());
-		} catch (JavaModelException e) {
-			//Couldn't determine if it was public or not... let's assume it was NOT
-			// (will result in potentially more CA completions)
-			BootActivator.log(e);
-			return false;
-		}
-	}
-
-	private boolean isPublic(IMethod m) {
-		try {
-			return m.getDeclaringType().isInterface()
-				|| Flags.isPublic(m.getFlags());
-		} catch (JavaModelException e) {
-			//Couldn't determine if it was public or not... let's assume it WAS
-			// (will result in potentially more CA completions)
-			BootActivator.log(e);
-			return true;
-		}
-	}
-
 	public Map<String, TypedProperty> getPropertiesMap(Type type, EnumCaseMode enumMode, BeanPropertyNameMode beanMode) {
 		//TODO: optimize, produce directly as a map instead of
 		// first creating list and then coverting it.
@@ -848,10 +775,12 @@ public class TypeUtil {
 	public IMethod getSetter(Type beanType, String propName) {
 		try {
 			String setterName = "set" + StringUtil.hyphensToCamelCase(propName, true);
-			IType type = findType(beanType);
-			for (IMethod m : type.getMethods()) {
-				if (setterName.equals(m.getElementName())) {
-					return m;
+			TypeDescriptor descriptor = getDescriptor(beanType.getErasure());
+			if (descriptor!=null) {
+				for (IMethod m : descriptor.getMethods()) {
+					if (setterName.equals(m.getElementName())) {
+						return m;
+					}
 				}
 			}
 		} catch (Exception e) {
@@ -862,11 +791,17 @@ public class TypeUtil {
 
 	public IJavaElement getGetter(Type beanType, String propName) {
 		String getterName = "get" + StringUtil.hyphensToCamelCase(propName, true);
-		IType type = findType(beanType);
-
-		IMethod m = type.getMethod(getterName, NO_PARAMS);
-		if (m.exists()) {
-			return m;
+		TypeDescriptor descriptor = getDescriptor(beanType.getErasure());
+		if (descriptor!=null) {
+			try {
+				for (IMethod m : descriptor.getMethods()) {
+					if (getterName.equals(m.getElementName()) && m.getNumberOfParameters()==0) {
+						return m;
+					}
+				}
+			} catch (Exception e) {
+				BootActivator.log(e);
+			}
 		}
 		return null;
 	}
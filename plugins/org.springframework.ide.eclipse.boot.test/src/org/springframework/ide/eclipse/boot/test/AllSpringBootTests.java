@@ -19,6 +19,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		InitializrFactoryModelTest.class,
 		DependencyTooltipContentTest.class,
 		BootPropertyTesterTest.class,
+		BootProjectClassifierTest.class,
 		AddStartersModelTest.class
 })
 public class AllSpringBootTests {
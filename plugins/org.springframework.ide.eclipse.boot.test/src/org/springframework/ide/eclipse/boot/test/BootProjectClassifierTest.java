@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.core.BootProjectClassifier;
+import org.springframework.ide.eclipse.boot.core.BootProjectClassifier.Classification;
+import org.springframework.ide.eclipse.boot.core.BootProjectClassifier.ClassificationListener;
+import org.springframework.ide.eclipse.boot.util.version.VersionParser;
+
+public class BootProjectClassifierTest {
+
+	private static final String PROJECT_NAME = "classifier-test";
+
+	private final BootProjectClassifier classifier = BootProjectClassifier.getInstance();
+
+	private final List<Classification> notifications = new ArrayList<>();
+
+	private final ClassificationListener listener = new ClassificationListener() {
+		@Override
+		public void classificationChanged(IProject project, Classification classification) {
+			if (project.getName().equals(PROJECT_NAME)) {
+				synchronized (notifications) {
+					notifications.add(classification);
+				}
+			}
+		}
+	};
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		classifier.addListener(listener);
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		project.create(new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		classifier.removeListener(listener);
+		project.delete(true, true, new NullProgressMonitor());
+	}
+
+	@Test
+	public void nonJavaProjectIsNotBoot() throws Exception {
+		assertEquals(Classification.NOT_BOOT, classifier.getClassification(project));
+	}
+
+	@Test
+	public void classifiesFromClasspathJars() throws Exception {
+		setClasspath("spring-boot-2.4.0.jar", "spring-boot-devtools-2.4.0.jar");
+
+		Classification c = classifier.getClassification(project);
+		assertTrue(c.isBoot());
+		assertTrue(c.hasDevtools());
+		assertEquals(VersionParser.DEFAULT.parse("2.4.0"), c.getBootVersion());
+	}
+
+	@Test
+	public void classpathChangeInvalidatesCachedClassification() throws Exception {
+		setClasspath("spring-boot-2.4.0.jar");
+		Classification c = classifier.getClassification(project);
+		assertTrue(c.isBoot());
+		assertSame(c, classifier.getClassification(project));
+		assertSame(c, classifier.peekClassification(project));
+
+		setClasspath("commons-lang-2.6.jar");
+		assertFalse(classifier.getClassification(project).isBoot());
+	}
+
+	@Test
+	public void listenersAreNotifiedOnlyWhenClassificationChanges() throws Exception {
+		setClasspath("spring-boot-2.4.0.jar");
+		classifier.getClassification(project);
+		assertNotifications(true);
+
+		//Re-classifying to the same result is no change
+		classifier.invalidate(project);
+		classifier.getClassification(project);
+		assertNotifications(true);
+
+		setClasspath("commons-lang-2.6.jar");
+		classifier.getClassification(project);
+		assertNotifications(true, false);
+	}
+
+	private void assertNotifications(Boolean... expectedIsBoot) {
+		synchronized (notifications) {
+			assertEquals(expectedIsBoot.length, notifications.size());
+			for (int i = 0; i < expectedIsBoot.length; i++) {
+				assertEquals(expectedIsBoot[i], notifications.get(i).isBoot());
+			}
+		}
+	}
+
+	private void setClasspath(String... jarNames) throws Exception {
+		if (!project.hasNature(JavaCore.NATURE_ID)) {
+			IProjectDescription description = project.getDescription();
+			description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+			project.setDescription(description, new NullProgressMonitor());
+		}
+		IJavaProject javaProject = JavaCore.create(project);
+		IClasspathEntry[] entries = new IClasspathEntry[jarNames.length];
+		for (int i = 0; i < jarNames.length; i++) {
+			entries[i] = JavaCore.newLibraryEntry(new Path("/" + PROJECT_NAME + "/lib/" + jarNames[i]), null, null);
+		}
+		javaProject.setRawClasspath(entries, project.getFullPath().append("bin"), new NullProgressMonitor());
+	}
+}
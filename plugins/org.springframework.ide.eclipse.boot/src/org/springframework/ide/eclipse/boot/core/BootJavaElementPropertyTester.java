@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2018 GoPivotal, Inc.
+ * Copyright (c) 2013, 2020 GoPivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import org.eclipse.jdt.core.IJavaProject;
 public class BootJavaElementPropertyTester extends PropertyTester {
 
 	public BootJavaElementPropertyTester() {
+		BootPropertyTester.listenForClassificationChanges();
 	}
 
 	@Override
@@ -38,7 +39,7 @@ public class BootJavaElementPropertyTester extends PropertyTester {
 		if (je!=null) {
 			IJavaProject jp = je.getJavaProject();
 			if (jp!=null) {
-				return BootPropertyTester.isBootProject(jp.getProject());
+				return BootPropertyTester.fastIsBootProject(jp.getProject());
 			}
 		}
 		return false;
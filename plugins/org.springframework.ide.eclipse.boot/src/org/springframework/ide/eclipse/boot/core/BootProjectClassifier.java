@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.springframework.ide.eclipse.boot.util.version.Version;
+import org.springframework.ide.eclipse.boot.util.version.VersionParser;
+import org.springsource.ide.eclipse.commons.livexp.core.ValueListener;
+import org.springsource.ide.eclipse.commons.livexp.util.Log;
+
+/**
+ * Workspace-wide cache of 'boot-ness' of projects. Classifying a project
+ * requires a scan of its resolved classpath, which is too expensive to do
+ * each time a property tester is evaluated for a menu, toolbar or decorator.
+ * <p>
+ * Cached classifications are discarded when JDT reports a classpath change
+ * for the project (or the project is opened, closed, added or removed), and
+ * all of them are discarded when the boot project exclusion preference changes.
+ * <p>
+ * {@link ClassificationListener}s are told when a project is classified differently
+ * than before, so that UI whose enablement depends on 'boot-ness' can be re-evaluated.
+ */
+public class BootProjectClassifier {
+
+	/**
+	 * Immutable result of classifying a single project.
+	 */
+	public static final class Classification {
+
+		public static final Classification NOT_BOOT = new Classification(false, false, null);
+
+		private final boolean isBoot;
+		private final boolean hasDevtools;
+		private final Version bootVersion;
+
+		public Classification(boolean isBoot, boolean hasDevtools, Version bootVersion) {
+			this.isBoot = isBoot;
+			this.hasDevtools = hasDevtools;
+			this.bootVersion = bootVersion;
+		}
+
+		public boolean isBoot() {
+			return isBoot;
+		}
+
+		public boolean hasDevtools() {
+			return hasDevtools;
+		}
+
+		/**
+		 * @return spring-boot version from the project's classpath or null if it couldn't be determined.
+		 */
+		public Version getBootVersion() {
+			return bootVersion;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this==obj) {
+				return true;
+			}
+			if (!(obj instanceof Classification)) {
+				return false;
+			}
+			Classification other = (Classification) obj;
+			return isBoot==other.isBoot && hasDevtools==other.hasDevtools && Objects.equals(bootVersion, other.bootVersion);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(isBoot, hasDevtools, bootVersion);
+		}
+
+		@Override
+		public String toString() {
+			return "Classification [isBoot=" + isBoot + ", hasDevtools=" + hasDevtools + ", bootVersion=" + bootVersion + "]";
+		}
+	}
+
+	/**
+	 * Listener notified when a project has been classified differently than before. Not-yet
+	 * classified projects count as {@link Classification#NOT_BOOT}, which is what
+	 * {@link #peekClassification(IProject)} callers assume for them.
+	 */
+	public interface ClassificationListener {
+		void classificationChanged(IProject project, Classification classification);
+	}
+
+	private static BootProjectClassifier INSTANCE = null;
+
+	public synchronized static BootProjectClassifier getInstance() {
+		if (INSTANCE==null) {
+			INSTANCE = new BootProjectClassifier();
+			INSTANCE.initialize();
+		}
+		return INSTANCE;
+	}
+
+	private final Map<IProject, Classification> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Bumped by {@link #invalidate(IProject)} and {@link #invalidateAll()}. A classification
+	 * is only cached when no invalidation happened while it was computed, since the classpath
+	 * it was computed from may already be outdated.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * The last classification listeners have been told about. Unlike the cache, this survives
+	 * invalidation so that re-classifying a project to the same result doesn't notify anyone.
+	 */
+	private final Map<IProject, Classification> notified = new ConcurrentHashMap<>();
+
+	private final List<ClassificationListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Projects for which a background classification has been requested but not yet completed.
+	 */
+	private final Set<IProject> pending = ConcurrentHashMap.newKeySet();
+
+	private final Job classifyJob = new Job("Classify Spring Boot projects") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			for (IProject p : pending) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				pending.remove(p);
+				getClassification(p);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	private final IElementChangedListener classpathListener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			visit(event.getDelta());
+		}
+
+		private void visit(IJavaElementDelta delta) {
+			IJavaElement el = delta.getElement();
+			switch (el.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				for (IJavaElementDelta c : delta.getAffectedChildren()) {
+					visit(c);
+				}
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind()==IJavaElementDelta.REMOVED) {
+					forget(((IJavaProject)el).getProject());
+				} else if (isClassificationChanged(delta)) {
+					invalidate(((IJavaProject)el).getProject());
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		private boolean isClassificationChanged(IJavaElementDelta delta) {
+			return delta.getKind()!=IJavaElementDelta.CHANGED || 0!=(delta.getFlags() & (
+					IJavaElementDelta.F_CLASSPATH_CHANGED |
+					IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+					IJavaElementDelta.F_OPENED |
+					IJavaElementDelta.F_CLOSED
+			));
+		}
+	};
+
+	private final ValueListener<Pattern> exclusionListener = (exp, value) -> invalidateAll();
+
+	private BootProjectClassifier() {
+	}
+
+	private void initialize() {
+		classifyJob.setSystem(true);
+		JavaCore.addElementChangedListener(classpathListener, ElementChangedEvent.POST_CHANGE);
+		BootPreferences.getInstance().getProjectExclusionExp().addListener(exclusionListener);
+		//Warm up the cache so that property testers rarely see a miss.
+		for (IProject p : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			requestClassification(p);
+		}
+	}
+
+	/**
+	 * Get the classification of a project, computing it on the calling thread when
+	 * it is not cached.
+	 */
+	public Classification getClassification(IProject project) {
+		if (project==null) {
+			return Classification.NOT_BOOT;
+		}
+		Classification c = cache.get(project);
+		if (c==null) {
+			long gen = generation.get();
+			c = classify(project);
+			boolean isCurrent;
+			synchronized (this) {
+				isCurrent = gen==generation.get();
+				if (isCurrent) {
+					cache.put(project, c);
+				}
+			}
+			if (isCurrent) {
+				notifyIfChanged(project, c);
+			}
+		}
+		return c;
+	}
+
+	public void addListener(ClassificationListener l) {
+		listeners.add(l);
+	}
+
+	public void removeListener(ClassificationListener l) {
+		listeners.remove(l);
+	}
+
+	private void notifyIfChanged(IProject project, Classification c) {
+		Classification previous = notified.put(project, c);
+		if (!c.equals(previous==null ? Classification.NOT_BOOT : previous)) {
+			for (ClassificationListener l : listeners) {
+				try {
+					l.classificationChanged(project, c);
+				} catch (Exception e) {
+					Log.log(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the classification of a project without ever blocking. If the
+	 * classification is not cached it is computed in the background and
+	 * null is returned.
+	 */
+	public Classification peekClassification(IProject project) {
+		if (project==null) {
+			return Classification.NOT_BOOT;
+		}
+		Classification c = cache.get(project);
+		if (c==null) {
+			requestClassification(project);
+		}
+		return c;
+	}
+
+	private void requestClassification(IProject project) {
+		if (pending.add(project)) {
+			classifyJob.schedule();
+		}
+	}
+
+	public synchronized void invalidate(IProject project) {
+		generation.incrementAndGet();
+		cache.remove(project);
+	}
+
+	private synchronized void forget(IProject project) {
+		invalidate(project);
+		notified.remove(project);
+	}
+
+	public synchronized void invalidateAll() {
+		generation.incrementAndGet();
+		cache.clear();
+	}
+
+	private static Classification classify(IProject project) {
+		if (!project.isAccessible()) {
+			return Classification.NOT_BOOT;
+		}
+		try {
+			if (project.hasNature(JavaCore.NATURE_ID)) {
+				IJavaProject jp = JavaCore.create(project);
+				IClasspathEntry[] classpath = jp.getResolvedClasspath(true);
+				//Look for a 'spring-boot' jar or project entry
+				boolean isBoot = false;
+				boolean hasDevtools = false;
+				Version version = null;
+				for (IClasspathEntry e : classpath) {
+					if (BootPropertyTester.isBootJar(e)) {
+						isBoot = true;
+						if (version==null) {
+							String versionStr = BootPropertyTester.getVersionFromJarName(e.getPath().lastSegment());
+							if (versionStr!=null) {
+								version = VersionParser.DEFAULT.parse(versionStr);
+							}
+						}
+					} else if (BootPropertyTester.isBootProject(e)) {
+						isBoot = true;
+					}
+					if (BootPropertyTester.isDevtoolsJar(e)) {
+						hasDevtools = true;
+					}
+				}
+				//Excluded projects are not considered boot projects, but we still want to know their boot version.
+				isBoot = isBoot && !BootPropertyTester.isExcludedProject(project);
+				return new Classification(isBoot, hasDevtools, version);
+			}
+		} catch (Exception e) {
+			Log.log(e);
+		}
+		return Classification.NOT_BOOT;
+	}
+}
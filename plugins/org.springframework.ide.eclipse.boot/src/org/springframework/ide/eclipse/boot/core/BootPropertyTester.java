@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013-2015 Pivotal, Inc.
+ * Copyright (c) 2013-2020 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,11 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.core;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,18 +19,14 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClasspathEntry;
-import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.services.IEvaluationService;
 import org.osgi.framework.Bundle;
+import org.springframework.ide.eclipse.boot.core.BootProjectClassifier.Classification;
 import org.springframework.ide.eclipse.boot.util.version.Version;
 import org.springframework.ide.eclipse.boot.util.version.VersionParser;
-import org.springsource.ide.eclipse.commons.internal.core.CorePlugin;
 import org.springsource.ide.eclipse.commons.livexp.util.Log;
 
 /**
@@ -48,7 +40,52 @@ public class BootPropertyTester extends PropertyTester {
 	public static final String SPRING_BOOT_DEVTOOLS_AID = "spring-boot-devtools";
 	public static final String SPRING_BOOT_DEVTOOLS_GID = "org.springframework.boot";
 
+	/**
+	 * Fully qualified names of the properties computed from {@link BootProjectClassifier} results,
+	 * including the ones of {@link BootJavaElementPropertyTester}.
+	 */
+	private static final String[] CLASSIFICATION_PROPERTIES = {
+			"org.springsource.ide.eclipse.boot.isBootProject",
+			"org.springsource.ide.eclipse.boot.isBootResource",
+			"org.springsource.ide.eclipse.boot.hasBootDevTools",
+			"org.springsource.ide.eclipse.boot.javaelement.isInBootProject",
+			"org.springsource.ide.eclipse.boot.javaelement.isInBootProjectWithDevTools"
+	};
+
+	private static final AtomicBoolean isListening = new AtomicBoolean();
+
+	private static final AtomicBoolean isEvaluationRequested = new AtomicBoolean();
+
 	public BootPropertyTester() {
+		listenForClassificationChanges();
+	}
+
+	/**
+	 * Makes sure that expressions using the 'boot-ness' properties are re-evaluated when a
+	 * project's classification changes. Otherwise menus and handlers enabled for boot projects
+	 * would keep the value computed while the project was not classified yet.
+	 */
+	static void listenForClassificationChanges() {
+		if (isListening.compareAndSet(false, true)) {
+			BootProjectClassifier.getInstance().addListener((project, classification) -> requestEvaluation());
+		}
+	}
+
+	private static void requestEvaluation() {
+		if (PlatformUI.isWorkbenchRunning() && isEvaluationRequested.compareAndSet(false, true)) {
+			//Coalesce the burst of changes caused by classifying the whole workspace
+			PlatformUI.getWorkbench().getDisplay().asyncExec(() -> {
+				isEvaluationRequested.set(false);
+				if (PlatformUI.isWorkbenchRunning()) {
+					IEvaluationService evaluationService = (IEvaluationService) PlatformUI.getWorkbench().getService(IEvaluationService.class);
+					if (evaluationService!=null) {
+						for (String property : CLASSIFICATION_PROPERTIES) {
+							evaluationService.requestEvaluation(property);
+						}
+					}
+				}
+			});
+		}
 	}
 
 	//@Override
@@ -62,10 +99,11 @@ public class BootPropertyTester extends PropertyTester {
 //		System.out.println(" property = "+property);
 //		System.out.println(" expectedValue = "+expectedValue);
 		if (rsrc instanceof IProject && "isBootProject".equals(property)) {
-			return expectedValue.equals(isBootProject((IProject)rsrc));
+			return expectedValue.equals(fastIsBootProject((IProject)rsrc));
 		}
 		if (rsrc instanceof IResource && "isBootResource".equals(property)) {
-			return expectedValue.equals(isBootResource((IResource) rsrc));
+			IResource r = (IResource) rsrc;
+			return expectedValue.equals(r.isAccessible() && fastIsBootProject(r.getProject()));
 		}
 		if (rsrc instanceof IResource && "hasBootDevTools".equals(property)) {
 			return hasBootDevTools(((IResource) rsrc).getProject());
@@ -73,6 +111,16 @@ public class BootPropertyTester extends PropertyTester {
 		return false;
 	}
 
+	/**
+	 * Like {@link #isBootProject(IProject)} but never blocks. If the project has not
+	 * been classified yet, it is classified in the background and this method
+	 * returns false.
+	 */
+	public static boolean fastIsBootProject(IProject project) {
+		Classification c = BootProjectClassifier.getInstance().peekClassification(project);
+		return c!=null && c.isBoot();
+	}
+
 	public static boolean isDevtoolsJar(IClasspathEntry e) {
 		if (e.getEntryKind()==IClasspathEntry.CPE_LIBRARY) {
 			IPath path = e.getPath();
@@ -84,110 +132,24 @@ public class BootPropertyTester extends PropertyTester {
 
 
 	public static boolean hasDevtools(IProject p) {
-		try {
-			if (p!=null && p.isAccessible()) {
-				IJavaProject jp = JavaCore.create(p);
-				if (jp.exists()) {
-					IClasspathEntry[] classpath = jp.getResolvedClasspath(true);
-					if (classpath!=null) {
-						for (IClasspathEntry e : classpath) {
-							if (BootPropertyTester.isDevtoolsJar(e)) {
-								return true;
-							}
-						}
-					}
-				}
-			}
-		} catch (Exception e) {
-			Log.log(e);
-		}
-		return false;
+		return BootProjectClassifier.getInstance().getClassification(p).hasDevtools();
 	}
 
 	public static boolean isBootProject(IProject project) {
-		if (project==null || ! project.isAccessible()) {
-			return false;
-		}
-		try {
-			if (project.hasNature(JavaCore.NATURE_ID)) {
-				if (!isExcludedProject(project)) {
-					IJavaProject jp = JavaCore.create(project);
-					IClasspathEntry[] classpath = jp.getResolvedClasspath(true);
-					//Look for a 'spring-boot' jar or project entry
-
-					for (IClasspathEntry e : classpath) {
-						if (isBootJar(e) || isBootProject(e)) {
-							return true;
-						}
-					}
-				}
-			}
-		} catch (Exception e) {
-			CorePlugin.log(e);
-		}
-		return false;
-	}
-
-	public static boolean hasBootDevTools(IProject project) {
-		try {
-			ISpringBootProject bootProject = SpringBootCore.getDefault().project(project);
-			if (bootProject != null) {
-				return fastHasDevTools(bootProject);
-			}
-		} catch (CoreException e) {
-			Log.log(e);
-		} catch (TimeoutException e) {
-			// ignore timeouts. Could lots of them while maven updates classpath
-		} catch (InterruptedException e) {
-			// ignore iterrupts?
-		} catch (ExecutionException e) {
-			Log.log(e);
-		}
-		return false;
+		return BootProjectClassifier.getInstance().getClassification(project).isBoot();
 	}
 
 	/**
-	 * Like hasDevTools, but suitable for calling on the UI thread. This operation may fail
-	 * with a {@link TimeoutException} if it can not be readily determined whether a project
-	 * has dev tools as a dependency (this may happen, for example because m2e is still in the process of
-	 * resolving the dependencies). It would be undesirable to block on the UI thread to wait for this
-	 * process to complete.
+	 * Determines whether a project has devtools on its classpath. Suitable for
+	 * calling on the UI thread: this never blocks and returns false for projects
+	 * that have not been classified yet.
 	 */
-	public static boolean fastHasDevTools(ISpringBootProject bootProject) throws TimeoutException, InterruptedException, ExecutionException {
-		CompletableFuture<Boolean> result = new CompletableFuture<>();
-		Job job = new Job("Check for devtools") {
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				try {
-					result.complete(hasDevTools(bootProject));
-				} catch (Throwable e) {
-					result.completeExceptionally(e);
-				}
-				return Status.OK_STATUS;
-			}
-		};
-		job.setSystem(true);
-		job.schedule();
-		return result.get(100, TimeUnit.MILLISECONDS);
-	}
-
-	public static boolean hasDevTools(ISpringBootProject bootProject) {
-		try {
-			List<IMavenCoordinates> deps = bootProject.getDependencies();
-			if (deps!=null) {
-				for (IMavenCoordinates d : deps) {
-					if (SPRING_BOOT_DEVTOOLS_AID.equals(d.getArtifactId())) {
-						return true;
-					}
-				}
-			}
-		} catch (Exception e) {
-			Log.log(e);
-		}
-		return false;
+	public static boolean hasBootDevTools(IProject project) {
+		Classification c = BootProjectClassifier.getInstance().peekClassification(project);
+		return c!=null && c.hasDevtools();
 	}
 
-	private static boolean isExcludedProject(IProject project) {
+	static boolean isExcludedProject(IProject project) {
 		Pattern exclusion = BootPreferences.getInstance().getProjectExclusion();
 		return exclusion.matcher(project.getName()).matches();
 	}
@@ -227,28 +189,7 @@ public class BootPropertyTester extends PropertyTester {
 	 * determined.
 	 */
 	public static Version getBootVersion(IProject p) {
-		try {
-			if (p.isAccessible() && p.hasNature(JavaCore.NATURE_ID)) {
-				IJavaProject jp = JavaCore.create(p);
-				IClasspathEntry[] cp = jp.getResolvedClasspath(true);
-				for (IClasspathEntry e : cp) {
-					if (isBootJar(e)) {
-						String version = getJarVersion(e);
-						if (version!=null) {
-							return VersionParser.DEFAULT.parse(version);
-						}
-					}
-				}
-			}
-		} catch (Exception error) {
-			Log.log(error);
-		}
-		return null;
-	}
-
-	private static String getJarVersion(IClasspathEntry e) {
-		String name = e.getPath().lastSegment();
-		return getVersionFromJarName(name);
+		return BootProjectClassifier.getInstance().getClassification(p).getBootVersion();
 	}
 
 	public static String getVersionFromJarName(String name) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2018 Pivotal Software, Inc.
+ * Copyright (c) 2015, 2020 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.handlers.HandlerUtil;
 import org.springframework.ide.eclipse.boot.core.BootPropertyTester;
+import org.springframework.ide.eclipse.boot.core.IMavenCoordinates;
 import org.springframework.ide.eclipse.boot.core.ISpringBootProject;
 import org.springframework.ide.eclipse.boot.core.MavenCoordinates;
 import org.springframework.ide.eclipse.boot.core.SpringBootCore;
@@ -98,6 +99,26 @@ public class EnableDisableBootDevtools extends AbstractHandler {
 		return null;
 	}
 
+	/**
+	 * Determines whether devtools is declared as a dependency of the project, as opposed to
+	 * {@link BootPropertyTester#hasBootDevTools(IProject)} which looks at the classpath.
+	 */
+	private static boolean hasDevtoolsDependency(ISpringBootProject bootProject) {
+		try {
+			List<IMavenCoordinates> deps = bootProject.getDependencies();
+			if (deps!=null) {
+				for (IMavenCoordinates d : deps) {
+					if (BootPropertyTester.SPRING_BOOT_DEVTOOLS_AID.equals(d.getArtifactId())) {
+						return true;
+					}
+				}
+			}
+		} catch (Exception e) {
+			Log.log(e);
+		}
+		return false;
+	}
+
 	private boolean isExpected(Exception e) {
 		//See https://issuetracker.springsource.com/browse/STS-4263
 		String msg = ExceptionUtil.getMessage(e);
@@ -125,7 +146,7 @@ public class EnableDisableBootDevtools extends AbstractHandler {
 			bootProjects.forEach(bootProject -> {
 				try {
 					SpringBootStarter devtools = getAvaibleDevtools(bootProject);
-					if (BootPropertyTester.hasDevTools(bootProject)) {
+					if (hasDevtoolsDependency(bootProject)) {
 						bootProject.removeMavenDependency(devtools.getMavenId());
 					} else {
 						if (devtools!=null) {
@@ -116,6 +116,8 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 
 	private final AtomicBoolean updatePosted = new AtomicBoolean(false);
 
+	private DiagramChangeTracker changeTracker;
+
 	public AbstractConfigGraphicalEditor() {
 		super();
 	}
@@ -256,6 +258,10 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 		if (transferTargetListener != null) {
 			getGraphicalViewer().removeDropTargetListener(transferTargetListener);
 		}
+		if (changeTracker != null) {
+			changeTracker.uninstall();
+			changeTracker = null;
+		}
 		super.dispose();
 	}
 
@@ -387,6 +393,7 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 	@Override
 	protected void initializeGraphicalViewer() {
 		getGraphicalViewer().setContents(diagram);
+		installChangeTracker();
 		transferTargetListener = new TemplateTransferDropTargetListener(getGraphicalViewer());
 		getGraphicalViewer().addDropTargetListener(transferTargetListener);
 	}
@@ -398,6 +405,28 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 		getPaletteViewer().addDragSourceListener(transferSourceListener);
 	}
 
+	/**
+	 * Starts recording DOM changes of the current document, replacing the
+	 * tracker of a previous document.
+	 * @return <code>true</code> if a new tracker was installed, in which case
+	 * earlier changes are unknown
+	 */
+	private boolean installChangeTracker() {
+		IDOMDocument document = editor.getDomDocument();
+		if (changeTracker != null && changeTracker.getDocument() == document) {
+			return false;
+		}
+		if (changeTracker != null) {
+			changeTracker.uninstall();
+			changeTracker = null;
+		}
+		if (document != null) {
+			changeTracker = new DiagramChangeTracker(document);
+			changeTracker.install();
+		}
+		return true;
+	}
+
 	public void modelUpdated() {
 		if (validateOnModelUpdate) {
 			if (!updatePosted.get()) {
@@ -415,7 +444,7 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 							UIJob refreshUiJob = new UIJob("Refresh diagram") {
 								@Override
 								public IStatus runInUIThread(IProgressMonitor monitor) {
-									refreshAll();
+									refreshChanged();
 									return Status.OK_STATUS;
 								}
 							};
@@ -431,7 +460,29 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 			}
 		}
 		else {
-			refreshAll();
+			refreshChanged();
+		}
+	}
+
+	/**
+	 * Refreshes the model from XML, and then only the controllers and views of
+	 * the elements changed since the last refresh.
+	 */
+	protected void refreshChanged() {
+		ActivityDiagramPart part = (ActivityDiagramPart) getGraphicalViewer().getContents();
+		if (part == null || !part.isActive()) {
+			return;
+		}
+		if (installChangeTracker() || changeTracker == null) {
+			part.refreshAll();
+			return;
+		}
+		DiagramChangeTracker.Changes changes = changeTracker.drain();
+		if (changes.isStructural()) {
+			part.refreshAll();
+		}
+		else if (!changes.isEmpty()) {
+			part.refreshChanged(changes.getChangedNodes());
 		}
 	}
 
@@ -441,6 +492,9 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 	protected void refreshAll() {
 		ActivityDiagramPart part = (ActivityDiagramPart) getGraphicalViewer().getContents();
 		if (part != null && part.isActive()) {
+			if (changeTracker != null) {
+				changeTracker.drain();
+			}
 			part.refreshAll();
 		}
 	}
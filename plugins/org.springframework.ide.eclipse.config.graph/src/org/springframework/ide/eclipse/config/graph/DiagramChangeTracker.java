@@ -0,0 +1,205 @@
+/*******************************************************************************
+ *  Copyright (c) 2020 Pivotal Software Inc.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Pivotal Software Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.config.graph;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.wst.sse.core.internal.provisional.INodeAdapter;
+import org.eclipse.wst.sse.core.internal.provisional.INodeNotifier;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Collects the DOM nodes changed in a config file between two diagram
+ * refreshes, so that the graphical editor only needs to update the parts of
+ * the diagram built from these nodes.
+ * <p>
+ * The tracker is attached as an {@link INodeAdapter} to every node of the
+ * document. Attribute and text changes are recorded against their owning
+ * element; elements being added or removed, or the document being re-parsed,
+ * mark the pending changes as structural.
+ * @since 3.9.13
+ */
+@SuppressWarnings("restriction")
+public class DiagramChangeTracker implements INodeAdapter {
+
+	/**
+	 * The DOM changes recorded since the last call to
+	 * {@link DiagramChangeTracker#drain()}.
+	 */
+	public static class Changes {
+
+		private final Set<Node> nodes;
+
+		private final boolean structural;
+
+		private Changes(Set<Node> nodes, boolean structural) {
+			this.nodes = nodes;
+			this.structural = structural;
+		}
+
+		/**
+		 * Returns the elements whose attributes or text content changed.
+		 */
+		public Set<Node> getChangedNodes() {
+			return nodes;
+		}
+
+		/**
+		 * Returns <code>true</code> if elements were added or removed, in which
+		 * case the changed nodes are not a complete description of the change.
+		 */
+		public boolean isStructural() {
+			return structural;
+		}
+
+		public boolean isEmpty() {
+			return !structural && nodes.isEmpty();
+		}
+	}
+
+	/**
+	 * Above this many changed elements a complete refresh is cheaper than
+	 * mapping each of them to the diagram.
+	 */
+	private static final int MAX_CHANGED_NODES = 50;
+
+	private final IDOMDocument document;
+
+	private Set<Node> changedNodes = new HashSet<Node>();
+
+	private boolean structural;
+
+	public DiagramChangeTracker(IDOMDocument document) {
+		this.document = document;
+	}
+
+	private void adapt(Node node) {
+		if (node instanceof INodeNotifier) {
+			((INodeNotifier) node).addAdapter(this);
+		}
+		NodeList children = node.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			adapt(children.item(i));
+		}
+	}
+
+	/**
+	 * Returns the changes recorded since the previous call and starts
+	 * recording anew.
+	 */
+	public synchronized Changes drain() {
+		Changes changes;
+		if (structural || changedNodes.size() > MAX_CHANGED_NODES) {
+			changes = new Changes(Collections.<Node> emptySet(), true);
+		}
+		else {
+			changes = new Changes(changedNodes, false);
+		}
+		changedNodes = new HashSet<Node>();
+		structural = false;
+		return changes;
+	}
+
+	public IDOMDocument getDocument() {
+		return document;
+	}
+
+	public void install() {
+		adapt(document);
+	}
+
+	public boolean isAdapterForType(Object type) {
+		return type == DiagramChangeTracker.class;
+	}
+
+	public synchronized void notifyChanged(INodeNotifier notifier, int eventType, Object changedFeature,
+			Object oldValue, Object newValue, int pos) {
+		if (!(notifier instanceof Node)) {
+			return;
+		}
+		Node node = (Node) notifier;
+		switch (eventType) {
+		case INodeNotifier.ADD:
+			if (newValue instanceof Node && !(newValue instanceof Attr)) {
+				adapt((Node) newValue);
+				recordChild(node, (Node) newValue);
+			}
+			else {
+				recordNode(node);
+			}
+			break;
+		case INodeNotifier.REMOVE:
+			if (oldValue instanceof Node && !(oldValue instanceof Attr)) {
+				recordChild(node, (Node) oldValue);
+			}
+			else {
+				recordNode(node);
+			}
+			break;
+		case INodeNotifier.CHANGE:
+		case INodeNotifier.CONTENT_CHANGED:
+			recordNode(node);
+			break;
+		default:
+			structural = true;
+			break;
+		}
+	}
+
+	private void recordChild(Node parent, Node child) {
+		if (child.getNodeType() == Node.ELEMENT_NODE) {
+			structural = true;
+		}
+		else {
+			recordNode(parent);
+		}
+	}
+
+	private void recordNode(Node node) {
+		while (node != null && node.getNodeType() != Node.ELEMENT_NODE) {
+			if (node.getNodeType() == Node.DOCUMENT_NODE) {
+				structural = true;
+				return;
+			}
+			node = node.getParentNode();
+		}
+		if (node == null) {
+			structural = true;
+		}
+		else {
+			changedNodes.add(node);
+		}
+	}
+
+	public void uninstall() {
+		unadapt(document);
+		synchronized (this) {
+			changedNodes = new HashSet<Node>();
+			structural = false;
+		}
+	}
+
+	private void unadapt(Node node) {
+		if (node instanceof INodeNotifier) {
+			((INodeNotifier) node).removeAdapter(this);
+		}
+		NodeList children = node.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			unadapt(children.item(i));
+		}
+	}
+
+}
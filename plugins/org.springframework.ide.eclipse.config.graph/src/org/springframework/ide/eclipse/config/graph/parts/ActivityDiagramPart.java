@@ -10,10 +10,14 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.config.graph.parts;
 
+import java.util.ArrayList;
 import java.util.EventObject;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.draw2d.ConnectionLayer;
 import org.eclipse.draw2d.FanRouter;
@@ -24,6 +28,7 @@ import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.ShortestPathConnectionRouter;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.graph.CompoundDirectedGraph;
+import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPolicy;
 import org.eclipse.gef.LayerConstants;
 import org.eclipse.gef.commands.CommandStackListener;
@@ -37,6 +42,9 @@ import org.springframework.ide.eclipse.config.core.preferences.SpringConfigPrefe
 import org.springframework.ide.eclipse.config.graph.ConfigGraphPlugin;
 import org.springframework.ide.eclipse.config.graph.model.AbstractConfigGraphDiagram;
 import org.springframework.ide.eclipse.config.graph.model.Activity;
+import org.springframework.ide.eclipse.config.graph.model.StructuredActivity;
+import org.springframework.ide.eclipse.config.graph.model.Transition;
+import org.w3c.dom.Node;
 
 
 /**
@@ -218,6 +226,77 @@ public abstract class ActivityDiagramPart extends StructuredActivityPart impleme
 		super.refresh();
 	}
 
+	/**
+	 * Refreshes the model from XML, but only refreshes the parts whose
+	 * elements are among the given changed nodes, or whose name, children or
+	 * transitions differ after the refresh. Falls back to refreshing all parts
+	 * if activities were added to or removed from the diagram.
+	 * @param changedNodes the DOM elements that changed since the last refresh
+	 */
+	public void refreshChanged(Set<Node> changedNodes) {
+		AbstractConfigGraphDiagram diagram = (AbstractConfigGraphDiagram) getModelElement();
+		List<Activity> oldActivities = new ArrayList<Activity>(diagram.getModelRegistry());
+		Map<Activity, ActivityState> oldStates = new HashMap<Activity, ActivityState>();
+		for (Activity activity : oldActivities) {
+			oldStates.put(activity, new ActivityState(activity));
+		}
+
+		diagram.refreshModelFromXml();
+
+		List<Activity> activities = diagram.getModelRegistry();
+		if (!oldActivities.equals(activities)) {
+			super.refresh();
+			refreshChildParts();
+			return;
+		}
+
+		Set<Activity> affected = new LinkedHashSet<Activity>();
+		Map<Node, Activity> activitiesByInput = new HashMap<Node, Activity>();
+		for (Activity activity : activities) {
+			activitiesByInput.put(activity.getInput(), activity);
+			if (!new ActivityState(activity).equals(oldStates.get(activity))) {
+				affected.add(activity);
+			}
+		}
+		for (Node node : changedNodes) {
+			while (node != null && !activitiesByInput.containsKey(node)) {
+				node = node.getParentNode();
+			}
+			if (node != null) {
+				affected.add(activitiesByInput.get(node));
+			}
+		}
+
+		Map<?, ?> partRegistry = getViewer().getEditPartRegistry();
+		for (Activity activity : affected) {
+			Object part = partRegistry.get(activity);
+			if (part instanceof ActivityPart) {
+				refreshWithConnections((ActivityPart) part);
+			}
+		}
+	}
+
+	private void refreshChildParts() {
+		List<?> children = getChildren();
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) instanceof ActivityPart) {
+				((ActivityPart) children.get(i)).refreshAll();
+			}
+		}
+	}
+
+	private void refreshWithConnections(ActivityPart part) {
+		part.refresh();
+		List<?> sources = part.getSourceConnections();
+		for (int i = 0; i < sources.size(); i++) {
+			((EditPart) sources.get(i)).refresh();
+		}
+		List<?> targets = part.getTargetConnections();
+		for (int i = 0; i < targets.size(); i++) {
+			((EditPart) targets.get(i)).refresh();
+		}
+	}
+
 	@Override
 	protected void refreshVisuals() {
 		// no-op
@@ -276,4 +355,47 @@ public abstract class ActivityDiagramPart extends StructuredActivityPart impleme
 		return true;
 	}
 
+	/**
+	 * The parts of an activity that its edit part reflects, captured to find
+	 * the activities affected by a refresh from XML.
+	 */
+	private static class ActivityState {
+
+		private final String name;
+
+		private final List<Activity> children;
+
+		private final List<Transition> incomings;
+
+		private final List<Transition> outgoings;
+
+		ActivityState(Activity activity) {
+			name = activity.getName();
+			if (activity instanceof StructuredActivity) {
+				children = new ArrayList<Activity>(((StructuredActivity) activity).getChildren());
+			}
+			else {
+				children = null;
+			}
+			incomings = new ArrayList<Transition>(activity.getIncomingTransitions());
+			outgoings = new ArrayList<Transition>(activity.getOutgoingTransitions());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ActivityState)) {
+				return false;
+			}
+			ActivityState other = (ActivityState) obj;
+			return (name == null ? other.name == null : name.equals(other.name))
+					&& (children == null ? other.children == null : children.equals(other.children))
+					&& incomings.equals(other.incomings) && outgoings.equals(other.outgoings);
+		}
+
+		@Override
+		public int hashCode() {
+			return outgoings.hashCode();
+		}
+	}
+
 }
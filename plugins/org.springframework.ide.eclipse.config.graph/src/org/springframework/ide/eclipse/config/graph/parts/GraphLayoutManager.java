@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.config.graph.parts;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,9 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.graph.CompoundDirectedGraph;
 import org.eclipse.draw2d.graph.CompoundDirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.Subgraph;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 
 /**
@@ -33,6 +37,16 @@ class GraphLayoutManager extends AbstractLayout {
 
 	private final int direction;
 
+	/**
+	 * The graph of the last layout, its results are applied again as long as
+	 * the parts, their sizes and connections don't change.
+	 */
+	private CompoundDirectedGraph lastGraph;
+
+	private Map<AbstractGraphicalEditPart, Object> lastPartsToNodes;
+
+	private List<Object> lastSignature;
+
 	GraphLayoutManager(ActivityDiagramPart diagram, int direction) {
 		this.diagram = diagram;
 		this.direction = direction;
@@ -63,9 +77,50 @@ class GraphLayoutManager extends AbstractLayout {
 		Map<AbstractGraphicalEditPart, Object> partsToNodes = new HashMap<AbstractGraphicalEditPart, Object>();
 		diagram.contributeNodesToGraph(graph, null, partsToNodes);
 		diagram.contributeEdgesToGraph(graph, partsToNodes);
-		new CompoundDirectedGraphLayout().visit(graph);
+
+		List<Object> signature = getSignature(graph);
+		if (lastGraph != null && signature.equals(lastSignature)) {
+			graph = lastGraph;
+			partsToNodes = lastPartsToNodes;
+		}
+		else {
+			new CompoundDirectedGraphLayout().visit(graph);
+			lastGraph = graph;
+			lastPartsToNodes = partsToNodes;
+			lastSignature = signature;
+		}
 		diagram.applyGraphResults(graph, partsToNodes);
 		diagram.setBoundsOnModel();
 	}
 
+	/**
+	 * Returns the input of the graph layout: the parts contributing nodes and
+	 * edges, and the sizes and spacing of their nodes.
+	 */
+	private List<Object> getSignature(CompoundDirectedGraph graph) {
+		List<Object> signature = new ArrayList<Object>();
+		for (int i = 0; i < graph.nodes.size(); i++) {
+			Node node = graph.nodes.getNode(i);
+			signature.add(node.data);
+			signature.add(node.getParent() != null ? node.getParent().data : null);
+			signature.add(new Dimension(node.width, node.height));
+			signature.add(node.getPadding());
+			signature.add(node.incomingOffset);
+			signature.add(node.outgoingOffset);
+			if (node instanceof Subgraph) {
+				Subgraph subgraph = (Subgraph) node;
+				signature.add(subgraph.insets);
+				signature.add(subgraph.innerPadding);
+			}
+		}
+		for (int i = 0; i < graph.edges.size(); i++) {
+			Edge edge = graph.edges.getEdge(i);
+			signature.add(edge.data);
+			signature.add(edge.source.data);
+			signature.add(edge.target.data);
+			signature.add(edge.weight);
+		}
+		return signature;
+	}
+
 }
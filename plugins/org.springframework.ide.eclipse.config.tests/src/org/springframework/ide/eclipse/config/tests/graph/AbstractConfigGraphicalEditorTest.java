@@ -10,17 +10,21 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.config.tests.graph;
 
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
 import org.springframework.ide.eclipse.config.core.schemas.BatchSchemaConstants;
 import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
 import org.springframework.ide.eclipse.config.core.schemas.IntegrationSchemaConstants;
 import org.springframework.ide.eclipse.config.core.schemas.UtilSchemaConstants;
 import org.springframework.ide.eclipse.config.graph.AbstractConfigGraphicalEditor;
+import org.springframework.ide.eclipse.config.graph.DiagramChangeTracker;
 import org.springframework.ide.eclipse.config.tests.AbstractConfigTestCase;
+import org.w3c.dom.Element;
 
 /**
  * @author Leo Dos Santos
  * @author Tomasz Zarna
  */
+@SuppressWarnings("restriction")
 public class AbstractConfigGraphicalEditorTest extends AbstractConfigTestCase {
 
 	public void testBatchFile() throws Exception {
@@ -53,6 +57,34 @@ public class AbstractConfigGraphicalEditorTest extends AbstractConfigTestCase {
 		assertNull(util);
 	}
 
+	public void testChangeTracker() throws Exception {
+		enableGefPages(true);
+		cEditor = openFileInEditor("src/batch-config.xml");
+		assertNotNull("Could not open a configuration editor.", cEditor);
+
+		IDOMDocument document = cEditor.getDomDocument();
+		DiagramChangeTracker tracker = new DiagramChangeTracker(document);
+		tracker.install();
+		try {
+			assertTrue(tracker.drain().isEmpty());
+
+			Element step = (Element) document.getElementsByTagName(BatchSchemaConstants.ELEM_STEP).item(0);
+			step.setAttribute(BatchSchemaConstants.ATTR_NEXT, "limitDecision");
+			DiagramChangeTracker.Changes changes = tracker.drain();
+			assertFalse(changes.isStructural());
+			assertEquals(1, changes.getChangedNodes().size());
+			assertTrue(changes.getChangedNodes().contains(step));
+			assertTrue(tracker.drain().isEmpty());
+
+			Element job = (Element) step.getParentNode();
+			job.appendChild(document.createElement(BatchSchemaConstants.ELEM_STEP));
+			assertTrue(tracker.drain().isStructural());
+		}
+		finally {
+			tracker.uninstall();
+		}
+	}
+
 	public void testIntegrationFile() throws Exception {
 		enableGefPages(true);
 		cEditor = openFileInEditor("src/integration-config.xml");
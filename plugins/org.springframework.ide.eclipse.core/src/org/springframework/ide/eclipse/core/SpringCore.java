@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2014 Spring IDE Developers
+ * Copyright (c) 2005, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,13 +23,16 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 import org.springframework.ide.eclipse.core.internal.model.SpringModel;
+import org.springframework.ide.eclipse.core.io.ClassResourceIndex;
 import org.springframework.ide.eclipse.core.java.ITypeStructureCache;
+import org.springframework.ide.eclipse.core.java.JavaTypeCache;
 import org.springframework.ide.eclipse.core.java.TypeStructureCache;
 import org.springframework.ide.eclipse.core.java.typehierarchy.BytecodeTypeHierarchyClassReaderFactory;
 import org.springframework.ide.eclipse.core.java.typehierarchy.DirectTypeHierarchyElementCacheFactory;
 import org.springframework.ide.eclipse.core.java.typehierarchy.TypeHierarchyEngine;
 import org.springframework.ide.eclipse.core.java.typehierarchy.TypeHierarchyResourceChangeListener;
 import org.springframework.ide.eclipse.core.model.ISpringModel;
+import org.springframework.ide.eclipse.core.model.validation.ValidationStatistics;
 
 /**
  * Central access point for the Spring IDE core plug-in (id <code>"org.springframework.ide.eclipse.core"</code>).
@@ -84,6 +87,12 @@ public class SpringCore extends Plugin {
 	private ResourceBundle resourceBundle;
 
 	private static TypeStructureCache typeStructureCache;
+
+	private static JavaTypeCache javaTypeCache;
+
+	private static ClassResourceIndex classResourceIndex;
+
+	private static ValidationStatistics validationStatistics;
 	
 	private static TypeHierarchyEngine typeHierarchyEngine;
 
@@ -96,6 +105,8 @@ public class SpringCore extends Plugin {
 		plugin = this;
 		model = new SpringModel();
 		typeStructureCache = new TypeStructureCache();
+		javaTypeCache = new JavaTypeCache();
+		classResourceIndex = new ClassResourceIndex();
 
 		typeHierarchyEngine = new TypeHierarchyEngine(true);
 		typeHierarchyEngine.setClassReaderFactory(new BytecodeTypeHierarchyClassReaderFactory());
@@ -117,6 +128,11 @@ public class SpringCore extends Plugin {
 		super.start(context);
 		model.startup();
 		typeStructureCache.startup();
+		javaTypeCache.startup();
+		classResourceIndex.startup();
+		validationStatistics = new ValidationStatistics(isDebug(ValidationStatistics.DEBUG_OPTION),
+				isDebug(ValidationStatistics.ALLOCATION_DEBUG_OPTION),
+				getStateLocation().append("validation-statistics.txt").toFile());
 		// install default for incremtal compilation
 		plugin.getPluginPreferences().setDefault(USE_CHANGE_DETECTION_IN_JAVA_FILES, true);
 		// non.locking classloader is not enabled by default
@@ -127,6 +143,8 @@ public class SpringCore extends Plugin {
 	public void stop(BundleContext context) throws Exception {
 		model.shutdown();
 		typeStructureCache.shutdown();
+		javaTypeCache.shutdown();
+		classResourceIndex.shutdown();
 		super.stop(context);
 	}
 
@@ -148,6 +166,31 @@ public class SpringCore extends Plugin {
 		return typeStructureCache;
 	}
 
+	/**
+	 * Returns the cache used by {@link org.springframework.ide.eclipse.core.java.JdtUtils#getJavaType(org.eclipse.core.resources.IProject, String)}.
+	 * @since 3.9.13
+	 */
+	public static final JavaTypeCache getJavaTypeCache() {
+		return javaTypeCache;
+	}
+
+	/**
+	 * Returns the index used by {@link org.springframework.ide.eclipse.core.io.EclipsePathMatchingResourcePatternResolver} to resolve component scanning patterns.
+	 * @since 3.9.13
+	 */
+	public static final ClassResourceIndex getClassResourceIndex() {
+		return classResourceIndex;
+	}
+
+	/**
+	 * Returns the statistics of validation rule invocations, which are only recorded if the debug option
+	 * {@link ValidationStatistics#DEBUG_OPTION} is enabled.
+	 * @since 3.9.13
+	 */
+	public static final ValidationStatistics getValidationStatistics() {
+		return validationStatistics;
+	}
+
 	public static final TypeHierarchyEngine getTypeHierarchyEngine() {
 		return typeHierarchyEngine;
 	}
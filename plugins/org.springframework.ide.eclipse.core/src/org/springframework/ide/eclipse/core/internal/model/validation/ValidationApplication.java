@@ -0,0 +1,490 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.internal.model.validation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.core.JavaCore;
+import org.springframework.ide.eclipse.core.MarkerUtils;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.SpringCoreUtils;
+import org.springframework.ide.eclipse.core.internal.project.SpringProjectContributionManager;
+import org.springframework.ide.eclipse.core.project.IProjectContributionEventListener;
+import org.springframework.ide.eclipse.core.project.ProjectContributionEventListenerAdapter;
+import org.springframework.ide.eclipse.core.project.ProjectContributionEventListenerFactory;
+
+/**
+ * Headless application which validates Spring projects without a workbench, e.g. on a CI server:
+ *
+ * <pre>
+ * eclipse -nosplash -application org.springframework.ide.eclipse.core.validation -data &lt;workspace&gt;
+ *     -import &lt;dir&gt; [-import &lt;dir&gt; ...] [-projects &lt;name,...&gt;] [-format jsonl|sarif] [-output &lt;file&gt;]
+ *     [-failOn error|warning|info|never] [-threads &lt;count&gt;] [-noJavaBuild]
+ * </pre>
+ *
+ * All projects found below the imported directories are imported into the workspace, unless they already are. The
+ * Java projects are built and every Spring project (or every one of the given projects) is then validated by running
+ * the same builders and validators as the Spring project builder, several projects in parallel. Problems are written to
+ * the report as soon as a validator is done with a project, along with the time it took.
+ * <p>
+ * The workspace is saved at the end, so reusing the same <code>-data</code> directory keeps the model and class path
+ * caches for the next run.
+ * <p>
+ * Exit codes: {@link #EXIT_OK}, {@link #EXIT_PROBLEMS} if problems with at least the <code>-failOn</code> severity were
+ * found, {@link #EXIT_USAGE} and {@link #EXIT_FAILURE}.
+ * @since 3.9.13
+ */
+public class ValidationApplication implements IApplication {
+
+	public static final Integer EXIT_PROBLEMS = Integer.valueOf(1);
+
+	public static final Integer EXIT_USAGE = Integer.valueOf(2);
+
+	public static final Integer EXIT_FAILURE = Integer.valueOf(3);
+
+	/** Maximum time to wait for background jobs (e.g. class path initialization) before validating */
+	private static final long JOBS_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+	private static final String PROJECT_DESCRIPTION = IProjectDescription.DESCRIPTION_FILE_NAME;
+
+	private static final Map<String, Integer> FAIL_ON_SEVERITIES = new HashMap<String, Integer>();
+
+	static {
+		FAIL_ON_SEVERITIES.put("error", IMarker.SEVERITY_ERROR);
+		FAIL_ON_SEVERITIES.put("warning", IMarker.SEVERITY_WARNING);
+		FAIL_ON_SEVERITIES.put("info", IMarker.SEVERITY_INFO);
+		FAIL_ON_SEVERITIES.put("never", Integer.MAX_VALUE);
+	}
+
+	private final IProgressMonitor monitor = new NullProgressMonitor();
+
+	private final List<File> importDirectories = new ArrayList<File>();
+
+	private final Set<String> projectNames = new LinkedHashSet<String>();
+
+	private String format = ValidationReport.JSON_LINES;
+
+	private File output;
+
+	private int failOnSeverity = IMarker.SEVERITY_ERROR;
+
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	private boolean javaBuild = true;
+
+	public Object start(IApplicationContext context) throws Exception {
+		String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		String usageError = parseArguments(args != null ? args : new String[0]);
+		if (usageError != null) {
+			printUsage(usageError);
+			return EXIT_USAGE;
+		}
+
+		long start = System.nanoTime();
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		boolean autoBuilding = description.isAutoBuilding();
+		Writer writer = null;
+		try {
+			// Builds are triggered explicitly; auto-building would only validate the imported projects twice
+			setAutoBuilding(workspace, false);
+
+			Set<IProject> projects = importProjects(workspace);
+			List<IProject> springProjects = getSpringProjects(workspace, projects);
+			if (springProjects == null) {
+				return EXIT_USAGE;
+			}
+
+			if (javaBuild) {
+				buildJavaProjects(workspace);
+			}
+			waitForJobs();
+
+			writer = (output != null ? new OutputStreamWriter(new FileOutputStream(output), "UTF-8")
+					: new OutputStreamWriter(System.out, "UTF-8"));
+			ValidationReport report = ValidationReport.create(format, writer);
+			report.start();
+			boolean successful = validate(springProjects, report);
+			Integer exitCode = getExitCode(successful, report, failOnSeverity);
+			report.finish(successful, exitCode.intValue(), System.nanoTime() - start);
+			if (report.getFailure() != null) {
+				SpringCore.log("Failed to write validation report", report.getFailure());
+				return EXIT_FAILURE;
+			}
+			return exitCode;
+		}
+		catch (Exception e) {
+			SpringCore.log("Failed to validate projects", e);
+			return EXIT_FAILURE;
+		}
+		finally {
+			if (writer != null) {
+				try {
+					if (output != null) {
+						writer.close();
+					}
+					else {
+						writer.flush();
+					}
+				}
+				catch (IOException e) {
+					SpringCore.log(e);
+				}
+			}
+			setAutoBuilding(workspace, autoBuilding);
+			workspace.save(true, null);
+		}
+	}
+
+	/**
+	 * Returns the severity problems must have to fail a run for the given <code>-failOn</code> value, or
+	 * <code>null</code> if the value is not supported. Runs never fail for a severity above
+	 * {@link IMarker#SEVERITY_ERROR}.
+	 */
+	public static Integer getFailOnSeverity(String value) {
+		return FAIL_ON_SEVERITIES.get(value);
+	}
+
+	/**
+	 * Returns the exit code of a run with the problems of the given report.
+	 * @param successful <code>false</code> if some projects could not be validated
+	 */
+	public static Integer getExitCode(boolean successful, ValidationReport report, int failOnSeverity) {
+		if (!successful) {
+			return EXIT_FAILURE;
+		}
+		return (report.getProblemCount(failOnSeverity) > 0 ? EXIT_PROBLEMS : EXIT_OK);
+	}
+
+	public void stop() {
+		monitor.setCanceled(true);
+	}
+
+	private String parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if ("-noJavaBuild".equals(arg)) {
+				javaBuild = false;
+				continue;
+			}
+			else if (!Arrays.asList("-import", "-projects", "-format", "-output", "-failOn", "-threads").contains(arg)) {
+				// Ignore arguments of the launcher
+				continue;
+			}
+			if (i + 1 == args.length) {
+				return "Missing value of " + arg;
+			}
+			String value = args[++i];
+			if ("-import".equals(arg)) {
+				File directory = new File(value);
+				if (!directory.exists()) {
+					return "Directory to import does not exist: " + value;
+				}
+				importDirectories.add(directory);
+			}
+			else if ("-projects".equals(arg)) {
+				for (String name : value.split(",")) {
+					if (name.trim().length() > 0) {
+						projectNames.add(name.trim());
+					}
+				}
+			}
+			else if ("-format".equals(arg)) {
+				if (!ValidationReport.JSON_LINES.equals(value) && !ValidationReport.SARIF.equals(value)) {
+					return "Unsupported format: " + value;
+				}
+				format = value;
+			}
+			else if ("-output".equals(arg)) {
+				output = new File(value);
+			}
+			else if ("-failOn".equals(arg)) {
+				Integer severity = getFailOnSeverity(value);
+				if (severity == null) {
+					return "Unsupported severity: " + value;
+				}
+				failOnSeverity = severity.intValue();
+			}
+			else if ("-threads".equals(arg)) {
+				try {
+					threads = Integer.parseInt(value);
+				}
+				catch (NumberFormatException e) {
+					threads = 0;
+				}
+				if (threads < 1) {
+					return "Invalid number of threads: " + value;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void printUsage(String error) {
+		PrintStream err = System.err;
+		err.println(error);
+		err.println("Arguments: [-import <dir>]... [-projects <name,...>] [-format jsonl|sarif] [-output <file>]"
+				+ " [-failOn error|warning|info|never] [-threads <count>] [-noJavaBuild]");
+	}
+
+	private void setAutoBuilding(IWorkspace workspace, boolean autoBuilding) throws CoreException {
+		IWorkspaceDescription description = workspace.getDescription();
+		if (description.isAutoBuilding() != autoBuilding) {
+			description.setAutoBuilding(autoBuilding);
+			workspace.setDescription(description);
+		}
+	}
+
+	/**
+	 * Imports the projects below the import directories that are not part of the workspace yet, opens and refreshes
+	 * them and returns all imported projects.
+	 */
+	private Set<IProject> importProjects(IWorkspace workspace) throws CoreException {
+		Set<IProject> projects = new LinkedHashSet<IProject>();
+		List<File> descriptionFiles = new ArrayList<File>();
+		for (File directory : importDirectories) {
+			findProjectDescriptions(directory, descriptionFiles);
+		}
+
+		IPath workspaceLocation = workspace.getRoot().getLocation();
+		for (File descriptionFile : descriptionFiles) {
+			IProjectDescription description = workspace.loadProjectDescription(new Path(descriptionFile
+					.getAbsolutePath()));
+			IProject project = workspace.getRoot().getProject(description.getName());
+			if (!project.exists()) {
+				IPath location = new Path(descriptionFile.getParentFile().getAbsolutePath());
+				if (workspaceLocation.append(description.getName()).equals(location)) {
+					// Projects in the default location must not have an explicit location
+					description.setLocation(null);
+				}
+				else {
+					description.setLocation(location);
+				}
+				project.create(description, monitor);
+			}
+			projects.add(project);
+		}
+
+		for (IProject project : projects) {
+			if (!project.isOpen()) {
+				project.open(monitor);
+			}
+			project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+		}
+		return projects;
+	}
+
+	private void findProjectDescriptions(File directory, List<File> descriptionFiles) {
+		File descriptionFile = new File(directory, PROJECT_DESCRIPTION);
+		if (descriptionFile.isFile()) {
+			// Nested projects are not supported by the workspace
+			descriptionFiles.add(descriptionFile);
+			return;
+		}
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory() && !file.getName().startsWith(".")) {
+					findProjectDescriptions(file, descriptionFiles);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the open Spring projects to validate: the ones given by name, or else the imported ones, or else all of
+	 * the workspace. Returns <code>null</code> if a project given by name does not exist.
+	 */
+	private List<IProject> getSpringProjects(IWorkspace workspace, Set<IProject> importedProjects) {
+		Set<IProject> candidates = new LinkedHashSet<IProject>();
+		if (!projectNames.isEmpty()) {
+			for (String name : projectNames) {
+				IProject project = workspace.getRoot().getProject(name);
+				if (!project.exists()) {
+					printUsage("Project does not exist: " + name);
+					return null;
+				}
+				candidates.add(project);
+			}
+		}
+		else if (!importedProjects.isEmpty()) {
+			candidates.addAll(importedProjects);
+		}
+		else {
+			candidates.addAll(Arrays.asList(workspace.getRoot().getProjects()));
+		}
+
+		List<IProject> projects = new ArrayList<IProject>();
+		for (IProject project : candidates) {
+			if (project.isOpen() && SpringCoreUtils.isSpringProject(project)) {
+				projects.add(project);
+			}
+		}
+		return projects;
+	}
+
+	/**
+	 * Builds all open Java projects of the workspace in build order, so that validators find up-to-date class files.
+	 */
+	private void buildJavaProjects(IWorkspace workspace) throws CoreException {
+		List<IProject> javaProjects = new ArrayList<IProject>();
+		for (IProject project : workspace.getRoot().getProjects()) {
+			if (project.isOpen() && project.hasNature(JavaCore.NATURE_ID)) {
+				javaProjects.add(project);
+			}
+		}
+		IProject[] orderedProjects = workspace.computeProjectOrder(
+				javaProjects.toArray(new IProject[javaProjects.size()])).projects;
+		for (IProject project : orderedProjects) {
+			project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, JavaCore.BUILDER_ID, null, monitor);
+		}
+	}
+
+	private void waitForJobs() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + JOBS_TIMEOUT;
+		while (!Job.getJobManager().isIdle() && System.currentTimeMillis() < deadline && !monitor.isCanceled()) {
+			Thread.sleep(100);
+		}
+	}
+
+	/**
+	 * Validates the given projects in parallel and returns <code>false</code> if some could not be validated.
+	 */
+	private boolean validate(List<IProject> projects, final ValidationReport report) throws InterruptedException {
+		final AtomicBoolean successful = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, projects.size())));
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (final IProject project : projects) {
+				futures.add(executor.submit(new Runnable() {
+					public void run() {
+						if (monitor.isCanceled()) {
+							successful.set(false);
+							return;
+						}
+						try {
+							// Listeners carry state of a single build, so each project gets its own instances
+							List<IProjectContributionEventListener> listeners = ProjectContributionEventListenerFactory
+									.createProjectContributionEventListeners();
+							listeners.add(new ReportingListener(project, report));
+							new SpringProjectContributionManager().contribute(project,
+									IncrementalProjectBuilder.FULL_BUILD, null, listeners, monitor);
+						}
+						catch (Exception e) {
+							SpringCore.log("Failed to validate project '" + project.getName() + "'", e);
+							successful.set(false);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException e) {
+					SpringCore.log(e.getCause());
+					successful.set(false);
+				}
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		return successful.get() && !monitor.isCanceled();
+	}
+
+	/**
+	 * Writes the problems found by each validator and its timing to the report once the validator is done.
+	 */
+	private static class ReportingListener extends ProjectContributionEventListenerAdapter {
+
+		private final IProject project;
+
+		private final ValidationReport report;
+
+		private long validatorStart;
+
+		public ReportingListener(IProject project, ValidationReport report) {
+			this.project = project;
+			this.report = report;
+		}
+
+		@Override
+		public void startValidator(ValidatorDefinition contributor, Set<IResource> affectedResources,
+				IProgressMonitor monitor) {
+			validatorStart = System.nanoTime();
+		}
+
+		@Override
+		public void finishValidator(ValidatorDefinition contributor, Set<IResource> affectedResources,
+				IProgressMonitor monitor) {
+			long nanos = System.nanoTime() - validatorStart;
+			Set<String> originatingResources = new HashSet<String>();
+			for (IResource resource : affectedResources) {
+				originatingResources.add(resource.getFullPath().toString());
+			}
+
+			int problemCount = 0;
+			try {
+				// Validators may put markers on resources of other projects, e.g. on imported configs, too
+				IMarker[] markers = project.getWorkspace().getRoot()
+						.findMarkers(contributor.getMarkerId(), true, IResource.DEPTH_INFINITE);
+				for (IMarker marker : markers) {
+					String originatingResource = marker.getAttribute(MarkerUtils.ORIGINATING_RESOURCE_KEY, null);
+					if (originatingResource != null && originatingResources.contains(originatingResource)) {
+						report.problem(contributor, marker);
+						problemCount++;
+					}
+				}
+			}
+			catch (CoreException e) {
+				SpringCore.log(e);
+			}
+			report.timing(project, contributor, affectedResources.size(), problemCount, nanos);
+		}
+	}
+
+}
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.internal.model.validation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.springframework.ide.eclipse.core.model.validation.IValidationProblemMarker;
+
+/**
+ * Machine-readable report of a {@link ValidationApplication} run. Problems are written as soon as they are reported,
+ * so that a report can be followed while validation is still running.
+ * <p>
+ * Two formats are supported: {@link #JSON_LINES} writes one JSON object per problem, per validator timing and a final
+ * summary line; {@link #SARIF} writes a single SARIF 2.1.0 log whose results are streamed and whose invocation,
+ * carrying the validator timings, is written at the end.
+ * <p>
+ * All methods can be called from several threads concurrently.
+ * @since 3.9.13
+ */
+public abstract class ValidationReport {
+
+	public static final String JSON_LINES = "jsonl";
+
+	public static final String SARIF = "sarif";
+
+	protected final Writer writer;
+
+	private int errorCount;
+
+	private int warningCount;
+
+	private int infoCount;
+
+	private IOException failure;
+
+	protected ValidationReport(Writer writer) {
+		this.writer = writer;
+	}
+
+	/**
+	 * Creates a report in the given format or returns <code>null</code> if the format is not supported.
+	 */
+	public static ValidationReport create(String format, Writer writer) {
+		if (JSON_LINES.equals(format)) {
+			return new JsonLinesReport(writer);
+		}
+		else if (SARIF.equals(format)) {
+			return new SarifReport(writer);
+		}
+		return null;
+	}
+
+	public synchronized void start() {
+		write(getHeader());
+	}
+
+	/**
+	 * Reports the problem stored in the given validation marker.
+	 */
+	public synchronized void problem(ValidatorDefinition validator, IMarker marker) {
+		int severity = marker.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		if (severity == IMarker.SEVERITY_ERROR) {
+			errorCount++;
+		}
+		else if (severity == IMarker.SEVERITY_WARNING) {
+			warningCount++;
+		}
+		else {
+			infoCount++;
+		}
+		write(getProblem(validator, marker.getResource(), marker.getAttribute(IMarker.LINE_NUMBER, -1), severity,
+				marker.getAttribute(IMarker.MESSAGE, ""), marker.getAttribute(IValidationProblemMarker.RULE_ID, null),
+				marker.getAttribute(IValidationProblemMarker.ERROR_ID, null)));
+	}
+
+	/**
+	 * Reports the time the given validator took to validate the given number of resources of a project.
+	 */
+	public synchronized void timing(IProject project, ValidatorDefinition validator, int resourceCount,
+			int problemCount, long nanos) {
+		String timing = getTiming(project, validator, resourceCount, problemCount, nanos);
+		if (timing != null) {
+			write(timing);
+		}
+	}
+
+	/**
+	 * Completes the report and flushes it.
+	 * @param successful <code>false</code> if some projects could not be validated
+	 */
+	public synchronized void finish(boolean successful, int exitCode, long nanos) {
+		write(getFooter(successful, exitCode, nanos));
+	}
+
+	/**
+	 * Returns the number of problems reported with at least the given severity; none for a severity above
+	 * {@link IMarker#SEVERITY_ERROR}.
+	 */
+	public synchronized int getProblemCount(int minimumSeverity) {
+		int count = 0;
+		if (minimumSeverity <= IMarker.SEVERITY_ERROR) {
+			count += errorCount;
+		}
+		if (minimumSeverity <= IMarker.SEVERITY_WARNING) {
+			count += warningCount;
+		}
+		if (minimumSeverity <= IMarker.SEVERITY_INFO) {
+			count += infoCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the first exception that occurred writing the report or <code>null</code>.
+	 */
+	public synchronized IOException getFailure() {
+		return failure;
+	}
+
+	protected abstract String getHeader();
+
+	protected abstract String getProblem(ValidatorDefinition validator, IResource resource, int line, int severity,
+			String message, String ruleId, String errorId);
+
+	protected abstract String getTiming(IProject project, ValidatorDefinition validator, int resourceCount,
+			int problemCount, long nanos);
+
+	protected abstract String getFooter(boolean successful, int exitCode, long nanos);
+
+	private void write(String text) {
+		if (text.length() > 0 && failure == null) {
+			try {
+				writer.write(text);
+				writer.flush();
+			}
+			catch (IOException e) {
+				failure = e;
+			}
+		}
+	}
+
+	protected static String getSeverityName(int severity) {
+		switch (severity) {
+		case IMarker.SEVERITY_ERROR:
+			return "error";
+		case IMarker.SEVERITY_WARNING:
+			return "warning";
+		default:
+			return "info";
+		}
+	}
+
+	protected static String getMillis(long nanos) {
+		return String.format(Locale.ENGLISH, "%.1f", nanos / 1000000d);
+	}
+
+	/**
+	 * Returns the given text as quoted JSON string, or the JSON literal <code>null</code> if the text is
+	 * <code>null</code>.
+	 */
+	protected static String quote(String text) {
+		if (text == null) {
+			return "null";
+		}
+		StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '"':
+				quoted.append("\\\"");
+				break;
+			case '\\':
+				quoted.append("\\\\");
+				break;
+			case '\n':
+				quoted.append("\\n");
+				break;
+			case '\r':
+				quoted.append("\\r");
+				break;
+			case '\t':
+				quoted.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					quoted.append(String.format("\\u%04x", (int) c));
+				}
+				else {
+					quoted.append(c);
+				}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	/**
+	 * Report with one JSON object per line.
+	 */
+	private static class JsonLinesReport extends ValidationReport {
+
+		public JsonLinesReport(Writer writer) {
+			super(writer);
+		}
+
+		@Override
+		protected String getHeader() {
+			return "";
+		}
+
+		@Override
+		protected String getProblem(ValidatorDefinition validator, IResource resource, int line, int severity,
+				String message, String ruleId, String errorId) {
+			return "{\"type\":\"problem\",\"validator\":" + quote(validator.getID()) + ",\"rule\":" + quote(ruleId)
+					+ ",\"errorId\":" + quote(errorId) + ",\"severity\":" + quote(getSeverityName(severity))
+					+ ",\"resource\":" + quote(resource.getFullPath().toString()) + ",\"line\":" + line
+					+ ",\"message\":" + quote(message) + "}\n";
+		}
+
+		@Override
+		protected String getTiming(IProject project, ValidatorDefinition validator, int resourceCount,
+				int problemCount, long nanos) {
+			return "{\"type\":\"timing\",\"project\":" + quote(project.getName()) + ",\"validator\":"
+					+ quote(validator.getID()) + ",\"resources\":" + resourceCount + ",\"problems\":" + problemCount
+					+ ",\"millis\":" + getMillis(nanos) + "}\n";
+		}
+
+		@Override
+		protected String getFooter(boolean successful, int exitCode, long nanos) {
+			return "{\"type\":\"summary\",\"successful\":" + successful + ",\"errors\":"
+					+ getProblemCount(IMarker.SEVERITY_ERROR) + ",\"warnings\":"
+					+ (getProblemCount(IMarker.SEVERITY_WARNING) - getProblemCount(IMarker.SEVERITY_ERROR))
+					+ ",\"infos\":"
+					+ (getProblemCount(IMarker.SEVERITY_INFO) - getProblemCount(IMarker.SEVERITY_WARNING))
+					+ ",\"exitCode\":" + exitCode + ",\"millis\":" + getMillis(nanos) + "}\n";
+		}
+	}
+
+	/**
+	 * Report as SARIF log with a single run.
+	 */
+	private static class SarifReport extends ValidationReport {
+
+		private final List<String> timings = new ArrayList<String>();
+
+		private boolean hasResults = false;
+
+		public SarifReport(Writer writer) {
+			super(writer);
+		}
+
+		@Override
+		protected String getHeader() {
+			return "{\"version\":\"2.1.0\",\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\","
+					+ "\"runs\":[{\"tool\":{\"driver\":{\"name\":\"Spring IDE Validation\","
+					+ "\"informationUri\":\"https://spring.io/tools\"}},\"results\":[\n";
+		}
+
+		@Override
+		protected String getProblem(ValidatorDefinition validator, IResource resource, int line, int severity,
+				String message, String ruleId, String errorId) {
+			String level = (severity == IMarker.SEVERITY_ERROR ? "error"
+					: (severity == IMarker.SEVERITY_WARNING ? "warning" : "note"));
+			URI location = resource.getLocationURI();
+			StringBuilder result = new StringBuilder(hasResults ? ",\n" : "");
+			result.append("{\"ruleId\":").append(quote(ruleId != null ? ruleId : validator.getID()));
+			result.append(",\"level\":").append(quote(level));
+			result.append(",\"message\":{\"text\":").append(quote(message)).append('}');
+			result.append(",\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{\"uri\":");
+			result.append(quote(location != null ? location.toString() : resource.getFullPath().toString()));
+			result.append('}');
+			if (line > 0) {
+				result.append(",\"region\":{\"startLine\":").append(line).append('}');
+			}
+			result.append("}}]");
+			result.append(",\"properties\":{\"validator\":").append(quote(validator.getID()));
+			if (errorId != null) {
+				result.append(",\"errorId\":").append(quote(errorId));
+			}
+			result.append("}}");
+			hasResults = true;
+			return result.toString();
+		}
+
+		@Override
+		protected String getTiming(IProject project, ValidatorDefinition validator, int resourceCount,
+				int problemCount, long nanos) {
+			// Timings go into the invocation, which is written last
+			timings.add("{\"project\":" + quote(project.getName()) + ",\"validator\":" + quote(validator.getID())
+					+ ",\"resources\":" + resourceCount + ",\"problems\":" + problemCount + ",\"millis\":"
+					+ getMillis(nanos) + "}");
+			return null;
+		}
+
+		@Override
+		protected String getFooter(boolean successful, int exitCode, long nanos) {
+			StringBuilder footer = new StringBuilder("\n],\"invocations\":[{\"executionSuccessful\":");
+			footer.append(successful).append(",\"exitCode\":").append(exitCode);
+			footer.append(",\"properties\":{\"millis\":").append(getMillis(nanos));
+			footer.append(",\"validatorTimings\":[");
+			for (int i = 0; i < timings.size(); i++) {
+				footer.append(i > 0 ? ",\n" : "\n").append(timings.get(i));
+			}
+			footer.append("]}}]}]}\n");
+			return footer.toString();
+		}
+	}
+
+}
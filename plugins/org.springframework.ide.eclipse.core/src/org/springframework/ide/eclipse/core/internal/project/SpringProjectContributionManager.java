@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -89,22 +89,37 @@ public class SpringProjectContributionManager extends IncrementalProjectBuilder
 	 * {@inheritDoc}
 	 */
 	protected final IProject[] build(final int kind, Map args, final IProgressMonitor monitor) throws CoreException {
-		final IProject project = getProject();
-		final IResourceDelta delta = getDelta(project);
+		IProject project = getProject();
 
+		// check for classpath changes (that require a full build)
+		Object removed = classpathChanged.remove(project.getName());
+		int buildKind = removed != null ? IncrementalProjectBuilder.FULL_BUILD : kind;
+
+		contribute(project, buildKind, getDelta(project),
+				ProjectContributionEventListenerFactory.getProjectContributionEventListeners(), monitor);
+		return null;
+	}
+
+	/**
+	 * Runs all enabled {@link IProjectBuilder}s and {@link IValidator}s on the given project and notifies the given
+	 * listeners, just like a build of the project does.
+	 * <p>
+	 * This can be called outside of an Eclipse build as well. Each call works with its own builder and validator
+	 * instances, so different projects can be processed in parallel as long as each call is given its own listener
+	 * instances (see {@link ProjectContributionEventListenerFactory#createProjectContributionEventListeners()}).
+	 * @param delta the changes to process or <code>null</code> to process the whole project
+	 * @since 3.9.13
+	 */
+	public void contribute(final IProject project, final int buildKind, final IResourceDelta delta,
+			final List<IProjectContributionEventListener> listeners, final IProgressMonitor monitor)
+			throws CoreException {
 		final List<ProjectBuilderDefinition> builderDefinitions = ProjectBuilderDefinitionFactory
 				.getProjectBuilderDefinitions();
 		final List<ValidatorDefinition> validatorDefinitions = ValidatorDefinitionFactory.getValidatorDefinitions();
-		final List<IProjectContributionEventListener> listeners = ProjectContributionEventListenerFactory
-				.getProjectContributionEventListeners();
 
 		// Set up the state object
 		final IProjectContributorState state = prepareState(project, builderDefinitions, validatorDefinitions);
-		
-		// check for classpath changes (that require a full build)
-		Object removed = classpathChanged.remove(project.getName());
-		final int buildKind = removed != null ? IncrementalProjectBuilder.FULL_BUILD : kind;
-		
+
 		// Fire start event on listeners
 		for (final IProjectContributionEventListener listener : listeners) {
 			execute(new SafeExecutableWithMonitor() {
@@ -140,8 +155,6 @@ public class SpringProjectContributionManager extends IncrementalProjectBuilder
 				}
 			}, monitor);
 		}
-
-		return null;
 	}
 
 	/**
@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.core.java.ProjectClassLoaderCache;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Index of the <code>.class</code> resources on the classpaths of workspace projects, used by
+ * {@link EclipsePathMatchingResourcePatternResolver} to resolve component scanning patterns like
+ * <code>classpath*:com/acme/**&#47;*.class</code> without walking output folders and jar entries for each pattern.
+ * <p>
+ * Each classpath entry is listed once and shared by all projects referring to it. Jar listings are identified by
+ * path, size and modification time and are written to the plug-in state location, so that they survive restarts.
+ * Output folder listings are built on first use in a session and kept up to date from resource deltas. The list of
+ * classpath entries of a project is discarded on classpath changes.
+ * @since 3.9.13
+ */
+public class ClassResourceIndex {
+
+	private static final String STATE_FILE_NAME = "class-resource-index.ser";
+
+	/** Version of the serialized jar listings, see {@link VersionedStateFile} */
+	private static final int STATE_FILE_VERSION = 2;
+
+	private static final String JAR_URL_PREFIX = "jar:";
+
+	private static final String JAR_URL_SEPARATOR = "!/";
+
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private final ConcurrentMap<IProject, List<Listing>> listingsByProject = new ConcurrentHashMap<IProject, List<Listing>>();
+
+	private final ConcurrentMap<String, DirectoryListing> directoryListings = new ConcurrentHashMap<String, DirectoryListing>();
+
+	private ConcurrentMap<String, JarListing> jarListings = null;
+
+	private final AtomicBoolean jarListingsChanged = new AtomicBoolean();
+
+	private IResourceChangeListener resourceChangeListener = null;
+
+	private IElementChangedListener elementChangedListener = null;
+
+	public void startup() {
+		resourceChangeListener = new ClassFileResourceChangeListener();
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceChangeListener,
+				IResourceChangeEvent.POST_CHANGE);
+		elementChangedListener = new ClasspathElementChangedListener();
+		JavaCore.addElementChangedListener(elementChangedListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public void shutdown() {
+		if (resourceChangeListener != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceChangeListener);
+			resourceChangeListener = null;
+		}
+		if (elementChangedListener != null) {
+			JavaCore.removeElementChangedListener(elementChangedListener);
+			elementChangedListener = null;
+		}
+		save();
+		listingsByProject.clear();
+		directoryListings.clear();
+	}
+
+	/**
+	 * Returns <code>true</code> if the given location pattern can be resolved against this index, which is the case
+	 * for <code>classpath*:</code> patterns that only match <code>.class</code> resources.
+	 */
+	public boolean canResolve(String locationPattern) {
+		return locationPattern.startsWith(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX)
+				&& locationPattern.endsWith(ClassUtils.CLASS_FILE_SUFFIX)
+				&& pathMatcher.isPattern(getPath(locationPattern));
+	}
+
+	/**
+	 * Returns the resources on the classpath of the given project that match the given location pattern, as
+	 * {@link FileSystemResource}s for output folders and {@link UrlResource}s for jar entries. Returns
+	 * <code>null</code> if the project has no Java classpath.
+	 * @see #canResolve(String)
+	 */
+	public Resource[] getResources(IProject project, String locationPattern) throws IOException {
+		List<Listing> listings = getListings(project);
+		if (listings == null) {
+			return null;
+		}
+
+		String pattern = getPath(locationPattern);
+		String rootDir = determineRootDir(pattern);
+		List<Resource> resources = new ArrayList<Resource>();
+		for (Listing listing : listings) {
+			for (String classFile : listing.getClassFiles().tailSet(rootDir)) {
+				if (!classFile.startsWith(rootDir)) {
+					break;
+				}
+				if (pathMatcher.match(pattern, classFile)) {
+					resources.add(listing.createResource(classFile));
+				}
+			}
+		}
+		return resources.toArray(new Resource[resources.size()]);
+	}
+
+	private List<Listing> getListings(IProject project) {
+		List<Listing> listings = listingsByProject.get(project);
+		if (listings == null) {
+			if (!JdtUtils.isJavaProject(project)) {
+				return null;
+			}
+			listings = new ArrayList<Listing>();
+			for (URL url : ProjectClassLoaderCache.getClassPathUrls(project, null)) {
+				Listing listing = getListing(url);
+				if (listing != null) {
+					listings.add(listing);
+				}
+			}
+			listingsByProject.put(project, listings);
+		}
+		return listings;
+	}
+
+	private Listing getListing(URL url) {
+		File file;
+		try {
+			file = new File(url.toURI());
+		}
+		catch (URISyntaxException e) {
+			return null;
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+
+		String path = file.getAbsolutePath();
+		try {
+			if (file.isDirectory()) {
+				DirectoryListing listing = directoryListings.get(path);
+				if (listing == null) {
+					listing = DirectoryListing.read(file);
+					DirectoryListing existing = directoryListings.putIfAbsent(path, listing);
+					if (existing != null) {
+						listing = existing;
+					}
+				}
+				return listing;
+			}
+			else if (file.isFile()) {
+				ConcurrentMap<String, JarListing> jarListings = getJarListings();
+				JarListing listing = jarListings.get(path);
+				if (listing == null || !listing.isCurrent(file)) {
+					listing = JarListing.read(file);
+					jarListings.put(path, listing);
+					jarListingsChanged.set(true);
+				}
+				return listing;
+			}
+		}
+		catch (IOException e) {
+			SpringCore.log(String.format("Error listing class files of '%s'", file), e);
+		}
+		return null;
+	}
+
+	private String getPath(String locationPattern) {
+		String path = locationPattern.substring(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX.length());
+		return path.startsWith("/") ? path.substring(1) : path;
+	}
+
+	/**
+	 * Returns the part of the given pattern up to the last directory that doesn't contain wildcards, like
+	 * {@link org.springframework.core.io.support.PathMatchingResourcePatternResolver} does.
+	 */
+	private String determineRootDir(String pattern) {
+		int rootDirEnd = pattern.length();
+		while (rootDirEnd > 0 && pathMatcher.isPattern(pattern.substring(0, rootDirEnd))) {
+			rootDirEnd = pattern.lastIndexOf('/', rootDirEnd - 2) + 1;
+		}
+		return pattern.substring(0, rootDirEnd);
+	}
+
+	private synchronized ConcurrentMap<String, JarListing> getJarListings() {
+		if (jarListings == null) {
+			jarListings = new ConcurrentHashMap<String, JarListing>(load());
+		}
+		return jarListings;
+	}
+
+	private VersionedStateFile getStateFile() {
+		return new VersionedStateFile(SpringCore.getDefault().getStateLocation().append(STATE_FILE_NAME).toFile(),
+				STATE_FILE_VERSION, ClassResourceIndex.class.getClassLoader());
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, JarListing> load() {
+		try {
+			Map<String, JarListing> listings = (Map<String, JarListing>) getStateFile().read();
+			if (listings != null) {
+				return listings;
+			}
+		}
+		catch (Exception e) {
+			// the jars are just listed again
+			SpringCore.log(e);
+		}
+		return new HashMap<String, JarListing>();
+	}
+
+	/**
+	 * Writes the jar listings to the state location if they changed, dropping listings of jars that no longer exist
+	 * or changed since they were listed.
+	 */
+	private synchronized void save() {
+		if (jarListings == null || !jarListingsChanged.getAndSet(false)) {
+			return;
+		}
+		Map<String, JarListing> current = new HashMap<String, JarListing>();
+		for (Map.Entry<String, JarListing> entry : jarListings.entrySet()) {
+			if (entry.getValue().isCurrent(new File(entry.getKey()))) {
+				current.put(entry.getKey(), entry.getValue());
+			}
+		}
+		try {
+			getStateFile().write(current);
+		}
+		catch (IOException e) {
+			SpringCore.log(e);
+		}
+	}
+
+	/**
+	 * The <code>.class</code> resources of a classpath entry, as paths relative to the root of the entry.
+	 */
+	private static abstract class Listing {
+
+		abstract NavigableSet<String> getClassFiles();
+
+		abstract Resource createResource(String classFile) throws IOException;
+	}
+
+	private static class JarListing extends Listing implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String path;
+
+		private final FileStamp stamp;
+
+		private final TreeSet<String> classFiles;
+
+		private JarListing(File file, TreeSet<String> classFiles) {
+			this.path = file.getAbsolutePath();
+			this.stamp = new FileStamp(file);
+			this.classFiles = classFiles;
+		}
+
+		static JarListing read(File file) throws IOException {
+			TreeSet<String> classFiles = new TreeSet<String>();
+			ZipFile zip = new ZipFile(file);
+			try {
+				for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+					ZipEntry entry = entries.nextElement();
+					if (!entry.isDirectory() && entry.getName().endsWith(ClassUtils.CLASS_FILE_SUFFIX)) {
+						classFiles.add(entry.getName());
+					}
+				}
+			}
+			finally {
+				zip.close();
+			}
+			return new JarListing(file, classFiles);
+		}
+
+		boolean isCurrent(File file) {
+			return stamp.isCurrent(file);
+		}
+
+		@Override
+		NavigableSet<String> getClassFiles() {
+			return classFiles;
+		}
+
+		@Override
+		Resource createResource(String classFile) throws IOException {
+			return new UrlResource(JAR_URL_PREFIX + new File(path).toURI().toURL() + JAR_URL_SEPARATOR + classFile);
+		}
+	}
+
+	private static class DirectoryListing extends Listing {
+
+		private final File directory;
+
+		private final IPath location;
+
+		private final ConcurrentSkipListSet<String> classFiles = new ConcurrentSkipListSet<String>();
+
+		private DirectoryListing(File directory) {
+			this.directory = directory;
+			this.location = new org.eclipse.core.runtime.Path(directory.getAbsolutePath());
+		}
+
+		static DirectoryListing read(File directory) throws IOException {
+			final DirectoryListing listing = new DirectoryListing(directory);
+			final Path root = directory.toPath();
+			Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+					if (attrs.isRegularFile() && name.endsWith(ClassUtils.CLASS_FILE_SUFFIX)) {
+						listing.classFiles.add(name);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+			return listing;
+		}
+
+		@Override
+		NavigableSet<String> getClassFiles() {
+			return classFiles;
+		}
+
+		@Override
+		Resource createResource(String classFile) {
+			return new FileSystemResource(new File(directory, classFile));
+		}
+
+		/**
+		 * Returns the path of the given location relative to this directory, or <code>null</code> if it is outside.
+		 */
+		String getRelativePath(IPath resourceLocation) {
+			if (location.isPrefixOf(resourceLocation)) {
+				return resourceLocation.removeFirstSegments(location.segmentCount()).makeRelative().toString();
+			}
+			return null;
+		}
+
+		void classFileAdded(String classFile) {
+			classFiles.add(classFile);
+		}
+
+		void classFileRemoved(String classFile) {
+			classFiles.remove(classFile);
+		}
+
+		void folderRemoved(String folder) {
+			String prefix = folder.length() == 0 ? "" : folder + "/";
+			for (String classFile : classFiles.tailSet(prefix)) {
+				if (!classFile.startsWith(prefix)) {
+					break;
+				}
+				classFiles.remove(classFile);
+			}
+		}
+	}
+
+	/**
+	 * Keeps the listings of output folders in line with the class files written and removed by builders.
+	 */
+	private class ClassFileResourceChangeListener implements IResourceChangeListener {
+
+		public void resourceChanged(IResourceChangeEvent event) {
+			if (listingsByProject.isEmpty() || event.getDelta() == null) {
+				return;
+			}
+			try {
+				event.getDelta().accept(new IResourceDeltaVisitor() {
+
+					public boolean visit(IResourceDelta delta) throws CoreException {
+						IResource resource = delta.getResource();
+						if (resource instanceof IFile) {
+							if (ClassUtils.CLASS_FILE_SUFFIX.equals("." + resource.getFileExtension())) {
+								if (delta.getKind() == IResourceDelta.ADDED) {
+									classFileChanged(resource, true);
+								}
+								else if (delta.getKind() == IResourceDelta.REMOVED) {
+									classFileChanged(resource, false);
+								}
+							}
+							return false;
+						}
+						else if (resource instanceof IFolder && delta.getKind() == IResourceDelta.REMOVED) {
+							folderRemoved(resource);
+							return false;
+						}
+						else if (resource instanceof IFolder && delta.getKind() == IResourceDelta.ADDED
+								&& isSourceOrOutputFolder((IFolder) resource)) {
+							// a project's classpath only contains the folders that exist
+							listingsByProject.clear();
+						}
+						return true;
+					}
+				});
+			}
+			catch (CoreException e) {
+				SpringCore.log(e);
+			}
+		}
+
+		private boolean isSourceOrOutputFolder(IFolder folder) throws JavaModelException {
+			IJavaProject javaProject = JdtUtils.getJavaProject(folder.getProject());
+			if (javaProject == null) {
+				return false;
+			}
+			IPath path = folder.getFullPath();
+			if (path.equals(javaProject.getOutputLocation())) {
+				return true;
+			}
+			for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+				if (path.equals(entry.getPath()) || path.equals(entry.getOutputLocation())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void classFileChanged(IResource resource, boolean added) {
+			IPath resourceLocation = resource.getLocation();
+			if (resourceLocation == null) {
+				return;
+			}
+			for (DirectoryListing listing : directoryListings.values()) {
+				String classFile = listing.getRelativePath(resourceLocation);
+				if (classFile != null) {
+					if (added) {
+						listing.classFileAdded(classFile);
+					}
+					else {
+						listing.classFileRemoved(classFile);
+					}
+				}
+			}
+		}
+
+		private void folderRemoved(IResource resource) {
+			IPath resourceLocation = resource.getLocation();
+			if (resourceLocation == null) {
+				return;
+			}
+			for (DirectoryListing listing : directoryListings.values()) {
+				String folder = listing.getRelativePath(resourceLocation);
+				if (folder != null) {
+					listing.folderRemoved(folder);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards the classpath entries of projects whenever a classpath or the content of a jar changes.
+	 */
+	private class ClasspathElementChangedListener implements IElementChangedListener {
+
+		public void elementChanged(ElementChangedEvent event) {
+			if (!listingsByProject.isEmpty() && affectsClasspath(event.getDelta())) {
+				listingsByProject.clear();
+			}
+		}
+
+		private boolean affectsClasspath(IJavaElementDelta delta) {
+			switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				return (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0;
+			default:
+				return false;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (affectsClasspath(child)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 Spring IDE Developers
+ * Copyright (c) 2008, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -45,6 +45,7 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.UrlResource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.util.ClassUtils;
 
@@ -52,7 +53,8 @@ import org.springframework.util.ClassUtils;
  * Eclipse specific {@link ResourceLoader} implementation that understands the same rules applied by
  * {@link PathMatchingResourcePatternResolver} of Spring.
  * <p>
- * See the later for a comprehensive description of the supported patterns and semantics.
+ * See the later for a comprehensive description of the supported patterns and semantics. Component scanning
+ * patterns are resolved against the shared {@link ClassResourceIndex} instead of the class loader.
  * @author Christian Dupuis
  * @author Martin Lippert
  * @since 2.0.3
@@ -143,7 +145,14 @@ public class EclipsePathMatchingResourcePatternResolver implements ResourcePatte
 			return resolvedResources.get(locationPattern);
 		}
 
-		Resource[] resources = patternResolver.getResources(locationPattern);
+		Resource[] resources = null;
+		ClassResourceIndex classResourceIndex = SpringCore.getClassResourceIndex();
+		if (classResourceIndex != null && classResourceIndex.canResolve(locationPattern)) {
+			resources = classResourceIndex.getResources(project, locationPattern);
+		}
+		if (resources == null) {
+			resources = patternResolver.getResources(locationPattern);
+		}
 		Set<Resource> foundResources = new HashSet<Resource>();
 
 		try {
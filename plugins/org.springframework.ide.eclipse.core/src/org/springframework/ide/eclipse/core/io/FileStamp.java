@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * Size and modification time of a file, recorded along with data read from the file to tell whether the data is still
+ * current without reading the file again.
+ * @since 3.9.13
+ */
+public final class FileStamp implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long length;
+
+	private final long lastModified;
+
+	/**
+	 * Records the current size and modification time of the given file.
+	 */
+	public FileStamp(File file) {
+		this.length = file.length();
+		this.lastModified = file.lastModified();
+	}
+
+	/**
+	 * Returns <code>true</code> if the given file still has the recorded size and modification time.
+	 */
+	public boolean isCurrent(File file) {
+		return file.length() == length && file.lastModified() == lastModified;
+	}
+
+	@Override
+	public String toString() {
+		return length + "|" + lastModified;
+	}
+
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * A file in a plug-in's state location holding a single serialized object, written after the version of its
+ * serialized form. The owner increments the version whenever the serialized form changes, so that state written by
+ * an older release is ignored rather than failing to deserialize.
+ * @since 3.9.13
+ */
+public class VersionedStateFile {
+
+	private final File file;
+
+	private final int version;
+
+	private final ClassLoader classLoader;
+
+	/**
+	 * @param classLoader the class loader to resolve the classes of the stored object with, usually the one of the
+	 * owning plug-in
+	 */
+	public VersionedStateFile(File file, int version, ClassLoader classLoader) {
+		this.file = file;
+		this.version = version;
+		this.classLoader = classLoader;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the stored object, or <code>null</code> if there is none or it was written with another version.
+	 */
+	public Object read() throws IOException, ClassNotFoundException {
+		if (!file.exists()) {
+			return null;
+		}
+		ObjectInputStream in = new ClassLoaderObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			return in.readInt() == version ? in.readObject() : null;
+		}
+		finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Replaces the stored object. The file is deleted if writing fails, so that no partial state is read back.
+	 */
+	public void write(Object state) throws IOException {
+		file.getParentFile().mkdirs();
+		try {
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			try {
+				out.writeInt(version);
+				out.writeObject(state);
+			}
+			finally {
+				out.close();
+			}
+		}
+		catch (IOException e) {
+			file.delete();
+			throw e;
+		}
+	}
+
+	private class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+		public ClassLoaderObjectInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			try {
+				return Class.forName(desc.getName(), false, classLoader);
+			}
+			catch (ClassNotFoundException e) {
+				return super.resolveClass(desc);
+			}
+		}
+	}
+
+}
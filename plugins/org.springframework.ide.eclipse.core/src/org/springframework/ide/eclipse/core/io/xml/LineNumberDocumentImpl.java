@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io.xml;
+
+import java.util.Arrays;
+
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.dom.ElementImpl;
+import org.apache.xerces.dom.ElementNSImpl;
+
+/**
+ * Document created by {@link LineNumberPreservingDOMParser} in compact mode. The start and end lines of all elements
+ * are kept in a single <code>int</code> array owned by the document, indexed by the order in which the elements were
+ * created; each element only carries its index into that array.
+ * @since 3.9.13
+ */
+@SuppressWarnings("serial")
+class LineNumberDocumentImpl extends DocumentImpl {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Start and end line of element <code>i</code> at <code>2 * i</code> and <code>2 * i + 1</code> */
+	private int[] lines = new int[2 * INITIAL_CAPACITY];
+
+	private int elementCount = 0;
+
+	/**
+	 * Reserves the lines of a newly created element and returns its index.
+	 */
+	int addElement() {
+		if (2 * elementCount == lines.length) {
+			lines = Arrays.copyOf(lines, 2 * lines.length);
+		}
+		lines[2 * elementCount] = -1;
+		lines[2 * elementCount + 1] = -1;
+		return elementCount++;
+	}
+
+	int getLine(int index, boolean start) {
+		return lines[2 * index + (start ? 0 : 1)];
+	}
+
+	void setLine(int index, boolean start, int line) {
+		lines[2 * index + (start ? 0 : 1)] = line;
+	}
+
+	/**
+	 * Namespace aware element with line numbers.
+	 */
+	static class LineNumberElementNSImpl extends ElementNSImpl implements LineNumberNode {
+
+		private final LineNumberDocumentImpl lineDocument;
+
+		private final int index;
+
+		LineNumberElementNSImpl(LineNumberDocumentImpl document, String namespaceURI, String qualifiedName,
+				String localName) {
+			super(document, namespaceURI, qualifiedName, localName);
+			this.lineDocument = document;
+			this.index = document.addElement();
+		}
+
+		public int getStartLine() {
+			return getLine(this, lineDocument, index, true);
+		}
+
+		public int getEndLine() {
+			return getLine(this, lineDocument, index, false);
+		}
+
+		public void setStartLine(int line) {
+			setLine(this, lineDocument, index, true, line);
+		}
+
+		public void setEndLine(int line) {
+			setLine(this, lineDocument, index, false, line);
+		}
+	}
+
+	/**
+	 * Element with line numbers, for documents parsed without namespace support.
+	 */
+	static class LineNumberElementImpl extends ElementImpl implements LineNumberNode {
+
+		private final LineNumberDocumentImpl lineDocument;
+
+		private final int index;
+
+		LineNumberElementImpl(LineNumberDocumentImpl document, String name) {
+			super(document, name);
+			this.lineDocument = document;
+			this.index = document.addElement();
+		}
+
+		public int getStartLine() {
+			return getLine(this, lineDocument, index, true);
+		}
+
+		public int getEndLine() {
+			return getLine(this, lineDocument, index, false);
+		}
+
+		public void setStartLine(int line) {
+			setLine(this, lineDocument, index, true, line);
+		}
+
+		public void setEndLine(int line) {
+			setLine(this, lineDocument, index, false, line);
+		}
+	}
+
+	/**
+	 * The index of an element is only valid in the document that created it. Once the element is adopted by another
+	 * document, even another {@link LineNumberDocumentImpl}, its lines are lost.
+	 */
+	private static int getLine(ElementImpl element, LineNumberDocumentImpl document, int index, boolean start) {
+		if (element.getOwnerDocument() == document) {
+			return document.getLine(index, start);
+		}
+		return -1;
+	}
+
+	private static void setLine(ElementImpl element, LineNumberDocumentImpl document, int index, boolean start,
+			int line) {
+		if (element.getOwnerDocument() == document) {
+			document.setLine(index, start, line);
+		}
+	}
+
+}
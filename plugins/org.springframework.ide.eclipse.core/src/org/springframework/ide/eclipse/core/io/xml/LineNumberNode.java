@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io.xml;
+
+/**
+ * Element created by {@link LineNumberPreservingDOMParser} in compact mode, which knows its own line numbers.
+ * @since 3.9.13
+ */
+interface LineNumberNode {
+
+	int getStartLine();
+
+	int getEndLine();
+
+	void setStartLine(int line);
+
+	void setEndLine(int line);
+
+}
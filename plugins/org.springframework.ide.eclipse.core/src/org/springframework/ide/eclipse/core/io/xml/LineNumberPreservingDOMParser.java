@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2009 Spring IDE Developers
+ * Copyright (c) 2005, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,12 +20,20 @@ import org.apache.xerces.xni.QName;
 import org.apache.xerces.xni.XMLAttributes;
 import org.apache.xerces.xni.XMLLocator;
 import org.apache.xerces.xni.XNIException;
+import org.springframework.ide.eclipse.core.io.xml.LineNumberDocumentImpl.LineNumberElementImpl;
+import org.springframework.ide.eclipse.core.io.xml.LineNumberDocumentImpl.LineNumberElementNSImpl;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 /**
  * Extended version of Xerces' DOM parser which adds line numbers to an internal structure that can be queried in the
  * same thread.
+ * <p>
+ * In compact mode the line numbers are kept by the document itself instead: it stores the start and end lines of all
+ * elements in a single <code>int</code> array indexed by the order in which the elements were created, so recording
+ * them doesn't cost a map entry and a line numbers object per node, and they can be queried from any thread for as
+ * long as the document is alive.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -35,18 +43,36 @@ public class LineNumberPreservingDOMParser extends DOMParser {
 
 	private static final String END_LINE = "endLine";
 
+	private final boolean compactLineNumbers;
+
 	private XMLLocator locator;
 
 	public LineNumberPreservingDOMParser() throws SAXException {
+		this(false);
+	}
+
+	/**
+	 * Creates a parser which keeps line numbers in the parsed document if <code>compactLineNumbers</code> is
+	 * <code>true</code>, or in the internal structure of the parsing thread otherwise.
+	 * @since 3.9.13
+	 */
+	public LineNumberPreservingDOMParser(boolean compactLineNumbers) throws SAXException {
+		this.compactLineNumbers = compactLineNumbers;
 		// To access current nodes we have to turn off a feature
 		setFeature(DEFER_NODE_EXPANSION, false);
 	}
 
 	public static final int getStartLineNumber(Node node) {
+		if (node instanceof LineNumberNode) {
+			return ((LineNumberNode) node).getStartLine();
+		}
 		return getLineNumberFromUserData(node, START_LINE);
 	}
 
 	public static final int getEndLineNumber(Node node) {
+		if (node instanceof LineNumberNode) {
+			return ((LineNumberNode) node).getEndLine();
+		}
 		return getLineNumberFromUserData(node, END_LINE);
 	}
 
@@ -59,6 +85,16 @@ public class LineNumberPreservingDOMParser extends DOMParser {
 			throws XNIException {
 		this.locator = locator;
 		super.startDocument(locator, encoding, namespaceContext, augs);
+		if (compactLineNumbers) {
+			// replace the default document, set up the same way
+			LineNumberDocumentImpl document = new LineNumberDocumentImpl();
+			document.setStrictErrorChecking(false);
+			document.setInputEncoding(encoding);
+			document.setDocumentURI(locator.getExpandedSystemId());
+			fDocument = document;
+			fDocumentImpl = document;
+			fCurrentNode = document;
+		}
 		addLineNumberToCurrentNode(START_LINE);
 	}
 
@@ -80,7 +116,31 @@ public class LineNumberPreservingDOMParser extends DOMParser {
 		super.endElement(element, augs);
 	}
 
+	@Override
+	protected Element createElementNode(QName element) {
+		if (fDocument instanceof LineNumberDocumentImpl) {
+			LineNumberDocumentImpl document = (LineNumberDocumentImpl) fDocument;
+			if (fNamespaceAware) {
+				return new LineNumberElementNSImpl(document, element.uri, element.rawname, element.localpart);
+			}
+			return new LineNumberElementImpl(document, element.rawname);
+		}
+		return super.createElementNode(element);
+	}
+
 	private void addLineNumberToCurrentNode(String key) throws XNIException {
+		if (compactLineNumbers) {
+			if (fCurrentNode instanceof LineNumberNode) {
+				LineNumberNode node = (LineNumberNode) fCurrentNode;
+				if (START_LINE.equals(key)) {
+					node.setStartLine(locator.getLineNumber());
+				}
+				else {
+					node.setEndLine(locator.getLineNumber());
+				}
+			}
+			return;
+		}
 		try {
 			Node node = (Node) getProperty(CURRENT_ELEMENT_NODE);
 			if (node != null) {
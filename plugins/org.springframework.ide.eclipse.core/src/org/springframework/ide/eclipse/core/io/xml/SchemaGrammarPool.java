@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.io.xml;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
+import org.apache.xerces.xni.grammars.XMLSchemaDescription;
+
+/**
+ * {@link XMLGrammarPool} that keeps compiled XML schemas, so that parsers sharing the pool compile each XSD only
+ * once.
+ * <p>
+ * Other than Xerces' own pool, grammars are not only identified by their target namespace but by the schema location
+ * they were loaded from as well. Documents referring to different versions of a schema, e.g.
+ * <code>spring-beans-3.0.xsd</code> and <code>spring-beans.xsd</code>, therefore each get the version they ask for.
+ * As the location is resolved by the parser's entity resolver, a pool must only be shared by parsers whose entity
+ * resolvers resolve locations the same way. DTDs are not pooled.
+ * <p>
+ * The pool can be used by several parsers in different threads concurrently.
+ * @since 3.9.13
+ */
+public class SchemaGrammarPool implements XMLGrammarPool {
+
+	private static final Grammar[] NO_GRAMMARS = new Grammar[0];
+
+	private final ConcurrentMap<String, Grammar> grammars = new ConcurrentHashMap<String, Grammar>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	public Grammar[] retrieveInitialGrammarSet(String grammarType) {
+		// grammars are handed out on request only, so each document gets the versions it refers to
+		return NO_GRAMMARS;
+	}
+
+	public void cacheGrammars(String grammarType, Grammar[] grammars) {
+		if (XMLGrammarDescription.XML_SCHEMA.equals(grammarType)) {
+			for (Grammar grammar : grammars) {
+				String key = getKey(grammar.getGrammarDescription());
+				if (key != null) {
+					this.grammars.putIfAbsent(key, grammar);
+				}
+			}
+		}
+	}
+
+	public Grammar retrieveGrammar(XMLGrammarDescription description) {
+		if (XMLGrammarDescription.XML_SCHEMA.equals(description.getGrammarType())) {
+			String key = getKey(description);
+			if (key != null) {
+				Grammar grammar = grammars.get(key);
+				if (grammar != null) {
+					hits.incrementAndGet();
+				}
+				return grammar;
+			}
+		}
+		return null;
+	}
+
+	public void lockPool() {
+		// grammars are added atomically, no need to lock the pool
+	}
+
+	public void unlockPool() {
+	}
+
+	/**
+	 * Drops all grammars from the pool.
+	 */
+	public void clear() {
+		grammars.clear();
+	}
+
+	/**
+	 * Returns the number of grammars in the pool.
+	 */
+	public int size() {
+		return grammars.size();
+	}
+
+	/**
+	 * Returns the number of grammar requests answered from the pool.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the key of a grammar made up of its target namespace and the location it is loaded from, or
+	 * <code>null</code> if the location is unknown.
+	 */
+	private static String getKey(XMLGrammarDescription description) {
+		String location = null;
+		if (description instanceof XMLSchemaDescription) {
+			String[] locationHints = ((XMLSchemaDescription) description).getLocationHints();
+			if (locationHints != null && locationHints.length > 0) {
+				location = locationHints[0];
+			}
+		}
+		if (location == null) {
+			location = description.getLiteralSystemId();
+		}
+		if (location == null) {
+			return null;
+		}
+		String namespace = description.getNamespace();
+		return (namespace != null ? namespace : "") + " " + location;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2009 Spring IDE Developers
+ * Copyright (c) 2006, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,10 +29,27 @@ import org.xml.sax.SAXNotSupportedException;
  */
 public class XercesDocumentLoader implements DocumentLoader {
 
+	private static final String GRAMMAR_POOL_PROPERTY = "http://apache.org/xml/properties/internal/grammar-pool";
+
+	private final SchemaGrammarPool grammarPool;
+
+	public XercesDocumentLoader() {
+		this(null);
+	}
+
+	/**
+	 * Creates a loader that takes compiled XML schemas from the given pool, and adds those it compiles to it.
+	 * @param grammarPool the pool to share, or <code>null</code> to compile the schemas for every document
+	 * @since 3.9.13
+	 */
+	public XercesDocumentLoader(SchemaGrammarPool grammarPool) {
+		this.grammarPool = grammarPool;
+	}
+
 	public Document loadDocument(InputSource inputSource, EntityResolver entityResolver, ErrorHandler errorHandler,
 			int validationMode, boolean namespaceAware) throws Exception {
 		try {
-			LineNumberPreservingDOMParser parser = new LineNumberPreservingDOMParser();
+			LineNumberPreservingDOMParser parser = new LineNumberPreservingDOMParser(true);
 			parser.setEntityResolver(entityResolver);
 			parser.setErrorHandler(errorHandler);
 			
@@ -43,6 +60,9 @@ public class XercesDocumentLoader implements DocumentLoader {
 				parser.setFeature("http://apache.org/xml/features/validation/dynamic", false);
 				if (validationMode == XmlBeanDefinitionReader.VALIDATION_XSD) {
 					parser.setFeature("http://apache.org/xml/features/validation/schema", true);
+					if (grammarPool != null) {
+						parser.setProperty(GRAMMAR_POOL_PROPERTY, grammarPool);
+					}
 				}
 			}
 			parser.parse(inputSource);
@@ -14,7 +14,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 
 /**
- * Interface to be implemented by clients that can cache instances of {@link TypeStructure}.
+ * Interface to be implemented by clients that can cache structural information of Java types.
  * @author Christian Dupuis
  * @since 2.2.1
  */
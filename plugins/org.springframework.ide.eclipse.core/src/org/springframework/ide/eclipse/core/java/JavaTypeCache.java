@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.java;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Per project cache of the {@link IType}s that {@link JdtUtils#getJavaType(IProject, String)} resolves class names
+ * to. Class names that can't be resolved are cached as well, since looking them up in the project, all referenced
+ * projects and AJDT is the most expensive case.
+ * <p>
+ * Cached entries are discarded based on Java element deltas. A changed compilation unit or class file discards the
+ * types it defines and all unresolved names of its package, in every project. While a compilation unit is
+ * reconciled, this only happens when types are added or removed. Changes to classpaths, package fragment roots and
+ * projects discard everything.
+ * @since 3.9.13
+ */
+public class JavaTypeCache {
+
+	/** Flags of project and package fragment root deltas that change which types a project can see */
+	private static final int CLASSPATH_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_REORDER | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
+
+	/** Marks class names that don't resolve to a type */
+	private static final Object NOT_FOUND = new Object();
+
+	private final ConcurrentMap<IProject, ConcurrentMap<String, Object>> typesByProject = new ConcurrentHashMap<IProject, ConcurrentMap<String, Object>>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong negativeHits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong missNanos = new AtomicLong();
+
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * Lookups run unsynchronized, so a lookup may still be resolving a class name against the old state of the Java
+	 * model when the entries it would replace get discarded. Such a lookup must not store its result; it recognizes
+	 * this case by the count of discards having changed since it started.
+	 */
+	private final AtomicLong discards = new AtomicLong();
+
+	private IElementChangedListener changedListener = null;
+
+	public void startup() {
+		changedListener = new TypeInvalidatingJavaElementChangeListener();
+		JavaCore.addElementChangedListener(changedListener, ElementChangedEvent.POST_CHANGE
+				| ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void shutdown() {
+		if (changedListener != null) {
+			JavaCore.removeElementChangedListener(changedListener);
+			changedListener = null;
+		}
+		invalidateAll();
+	}
+
+	/**
+	 * Returns the type the given class name resolves to in the given project, or <code>null</code> if it doesn't
+	 * resolve. Class names of inner classes may use '$' or '.' as separator.
+	 */
+	public IType getJavaType(IProject project, String className) {
+		ConcurrentMap<String, Object> types = typesByProject.get(project);
+		if (types == null) {
+			types = new ConcurrentHashMap<String, Object>();
+			ConcurrentMap<String, Object> existing = typesByProject.putIfAbsent(project, types);
+			if (existing != null) {
+				types = existing;
+			}
+		}
+
+		Object cached = types.get(className);
+		if (cached != null) {
+			hits.incrementAndGet();
+			if (cached == NOT_FOUND) {
+				negativeHits.incrementAndGet();
+				return null;
+			}
+			return (IType) cached;
+		}
+
+		long discardsBefore = discards.get();
+		long start = System.nanoTime();
+		IType type = JdtUtils.findJavaType(project, className);
+		misses.incrementAndGet();
+		missNanos.addAndGet(System.nanoTime() - start);
+		synchronized (this) {
+			if (discardsBefore == discards.get()) {
+				types.put(className, type != null ? type : NOT_FOUND);
+			}
+		}
+		return type;
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache, including those for class names that don't resolve.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache for class names that don't resolve.
+	 */
+	public long getNegativeHitCount() {
+		return negativeHits.get();
+	}
+
+	/**
+	 * Returns the number of lookups that had to resolve the class name.
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the average time in milliseconds spent resolving a class name on a cache miss.
+	 */
+	public double getAverageMissMillis() {
+		long count = misses.get();
+		return count == 0 ? 0 : missNanos.get() / 1000000.0 / count;
+	}
+
+	/**
+	 * Returns the number of cached entries discarded because of Java element changes.
+	 */
+	public long getInvalidationCount() {
+		return invalidations.get();
+	}
+
+	public synchronized void invalidateAll() {
+		discards.incrementAndGet();
+		for (Map<String, Object> types : typesByProject.values()) {
+			invalidations.addAndGet(types.size());
+		}
+		typesByProject.clear();
+	}
+
+	/**
+	 * Discards the types defined in a compilation unit or class file, and all class names of its package that didn't
+	 * resolve, since the compilation unit may define them now.
+	 */
+	private synchronized void invalidateTypes(ITypeRoot typeRoot) {
+		discards.incrementAndGet();
+		String packageName = typeRoot.getParent().getElementName();
+		String primaryName = typeRoot.getElementName();
+		int dot = primaryName.lastIndexOf('.');
+		if (dot >= 0) {
+			primaryName = primaryName.substring(0, dot);
+		}
+		int dollar = primaryName.indexOf('$');
+		if (dollar >= 0) {
+			// class file of an inner class
+			primaryName = primaryName.substring(0, dollar);
+		}
+		String qualifiedName = packageName.length() == 0 ? primaryName : packageName + "." + primaryName;
+		for (Map<String, Object> types : typesByProject.values()) {
+			for (Iterator<Map.Entry<String, Object>> entries = types.entrySet().iterator(); entries.hasNext();) {
+				Map.Entry<String, Object> entry = entries.next();
+				boolean affected;
+				if (entry.getValue() == NOT_FOUND) {
+					affected = isInPackage(entry.getKey(), packageName);
+				}
+				else {
+					affected = isSameOrInner(entry.getKey(), qualifiedName)
+							|| isDefinedIn((IType) entry.getValue(), typeRoot);
+				}
+				if (affected) {
+					entries.remove();
+					invalidations.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private synchronized void invalidatePackage(String packageName) {
+		discards.incrementAndGet();
+		for (Map<String, Object> types : typesByProject.values()) {
+			for (Iterator<String> classNames = types.keySet().iterator(); classNames.hasNext();) {
+				if (isInPackage(classNames.next(), packageName)) {
+					classNames.remove();
+					invalidations.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private static boolean isInPackage(String className, String packageName) {
+		if (packageName.length() == 0) {
+			return className.indexOf('.') < 0;
+		}
+		return className.startsWith(packageName) && className.length() > packageName.length()
+				&& className.charAt(packageName.length()) == '.';
+	}
+
+	private static boolean isSameOrInner(String className, String primaryName) {
+		if (className.startsWith(primaryName)) {
+			if (className.length() == primaryName.length()) {
+				return true;
+			}
+			char c = className.charAt(primaryName.length());
+			return c == '.' || c == '$';
+		}
+		return false;
+	}
+
+	private static boolean isDefinedIn(IType type, ITypeRoot typeRoot) {
+		ITypeRoot root = type.getTypeRoot();
+		return root != null && root.getPath().equals(typeRoot.getPath())
+				&& root.getElementName().equals(typeRoot.getElementName());
+	}
+
+	private class TypeInvalidatingJavaElementChangeListener implements IElementChangedListener {
+
+		public void elementChanged(ElementChangedEvent event) {
+			visit(event.getDelta(), event.getType() == ElementChangedEvent.POST_RECONCILE);
+		}
+
+		private void visit(IJavaElementDelta delta, boolean isReconcile) {
+			IJavaElement element = delta.getElement();
+			if (element instanceof ITypeRoot) {
+				// The handles of existing types stay valid while their compilation unit is edited, so only types
+				// showing up or going away while reconciling matter. Other deltas don't tell which types changed.
+				if (!isReconcile || delta.getKind() != IJavaElementDelta.CHANGED || hasAddedOrRemovedTypes(delta)) {
+					invalidateTypes((ITypeRoot) element);
+				}
+			}
+			else if (element instanceof IPackageFragment && delta.getKind() != IJavaElementDelta.CHANGED) {
+				invalidatePackage(element.getElementName());
+			}
+			else if ((element instanceof IJavaProject || element instanceof IPackageFragmentRoot)
+					&& (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CLASSPATH_FLAGS) != 0)) {
+				invalidateAll();
+			}
+			else {
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					visit(child, isReconcile);
+				}
+			}
+		}
+
+		private boolean hasAddedOrRemovedTypes(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (child.getElement() instanceof IType
+						&& (child.getKind() != IJavaElementDelta.CHANGED || hasAddedOrRemovedTypes(child))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
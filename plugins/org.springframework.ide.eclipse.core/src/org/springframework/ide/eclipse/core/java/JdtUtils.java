@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -376,6 +376,18 @@ public class JdtUtils {
 	 * @return the requested Java type or null if the class is not defined or the project is not accessible
 	 */
 	public static IType getJavaType(IProject project, String className) {
+		JavaTypeCache cache = SpringCore.getJavaTypeCache();
+		if (cache != null && project != null && className != null) {
+			return cache.getJavaType(project, className);
+		}
+		return findJavaType(project, className);
+	}
+
+	/**
+	 * Looks up the Java type for the given full-qualified class name in the given project, its referenced projects
+	 * and AJDT, bypassing the {@link JavaTypeCache}.
+	 */
+	static IType findJavaType(IProject project, String className) {
 		IJavaProject javaProject = JdtUtils.getJavaProject(project);
 
 		if (className != null) {
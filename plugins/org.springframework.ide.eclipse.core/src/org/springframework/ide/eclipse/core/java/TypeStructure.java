@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Spring IDE Developers
+ * Copyright (c) 2008, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,7 +26,9 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType;
  * @author Christian Dupuis
  * @author Andy Clement
  * @since 2.2.0
+ * @deprecated as of 3.9.13 {@link TypeStructureCache} keeps a {@link TypeStructureFingerprint} per type instead
  */
+@Deprecated
 @SuppressWarnings("restriction")
 class TypeStructure extends org.eclipse.jdt.internal.core.hierarchy.HierarchyBinaryType implements IBinaryType {
 	
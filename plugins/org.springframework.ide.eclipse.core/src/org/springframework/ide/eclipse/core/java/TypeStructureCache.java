@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 Spring IDE Developers
+ * Copyright (c) 2008, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,13 +13,22 @@ package org.springframework.ide.eclipse.core.java;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -43,25 +52,19 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
-import org.eclipse.jdt.internal.compiler.env.ClassSignature;
-import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
-import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
-import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
-import org.eclipse.jdt.internal.compiler.env.IBinaryField;
-import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
-import org.eclipse.jdt.internal.compiler.impl.Constant;
-import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
 import org.springframework.ide.eclipse.core.SpringCore;
 import org.springsource.ide.eclipse.commons.core.SpringCoreUtils;
 
 /**
- * Object that caches instances of {@link TypeStructure}. Furthermore this implementation is able to answer if a given
- * {@link IResource} which represents a class file has structural changes.
+ * Object that caches {@link TypeStructureFingerprint}s of class files. Furthermore this implementation is able to
+ * answer if a given {@link IResource} which represents a class file has structural changes.
  * <p>
  * For this implementation a change of class and method level annotation is considered a structural change.
+ * <p>
+ * Fingerprints are kept sorted by class name per project, so that the fingerprints of inner classes can be found by
+ * prefix. Fingerprints of large batches of class files, e.g. during full builds, are computed in parallel.
  * 
  * @author Christian Dupuis
  * @author Martin Lippert
@@ -70,12 +73,15 @@ import org.springsource.ide.eclipse.commons.core.SpringCoreUtils;
 @SuppressWarnings("restriction")
 public class TypeStructureCache implements ITypeStructureCache {
 
-	private static final char[][] EMPTY_CHAR_ARRAY = new char[0][];
+	/** Minimum number of class files to record before fingerprints are computed in parallel */
+	private static final int PARALLEL_THRESHOLD = 64;
 
 	private IElementChangedListener changedListener = null;
 
-	/** {@link TypeStructure} instances keyed by full-qualified class names */
-	private Map<IProject, Map<String, TypeStructure>> typeStructuresByProject = new ConcurrentHashMap<IProject, Map<String, TypeStructure>>();
+	/** {@link TypeStructureFingerprint} instances keyed by full-qualified class names */
+	private Map<IProject, ConcurrentNavigableMap<String, TypeStructureFingerprint>> typeStructuresByProject = new ConcurrentHashMap<IProject, ConcurrentNavigableMap<String, TypeStructureFingerprint>>();
+
+	private ExecutorService executor;
 
 	protected final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
 
@@ -92,10 +98,16 @@ public class TypeStructureCache implements ITypeStructureCache {
 		JavaCore.removeElementChangedListener(changedListener);
 		changedListener = null;
 		typeStructuresByProject = null;
+		synchronized (this) {
+			if (executor != null) {
+				executor.shutdownNow();
+				executor = null;
+			}
+		}
 	}
 
 	/**
-	 * Removes {@link TypeStructure}s for a given project.
+	 * Removes {@link TypeStructureFingerprint}s for a given project.
 	 */
 	public void clearStateForProject(IProject project) {
 		try {
@@ -108,7 +120,7 @@ public class TypeStructureCache implements ITypeStructureCache {
 	}
 
 	/**
-	 * Checks if {@link TypeStructure} instances exist for a given project.
+	 * Checks if {@link TypeStructureFingerprint} instances exist for a given project.
 	 */
 	public boolean hasRecordedTypeStructures(IProject project) {
 		try {
@@ -121,50 +133,114 @@ public class TypeStructureCache implements ITypeStructureCache {
 	}
 
 	/**
-	 * Record {@link TypeStructure} instances of the given <code>resources</code>.
+	 * Record {@link TypeStructureFingerprint} instances of the given <code>resources</code>.
 	 */
 	public void recordTypeStructures(IProject project, IResource... resources) {
+		List<IFile> classFiles = new ArrayList<IFile>(resources.length);
+		for (IResource resource : resources) {
+			if ("class".equals(resource.getFileExtension()) && resource instanceof IFile) {
+				classFiles.add((IFile) resource);
+			}
+		}
+
+		// compute fingerprints before locking, so that readers are not blocked while class files are read
+		Map<String, TypeStructureFingerprint> fingerprints = computeFingerprints(classFiles);
+
 		try {
 			w.lock();
-			Map<String, TypeStructure> typeStructures = null;
-			if (!typeStructuresByProject.containsKey(project)) {
-				typeStructures = new ConcurrentHashMap<String, TypeStructure>();
+			ConcurrentNavigableMap<String, TypeStructureFingerprint> typeStructures = typeStructuresByProject
+					.get(project);
+			if (typeStructures == null) {
+				typeStructures = new ConcurrentSkipListMap<String, TypeStructureFingerprint>();
 				typeStructuresByProject.put(project, typeStructures);
 			}
-			else {
-				typeStructures = typeStructuresByProject.get(project);
+			typeStructures.putAll(fingerprints);
+		}
+		finally {
+			w.unlock();
+		}
+	}
+
+	private Map<String, TypeStructureFingerprint> computeFingerprints(List<IFile> classFiles) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		if (classFiles.size() < PARALLEL_THRESHOLD || threads < 2) {
+			return computeFingerprints(classFiles, 0, classFiles.size());
+		}
+
+		List<Future<Map<String, TypeStructureFingerprint>>> results = new ArrayList<Future<Map<String, TypeStructureFingerprint>>>();
+		int chunkSize = (classFiles.size() + threads - 1) / threads;
+		ExecutorService executor = getExecutor();
+		for (int start = 0; start < classFiles.size(); start += chunkSize) {
+			final List<IFile> files = classFiles;
+			final int from = start;
+			final int to = Math.min(start + chunkSize, classFiles.size());
+			results.add(executor.submit(new Callable<Map<String, TypeStructureFingerprint>>() {
+				public Map<String, TypeStructureFingerprint> call() {
+					return computeFingerprints(files, from, to);
+				}
+			}));
+		}
+
+		Map<String, TypeStructureFingerprint> fingerprints = new HashMap<String, TypeStructureFingerprint>();
+		for (Future<Map<String, TypeStructureFingerprint>> result : results) {
+			try {
+				fingerprints.putAll(result.get());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
 			}
+			catch (ExecutionException e) {
+				SpringCore.log(e.getCause());
+			}
+		}
+		return fingerprints;
+	}
 
-			for (IResource resource : resources) {
-				if (resource.getFileExtension().equals("class") && resource instanceof IFile) {
-					InputStream input = null;
+	private static Map<String, TypeStructureFingerprint> computeFingerprints(List<IFile> classFiles, int from, int to) {
+		Map<String, TypeStructureFingerprint> fingerprints = new HashMap<String, TypeStructureFingerprint>();
+		for (int i = from; i < to; i++) {
+			IFile classFile = classFiles.get(i);
+			InputStream input = null;
+			try {
+				input = classFile.getContents();
+				ClassFileReader reader = ClassFileReader.read(input, classFile.getName());
+				fingerprints.put(new String(reader.getName()).replace('/', '.'),
+						TypeStructureFingerprint.compute(reader));
+			}
+			catch (CoreException e) {
+			}
+			catch (ClassFormatException e) {
+			}
+			catch (IOException e) {
+			}
+			finally {
+				if (input != null) {
 					try {
-						input = ((IFile) resource).getContents();
-						ClassFileReader reader = ClassFileReader.read(input, resource.getName());
-						TypeStructure typeStructure = new TypeStructure(reader);
-						typeStructures.put(new String(reader.getName()).replace('/', '.'), typeStructure);
-					}
-					catch (CoreException e) {
-					}
-					catch (ClassFormatException e) {
+						input.close();
 					}
 					catch (IOException e) {
 					}
-					finally {
-						if (input != null) {
-							try {
-								input.close();
-							}
-							catch (IOException e) {
-							}
-						}
-					}
 				}
 			}
 		}
-		finally {
-			w.unlock();
+		return fingerprints;
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Spring IDE Type Structure Recorder "
+							+ threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
 		}
+		return executor;
 	}
 
 	/**
@@ -177,7 +253,7 @@ public class TypeStructureCache implements ITypeStructureCache {
 				return true;
 			}
 
-			Map<String, TypeStructure> typeStructures = typeStructuresByProject.get(resource.getProject());
+			Map<String, TypeStructureFingerprint> typeStructures = typeStructuresByProject.get(resource.getProject());
 
 			if (resource != null && resource.getFileExtension() != null && resource.getFileExtension().equals("java")) {
 				IJavaElement element = JavaCore.create(resource);
@@ -186,13 +262,14 @@ public class TypeStructureCache implements ITypeStructureCache {
 						IType[] types = ((ICompilationUnit) element).getAllTypes();
 						for (IType type : types) {
 							String fqn = type.getFullyQualifiedName();
-							TypeStructure typeStructure = typeStructures.get(fqn);
+							TypeStructureFingerprint typeStructure = typeStructures.get(fqn);
 							if (typeStructure == null) {
 								return true;
 							}
 							ClassFileReader reader = getClassFileReaderForClassName(type.getFullyQualifiedName(),
 									resource.getProject());
-							if (reader != null && hasStructuralChanges(reader, typeStructure, flags)) {
+							if (reader != null
+									&& typeStructure.hasStructuralChanges(TypeStructureFingerprint.compute(reader), flags)) {
 								return true;
 							}
 						}
@@ -223,18 +300,11 @@ public class TypeStructureCache implements ITypeStructureCache {
 				return;
 			}
 
-			String innerClassName = className + "$";
-			List<String> typeStructuresToRemove = new ArrayList<String>();
-
-			Map<String, TypeStructure> typeStructures = typeStructuresByProject.get(project);
-			for (String recordedClassName : typeStructures.keySet()) {
-				if (className.equals(recordedClassName) || recordedClassName.startsWith(innerClassName)) {
-					typeStructuresToRemove.add(recordedClassName);
-				}
-			}
-			for (String recordedClassName : typeStructuresToRemove) {
-				typeStructures.remove(recordedClassName);
-			}
+			ConcurrentNavigableMap<String, TypeStructureFingerprint> typeStructures = typeStructuresByProject
+					.get(project);
+			typeStructures.remove(className);
+			// inner classes: all names starting with 'className$', '%' being the character following '$'
+			typeStructures.subMap(className + '$', className + '%').clear();
 		}
 		finally {
 			w.unlock();
@@ -312,314 +382,6 @@ public class TypeStructureCache implements ITypeStructureCache {
 		return null;
 	}
 
-	private boolean hasStructuralChanges(ClassFileReader reader, TypeStructure existingType, int flags) {
-		if (existingType == null) {
-			return true;
-		}
-
-		// modifiers
-		if (!modifiersEqual(reader.getModifiers(), existingType.modifiers)) {
-			return true;
-		}
-
-		// generic signature
-		if (!CharOperation.equals(reader.getGenericSignature(), existingType.genericSignature)) {
-			return true;
-		}
-
-		// superclass name
-		if (!CharOperation.equals(reader.getSuperclassName(), existingType.superclassName)) {
-			return true;
-		}
-
-		// class level annotations
-		if ((flags & FLAG_ANNOTATION) != 0) {
-			IBinaryAnnotation[] existingAnnotations = existingType.getAnnotations();
-			IBinaryAnnotation[] newAnnotations = reader.getAnnotations();
-			if (!annotationsEqual(existingAnnotations, newAnnotations, flags)) {
-				return true;
-			}
-		}
-
-		// tag bits; standard annotations like @Deprecated
-		if (reader.getTagBits() != existingType.getTagBits()) {
-			return true;
-		}
-
-		// interfaces
-		char[][] existingIfs = existingType.interfaces;
-		char[][] newIfsAsChars = reader.getInterfaceNames();
-		if (newIfsAsChars == null) {
-			newIfsAsChars = EMPTY_CHAR_ARRAY;
-		} // damn I'm lazy...
-		if (existingIfs == null) {
-			existingIfs = EMPTY_CHAR_ARRAY;
-		}
-		if (existingIfs.length != newIfsAsChars.length)
-			return true;
-		new_interface_loop: for (int i = 0; i < newIfsAsChars.length; i++) {
-			for (int j = 0; j < existingIfs.length; j++) {
-				if (CharOperation.equals(existingIfs[j], newIfsAsChars[i])) {
-					continue new_interface_loop;
-				}
-			}
-			return true;
-		}
-
-		// fields
-		IBinaryField[] newFields = reader.getFields();
-		if (newFields == null) {
-			newFields = TypeStructure.NoField;
-		}
-
-		IBinaryField[] existingFs = existingType.binFields;
-		if (newFields.length != existingFs.length)
-			return true;
-		new_field_loop: for (int i = 0; i < newFields.length; i++) {
-			IBinaryField field = newFields[i];
-			char[] fieldName = field.getName();
-			for (int j = 0; j < existingFs.length; j++) {
-				if (CharOperation.equals(existingFs[j].getName(), fieldName)) {
-					if (!modifiersEqual(field.getModifiers(), existingFs[j].getModifiers())) {
-						return true;
-					}
-					if (!CharOperation.equals(existingFs[j].getTypeName(), field.getTypeName())) {
-						return true;
-					}
-					if ((flags & FLAG_ANNOTATION) != 0) {
-						if (!annotationsEqual(field.getAnnotations(), existingFs[j].getAnnotations(), flags)) {
-							return true;
-						}
-					}
-					continue new_field_loop;
-				}
-			}
-			return true;
-		}
-
-		// methods
-		IBinaryMethod[] newMethods = reader.getMethods();
-		if (newMethods == null) {
-			newMethods = TypeStructure.NoMethod;
-		}
-		
-		char[] fileName = reader.getFileName();
-
-		IBinaryMethod[] existingMs = existingType.binMethods;
-		if (newMethods.length != existingMs.length)
-			return true;
-		new_method_loop: for (int i = 0; i < newMethods.length; i++) {
-			IBinaryMethod method = newMethods[i];
-			char[] methodName = method.getSelector();
-			for (int j = 0; j < existingMs.length; j++) {
-				if (CharOperation.equals(existingMs[j].getSelector(), methodName)) {
-					// candidate match
-					if (!CharOperation.equals(method.getMethodDescriptor(), existingMs[j].getMethodDescriptor())) {
-						continue; // might be overloading
-					}
-					else {
-						// matching sigs
-						if (!modifiersEqual(method.getModifiers(), existingMs[j].getModifiers())) {
-							return true;
-						}
-						if ((flags & FLAG_ANNOTATION) != 0) {
-							if (!annotationsEqual(method.getAnnotations(), existingMs[j].getAnnotations(), flags)) {
-								return true;
-							}
-							
-							if (!parameterAnnotationsEquals(method, existingMs[j], fileName, flags)) {
-								return true;
-							}
-							
-						}
-						continue new_method_loop;
-					}
-				}
-			}
-			return true; // (no match found)
-		}
-
-		return false;
-	}
-
-	private static boolean parameterAnnotationsEquals(IBinaryMethod newMethod,
-			IBinaryMethod existingMethod, char[] fileName, int flags) {
-		
-		char[][] argumentNames = newMethod.getArgumentNames();
-		char[][] existingArgumentNames = existingMethod.getArgumentNames();
-		
-		if (argumentNames == null && existingArgumentNames == null)
-			return true;
-		
-		int argumentCount = argumentNames != null ? argumentNames.length : 0;
-		int existingArgumentCount = existingArgumentNames != null ? existingArgumentNames.length : 0;
-		
-		if (argumentCount != existingArgumentCount)
-			return false;
-		
-		for (int i = 0; i < argumentCount; i++) {
-			IBinaryAnnotation[] parameterAnnotations = getParameterAnnotation(newMethod, i, fileName);
-			IBinaryAnnotation[] existingParameterAnnotations = getParameterAnnotation(existingMethod, i, fileName);
-			
-			if (!annotationsEqual(parameterAnnotations, existingParameterAnnotations, flags)) {
-				return false;
-			}
-		}
-		
-		return true;
-	}
-
-	// changed API of IBinaryMethod (between Eclipse 4.5 and Eclipse 4.6)
-	// therefore adapting to this via reflection to use the correct existing method
-	private static IBinaryAnnotation[] getParameterAnnotation(IBinaryMethod newMethod, int i, char[] fileName) {
-		IBinaryAnnotation[] result = null;
-		
-		// try the old method first
-		try {
-
-			try {
-				Method getParameterAnnotationsMethod = newMethod.getClass().getMethod("getParameterAnnotations", int.class);
-				if (getParameterAnnotationsMethod != null) {
-					getParameterAnnotationsMethod.setAccessible(true);
-					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(newMethod, i);
-				}
-			} catch (NoSuchMethodException e) {
-				
-				// if the old method is not there, try the new one
-				Method getParameterAnnotationsMethod = newMethod.getClass().getMethod("getParameterAnnotations", int.class, char[].class);
-				if (getParameterAnnotationsMethod != null) {
-					getParameterAnnotationsMethod.setAccessible(true);
-					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(newMethod, i, fileName);
-				}
-			}
-			
-		} catch (Exception e) {
-			SpringCore.log(e);
-		}
-		
-		return result;
-	}
-
-	private static boolean annotationsEqual(IBinaryAnnotation[] existingAnnotations,
-			IBinaryAnnotation[] newAnnotations, int flags) {
-		if (existingAnnotations == null) {
-			existingAnnotations = TypeStructure.NoAnnotation;
-		}
-		if (newAnnotations == null) {
-			newAnnotations = TypeStructure.NoAnnotation;
-		}
-		if (existingAnnotations.length != newAnnotations.length) {
-			return false;
-		}
-
-		new_annotation_loop: for (int i = 0; i < newAnnotations.length; i++) {
-			for (int j = 0; j < existingAnnotations.length; j++) {
-				if (CharOperation.equals(newAnnotations[j].getTypeName(), existingAnnotations[i].getTypeName())) {
-					// compare annotation parameters
-					if ((flags & FLAG_ANNOTATION_VALUE) != 0) {
-						IBinaryElementValuePair[] newParameters = newAnnotations[j].getElementValuePairs();
-						IBinaryElementValuePair[] existingParameters = existingAnnotations[j].getElementValuePairs();
-						if (newParameters == null) {
-							newParameters = TypeStructure.NoElement;
-						}
-						if (existingParameters == null) {
-							existingParameters = TypeStructure.NoElement;
-						}
-						if (existingParameters.length != newParameters.length) {
-							return false;
-						}
-						for (int k = 0; k < newParameters.length; k++) {
-							for (int l = 0; l < existingParameters.length; l++) {
-								char[] newName = newParameters[l].getName();
-								char[] existingName = existingParameters[l].getName();
-								Object newValue = newParameters[l].getValue();
-								Object existingValue = existingParameters[l].getValue();
-
-								if (!CharOperation.equals(newName, existingName)) {
-									return false;
-								}
-
-								if (!parameterValuesEquals(flags, newValue, existingValue)) {
-									return false;
-								}
-							}
-						}
-					}
-					continue new_annotation_loop;
-				}
-			}
-			return false;
-		}
-		return true;
-	}
-
-	private static boolean parameterValuesEquals(int flags, Object newValue, Object existingValue) {
-		if (newValue.getClass().isArray() && existingValue.getClass().isArray()) {
-			Object[] newValueArray = (Object[]) newValue;
-			Object[] existingValueArray = (Object[]) existingValue;
-			if (newValueArray.length != existingValueArray.length) {
-				return false;
-			}
-			for (int i = 0; i < newValueArray.length; i++) {
-				if (!parameterValuesEquals(flags, newValueArray[i], existingValueArray[i])) {
-					return false;
-				}
-			}
-		}
-		else if (newValue instanceof ClassSignature) {
-			if (existingValue instanceof ClassSignature) {
-				if (!CharOperation.equals(((ClassSignature) newValue).getTypeName(),
-						((ClassSignature) existingValue).getTypeName())) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		else if (newValue instanceof Constant) {
-			if (existingValue instanceof Constant) {
-				if (!((Constant) newValue).hasSameValue((Constant) existingValue)) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		else if (newValue instanceof EnumConstantSignature) {
-			if (existingValue instanceof EnumConstantSignature) {
-				if (!(CharOperation.equals(((EnumConstantSignature) newValue).getTypeName(),
-						((EnumConstantSignature) existingValue).getTypeName()) && CharOperation.equals(
-						((EnumConstantSignature) newValue).getEnumConstantName(),
-						((EnumConstantSignature) existingValue).getEnumConstantName()))) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		else if (newValue instanceof IBinaryAnnotation) {
-			if (existingValue instanceof EnumConstantSignature) {
-				if (!annotationsEqual(new IBinaryAnnotation[] { (IBinaryAnnotation) newValue },
-						new IBinaryAnnotation[] { (IBinaryAnnotation) existingValue }, flags)) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private static boolean modifiersEqual(int eclipseModifiers, int resolvedTypeModifiers) {
-		resolvedTypeModifiers = resolvedTypeModifiers & ExtraCompilerModifiers.AccJustFlag;
-		eclipseModifiers = eclipseModifiers & ExtraCompilerModifiers.AccJustFlag;
-		return (eclipseModifiers == resolvedTypeModifiers);
-	}
-
 	private class TypeRemovingJavaElementChangeListener implements IElementChangedListener {
 
 		public void elementChanged(ElementChangedEvent event) {
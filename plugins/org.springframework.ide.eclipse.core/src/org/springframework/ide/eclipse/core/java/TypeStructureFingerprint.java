@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.java;
+
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
+import org.springframework.ide.eclipse.core.SpringCore;
+
+/**
+ * Compact structural fingerprint of a Java class file, used to check if class files have changes since the last
+ * build without keeping the class file contents around.
+ * <p>
+ * A fingerprint consists of three 128-bit hashes, one for each level of change that clients of
+ * {@link ITypeStructureCache#hasStructuralChanges(org.eclipse.core.resources.IResource, int)} can ask for:
+ * <ul>
+ * <li>the structure: modifiers, generic signature, supertypes, tag bits, fields and method signatures</li>
+ * <li>the names of class, field, method and parameter annotations</li>
+ * <li>the same annotations including their values</li>
+ * </ul>
+ * The order of interfaces, fields, methods and annotations in the class file does not affect the fingerprint.
+ * @since 3.9.13
+ */
+@SuppressWarnings("restriction")
+final class TypeStructureFingerprint {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final long structureHigh;
+
+	private final long structureLow;
+
+	private final long annotationsHigh;
+
+	private final long annotationsLow;
+
+	private final long valuesHigh;
+
+	private final long valuesLow;
+
+	private TypeStructureFingerprint(byte[] structure, byte[] annotations, byte[] values) {
+		this.structureHigh = high(structure);
+		this.structureLow = low(structure);
+		this.annotationsHigh = high(annotations);
+		this.annotationsLow = low(annotations);
+		this.valuesHigh = high(values);
+		this.valuesLow = low(values);
+	}
+
+	/**
+	 * Computes the fingerprint of the type read by the given <code>reader</code>.
+	 */
+	public static TypeStructureFingerprint compute(ClassFileReader reader) {
+		List<String> structure = new ArrayList<String>();
+		List<String> annotations = new ArrayList<String>();
+		List<String> values = new ArrayList<String>();
+
+		structure.add("M" + (reader.getModifiers() & ExtraCompilerModifiers.AccJustFlag));
+		structure.add("G" + toString(reader.getGenericSignature()));
+		structure.add("S" + toString(reader.getSuperclassName()));
+		structure.add("T" + reader.getTagBits());
+		char[][] interfaces = reader.getInterfaceNames();
+		if (interfaces != null) {
+			for (char[] name : interfaces) {
+				structure.add("I" + toString(name));
+			}
+		}
+		annotations.add("C" + renderAnnotations(reader.getAnnotations(), false));
+		values.add("C" + renderAnnotations(reader.getAnnotations(), true));
+
+		IBinaryField[] fields = reader.getFields();
+		if (fields != null) {
+			for (IBinaryField field : fields) {
+				String name = toString(field.getName());
+				structure.add("F" + name + ' ' + toString(field.getTypeName()) + ' '
+						+ (field.getModifiers() & ExtraCompilerModifiers.AccJustFlag));
+				annotations.add("F" + name + renderAnnotations(field.getAnnotations(), false));
+				values.add("F" + name + renderAnnotations(field.getAnnotations(), true));
+			}
+		}
+
+		char[] fileName = reader.getFileName();
+		IBinaryMethod[] methods = reader.getMethods();
+		if (methods != null) {
+			for (IBinaryMethod method : methods) {
+				String signature = toString(method.getSelector()) + toString(method.getMethodDescriptor());
+				structure.add("D" + signature + ' ' + (method.getModifiers() & ExtraCompilerModifiers.AccJustFlag));
+				annotations.add("D" + signature + renderMethodAnnotations(method, fileName, false));
+				values.add("D" + signature + renderMethodAnnotations(method, fileName, true));
+			}
+		}
+
+		return new TypeStructureFingerprint(digest(structure), digest(annotations), digest(values));
+	}
+
+	/**
+	 * Returns <code>true</code> if the given fingerprint of a newer version of the same type differs at the level
+	 * of interest.
+	 * @param flags the changes of interest as defined by {@link ITypeStructureCache}
+	 */
+	public boolean hasStructuralChanges(TypeStructureFingerprint newer, int flags) {
+		if (structureHigh != newer.structureHigh || structureLow != newer.structureLow) {
+			return true;
+		}
+		if ((flags & ITypeStructureCache.FLAG_ANNOTATION) != 0) {
+			if ((flags & ITypeStructureCache.FLAG_ANNOTATION_VALUE) != 0) {
+				return valuesHigh != newer.valuesHigh || valuesLow != newer.valuesLow;
+			}
+			return annotationsHigh != newer.annotationsHigh || annotationsLow != newer.annotationsLow;
+		}
+		return false;
+	}
+
+	private static String renderMethodAnnotations(IBinaryMethod method, char[] fileName, boolean includeValues) {
+		StringBuilder result = new StringBuilder(renderAnnotations(method.getAnnotations(), includeValues));
+		char[][] argumentNames = method.getArgumentNames();
+		int argumentCount = argumentNames != null ? argumentNames.length : 0;
+		for (int i = 0; i < argumentCount; i++) {
+			result.append('#').append(i)
+					.append(renderAnnotations(getParameterAnnotations(method, i, fileName), includeValues));
+		}
+		return result.toString();
+	}
+
+	private static String renderAnnotations(IBinaryAnnotation[] annotations, boolean includeValues) {
+		if (annotations == null || annotations.length == 0) {
+			return "";
+		}
+		List<String> rendered = new ArrayList<String>(annotations.length);
+		for (IBinaryAnnotation annotation : annotations) {
+			rendered.add(renderAnnotation(annotation, includeValues));
+		}
+		Collections.sort(rendered);
+		StringBuilder result = new StringBuilder();
+		for (String annotation : rendered) {
+			result.append(annotation);
+		}
+		return result.toString();
+	}
+
+	private static String renderAnnotation(IBinaryAnnotation annotation, boolean includeValues) {
+		StringBuilder result = new StringBuilder();
+		result.append('@').append(toString(annotation.getTypeName()));
+		if (includeValues) {
+			IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+			if (pairs != null && pairs.length > 0) {
+				List<String> rendered = new ArrayList<String>(pairs.length);
+				for (IBinaryElementValuePair pair : pairs) {
+					rendered.add(toString(pair.getName()) + '=' + renderValue(pair.getValue()));
+				}
+				Collections.sort(rendered);
+				result.append(rendered);
+			}
+		}
+		return result.toString();
+	}
+
+	private static String renderValue(Object value) {
+		if (value instanceof Object[]) {
+			StringBuilder result = new StringBuilder("{");
+			for (Object element : (Object[]) value) {
+				result.append(renderValue(element)).append(',');
+			}
+			return result.append('}').toString();
+		}
+		else if (value instanceof ClassSignature) {
+			return toString(((ClassSignature) value).getTypeName()) + ".class";
+		}
+		else if (value instanceof EnumConstantSignature) {
+			return toString(((EnumConstantSignature) value).getTypeName()) + '.'
+					+ toString(((EnumConstantSignature) value).getEnumConstantName());
+		}
+		else if (value instanceof IBinaryAnnotation) {
+			return renderAnnotation((IBinaryAnnotation) value, true);
+		}
+		else if (value instanceof Constant) {
+			return value.toString();
+		}
+		return String.valueOf(value);
+	}
+
+	// changed API of IBinaryMethod (between Eclipse 4.5 and Eclipse 4.6)
+	// therefore adapting to this via reflection to use the correct existing method
+	private static IBinaryAnnotation[] getParameterAnnotations(IBinaryMethod method, int i, char[] fileName) {
+		IBinaryAnnotation[] result = null;
+
+		// try the old method first
+		try {
+
+			try {
+				Method getParameterAnnotationsMethod = method.getClass().getMethod("getParameterAnnotations", int.class);
+				if (getParameterAnnotationsMethod != null) {
+					getParameterAnnotationsMethod.setAccessible(true);
+					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(method, i);
+				}
+			} catch (NoSuchMethodException e) {
+
+				// if the old method is not there, try the new one
+				Method getParameterAnnotationsMethod = method.getClass().getMethod("getParameterAnnotations", int.class, char[].class);
+				if (getParameterAnnotationsMethod != null) {
+					getParameterAnnotationsMethod.setAccessible(true);
+					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(method, i, fileName);
+				}
+			}
+
+		} catch (Exception e) {
+			SpringCore.log(e);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Hashes the given parts into 128 bits, independent of their order.
+	 */
+	private static byte[] digest(List<String> parts) {
+		Collections.sort(parts);
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("MD5");
+		}
+		catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support MD5
+			throw new IllegalStateException(e);
+		}
+		for (String part : parts) {
+			digest.update(part.getBytes(UTF8));
+			digest.update((byte) 0);
+		}
+		return digest.digest();
+	}
+
+	private static long high(byte[] hash) {
+		return toLong(hash, 0);
+	}
+
+	private static long low(byte[] hash) {
+		return toLong(hash, 8);
+	}
+
+	private static long toLong(byte[] bytes, int offset) {
+		long result = 0;
+		for (int i = offset; i < offset + 8; i++) {
+			result = (result << 8) | (bytes[i] & 0xff);
+		}
+		return result;
+	}
+
+	private static String toString(char[] chars) {
+		return chars == null ? "" : new String(chars);
+	}
+
+}
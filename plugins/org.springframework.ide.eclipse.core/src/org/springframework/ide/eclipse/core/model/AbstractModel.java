@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2009 Spring IDE Developers
+ * Copyright (c) 2005, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,10 @@ import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
 
 /**
  * Default implementation of the common protocol for a model.
+ * <p>
+ * Listeners are notified synchronously by the thread that changes the model, except for
+ * {@link IAsyncModelChangeListener}s which are notified of collapsed batches of events by the model's
+ * {@link ModelChangeEventBus}.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -22,6 +26,8 @@ public abstract class AbstractModel extends AbstractModelElement implements IMod
 
 	private ListenerList listeners;
 
+	private volatile ModelChangeEventBus eventBus;
+
 	public AbstractModel(IModelElement parent, String name) {
 		super(parent, name);
 		listeners = new ListenerList();
@@ -32,11 +38,48 @@ public abstract class AbstractModel extends AbstractModelElement implements IMod
 	}
 
 	public final void addChangeListener(IModelChangeListener listener) {
-		listeners.add(listener);
+		if (listener instanceof IAsyncModelChangeListener) {
+			getChangeEventBus().addListener((IAsyncModelChangeListener) listener);
+		}
+		else {
+			listeners.add(listener);
+		}
 	}
 
 	public final void removeChangeListener(IModelChangeListener listener) {
-		listeners.remove(listener);
+		if (listener instanceof IAsyncModelChangeListener) {
+			if (eventBus != null) {
+				eventBus.removeListener((IAsyncModelChangeListener) listener);
+			}
+		}
+		else {
+			listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * Returns the bus which notifies this model's {@link IAsyncModelChangeListener}s, e.g. to query its statistics.
+	 * @since 3.9.13
+	 */
+	public final ModelChangeEventBus getChangeEventBus() {
+		if (eventBus == null) {
+			synchronized (this) {
+				if (eventBus == null) {
+					eventBus = new ModelChangeEventBus(getElementName());
+				}
+			}
+		}
+		return eventBus;
+	}
+
+	/**
+	 * Drops the events not yet delivered to {@link IAsyncModelChangeListener}s and stops delivering events.
+	 * @since 3.9.13
+	 */
+	protected final void disposeChangeEventBus() {
+		if (eventBus != null) {
+			eventBus.dispose();
+		}
 	}
 
 	public final void notifyListeners(IModelElement element, Type type) {
@@ -45,6 +88,9 @@ public abstract class AbstractModel extends AbstractModelElement implements IMod
 			for (Object listener : listeners.getListeners()) {
 				((IModelChangeListener) listener).elementChanged(event);
 			}
+			if (eventBus != null) {
+				eventBus.post(event);
+			}
 		}
 	}
 }
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model;
+
+/**
+ * A {@link IModelChangeListener} which is notified through the model's {@link ModelChangeEventBus} instead of
+ * synchronously by the thread that changes the model.
+ * <p>
+ * Events are delivered shortly after they are fired, in a background job. Events for the same model element that are
+ * fired within the bus' delay are collapsed into one, e.g. an element that is added and then changed is only reported
+ * as added. Listeners must therefore not rely on being notified of every single change, nor on being notified before
+ * the model changes again.
+ * <p>
+ * This interface may be implemented by clients.
+ * @since 3.9.13
+ * @see AbstractModel#getChangeEventBus()
+ */
+public interface IAsyncModelChangeListener extends IModelChangeListener {
+
+}
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+
+/**
+ * Delivers the {@link ModelChangeEvent}s of a model to its {@link IAsyncModelChangeListener}s in a background job.
+ * <p>
+ * Events are collected for a short delay after the first one is posted and then delivered as a batch. Within a batch
+ * events are collapsed per model element, identified by its {@link IModelElement#getElementID() ID}:
+ * <ul>
+ * <li>an element that is added and then changed is reported as added</li>
+ * <li>an element that is added and then removed isn't reported at all</li>
+ * <li>an element that is removed and then added or changed again is reported as changed</li>
+ * <li>an element that is changed several times is reported as changed once</li>
+ * </ul>
+ * The reported event always refers to the latest instance of the element. Batches preserve the order in which the
+ * elements were first reported.
+ * <p>
+ * The bus keeps statistics on the events it delivers, which are printed after every batch if the
+ * {@link #DEBUG_OPTION} is enabled.
+ * @since 3.9.13
+ */
+public class ModelChangeEventBus {
+
+	public static final String DEBUG_OPTION = SpringCore.PLUGIN_ID + "/model/events/debug";
+
+	public static boolean DEBUG = SpringCore.isDebug(DEBUG_OPTION);
+
+	/** Default time in milliseconds events are collected before they are delivered */
+	public static final long DEFAULT_DELAY = 100;
+
+	private final ListenerList listeners = new ListenerList();
+
+	private final long delay;
+
+	private final Job deliveryJob;
+
+	/** Pending events by ID of their element, guarded by itself */
+	private final Map<String, ModelChangeEvent> pendingEvents = new LinkedHashMap<String, ModelChangeEvent>();
+
+	private long firstPendingEventTime;
+
+	/** Set once the bus is disposed; written while holding the lock of {@link #pendingEvents} */
+	private volatile boolean disposed = false;
+
+	private long postedEvents;
+
+	private long deliveredEvents;
+
+	private long batches;
+
+	private int maxBatchSize;
+
+	private long totalLatency;
+
+	private long totalDeliveryNanos;
+
+	public ModelChangeEventBus(String name) {
+		this(name, DEFAULT_DELAY);
+	}
+
+	/**
+	 * Creates a bus which collects events for the given number of milliseconds before it delivers them.
+	 */
+	public ModelChangeEventBus(String name, long delay) {
+		this.delay = delay;
+		this.deliveryJob = new Job("Delivering changes of " + name) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				deliver(monitor);
+				return Status.OK_STATUS;
+			}
+		};
+		this.deliveryJob.setSystem(true);
+	}
+
+	public void addListener(IAsyncModelChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(IAsyncModelChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Queues the given event for delivery. Events posted while there are no listeners or after the bus has been
+	 * disposed are dropped.
+	 */
+	public void post(ModelChangeEvent event) {
+		if (disposed || !hasListeners()) {
+			return;
+		}
+		String id = event.getElement().getElementID();
+		boolean schedule;
+		synchronized (pendingEvents) {
+			if (disposed) {
+				return;
+			}
+			postedEvents++;
+			schedule = pendingEvents.isEmpty();
+			if (schedule) {
+				firstPendingEventTime = System.currentTimeMillis();
+			}
+			ModelChangeEvent pendingEvent = pendingEvents.get(id);
+			if (pendingEvent == null) {
+				pendingEvents.put(id, event);
+			}
+			else {
+				Type type = coalesce(pendingEvent.getType(), event.getType());
+				if (type == null) {
+					pendingEvents.remove(id);
+				}
+				else {
+					pendingEvents.put(id, type == event.getType() ? event : new ModelChangeEvent(event.getElement(),
+							type));
+				}
+			}
+		}
+		if (schedule) {
+			deliveryJob.schedule(delay);
+		}
+	}
+
+	/**
+	 * Returns the type of the event that replaces a pending event of the given type and a later one for the same
+	 * element, or <code>null</code> if both events cancel each other out.
+	 */
+	static Type coalesce(Type pendingType, Type type) {
+		if (type == Type.REMOVED) {
+			return (pendingType == Type.ADDED ? null : Type.REMOVED);
+		}
+		if (pendingType == Type.ADDED) {
+			return Type.ADDED;
+		}
+		return Type.CHANGED;
+	}
+
+	/**
+	 * Drops all pending events and stops delivering events, including the rest of a batch that is being delivered.
+	 */
+	public void dispose() {
+		synchronized (pendingEvents) {
+			disposed = true;
+			pendingEvents.clear();
+		}
+		deliveryJob.cancel();
+	}
+
+	private void deliver(IProgressMonitor monitor) {
+		List<ModelChangeEvent> batch;
+		long latency;
+		synchronized (pendingEvents) {
+			if (disposed) {
+				return;
+			}
+			batch = new ArrayList<ModelChangeEvent>(pendingEvents.values());
+			pendingEvents.clear();
+			latency = System.currentTimeMillis() - firstPendingEventTime;
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		Object[] currentListeners = listeners.getListeners();
+		for (ModelChangeEvent event : batch) {
+			if (disposed || monitor.isCanceled()) {
+				break;
+			}
+			for (Object listener : currentListeners) {
+				try {
+					((IAsyncModelChangeListener) listener).elementChanged(event);
+				}
+				catch (RuntimeException e) {
+					SpringCore.log("Error notifying model change listener", e);
+				}
+			}
+		}
+		long nanos = System.nanoTime() - start;
+
+		synchronized (pendingEvents) {
+			deliveredEvents += batch.size();
+			batches++;
+			maxBatchSize = Math.max(maxBatchSize, batch.size());
+			totalLatency += latency;
+			totalDeliveryNanos += nanos;
+		}
+		if (DEBUG) {
+			System.out.println(String.format("> delivered %s model changes after %sms in %sms: %s", batch.size(),
+					latency, nanos / 1000000, this));
+		}
+	}
+
+	/**
+	 * Returns the number of events posted to this bus.
+	 */
+	public long getPostedEvents() {
+		synchronized (pendingEvents) {
+			return postedEvents;
+		}
+	}
+
+	/**
+	 * Returns the number of events delivered to the listeners, after collapsing the posted ones.
+	 */
+	public long getDeliveredEvents() {
+		synchronized (pendingEvents) {
+			return deliveredEvents;
+		}
+	}
+
+	/**
+	 * Returns the number of events waiting to be delivered.
+	 */
+	public int getPendingEvents() {
+		synchronized (pendingEvents) {
+			return pendingEvents.size();
+		}
+	}
+
+	/**
+	 * Returns the number of batches delivered.
+	 */
+	public long getBatches() {
+		synchronized (pendingEvents) {
+			return batches;
+		}
+	}
+
+	/**
+	 * Returns the number of events in the largest batch delivered.
+	 */
+	public int getMaxBatchSize() {
+		synchronized (pendingEvents) {
+			return maxBatchSize;
+		}
+	}
+
+	/**
+	 * Returns the average time in milliseconds between the first event of a batch being posted and the batch being
+	 * delivered.
+	 */
+	public long getAverageLatency() {
+		synchronized (pendingEvents) {
+			return (batches > 0 ? totalLatency / batches : 0);
+		}
+	}
+
+	/**
+	 * Returns the total time in nanoseconds the listeners took to process the delivered events.
+	 */
+	public long getTotalDeliveryNanos() {
+		synchronized (pendingEvents) {
+			return totalDeliveryNanos;
+		}
+	}
+
+	public void resetStatistics() {
+		synchronized (pendingEvents) {
+			postedEvents = 0;
+			deliveredEvents = 0;
+			batches = 0;
+			maxBatchSize = 0;
+			totalLatency = 0;
+			totalDeliveryNanos = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (pendingEvents) {
+			return String.format("posted %s, delivered %s in %s batches (max %s, average latency %sms), "
+					+ "listeners took %sms", postedEvents, deliveredEvents, batches, maxBatchSize,
+					(batches > 0 ? totalLatency / batches : 0), totalDeliveryNanos / 1000000);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.springframework.ide.eclipse.core.MarkerUtils;
+import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinitionFactory;
 import org.springframework.ide.eclipse.core.model.IModelElement;
@@ -116,6 +117,10 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 		}
 		finally {
 			subMonitor.done();
+			ValidationStatistics statistics = SpringCore.getValidationStatistics();
+			if (statistics != null && statistics.isEnabled()) {
+				statistics.writeReport();
+			}
 		}
 	}
 
@@ -257,9 +262,16 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 
 		private Set<ValidationRuleDefinition> ruleDefinitions;
 
+		/** Only set if rule invocations should be recorded */
+		private ValidationStatistics statistics;
+
 		public ValidationVisitor(IValidationContext context, Set<ValidationRuleDefinition> ruleDefinitions) {
 			this.ruleDefinitions = ruleDefinitions;
 			this.context = context;
+			ValidationStatistics statistics = SpringCore.getValidationStatistics();
+			if (statistics != null && statistics.isEnabled()) {
+				this.statistics = statistics;
+			}
 		}
 
 		@SuppressWarnings("unchecked")
@@ -277,7 +289,12 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 						IValidationRule rule = ruleDefinition.getRule();
 						if (rule.supports(element, context)) {
 							context.setCurrentRuleDefinition(ruleDefinition);
-							rule.validate(element, context, monitor);
+							if (statistics == null) {
+								rule.validate(element, context, monitor);
+							}
+							else {
+								validateAndRecord(rule, ruleDefinition, element, monitor);
+							}
 						}
 						subMonitor.worked(1);
 					}
@@ -289,5 +306,24 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 			}
 			return false;
 		}
+
+		@SuppressWarnings("unchecked")
+		private void validateAndRecord(IValidationRule rule, ValidationRuleDefinition ruleDefinition,
+				IModelElement element, IProgressMonitor monitor) {
+			long allocatedBytes = statistics.getAllocatedBytes();
+			long start = System.nanoTime();
+			try {
+				rule.validate(element, context, monitor);
+			}
+			finally {
+				long nanos = System.nanoTime() - start;
+				if (allocatedBytes >= 0) {
+					allocatedBytes = statistics.getAllocatedBytes() - allocatedBytes;
+				}
+				IResourceModelElement rootElement = context.getRootElement();
+				statistics.record(getValidatorId(), ruleDefinition,
+						rootElement != null ? rootElement.getElementResource() : null, nanos, allocatedBytes);
+			}
+		}
 	}
 }
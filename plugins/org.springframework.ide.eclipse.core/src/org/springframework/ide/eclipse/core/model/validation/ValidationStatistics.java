@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model.validation;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IResource;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
+
+/**
+ * Records wall time, number of invocations and, if requested, allocated bytes of every {@link IValidationRule}
+ * invocation made by {@link AbstractValidator}s, and reports them per rule, per validator and per resource.
+ * <p>
+ * Recording is enabled with the debug option {@link #DEBUG_OPTION}, allocations are recorded in addition if
+ * {@link #ALLOCATION_DEBUG_OPTION} is enabled as well and the JVM supports measuring them. If recording is disabled
+ * validators only pay for a single check of {@link #isEnabled()} per validation context. The report is rewritten to
+ * the plug-in's state location after each validator run.
+ * @since 3.9.13
+ */
+public class ValidationStatistics {
+
+	public static final String DEBUG_OPTION = SpringCore.PLUGIN_ID + "/model/validation/debug";
+
+	public static final String ALLOCATION_DEBUG_OPTION = SpringCore.PLUGIN_ID + "/model/validation/allocation/debug";
+
+	private static final String SEPARATOR = "|";
+
+	private final boolean enabled;
+
+	private final File reportFile;
+
+	/** <code>com.sun.management.ThreadMXBean.getThreadAllocatedBytes(long)</code> if allocations are recorded */
+	private final Method allocatedBytesMethod;
+
+	private final ThreadMXBean threadBean;
+
+	private final ConcurrentMap<String, Statistic> statistics = new ConcurrentHashMap<String, Statistic>();
+
+	/**
+	 * Creates statistics that are recorded if <code>enabled</code> and written to the given report file, if any.
+	 */
+	public ValidationStatistics(boolean enabled, boolean recordAllocations, File reportFile) {
+		this.enabled = enabled;
+		this.reportFile = reportFile;
+		this.threadBean = ManagementFactory.getThreadMXBean();
+		this.allocatedBytesMethod = enabled && recordAllocations ? getAllocatedBytesMethod(threadBean) : null;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns <code>true</code> if allocated bytes are recorded in addition to time and invocations.
+	 */
+	public boolean isRecordingAllocations() {
+		return allocatedBytesMethod != null;
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread so far, or <code>-1</code> if allocations are not
+	 * recorded.
+	 */
+	public long getAllocatedBytes() {
+		if (allocatedBytesMethod != null) {
+			try {
+				return (Long) allocatedBytesMethod.invoke(threadBean, Thread.currentThread().getId());
+			}
+			catch (Exception e) {
+				// fall through, allocations are just not reported then
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Records a single invocation of the given rule on an element of the given resource.
+	 * @param allocatedBytes the number of allocated bytes, or a negative number if unknown
+	 */
+	public void record(String validatorId, ValidationRuleDefinition ruleDefinition, IResource resource, long nanos,
+			long allocatedBytes) {
+		String key = validatorId + SEPARATOR + ruleDefinition.getId() + SEPARATOR
+				+ (resource != null ? resource.getFullPath().toString() : "");
+		Statistic statistic = statistics.get(key);
+		if (statistic == null) {
+			statistic = new Statistic(key);
+			Statistic existing = statistics.putIfAbsent(key, statistic);
+			if (existing != null) {
+				statistic = existing;
+			}
+		}
+		statistic.add(nanos, allocatedBytes);
+	}
+
+	/**
+	 * Returns the recorded statistics summed up per rule id, sorted by descending time.
+	 */
+	public List<Statistic> getRuleStatistics() {
+		return aggregate(1);
+	}
+
+	/**
+	 * Returns the recorded statistics summed up per validator id, sorted by descending time.
+	 */
+	public List<Statistic> getValidatorStatistics() {
+		return aggregate(0);
+	}
+
+	/**
+	 * Returns the recorded statistics summed up per resource path, sorted by descending time.
+	 */
+	public List<Statistic> getResourceStatistics() {
+		return aggregate(2);
+	}
+
+	/**
+	 * Drops all recorded statistics.
+	 */
+	public void reset() {
+		statistics.clear();
+	}
+
+	/**
+	 * Writes a report of the recorded statistics to the report file this instance was created with, if any.
+	 */
+	public synchronized void writeReport() {
+		if (reportFile == null) {
+			return;
+		}
+		try {
+			reportFile.getParentFile().mkdirs();
+			Writer writer = new FileWriter(reportFile);
+			try {
+				writeReport(writer);
+			}
+			finally {
+				writer.close();
+			}
+		}
+		catch (IOException e) {
+			SpringCore.log("Error writing validation statistics", e);
+		}
+	}
+
+	/**
+	 * Writes a report of the recorded statistics per rule, validator and resource to the given writer.
+	 */
+	public void writeReport(Writer writer) {
+		PrintWriter out = new PrintWriter(writer);
+		writeSection(out, "rule", getRuleStatistics());
+		writeSection(out, "validator", getValidatorStatistics());
+		writeSection(out, "resource", getResourceStatistics());
+		out.flush();
+	}
+
+	private void writeSection(PrintWriter out, String title, List<Statistic> statistics) {
+		out.println(String.format("%-80s %12s %12s %14s", title, "invocations", "time [ms]",
+				isRecordingAllocations() ? "allocated [kB]" : ""));
+		for (Statistic statistic : statistics) {
+			out.println(String.format("%-80s %12d %12.1f %14s", statistic.getId(), statistic.getInvocations(),
+					statistic.getNanos() / 1000000d,
+					isRecordingAllocations() ? statistic.getAllocatedBytes() / 1024 : ""));
+		}
+		out.println();
+	}
+
+	private List<Statistic> aggregate(int segment) {
+		Map<String, Statistic> aggregated = new HashMap<String, Statistic>();
+		for (Statistic statistic : statistics.values()) {
+			// resource paths come last, so they are kept intact even if they contain the separator
+			String id = statistic.getId().split(Pattern.quote(SEPARATOR), 3)[segment];
+			Statistic sum = aggregated.get(id);
+			if (sum == null) {
+				sum = new Statistic(id);
+				aggregated.put(id, sum);
+			}
+			sum.add(statistic);
+		}
+		List<Statistic> result = new ArrayList<Statistic>(aggregated.values());
+		Collections.sort(result, new Comparator<Statistic>() {
+			public int compare(Statistic s1, Statistic s2) {
+				return s1.getNanos() < s2.getNanos() ? 1 : (s1.getNanos() == s2.getNanos() ? 0 : -1);
+			}
+		});
+		return result;
+	}
+
+	private static Method getAllocatedBytesMethod(ThreadMXBean threadBean) {
+		try {
+			// the com.sun.management extension isn't visible to bundles, so it has to be looked up reflectively
+			Class<?> extension = Class.forName("com.sun.management.ThreadMXBean", true,
+					ClassLoader.getSystemClassLoader());
+			if (extension.isInstance(threadBean)) {
+				Method isSupported = extension.getMethod("isThreadAllocatedMemorySupported");
+				if ((Boolean) isSupported.invoke(threadBean)) {
+					extension.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(threadBean, true);
+					return extension.getMethod("getThreadAllocatedBytes", long.class);
+				}
+			}
+		}
+		catch (Exception e) {
+			// not a HotSpot based JVM, allocations are not recorded
+		}
+		return null;
+	}
+
+	/**
+	 * Invocation count, time and allocated bytes recorded for a rule, validator or resource.
+	 */
+	public static class Statistic {
+
+		private final String id;
+
+		private final AtomicLong invocations = new AtomicLong();
+
+		private final AtomicLong nanos = new AtomicLong();
+
+		private final AtomicLong allocatedBytes = new AtomicLong();
+
+		Statistic(String id) {
+			this.id = id;
+		}
+
+		void add(long nanos, long allocatedBytes) {
+			this.invocations.incrementAndGet();
+			this.nanos.addAndGet(nanos);
+			if (allocatedBytes > 0) {
+				this.allocatedBytes.addAndGet(allocatedBytes);
+			}
+		}
+
+		void add(Statistic statistic) {
+			this.invocations.addAndGet(statistic.getInvocations());
+			this.nanos.addAndGet(statistic.getNanos());
+			this.allocatedBytes.addAndGet(statistic.getAllocatedBytes());
+		}
+
+		/**
+		 * Returns the rule id, validator id or resource path this statistic was recorded for.
+		 */
+		public String getId() {
+			return id;
+		}
+
+		public long getInvocations() {
+			return invocations.get();
+		}
+
+		public long getNanos() {
+			return nanos.get();
+		}
+
+		public long getAllocatedBytes() {
+			return allocatedBytes.get();
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2010 Spring IDE Developers
+ * Copyright (c) 2008, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,25 +32,35 @@ public class ProjectContributionEventListenerFactory {
 
 	public synchronized static List<IProjectContributionEventListener> getProjectContributionEventListeners() {
 		if (listenerDefinitions == null) {
-			listenerDefinitions = new ArrayList<IProjectContributionEventListener>();
-			for (IExtension extension : Platform.getExtensionRegistry().getExtensionPoint(LISTENERS_EXTENSION_POINT)
-					.getExtensions()) {
-				for (IConfigurationElement element : extension.getConfigurationElements()) {
-					try {
-						Object listener = element.createExecutableExtension("class");
-						if (listener instanceof IProjectContributionEventListener) {
-							listenerDefinitions.add((IProjectContributionEventListener) listener);
-						}
-					}
-					catch (CoreException e) {
-						SpringCore.log(e);
+			listenerDefinitions = createProjectContributionEventListeners();
+		}
+		return listenerDefinitions;
+	}
+
+	/**
+	 * Returns new instances of all contributed listeners. Other than the shared instances returned by
+	 * {@link #getProjectContributionEventListeners()} these can be used to process a project in parallel to others.
+	 * @since 3.9.13
+	 */
+	public static List<IProjectContributionEventListener> createProjectContributionEventListeners() {
+		List<IProjectContributionEventListener> listeners = new ArrayList<IProjectContributionEventListener>();
+		for (IExtension extension : Platform.getExtensionRegistry().getExtensionPoint(LISTENERS_EXTENSION_POINT)
+				.getExtensions()) {
+			for (IConfigurationElement element : extension.getConfigurationElements()) {
+				try {
+					Object listener = element.createExecutableExtension("class");
+					if (listener instanceof IProjectContributionEventListener) {
+						listeners.add((IProjectContributionEventListener) listener);
 					}
 				}
+				catch (CoreException e) {
+					SpringCore.log(e);
+				}
 			}
-
-			// Sort depending on the defined order
-			OrderComparator.sort(listenerDefinitions);
 		}
-		return listenerDefinitions;
+
+		// Sort depending on the defined order
+		OrderComparator.sort(listeners);
+		return listeners;
 	}
 }
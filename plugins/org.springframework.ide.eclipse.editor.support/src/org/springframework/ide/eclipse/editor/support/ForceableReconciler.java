@@ -23,7 +23,16 @@ import org.eclipse.jface.text.reconciler.MonoReconciler;
 public class ForceableReconciler extends MonoReconciler {
 
 	public ForceableReconciler(IReconcilingStrategy strategy) {
-		super(strategy, false);
+		this(strategy, false);
+	}
+
+	/**
+	 * @param isIncremental whether the strategy should be passed the dirty regions
+	 *            of the document, rather than always being asked to reconcile
+	 *            the whole document.
+	 */
+	public ForceableReconciler(IReconcilingStrategy strategy, boolean isIncremental) {
+		super(strategy, isIncremental);
 	}
 
 	public void forceReconcile() {
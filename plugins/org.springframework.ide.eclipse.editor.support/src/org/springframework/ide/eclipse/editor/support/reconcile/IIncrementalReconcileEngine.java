@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.editor.support.reconcile;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * A {@link IReconcileEngine} that can reuse results of a previous reconcile for
+ * the parts of a document that were not edited since.
+ * <p>
+ * The problems reported to the collector must still cover the whole document.
+ * A full reconcile via {@link #reconcile(IDocument, IProblemCollector, IProgressMonitor)}
+ * should discard any previously computed results.
+ *
+ * @since 3.9.13
+ */
+public interface IIncrementalReconcileEngine extends IReconcileEngine {
+	public void reconcile(IDocument doc, IRegion dirtyRegion, IProblemCollector problemCollector, IProgressMonitor mon);
+}
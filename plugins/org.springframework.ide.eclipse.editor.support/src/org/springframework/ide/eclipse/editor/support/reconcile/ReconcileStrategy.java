@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 Pivotal, Inc.
+ * Copyright (c) 2015, 2020 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -72,9 +72,16 @@ public class ReconcileStrategy implements IReconcilingStrategy, IReconcilingStra
 				subRegion= new Region(startLineInfo.getOffset(), endLineInfo.getOffset() + Math.max(0, endLineInfo.getLength() - 1) - startLineInfo.getOffset());
 
 		} catch (BadLocationException e) {
-			subRegion= new Region(0, fDocument.getLength());
+			reconcile(new Region(0, fDocument.getLength()));
+			return;
+		}
+		if (fEngine instanceof IIncrementalReconcileEngine) {
+			if (getAnnotationModel() == null || fProblemCollector == null)
+				return;
+			((IIncrementalReconcileEngine)fEngine).reconcile(fDocument, subRegion, fProblemCollector, fProgressMonitor);
+		} else {
+			reconcile(subRegion);
 		}
-		reconcile(subRegion);
 	}
 
 	/*
@@ -83,8 +90,8 @@ public class ReconcileStrategy implements IReconcilingStrategy, IReconcilingStra
 	public void reconcile(IRegion region) {
 		if (getAnnotationModel() == null || fProblemCollector == null)
 			return;
-		//Note: This isn't an 'incremental' reconciler. It always checks the whole document. The dirty
-		// region is ignored.
+		//Note: The region is ignored, this always checks the whole document. Only engines implementing
+		// IIncrementalReconcileEngine get to see dirty regions (see reconcile(DirtyRegion, IRegion)).
 		fEngine.reconcile(fDocument, fProblemCollector, fProgressMonitor);
 	}
 
@@ -164,14 +171,31 @@ public class ReconcileStrategy implements IReconcilingStrategy, IReconcilingStra
 			fAddAnnotations= new HashMap<>();
 		}
 
+		/**
+		 * Replaces the problem annotations in the model with the collected ones. Annotations
+		 * that are already in the model and haven't been moved by edits are left alone, so
+		 * that the model only fires changes for problems that actually changed.
+		 */
 		public void endCollecting() {
 			List<Annotation> toRemove= new ArrayList<>();
 			synchronized (fLockObject) {
+				Map<String, Annotation> toAdd= new HashMap<>();
+				for (Map.Entry<Annotation, Position> e : fAddAnnotations.entrySet()) {
+					toAdd.put(key(e.getKey(), e.getValue()), e.getKey());
+				}
 				Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
 				while (iter.hasNext()) {
 					Annotation annotation= iter.next();
-					if (ReconcileProblemAnnotation.TYPES.contains(annotation.getType()))
-						toRemove.add(annotation);
+					if (ReconcileProblemAnnotation.TYPES.contains(annotation.getType())) {
+						Position position= fAnnotationModel.getPosition(annotation);
+						Annotation same= null;
+						if (annotation instanceof ReconcileProblemAnnotation && isUpToDate((ReconcileProblemAnnotation) annotation, position))
+							same= toAdd.remove(key(annotation, position));
+						if (same == null)
+							toRemove.add(annotation);
+						else
+							fAddAnnotations.remove(same);
+					}
 				}
 				Annotation[] annotationsToRemove= toRemove.toArray(new Annotation[toRemove.size()]);
 
@@ -189,6 +213,21 @@ public class ReconcileStrategy implements IReconcilingStrategy, IReconcilingStra
 
 			fAddAnnotations= null;
 		}
+
+		/**
+		 * Quick fixes work on the offsets of the annotation's problem. The annotation model moves
+		 * the position of an annotation along with edits, but not its problem, so annotations
+		 * moved by an edit must be replaced even if the problem is the same otherwise.
+		 */
+		private boolean isUpToDate(ReconcileProblemAnnotation annotation, Position position) {
+			ReconcileProblem problem= annotation.getSpringPropertyProblem();
+			return position != null && !position.isDeleted()
+					&& problem.getOffset() == position.getOffset() && problem.getLength() == position.getLength();
+		}
+
+		private String key(Annotation annotation, Position position) {
+			return annotation.getType() + '@' + position.getOffset() + ',' + position.getLength() + ':' + annotation.getText();
+		}
 	}
 
 	protected SeverityProvider getSeverities() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -13,6 +13,8 @@ package org.springframework.ide.eclipse.metadata;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.beans.core.metadata.BeansMetadataPlugin;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingIndex;
 
 /**
  * The bundle activator for the metadata plugin
@@ -27,6 +29,8 @@ public class MetadataPlugin extends AbstractUIPlugin {
 	
 	/** The shared instance */
 	private static MetadataPlugin plugin;
+
+	private RequestMappingIndex requestMappingIndex;
 	
 	/**
 	 * Starts the bundle.
@@ -48,6 +52,12 @@ public class MetadataPlugin extends AbstractUIPlugin {
 	 * Stops the bundle.
 	 */
 	public void stop(BundleContext context) throws Exception {
+		synchronized (this) {
+			if (requestMappingIndex != null && BeansMetadataPlugin.getDefault() != null) {
+				BeansMetadataPlugin.getMetadataModel().removeListener(requestMappingIndex);
+			}
+			requestMappingIndex = null;
+		}
 		plugin = null;
 		super.stop(context);
 	}
@@ -59,4 +69,17 @@ public class MetadataPlugin extends AbstractUIPlugin {
 		return plugin;
 	}
 
+	/**
+	 * Returns the workspace-wide index of request mappings, which is populated from the bean metadata model on first
+	 * access.
+	 * @since 3.9.13
+	 */
+	public synchronized RequestMappingIndex getRequestMappingIndex() {
+		if (requestMappingIndex == null) {
+			requestMappingIndex = new RequestMappingIndex();
+			BeansMetadataPlugin.getMetadataModel().addListener(requestMappingIndex);
+		}
+		return requestMappingIndex;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
 package org.springframework.ide.eclipse.metadata.actions;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.wizard.IWizard;
 import org.eclipse.jface.wizard.WizardDialog;
@@ -49,11 +51,11 @@ public class OpenInBrowserAction extends BaseSelectionListenerAction {
 	@Override
 	protected boolean updateSelection(IStructuredSelection selection) {
 		element = viewPart.getInput();
-		if (getProject(element) == null) {
+		Object obj = selection.getFirstElement();
+		if (getSelectedProject(obj) == null) {
 			return false;
 		}
 
-		Object obj = selection.getFirstElement();
 		if (obj instanceof RequestMappingMethodToClassMap) {
 			String methodType = labelProvider.getColumnText(obj,
 					RequestMappingView.COLUMN_REQUEST_METHOD);
@@ -70,7 +72,7 @@ public class OpenInBrowserAction extends BaseSelectionListenerAction {
 			IWizard wizard = new OpenRequestMappingUrlWizard(
 					(RequestMappingMethodToClassMap) getStructuredSelection()
 							.getFirstElement(), labelProvider,
-					getProject(element));
+					getSelectedProject(getStructuredSelection().getFirstElement()));
 			Shell shell = viewPart.getSite().getShell();
 			if (shell != null) {
 				WizardDialog dialog = new WizardDialog(shell, wizard);
@@ -81,6 +83,21 @@ public class OpenInBrowserAction extends BaseSelectionListenerAction {
 		}
 	}
 
+	private IProject getSelectedProject(Object selected) {
+		// search results come from the whole workspace, so use the project of the handler
+		if (viewPart.isSearching()
+				&& selected instanceof RequestMappingMethodToClassMap) {
+			IJavaElement type = JavaCore
+					.create(((RequestMappingMethodToClassMap) selected)
+							.getClassMetadata().getClassHandle());
+			if (type != null && type.getJavaProject() != null) {
+				return type.getJavaProject().getProject();
+			}
+			return null;
+		}
+		return getProject(element);
+	}
+
 	private IProject getProject(IBeansModelElement modelElement) {
 		if (modelElement == null) {
 			return null;
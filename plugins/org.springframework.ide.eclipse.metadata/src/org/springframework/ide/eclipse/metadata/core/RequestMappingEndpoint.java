@@ -0,0 +1,193 @@
+/*******************************************************************************
+ *  Copyright (c) 2020 Spring IDE Developers
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.metadata.core;
+
+import java.util.Set;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadata;
+import org.springframework.ide.eclipse.core.java.annotation.AnnotationMemberValuePair;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * A single request mapping: the combination of the RequestMapping of a handler method and the one of its controller
+ * class. The URL pattern and request method are resolved once when the endpoint is created.
+ * @since 3.9.13
+ */
+public class RequestMappingEndpoint {
+
+	private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+	private final RequestMappingAnnotationMetadata classMetadata;
+
+	private final RequestMappingMethodAnnotationMetadata methodMetadata;
+
+	private final String url;
+
+	private final String requestMethod;
+
+	private final String projectName;
+
+	public RequestMappingEndpoint(RequestMappingAnnotationMetadata classMetadata,
+			RequestMappingMethodAnnotationMetadata methodMetadata) {
+		this.classMetadata = classMetadata;
+		this.methodMetadata = methodMetadata;
+		this.url = getMethodUrl(classMetadata, methodMetadata);
+		this.requestMethod = getRequestMethod(classMetadata, methodMetadata);
+		IJavaElement method = JavaCore.create(methodMetadata.getHandleIdentifier());
+		this.projectName = (method != null && method.getJavaProject() != null ? method.getJavaProject()
+				.getElementName() : ""); //$NON-NLS-1$
+	}
+
+	public RequestMappingAnnotationMetadata getClassMetadata() {
+		return classMetadata;
+	}
+
+	public RequestMappingMethodAnnotationMetadata getMethodMetadata() {
+		return methodMetadata;
+	}
+
+	/**
+	 * Returns the URL pattern of the endpoint, e.g. <code>/owners/{ownerId}</code>.
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Returns the HTTP request method without the <code>RequestMethod.</code> prefix, or an empty string if the
+	 * mapping applies to all request methods.
+	 */
+	public String getRequestMethod() {
+		return requestMethod;
+	}
+
+	/**
+	 * Returns the handle identifier of the handler method.
+	 */
+	public String getHandlerMethodHandle() {
+		return methodMetadata.getHandleIdentifier();
+	}
+
+	/**
+	 * Returns the name of the project containing the handler method.
+	 */
+	public String getProjectName() {
+		return projectName;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof RequestMappingEndpoint)) {
+			return false;
+		}
+		RequestMappingEndpoint that = (RequestMappingEndpoint) other;
+		return classMetadata.equals(that.classMetadata) && methodMetadata.equals(that.methodMetadata);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * classMetadata.hashCode() + methodMetadata.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return (requestMethod.length() > 0 ? requestMethod + " " : "") + url; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the URL pattern of the given controller class mapping.
+	 */
+	@SuppressWarnings("unchecked")
+	public static String getClassUrl(RequestMappingAnnotationMetadata annotation) {
+		Object value = annotation.getValue();
+		if (value instanceof Set) {
+			for (AnnotationMemberValuePair pair : (Set<AnnotationMemberValuePair>) value) {
+				if (pair.getName() == null || "path".equals(pair.getName())) { //$NON-NLS-1$
+					String url = pair.getValue();
+					if (url.endsWith("/**")) { //$NON-NLS-1$
+						url = url.substring(0, url.length() - 3);
+					}
+					if (!url.startsWith("/")) { //$NON-NLS-1$
+						url = "/".concat(url); //$NON-NLS-1$
+					}
+					return url;
+				}
+			}
+		}
+		return "/"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the URL pattern of the given handler method mapping combined with the one of its controller class.
+	 */
+	@SuppressWarnings("unchecked")
+	public static String getMethodUrl(RequestMappingAnnotationMetadata classMetadata,
+			RequestMappingMethodAnnotationMetadata methodMetadata) {
+		String classUrl = getClassUrl(classMetadata);
+		Object value = methodMetadata.getValue();
+		if (value instanceof Set) {
+			for (AnnotationMemberValuePair pair : (Set<AnnotationMemberValuePair>) value) {
+				if (pair.getName() == null || "path".equals(pair.getName())) { //$NON-NLS-1$
+					if (classUrl.equals("/") && pair.getValue().startsWith("/")) { //$NON-NLS-1$ //$NON-NLS-2$
+						return pair.getValue();
+					}
+					String url = MATCHER.combine(classUrl, pair.getValue());
+					if (url.contains("/**/")) { //$NON-NLS-1$
+						url = StringUtils.delete(url, "/**"); //$NON-NLS-1$
+					}
+					return url;
+				}
+			}
+		}
+		return classUrl;
+	}
+
+	/**
+	 * Returns the request method of the given handler method mapping, falling back to the one of its controller class.
+	 */
+	public static String getRequestMethod(RequestMappingAnnotationMetadata classMetadata,
+			RequestMappingMethodAnnotationMetadata methodMetadata) {
+		String classMethod = extractMethodFromAnnotation(classMetadata);
+		String requestMethod = extractMethodFromAnnotation(methodMetadata);
+		if (requestMethod != null) {
+			return requestMethod;
+		}
+		else if (classMethod != null) {
+			return classMethod;
+		}
+		return ""; //$NON-NLS-1$
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String extractMethodFromAnnotation(IBeanMetadata metadata) {
+		Object value = metadata.getValue();
+		if (value instanceof Set) {
+			for (AnnotationMemberValuePair pair : (Set<AnnotationMemberValuePair>) value) {
+				if ("method".equalsIgnoreCase(pair.getName())) { //$NON-NLS-1$
+					String method = pair.getValue();
+					// normalize result by omitting RequestMethod.*** and just showing ***
+					if (method.startsWith("RequestMethod.")) { //$NON-NLS-1$
+						return method.substring("RequestMethod.".length()); //$NON-NLS-1$
+					}
+					return method;
+				}
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,305 @@
+/*******************************************************************************
+ *  Copyright (c) 2020 Spring IDE Developers
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.metadata.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadata;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadataModel;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadataModelListener;
+import org.springframework.ide.eclipse.beans.core.metadata.model.IMethodMetadata;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * Workspace-wide index of the {@link RequestMappingEndpoint}s of all beans, kept up-to-date by listening to the
+ * {@link IBeanMetadataModel}. Endpoints are sorted by URL pattern, so that looking up the endpoints below a URL prefix
+ * only visits the matching ones. To match a request path, endpoints are additionally grouped by project and by the
+ * first segment of their URL pattern, so that only the patterns starting with the same literal segment or with a
+ * wildcard have to be matched.
+ * <p>
+ * Queries only return endpoints of open projects. Endpoints of beans that have been removed are dropped as soon as
+ * their metadata is cleared.
+ * @since 3.9.13
+ */
+public class RequestMappingIndex implements IBeanMetadataModelListener {
+
+	private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+	/** Key of the URL patterns whose first segment isn't a literal */
+	private static final String WILDCARD_SEGMENT = "*"; //$NON-NLS-1$
+
+	private static final Comparator<RequestMappingEndpoint> URL_COMPARATOR = new Comparator<RequestMappingEndpoint>() {
+		public int compare(RequestMappingEndpoint endpoint1, RequestMappingEndpoint endpoint2) {
+			return endpoint1.getUrl().compareTo(endpoint2.getUrl());
+		}
+	};
+
+	private final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
+
+	private final Lock r = rwl.readLock();
+
+	private final Lock w = rwl.writeLock();
+
+	private final Map<String, List<RequestMappingEndpoint>> endpointsByBean = new HashMap<String, List<RequestMappingEndpoint>>();
+
+	private final TreeMap<String, List<RequestMappingEndpoint>> endpointsByUrl = new TreeMap<String, List<RequestMappingEndpoint>>();
+
+	/** Endpoints by project, first segment of the URL pattern and URL pattern */
+	private final Map<String, Map<String, TreeMap<String, List<RequestMappingEndpoint>>>> endpointsBySegment = new HashMap<String, Map<String, TreeMap<String, List<RequestMappingEndpoint>>>>();
+
+	private int size = 0;
+
+	public void beanMetadataChanged(String beanId, Set<IBeanMetadata> beanMetadata) {
+		List<RequestMappingEndpoint> endpoints = new ArrayList<RequestMappingEndpoint>();
+		for (IBeanMetadata metadata : beanMetadata) {
+			if (metadata instanceof RequestMappingAnnotationMetadata) {
+				RequestMappingAnnotationMetadata classMetadata = (RequestMappingAnnotationMetadata) metadata;
+				for (IMethodMetadata methodMetadata : classMetadata.getMethodMetaData()) {
+					if (methodMetadata instanceof RequestMappingMethodAnnotationMetadata) {
+						endpoints.add(new RequestMappingEndpoint(classMetadata,
+								(RequestMappingMethodAnnotationMetadata) methodMetadata));
+					}
+				}
+			}
+		}
+
+		try {
+			w.lock();
+			List<RequestMappingEndpoint> oldEndpoints = (endpoints.isEmpty() ? endpointsByBean.remove(beanId)
+					: endpointsByBean.put(beanId, endpoints));
+			if (oldEndpoints != null) {
+				for (RequestMappingEndpoint endpoint : oldEndpoints) {
+					remove(endpoint);
+				}
+			}
+			for (RequestMappingEndpoint endpoint : endpoints) {
+				add(endpoint);
+			}
+		}
+		finally {
+			w.unlock();
+		}
+	}
+
+	/**
+	 * Returns the endpoints whose URL pattern matches the given query, sorted by URL pattern. Without wildcards the
+	 * query is a prefix of the URL patterns to return; with wildcards it is an Ant-style pattern the whole URL pattern
+	 * has to match, where <code>*</code> matches within a path segment and <code>**</code> across path segments. A
+	 * missing leading <code>/</code> is added to the query.
+	 * @param query the query; <code>null</code> or empty to return all endpoints
+	 */
+	public List<RequestMappingEndpoint> findEndpoints(String query) {
+		String pattern = (query != null ? query.trim() : ""); //$NON-NLS-1$
+		if (pattern.length() > 0 && !pattern.startsWith("/")) { //$NON-NLS-1$
+			pattern = "/".concat(pattern); //$NON-NLS-1$
+		}
+		String prefix = pattern.substring(0, indexOfWildcard(pattern));
+		boolean hasWildcards = prefix.length() < pattern.length();
+
+		List<RequestMappingEndpoint> result = new ArrayList<RequestMappingEndpoint>();
+		OpenProjects openProjects = new OpenProjects();
+		try {
+			r.lock();
+			SortedMap<String, List<RequestMappingEndpoint>> candidates = (prefix.length() > 0 ? endpointsByUrl
+					.subMap(prefix, prefix + Character.MAX_VALUE) : endpointsByUrl);
+			for (Map.Entry<String, List<RequestMappingEndpoint>> entry : candidates.entrySet()) {
+				if (!hasWildcards || MATCHER.match(pattern, entry.getKey())) {
+					for (RequestMappingEndpoint endpoint : entry.getValue()) {
+						if (openProjects.isOpen(endpoint.getProjectName())) {
+							result.add(endpoint);
+						}
+					}
+				}
+			}
+		}
+		finally {
+			r.unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the endpoints of the given project whose URL pattern matches the given request path, e.g. the endpoint
+	 * mapped to <code>/owners/{ownerId}</code> for the path <code>/owners/5</code>, sorted by URL pattern. Only the
+	 * URL patterns starting with the first segment of the path or with a wildcard are matched.
+	 */
+	public List<RequestMappingEndpoint> findEndpointsMatching(String path, String projectName) {
+		if (!new OpenProjects().isOpen(projectName)) {
+			return Collections.emptyList();
+		}
+		List<RequestMappingEndpoint> result = new ArrayList<RequestMappingEndpoint>();
+		try {
+			r.lock();
+			Map<String, TreeMap<String, List<RequestMappingEndpoint>>> projectEndpoints = endpointsBySegment
+					.get(projectName);
+			if (projectEndpoints != null) {
+				String segment = getFirstSegment(path);
+				if (!segment.equals(WILDCARD_SEGMENT)) {
+					addMatching(result, projectEndpoints.get(segment), path);
+				}
+				int literalMatches = result.size();
+				addMatching(result, projectEndpoints.get(WILDCARD_SEGMENT), path);
+				if (literalMatches > 0 && literalMatches < result.size()) {
+					// Merge both groups; the sort is stable so that equal URL patterns keep their order
+					Collections.sort(result, URL_COMPARATOR);
+				}
+			}
+		}
+		finally {
+			r.unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of indexed endpoints, including the ones of closed projects.
+	 */
+	public int size() {
+		try {
+			r.lock();
+			return size;
+		}
+		finally {
+			r.unlock();
+		}
+	}
+
+	private static void addMatching(List<RequestMappingEndpoint> result,
+			TreeMap<String, List<RequestMappingEndpoint>> candidates, String path) {
+		if (candidates != null) {
+			for (Map.Entry<String, List<RequestMappingEndpoint>> entry : candidates.entrySet()) {
+				if (MATCHER.match(entry.getKey(), path)) {
+					result.addAll(entry.getValue());
+				}
+			}
+		}
+	}
+
+	private void add(RequestMappingEndpoint endpoint) {
+		addByUrl(endpointsByUrl, endpoint);
+		size++;
+		Map<String, TreeMap<String, List<RequestMappingEndpoint>>> projectEndpoints = endpointsBySegment.get(endpoint
+				.getProjectName());
+		if (projectEndpoints == null) {
+			projectEndpoints = new HashMap<String, TreeMap<String, List<RequestMappingEndpoint>>>();
+			endpointsBySegment.put(endpoint.getProjectName(), projectEndpoints);
+		}
+		String segment = getFirstSegment(endpoint.getUrl());
+		TreeMap<String, List<RequestMappingEndpoint>> segmentEndpoints = projectEndpoints.get(segment);
+		if (segmentEndpoints == null) {
+			segmentEndpoints = new TreeMap<String, List<RequestMappingEndpoint>>();
+			projectEndpoints.put(segment, segmentEndpoints);
+		}
+		addByUrl(segmentEndpoints, endpoint);
+	}
+
+	private void remove(RequestMappingEndpoint endpoint) {
+		if (removeByUrl(endpointsByUrl, endpoint)) {
+			size--;
+		}
+		Map<String, TreeMap<String, List<RequestMappingEndpoint>>> projectEndpoints = endpointsBySegment.get(endpoint
+				.getProjectName());
+		if (projectEndpoints != null) {
+			String segment = getFirstSegment(endpoint.getUrl());
+			TreeMap<String, List<RequestMappingEndpoint>> segmentEndpoints = projectEndpoints.get(segment);
+			if (segmentEndpoints != null && removeByUrl(segmentEndpoints, endpoint) && segmentEndpoints.isEmpty()) {
+				projectEndpoints.remove(segment);
+				if (projectEndpoints.isEmpty()) {
+					endpointsBySegment.remove(endpoint.getProjectName());
+				}
+			}
+		}
+	}
+
+	private static void addByUrl(Map<String, List<RequestMappingEndpoint>> endpointsByUrl,
+			RequestMappingEndpoint endpoint) {
+		List<RequestMappingEndpoint> urlEndpoints = endpointsByUrl.get(endpoint.getUrl());
+		if (urlEndpoints == null) {
+			urlEndpoints = new ArrayList<RequestMappingEndpoint>(1);
+			endpointsByUrl.put(endpoint.getUrl(), urlEndpoints);
+		}
+		urlEndpoints.add(endpoint);
+	}
+
+	private static boolean removeByUrl(Map<String, List<RequestMappingEndpoint>> endpointsByUrl,
+			RequestMappingEndpoint endpoint) {
+		List<RequestMappingEndpoint> urlEndpoints = endpointsByUrl.get(endpoint.getUrl());
+		if (urlEndpoints != null) {
+			// Remove by identity as several beans can share equal endpoints
+			for (Iterator<RequestMappingEndpoint> iterator = urlEndpoints.iterator(); iterator.hasNext();) {
+				if (iterator.next() == endpoint) {
+					iterator.remove();
+					if (urlEndpoints.isEmpty()) {
+						endpointsByUrl.remove(endpoint.getUrl());
+					}
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the first segment of the given URL pattern or request path, which is empty for the root, or
+	 * {@link #WILDCARD_SEGMENT} if the segment of the pattern contains a wildcard or URI template variable.
+	 */
+	private static String getFirstSegment(String url) {
+		String[] segments = StringUtils.tokenizeToStringArray(url, "/"); //$NON-NLS-1$
+		if (segments.length == 0) {
+			return ""; //$NON-NLS-1$
+		}
+		return (indexOfWildcard(segments[0]) < segments[0].length() ? WILDCARD_SEGMENT : segments[0]);
+	}
+
+	private static int indexOfWildcard(String pattern) {
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				return i;
+			}
+		}
+		return pattern.length();
+	}
+
+	/**
+	 * Caches the open state of projects for the duration of a query.
+	 */
+	private static class OpenProjects {
+
+		private final IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+
+		private final Map<String, Boolean> openProjects = new HashMap<String, Boolean>();
+
+		public boolean isOpen(String projectName) {
+			Boolean open = openProjects.get(projectName);
+			if (open == null) {
+				open = Boolean.valueOf(projectName.length() > 0 && root.getProject(projectName).isOpen());
+				openProjects.put(projectName, open);
+			}
+			return open.booleanValue();
+		}
+	}
+
+}
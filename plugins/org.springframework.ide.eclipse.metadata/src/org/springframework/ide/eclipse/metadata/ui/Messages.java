@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -20,11 +20,13 @@ public class Messages extends NLS {
 	public static String AnnotationMetadataLabelProvider_DESCRIPTION_STEREOTYPE_ANNOTATION_GROUPING;
 	public static String RequestMappingView_DESCRIPTION_EMPTY_JAVADOC;
 	public static String RequestMappingView_DESCRIPTION_EMPTY_REQUESTMAPPINGS;
+	public static String RequestMappingView_DESCRIPTION_SEARCH_RESULTS;
 	public static String RequestMappingView_ERROR_GENERATING_JAVADOC;
 	public static String RequestMappingView_ERROR_PROCESSING_RESOURCE_CHANGE;
 	public static String RequestMappingView_HEADER_HANDLER_METHOD;
 	public static String RequestMappingView_HEADER_REQUEST_METHOD;
 	public static String RequestMappingView_HEADER_RESOURCE_URL;
+	public static String RequestMappingView_MESSAGE_SEARCH;
 	public static String RequestMappingView_PREFIX_CONFIG_FILE;
 	public static String RequestMappingView_PREFIX_CONFIG_SET;
 	public static String RequestMappingView_PREFIX_PROJECT;
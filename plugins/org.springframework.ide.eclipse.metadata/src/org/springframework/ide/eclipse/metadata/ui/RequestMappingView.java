@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 - 2013 GoPivotal, Inc.
+ *  Copyright (c) 2012 - 2020 GoPivotal, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -54,18 +54,24 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.SashForm;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.ControlAdapter;
 import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IActionBars;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
@@ -99,6 +105,7 @@ import org.springframework.ide.eclipse.metadata.actions.ToggleBreakPointAction;
 import org.springframework.ide.eclipse.metadata.actions.ToggleLinkingAction;
 import org.springframework.ide.eclipse.metadata.actions.ToggleOrientationAction;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingEndpoint;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
 import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
@@ -128,8 +135,13 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 
 	private static final String EMPTY_MAPPINGS = Messages.RequestMappingView_DESCRIPTION_EMPTY_REQUESTMAPPINGS;
 
+	/** Delay in milliseconds before searching the request mapping index after the search text has been modified */
+	private static final int SEARCH_DELAY = 200;
+
 	private Set<RequestMappingAnnotationMetadata> annotations;
 
+	private String elementDescription;
+
 	private BaseSelectionListenerAction breakpointAction;
 
 	private IBeansModelElement element;
@@ -156,6 +168,10 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 
 	private ResourceChangeListener resourceListener;
 
+	private String searchQuery;
+
+	private Text searchText;
+
 	private SashForm splitter;
 
 	private TextPresentation textPresentation;
@@ -164,6 +180,7 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 
 	public RequestMappingView() {
 		annotations = new HashSet<RequestMappingAnnotationMetadata>();
+		elementDescription = EMPTY_MAPPINGS;
 		prefStore = MetadataPlugin.getDefault().getPreferenceStore();
 		resourceListener = new ResourceChangeListener();
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(
@@ -202,6 +219,13 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 			List<ProjectBuilderDefinition> builderDefinitions,
 			List<ValidatorDefinition> validatorDefinitions,
 			IProjectContributorState state, IProject project) {
+		PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+			public void run() {
+				if (isSearching() && !searchText.isDisposed()) {
+					search();
+				}
+			}
+		});
 		if (element == null && isLinkingEnabled()) {
 			setLinkingEnabled(true);
 		} else {
@@ -226,6 +250,15 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 		return linkingEnabled;
 	}
 
+	/**
+	 * Returns <code>true</code> if the view shows the request mappings of the whole workspace matching the search text
+	 * instead of the ones of its input.
+	 * @since 3.9.13
+	 */
+	public boolean isSearching() {
+		return searchQuery != null;
+	}
+
 	public void selectionChanged(IWorkbenchPart part, ISelection selection) {
 		if (part instanceof IEditorPart) {
 			doEditorActivated((IEditorPart) part);
@@ -365,8 +398,32 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 	}
 
 	private void createRequestMappingViewer(Composite parent) {
-		mainViewer = new TableViewer(parent, SWT.SINGLE | SWT.H_SCROLL
+		Composite container = new Composite(parent, SWT.NONE);
+		GridLayout layout = new GridLayout(1, false);
+		layout.marginWidth = 0;
+		layout.marginHeight = 0;
+		container.setLayout(layout);
+
+		searchText = new Text(container, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL);
+		searchText.setMessage(Messages.RequestMappingView_MESSAGE_SEARCH);
+		searchText.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+		final Runnable searchRunnable = new Runnable() {
+			public void run() {
+				if (!searchText.isDisposed()) {
+					search();
+				}
+			}
+		};
+		searchText.addModifyListener(new ModifyListener() {
+			public void modifyText(ModifyEvent e) {
+				// Reschedules a pending search, so that only the last of several quick modifications is searched for
+				searchText.getDisplay().timerExec(SEARCH_DELAY, searchRunnable);
+			}
+		});
+
+		mainViewer = new TableViewer(container, SWT.SINGLE | SWT.H_SCROLL
 				| SWT.V_SCROLL | SWT.BORDER | SWT.FULL_SELECTION);
+		mainViewer.getControl().setLayoutData(new GridData(GridData.FILL_BOTH));
 		labelProvider = new RequestMappingViewLabelProvider();
 		viewSorter = new RequestMappingViewSorter(labelProvider);
 		createRequestMappingColumns();
@@ -611,6 +668,12 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 		final String newContentDescription = contentDescription;
 		PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
 			public void run() {
+				elementDescription = newContentDescription;
+				if (isSearching()) {
+					// the search results stay in place, the input is shown once the search is cleared
+					annotations = newAnnotations;
+					return;
+				}
 				setContentDescription(newContentDescription);
 				if (!newAnnotations.equals(annotations)) {
 					annotations = newAnnotations;
@@ -620,6 +683,29 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 		});
 	}
 
+	/**
+	 * Shows the request mappings of the whole workspace matching the search text, or the ones of the view's input if
+	 * the search text is empty.
+	 */
+	private void search() {
+		String query = searchText.getText().trim();
+		if (query.length() == 0) {
+			if (isSearching()) {
+				searchQuery = null;
+				setContentDescription(elementDescription);
+				mainViewer.setInput(annotations);
+			}
+			return;
+		}
+
+		searchQuery = query;
+		List<RequestMappingEndpoint> endpoints = MetadataPlugin.getDefault().getRequestMappingIndex()
+				.findEndpoints(query);
+		setContentDescription(NLS.bind(Messages.RequestMappingView_DESCRIPTION_SEARCH_RESULTS,
+				Integer.valueOf(endpoints.size()), query));
+		mainViewer.setInput(endpoints);
+	}
+
 	private void setJavadocInput(ISelection selection) {
 		if (selection instanceof IStructuredSelection) {
 			IStructuredSelection structuredSelection = (IStructuredSelection) selection;
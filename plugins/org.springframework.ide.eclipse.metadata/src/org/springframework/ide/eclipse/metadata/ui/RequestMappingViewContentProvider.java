@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.metadata.ui;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,6 +18,7 @@ import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.Viewer;
 import org.springframework.ide.eclipse.beans.core.metadata.model.IMethodMetadata;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingEndpoint;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
 
 
@@ -30,17 +32,24 @@ public class RequestMappingViewContentProvider implements
 	@SuppressWarnings("unchecked")
 	public Object[] getElements(Object inputElement) {
 		Set elements = new HashSet();
-		Set<RequestMappingAnnotationMetadata> annotations = (Set<RequestMappingAnnotationMetadata>) inputElement;
-		for (RequestMappingAnnotationMetadata annotation : annotations) {
-			// elements.add(annotation);
-			Set<IMethodMetadata> methods = annotation.getMethodMetaData();
-			for (IMethodMetadata method : methods) {
-				if (method instanceof RequestMappingMethodAnnotationMetadata) {
-					elements.add(new RequestMappingMethodToClassMap(
-							(RequestMappingMethodAnnotationMetadata) method,
-							annotation));
+		for (Object obj : (Collection<?>) inputElement) {
+			if (obj instanceof RequestMappingAnnotationMetadata) {
+				RequestMappingAnnotationMetadata annotation = (RequestMappingAnnotationMetadata) obj;
+				// elements.add(annotation);
+				Set<IMethodMetadata> methods = annotation.getMethodMetaData();
+				for (IMethodMetadata method : methods) {
+					if (method instanceof RequestMappingMethodAnnotationMetadata) {
+						elements.add(new RequestMappingMethodToClassMap(
+								(RequestMappingMethodAnnotationMetadata) method,
+								annotation));
+					}
 				}
 			}
+			else if (obj instanceof RequestMappingEndpoint) {
+				RequestMappingEndpoint endpoint = (RequestMappingEndpoint) obj;
+				elements.add(new RequestMappingMethodToClassMap(
+						endpoint.getMethodMetadata(), endpoint.getClassMetadata()));
+			}
 		}
 		return elements.toArray();
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,20 +10,15 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.metadata.ui;
 
-import java.util.Set;
-
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.ui.JavaElementLabelProvider;
 import org.eclipse.jface.viewers.ITableLabelProvider;
 import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.swt.graphics.Image;
-import org.springframework.ide.eclipse.beans.core.metadata.model.IBeanMetadata;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
-import org.springframework.ide.eclipse.core.java.annotation.AnnotationMemberValuePair;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingEndpoint;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.StringUtils;
 
 
 /**
@@ -34,12 +29,9 @@ import org.springframework.util.StringUtils;
 public class RequestMappingViewLabelProvider extends LabelProvider implements
 		ITableLabelProvider {
 
-	private AntPathMatcher matcher;
-
 	private JavaElementLabelProvider javaLabelProvider;
 
 	public RequestMappingViewLabelProvider() {
-		matcher = new AntPathMatcher();
 		javaLabelProvider = new JavaElementLabelProvider();
 	}
 
@@ -76,79 +68,16 @@ public class RequestMappingViewLabelProvider extends LabelProvider implements
 		return ""; //$NON-NLS-1$
 	}
 
-	@SuppressWarnings("unchecked")
 	private String getClassUrl(RequestMappingAnnotationMetadata annotation) {
-		Object value = annotation.getValue();
-		if (value instanceof Set) {
-			for (AnnotationMemberValuePair pair : (Set<AnnotationMemberValuePair>) value) {
-				if (pair.getName() == null || "path".equals(pair.getName())) {
-					String url = pair.getValue();
-					if (url.endsWith("/**")) { //$NON-NLS-1$
-						url = url.substring(0, url.length() - 3);
-					}
-					if (!url.startsWith("/")) { //$NON-NLS-1$
-						url = "/".concat(url); //$NON-NLS-1$
-					}
-					return url;
-				}
-			}
-		}
-		return "/"; //$NON-NLS-1$
+		return RequestMappingEndpoint.getClassUrl(annotation);
 	}
 
-	@SuppressWarnings("unchecked")
 	private String getMethodUrl(RequestMappingMethodToClassMap map) {
-		RequestMappingMethodAnnotationMetadata annotation = map
-				.getMethodMetadata();
-		String classUrl = getClassUrl(map.getClassMetadata());
-		Object value = annotation.getValue();
-		if (value instanceof Set) {
-			for (AnnotationMemberValuePair pair : (Set<AnnotationMemberValuePair>) value) {
-				if (pair.getName() == null || "path".equals(pair.getName())) {
-					if (classUrl.equals("/") && pair.getValue().startsWith("/")) { //$NON-NLS-1$ //$NON-NLS-2$
-						return pair.getValue();
-					}
-					String url = matcher.combine(classUrl, pair.getValue());
-					if (url.contains("/**/")) { //$NON-NLS-1$
-						url = StringUtils.delete(url, "/**"); //$NON-NLS-1$
-					}
-					return url;
-				}
-			}
-		}
-		return classUrl;
+		return RequestMappingEndpoint.getMethodUrl(map.getClassMetadata(), map.getMethodMetadata());
 	}
 
-	@SuppressWarnings("unchecked")
-	private String extractMethodFromAnnotation(IBeanMetadata metadata) {
-		Object value = metadata.getValue();
-		if (value instanceof Set) {
-			for (AnnotationMemberValuePair pair : (Set<AnnotationMemberValuePair>) value) {
-				if ("method".equalsIgnoreCase(pair.getName())) { //$NON-NLS-1$
-					String method = pair.getValue();
-					// normalize result by omitting RequestMethod.*** and just showing *** 
-					if (method.startsWith("RequestMethod.")) {
-						return method.substring("RequestMethod.".length());
-					}
-					return method;
-				}
-			}
-		}
-		return null;
-	}
-	
-	@SuppressWarnings("unchecked")
 	private String getRequestMethod(RequestMappingMethodToClassMap map) {
-		RequestMappingMethodAnnotationMetadata annotation = map
-				.getMethodMetadata();
-		String classMethod = extractMethodFromAnnotation(map.getClassMetadata());
-		String requestMethod = extractMethodFromAnnotation(annotation);
-		if (requestMethod != null) {
-			return requestMethod;
-		} else if (classMethod != null) {
-			return classMethod;
-		}
-		return ""; //$NON-NLS-1$
+		return RequestMappingEndpoint.getRequestMethod(map.getClassMetadata(), map.getMethodMetadata());
 	}
 	
 	private String getHandlerMethod(RequestMappingMethodToClassMap map) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -24,6 +24,7 @@ public class Messages extends NLS {
 	public static String OpenRequestMappingUrlWizardPage_HEADER_TITLE;
 	public static String OpenRequestMappingUrlWizardPage_LABEL_URL_PREFIX;
 	public static String OpenRequestMappingUrlWizardPage_PAGE_TITLE;
+	public static String OpenRequestMappingUrlWizardPage_WARNING_AMBIGUOUS_URL;
 	public static String OpenRequestMappingUrlWizardPage_WARNING_URL_CONSTRUCTION;
 	static {
 		// initialize resource bundle
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2020 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -28,9 +28,11 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.IMessageProvider;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.wizard.WizardPage;
 import org.eclipse.mylyn.tasks.ui.TasksUiUtil;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
@@ -47,6 +49,7 @@ import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.ServerUtil;
 import org.eclipse.wst.server.core.model.IURLProvider;
 import org.springframework.ide.eclipse.metadata.MetadataPlugin;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingEndpoint;
 import org.springframework.ide.eclipse.metadata.ui.RequestMappingMethodToClassMap;
 import org.springframework.ide.eclipse.metadata.ui.RequestMappingView;
 import org.springframework.ide.eclipse.metadata.ui.RequestMappingViewLabelProvider;
@@ -133,7 +136,9 @@ public class OpenRequestMappingUrlWizardPage extends WizardPage {
 		loadPreferenceCache();
 		createVariableControls(container);
 		setControl(container);
-		setPageComplete(validatePage());
+		boolean valid = validatePage();
+		setPageComplete(valid);
+		setMessage(valid ? getAmbiguousMappingMessage() : null, IMessageProvider.WARNING);
 	}
 
 	private void createVariableControls(Composite parent) {
@@ -219,6 +224,15 @@ public class OpenRequestMappingUrlWizardPage extends WizardPage {
 		}
 	}
 
+	private String getConstructedPath() {
+		String path = labelProvider.getColumnText(input, RequestMappingView.COLUMN_URL);
+		for (Combo combo : comboList) {
+			String textLabel = (String) combo.getData(KEY_URL_DATA);
+			path = path.replace(textLabel, combo.getText());
+		}
+		return path;
+	}
+
 	private String getConstructedUrl() {
 		String url = ""; //$NON-NLS-1$
 		if (urlText != null) {
@@ -227,14 +241,29 @@ public class OpenRequestMappingUrlWizardPage extends WizardPage {
 				url = url.substring(0, url.length()-1);
 			}
 		}
-		url = url.concat(labelProvider.getColumnText(input, RequestMappingView.COLUMN_URL));
+		return url.concat(getConstructedPath());
+	}
 
-		for (Combo combo : comboList) {
-			String textLabel = (String) combo.getData(KEY_URL_DATA);
-			url = url.replace(textLabel, combo.getText());
+	/**
+	 * Returns a warning if the constructed URL is mapped to another handler method of the same project as well, e.g.
+	 * <code>/owners/new</code> to both <code>/owners/new</code> and <code>/owners/{ownerId}</code>.
+	 */
+	private String getAmbiguousMappingMessage() {
+		RequestMappingEndpoint mapping = new RequestMappingEndpoint(input.getClassMetadata(),
+				input.getMethodMetadata());
+		String requestMethod = mapping.getRequestMethod();
+		for (RequestMappingEndpoint endpoint : MetadataPlugin.getDefault().getRequestMappingIndex()
+				.findEndpointsMatching(getConstructedPath(), mapping.getProjectName())) {
+			if (!endpoint.equals(mapping)
+					&& (requestMethod.length() == 0 || endpoint.getRequestMethod().length() == 0 || requestMethod
+							.equals(endpoint.getRequestMethod()))) {
+				String handlerMethod = labelProvider.getColumnText(new RequestMappingMethodToClassMap(endpoint
+						.getMethodMetadata(), endpoint.getClassMetadata()), RequestMappingView.COLUMN_HANDLER_METHOD);
+				return NLS.bind(Messages.OpenRequestMappingUrlWizardPage_WARNING_AMBIGUOUS_URL, endpoint.getUrl(),
+						handlerMethod);
+			}
 		}
-		
-		return url;
+		return null;
 	}
 
 	protected void performPageFinish() {
@@ -263,6 +292,7 @@ public class OpenRequestMappingUrlWizardPage extends WizardPage {
 						+ Messages.OpenRequestMappingUrlWizardPage_WARNING_URL_CONSTRUCTION;
 			}
 			setErrorMessage(errorMessage);
+			setMessage(valid ? getAmbiguousMappingMessage() : null, IMessageProvider.WARNING);
 			setPageComplete(valid);
 		}
 
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.internal.model.validation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowState;
+import org.springframework.ide.eclipse.webflow.core.model.IState;
+import org.springframework.ide.eclipse.webflow.core.model.ISubflowState;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowState;
+import org.w3c.dom.Node;
+
+/**
+ * Cache of the flows that other flows inherit from, shared by all validation runs.
+ * <p>
+ * Only the <code>parent</code> attribute and the ids, lines and subflows of the states of a flow are kept, so that
+ * cached flows don't hold on to the DOM of their files. A flow is read again as soon as its file is modified. Flows
+ * open in an editor with unsaved changes are always read from the editor's model and never cached, as their content
+ * differs from the file's.
+ * @since 3.9.13
+ */
+@SuppressWarnings("restriction")
+public class ParentFlowCache {
+
+	private static final int MAX_FLOWS = 64;
+
+	/** Most recently used flows by their file, guarded by itself */
+	private static final Map<IResource, ParentFlow> FLOWS = new LinkedHashMap<IResource, ParentFlow>(16, 0.75f,
+			true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IResource, ParentFlow> eldest) {
+			return size() > MAX_FLOWS;
+		}
+	};
+
+	/**
+	 * Returns the flow of the given config, or <code>null</code> if it can't be read.
+	 */
+	public static ParentFlow getFlow(IWebflowConfig config) {
+		if (config == null || !(config.getElementResource() instanceof IFile)) {
+			return null;
+		}
+		IFile file = (IFile) config.getElementResource();
+		long modificationStamp = file.getModificationStamp();
+
+		IStructuredModel model = null;
+		try {
+			model = StructuredModelManager.getModelManager().getExistingModelForRead(file);
+			if (model == null || !model.isDirty()) {
+				synchronized (FLOWS) {
+					ParentFlow flow = FLOWS.get(file);
+					if (flow != null && flow.modificationStamp == modificationStamp) {
+						return flow;
+					}
+				}
+			}
+			if (model == null) {
+				model = StructuredModelManager.getModelManager().getModelForRead(file);
+			}
+			if (model != null) {
+				IDOMDocument document = ((DOMModelImpl) model).getDocument();
+				IWebflowState state = new WebflowState(config);
+				state.init((IDOMNode) document.getDocumentElement(), null);
+				Node parent = document.getDocumentElement().getAttributes().getNamedItem("parent");
+
+				ParentFlow flow = new ParentFlow(modificationStamp, (parent != null ? parent.getNodeValue() : null),
+						state);
+				if (!model.isDirty()) {
+					synchronized (FLOWS) {
+						FLOWS.put(file, flow);
+					}
+				}
+				return flow;
+			}
+		}
+		catch (Exception e) {
+		}
+		finally {
+			if (model != null) {
+				model.releaseFromRead();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The <code>parent</code> attribute and the states of a flow.
+	 */
+	public static class ParentFlow {
+
+		private final long modificationStamp;
+
+		private final String parent;
+
+		private final Map<String, FlowState> states = new LinkedHashMap<String, FlowState>();
+
+		ParentFlow(long modificationStamp, String parent, IWebflowState state) {
+			this.modificationStamp = modificationStamp;
+			this.parent = parent;
+			if (state.getStates() != null) {
+				for (IState childState : state.getStates()) {
+					// like WebflowModelXmlUtils.getStateById(), the first state with a given id wins
+					if (childState.getId() != null && !states.containsKey(childState.getId())) {
+						states.put(childState.getId(), new FlowState(childState));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the value of the flow's <code>parent</code> attribute.
+		 */
+		public String getParent() {
+			return parent;
+		}
+
+		public FlowState getState(String id) {
+			return states.get(id);
+		}
+	}
+
+	/**
+	 * What validation needs to know about a state of a flow that other flows inherit from.
+	 */
+	public static class FlowState {
+
+		private final String id;
+
+		private final int startLine;
+
+		private final int endLine;
+
+		private final boolean isSubflowState;
+
+		private final String subflow;
+
+		FlowState(IState state) {
+			this.id = state.getId();
+			this.startLine = state.getElementStartLine();
+			this.endLine = state.getElementEndLine();
+			this.isSubflowState = state instanceof ISubflowState;
+			this.subflow = (isSubflowState ? ((ISubflowState) state).getFlow() : null);
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public int getStartLine() {
+			return startLine;
+		}
+
+		public int getEndLine() {
+			return endLine;
+		}
+
+		public boolean isSubflowState() {
+			return isSubflowState;
+		}
+
+		/**
+		 * Returns the flow called by a subflow state, or <code>null</code> if it hasn't any or isn't a subflow state.
+		 */
+		public String getSubflow() {
+			return subflow;
+		}
+	}
+
+}
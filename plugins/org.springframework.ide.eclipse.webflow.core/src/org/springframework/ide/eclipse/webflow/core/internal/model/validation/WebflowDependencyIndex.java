@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.internal.model.validation;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IResource;
+
+/**
+ * Index of the Java types, beans and beans configs each flow referred to when it was last validated, used by the
+ * {@link WebflowValidator} to revalidate only the flows a change can affect.
+ * <p>
+ * Flows which haven't been validated since the workspace was opened are not in the index. The validator considers
+ * them affected by classpath and beans config changes, but not by changes to single Java types, which would otherwise
+ * revalidate all flows until each of them has been validated once.
+ * @since 3.9.13
+ */
+class WebflowDependencyIndex {
+
+	private final ConcurrentMap<IResource, FlowDependencies> flows = new ConcurrentHashMap<IResource, FlowDependencies>();
+
+	/**
+	 * Starts recording the dependencies of the given flow anew, replacing the ones recorded before.
+	 */
+	public FlowDependencies record(IResource flow) {
+		FlowDependencies dependencies = new FlowDependencies();
+		flows.put(flow, dependencies);
+		return dependencies;
+	}
+
+	/**
+	 * Returns the dependencies of the given flow, or <code>null</code> if they are unknown.
+	 */
+	public FlowDependencies get(IResource flow) {
+		return flows.get(flow);
+	}
+
+	public void remove(IResource flow) {
+		flows.remove(flow);
+	}
+
+	/**
+	 * The references of a single flow, recorded by its {@link WebflowValidationContext} while it is validated.
+	 */
+	static class FlowDependencies {
+
+		/** Names of referenced types, with nested types separated by '.' */
+		private final Set<String> types = newSet();
+
+		private final Set<String> beans = newSet();
+
+		private final Set<IResource> beansConfigs = newSet();
+
+		public void addType(String className) {
+			types.add(className.replace('$', '.'));
+		}
+
+		public void addBean(String beanName) {
+			beans.add(beanName);
+		}
+
+		public void addBeansConfig(IResource beansConfig) {
+			beansConfigs.add(beansConfig);
+		}
+
+		/**
+		 * Returns <code>true</code> if the flow refers to any of the given top-level types or their nested types.
+		 */
+		public boolean referencesAnyType(Set<String> topLevelTypes) {
+			for (String type : types) {
+				for (String name = type; name != null; name = getEnclosingName(name)) {
+					if (topLevelTypes.contains(name)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns <code>true</code> if a change to the given beans config may change the outcome of the flow's
+		 * validation, i.e. if the flow refers to beans from the config.
+		 */
+		public boolean dependsOnBeansConfig(IResource beansConfig) {
+			return !beans.isEmpty() && beansConfigs.contains(beansConfig);
+		}
+
+		/**
+		 * Returns <code>true</code> if the flow refers to anything that is looked up on the classpath.
+		 */
+		public boolean dependsOnClasspath() {
+			return !types.isEmpty() || !beans.isEmpty();
+		}
+
+		private static String getEnclosingName(String name) {
+			int i = name.lastIndexOf('.');
+			return (i > 0 ? name.substring(0, i) : null);
+		}
+
+		private static <T> Set<T> newSet() {
+			return Collections.newSetFromMap(new ConcurrentHashMap<T, Boolean>());
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 - 2013 Spring IDE Developers
+ * Copyright (c) 2007 - 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,18 +10,30 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.webflow.core.internal.model.validation;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.wst.sse.core.StructuredModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
 import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMAttr;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
+import org.springframework.ide.eclipse.core.java.Introspector;
+import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.validation.AbstractValidationContext;
 import org.springframework.ide.eclipse.webflow.core.Activator;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelXmlUtils;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowState;
-import org.springframework.ide.eclipse.webflow.core.model.IState;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.ParentFlowCache.FlowState;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.ParentFlowCache.ParentFlow;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowDependencyIndex.FlowDependencies;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowProject;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowState;
@@ -40,10 +52,26 @@ public class WebflowValidationContext extends AbstractValidationContext {
 
 	private boolean isVersion1 = true;
 
+	/** Flows read during this validation run by their file, to look up states inherited from parent flows */
+	private final Map<IResource, ParentFlow> flows = new HashMap<IResource, ParentFlow>();
+
+	private final FlowDependencies dependencies;
+
 	public WebflowValidationContext(IWebflowState state, IWebflowConfig webflowConfig) {
+		this(state, webflowConfig, new FlowDependencies());
+	}
+
+	/**
+	 * Creates a context which records the types, beans and beans configs the validated flow refers to in the given
+	 * dependencies.
+	 * @since 3.9.13
+	 */
+	WebflowValidationContext(IWebflowState state, IWebflowConfig webflowConfig, FlowDependencies dependencies) {
 		super(state, null);
 		this.webflowConfig = webflowConfig;
+		this.dependencies = dependencies;
 		determineVersion();
+		recordBeansConfigs();
 	}
 
 	public IWebflowConfig getWebflowConfig() {
@@ -54,6 +82,79 @@ public class WebflowValidationContext extends AbstractValidationContext {
 		return isVersion1;
 	}
 
+	/**
+	 * Checks if the given bean is defined in the beans configs of the validated flow, and records that the flow refers
+	 * to it.
+	 * @since 3.9.13
+	 */
+	public boolean isReferencedBeanFound(String beanName) {
+		if (beanName != null) {
+			dependencies.addBean(beanName);
+		}
+		return WebflowModelUtils.isReferencedBeanFound(webflowConfig, beanName);
+	}
+
+	/**
+	 * Returns the class of the bean the given action refers to, and records that the flow refers to the bean and to
+	 * its class.
+	 * @since 3.9.13
+	 */
+	public IType getActionType(IDOMNode node) {
+		String beanName = BeansEditorUtils.getAttribute(node, "bean");
+		if (beanName != null) {
+			dependencies.addBean(beanName);
+		}
+		IType type = WebflowModelUtils.getActionType(webflowConfig, node);
+		recordTypeReference(type);
+		return type;
+	}
+
+	/**
+	 * Records that the validated flow refers to the given class, whether or not it exists.
+	 * @since 3.9.13
+	 */
+	public void recordTypeReference(String className) {
+		if (className != null) {
+			dependencies.addType(className);
+		}
+	}
+
+	/**
+	 * Records that the validated flow refers to the given type. As the validation of the type's use may depend on
+	 * the members it inherits, its super classes and interfaces are recorded as well.
+	 * @since 3.9.13
+	 */
+	public void recordTypeReference(IType type) {
+		if (type == null) {
+			return;
+		}
+		try {
+			for (IType superType = type; superType != null; superType = Introspector.getSuperType(superType)) {
+				dependencies.addType(superType.getFullyQualifiedName());
+			}
+		}
+		catch (JavaModelException e) {
+		}
+		for (IType interfaceType : Introspector.getAllImplementedInterfaces(type)) {
+			dependencies.addType(interfaceType.getFullyQualifiedName());
+		}
+	}
+
+	private void recordBeansConfigs() {
+		if (webflowConfig != null && webflowConfig.getBeansConfigs() != null) {
+			for (IModelElement element : webflowConfig.getBeansConfigs()) {
+				if (element instanceof IBeansConfig) {
+					dependencies.addBeansConfig(((IBeansConfig) element).getElementResource());
+				}
+				else if (element instanceof IBeansConfigSet) {
+					for (IBeansConfig config : ((IBeansConfigSet) element).getConfigs()) {
+						dependencies.addBeansConfig(config.getElementResource());
+					}
+				}
+			}
+		}
+	}
+
 	private void determineVersion() {
 		IStructuredModel model = null;
 		try {
@@ -83,108 +184,30 @@ public class WebflowValidationContext extends AbstractValidationContext {
 		}
 	}
 
-	public IState getStateFromParentState(String stateId) {
+	public FlowState getStateFromParentState(String stateId) {
 		if (!isVersion1() && stateId != null && stateId.contains("#")) {
-			IStructuredModel model = null;
-			IState state = null;
 			int i = stateId.lastIndexOf('#');
 			String parentFlowId = stateId.substring(0, i);
 			String parentStateId = stateId.substring(i + 1);
 
-			IWebflowProject project = Activator.getModel().getProject(
-					getRootElement().getElementResource().getProject());
-			IWebflowConfig parentConfig = project.getConfig(parentFlowId);
-			try {
-				model = StructuredModelManager.getModelManager().getExistingModelForRead(
-						parentConfig.getElementResource());
-				if (model == null) {
-					model = StructuredModelManager.getModelManager().getModelForRead(
-							(IFile) parentConfig.getElementResource());
-				}
-				if (model != null) {
-					IDOMDocument document = ((DOMModelImpl) model).getDocument();
-					IWebflowState parentState = new WebflowState(parentConfig);
-					parentState.init((IDOMNode) document.getDocumentElement(), null);
-
-					state = WebflowModelXmlUtils.getStateById(parentState, parentStateId);
-				}
-			}
-			catch (Exception e) {
-			}
-			finally {
-				if (model != null) {
-					model.releaseFromRead();
-				}
-				model = null;
-			}
-
-			if (state != null) {
-				return state;
+			ParentFlow parentFlow = getFlow(getConfig(parentFlowId));
+			if (parentFlow != null) {
+				return parentFlow.getState(parentStateId);
 			}
-
 		}
 		return null;
 	}
 
-	public IState getStateFromParentFlow(String stateId, IWebflowConfig config) {
+	public FlowState getStateFromParentFlow(String stateId, IWebflowConfig config) {
 		if (!isVersion1()) {
-			IStructuredModel model = null;
-			String parent = null;
-			try {
-				model = StructuredModelManager.getModelManager().getExistingModelForRead(config.getElementResource());
-				if (model == null) {
-					model = StructuredModelManager.getModelManager().getModelForRead(
-							(IFile) config.getElementResource());
-
-				}
-				if (model != null) {
-					IDOMDocument document = ((DOMModelImpl) model).getDocument();
-					NamedNodeMap attributes = document.getDocumentElement().getAttributes();
-					if (attributes.getNamedItem("parent") != null) {
-						IDOMAttr schemaLocationNode = (IDOMAttr) attributes.getNamedItem("parent");
-						parent = schemaLocationNode.getValue();
-					}
-				}
-			}
-			catch (Exception e) {
-			}
-			finally {
-				if (model != null) {
-					model.releaseFromRead();
-				}
-				model = null;
-			}
+			ParentFlow flow = getFlow(config);
+			String parent = (flow != null ? flow.getParent() : null);
 
 			if (parent != null) {
 				for (Object p : StringUtils.commaDelimitedListToSet(parent)) {
-					IState state = null;
-
-					IWebflowProject project = Activator.getModel().getProject(
-							getRootElement().getElementResource().getProject());
-					IWebflowConfig parentConfig = project.getConfig((String) p);
-					try {
-						model = StructuredModelManager.getModelManager().getExistingModelForRead(
-								parentConfig.getElementResource());
-						if (model == null) {
-							model = StructuredModelManager.getModelManager().getModelForRead(
-									(IFile) parentConfig.getElementResource());
-						}
-						if (model != null) {
-							IDOMDocument document = ((DOMModelImpl) model).getDocument();
-							IWebflowState parentState = new WebflowState(parentConfig);
-							parentState.init((IDOMNode) document.getDocumentElement(), null);
-
-							state = WebflowModelXmlUtils.getStateById(parentState, stateId);
-						}
-					}
-					catch (Exception e) {
-					}
-					finally {
-						if (model != null) {
-							model.releaseFromRead();
-						}
-						model = null;
-					}
+					IWebflowConfig parentConfig = getConfig((String) p);
+					ParentFlow parentFlow = getFlow(parentConfig);
+					FlowState state = (parentFlow != null ? parentFlow.getState(stateId) : null);
 
 					if (state != null) {
 						return state;
@@ -198,4 +221,23 @@ public class WebflowValidationContext extends AbstractValidationContext {
 		return null;
 	}
 
+	private IWebflowConfig getConfig(String flowId) {
+		IWebflowProject project = Activator.getModel().getProject(getRootElement().getElementResource().getProject());
+		return (project != null ? project.getConfig(flowId) : null);
+	}
+
+	/**
+	 * Returns the given flow, reading it at most once per validation run.
+	 */
+	private ParentFlow getFlow(IWebflowConfig config) {
+		if (config == null) {
+			return null;
+		}
+		IResource resource = config.getElementResource();
+		if (!flows.containsKey(resource)) {
+			flows.put(resource, ParentFlowCache.getFlow(config));
+		}
+		return flows.get(resource);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,7 +16,13 @@ import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.wst.sse.core.StructuredModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
 import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
@@ -37,6 +43,7 @@ import org.springframework.ide.eclipse.core.model.validation.IValidator;
 import org.springframework.ide.eclipse.webflow.core.Activator;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowState;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowDependencyIndex.FlowDependencies;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowModel;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowModelElement;
@@ -46,6 +53,12 @@ import org.springframework.ide.eclipse.webflow.core.model.IWebflowState;
 /**
  * {@link IValidator} implementation that is responsible for validating the
  * {@link IWebflowModel}.
+ * <p>
+ * The types, beans and beans configs each flow refers to are recorded while it
+ * is validated, so that changes to Java sources, the classpath or beans configs
+ * only revalidate the flows that refer to what changed. Flows which haven't
+ * been validated yet are revalidated by classpath and beans config changes,
+ * but not by changes to Java sources.
  * @author Christian Dupuis
  * @author Torsten Juergeleit
  * @since 2.0
@@ -56,6 +69,9 @@ public class WebflowValidator extends AbstractValidator {
 	public static final String VALIDATOR_ID = Activator.PLUGIN_ID
 			+ ".validator";
 
+	/** Shared by all instances, as every build creates a new validator */
+	private static final WebflowDependencyIndex DEPENDENCY_INDEX = new WebflowDependencyIndex();
+
 	public Set<IResource> deriveResources(Object object) {
 		Set<IResource> resources = new LinkedHashSet<IResource>();
 		if (object instanceof ISpringProject) {
@@ -88,6 +104,9 @@ public class WebflowValidator extends AbstractValidator {
 			throws CoreException {
 		Set<IResource> resources = new LinkedHashSet<IResource>();
 		if (WebflowModelUtils.isWebflowConfig(resource)) {
+			if (deltaKind == IResourceDelta.REMOVED) {
+				DEPENDENCY_INDEX.remove(resource);
+			}
 			resources.add(resource);
 		}
 		else if (JdtUtils.isClassPathFile(resource)) {
@@ -95,17 +114,41 @@ public class WebflowValidator extends AbstractValidator {
 					resource.getProject());
 			if (webflowProject != null) {
 				for (IWebflowConfig config : webflowProject.getConfigs()) {
-					resources.add(config.getElementResource());
+					FlowDependencies dependencies = DEPENDENCY_INDEX.get(config.getElementResource());
+					if (dependencies == null || dependencies.dependsOnClasspath()) {
+						resources.add(config.getElementResource());
+					}
 				}
 			}
 
 		}
+		else if (JavaCore.isJavaLikeFileName(resource.getName())) {
+			IWebflowProject webflowProject = Activator.getModel().getProject(
+					resource.getProject());
+			Set<String> changedTypes = getTopLevelTypeNames(resource);
+			if (webflowProject != null && !changedTypes.isEmpty()) {
+				for (IWebflowConfig config : webflowProject.getConfigs()) {
+					FlowDependencies dependencies = DEPENDENCY_INDEX.get(config.getElementResource());
+					if (dependencies != null && dependencies.referencesAnyType(changedTypes)) {
+						resources.add(config.getElementResource());
+					}
+				}
+			}
+		}
 		else if (BeansCoreUtils.isBeansConfig(resource)) {
 			IBeansConfig bc = BeansCorePlugin.getModel().getConfig(
 					(IFile) resource);
 			IWebflowProject wp = Activator.getModel().getProject(
 					resource.getProject());
 			for (IWebflowConfig fc : wp.getConfigs()) {
+				FlowDependencies dependencies = DEPENDENCY_INDEX.get(fc.getElementResource());
+				if (dependencies != null) {
+					if (dependencies.dependsOnBeansConfig(resource)) {
+						resources.add(fc.getElementResource());
+					}
+					continue;
+				}
+
 				if (fc.getBeansConfigs().contains(bc)) {
 					resources.add(fc.getElementResource());
 				}
@@ -121,6 +164,31 @@ public class WebflowValidator extends AbstractValidator {
 		return resources;
 	}
 
+	/**
+	 * Returns the names of the top-level types declared in the given Java source file. This includes the name of the
+	 * primary type for files that no longer exist.
+	 */
+	private Set<String> getTopLevelTypeNames(IResource resource) {
+		Set<String> typeNames = new HashSet<String>();
+		IJavaElement element = JavaCore.create(resource);
+		if (element instanceof ICompilationUnit) {
+			ICompilationUnit compilationUnit = (ICompilationUnit) element;
+			String packageName = compilationUnit.getParent().getElementName();
+			String typeName = JavaCore.removeJavaLikeExtension(compilationUnit.getElementName());
+			typeNames.add(packageName.length() > 0 ? packageName + "." + typeName : typeName);
+			if (compilationUnit.exists()) {
+				try {
+					for (IType type : compilationUnit.getTypes()) {
+						typeNames.add(type.getFullyQualifiedName('.'));
+					}
+				}
+				catch (JavaModelException e) {
+				}
+			}
+		}
+		return typeNames;
+	}
+
 	@Override
 	protected IValidationContext createContext(
 			IResourceModelElement rootElement,
@@ -129,7 +197,8 @@ public class WebflowValidator extends AbstractValidator {
 			IWebflowState state = (IWebflowState) rootElement;
 			IWebflowConfig config = WebflowModelUtils
 					.getWebflowConfig((IFile) state.getElementResource());
-			return new WebflowValidationContext(state, config);
+			return new WebflowValidationContext(state, config,
+					DEPENDENCY_INDEX.record(state.getElementResource()));
 		}
 		return null;
 	}
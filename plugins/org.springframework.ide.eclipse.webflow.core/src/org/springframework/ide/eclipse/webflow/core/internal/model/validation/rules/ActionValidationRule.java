@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -42,13 +42,13 @@ public class ActionValidationRule implements IValidationRule<Action, WebflowVali
 			if (!StringUtils.hasText(action.getBean())) {
 				context.error(action, "NO_BEAN_ATTRIBUTE", "Element 'action' requires 'bean' attribute");
 			}
-			else if (!WebflowModelUtils.isReferencedBeanFound(context.getWebflowConfig(), action.getBean())) {
+			else if (!context.isReferencedBeanFound(action.getBean())) {
 				context.error(action, "INVALID_BEAN", MessageUtils.format("Referenced bean \"{0}\" cannot be found",
 						action.getBean()));
 			}
 			if (StringUtils.hasText(action.getMethod())
-					&& !JdtUtils.doesImplement(context.getWebflowConfig().getElementResource(), WebflowModelUtils
-							.getActionType(context.getWebflowConfig(), action.getNode()), FactoryBean.class.getName())) {
+					&& !JdtUtils.doesImplement(context.getWebflowConfig().getElementResource(), context
+							.getActionType(action.getNode()), FactoryBean.class.getName())) {
 				Set<IMethod> methods = WebflowModelUtils.getActionMethods(context.getWebflowConfig(), action.getNode());
 				boolean found = false;
 				for (IMethod method : methods) {
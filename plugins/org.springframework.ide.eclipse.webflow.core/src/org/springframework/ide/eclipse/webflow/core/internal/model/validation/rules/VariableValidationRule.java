@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,7 +19,6 @@ import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.webflow.core.internal.model.Variable;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
 import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowValidationContext;
 import org.springframework.util.StringUtils;
 
@@ -45,8 +44,7 @@ public class VariableValidationRule implements IValidationRule<Variable, Webflow
 			else {
 				if (!StringUtils.hasText(attribute.getBean())
 						&& !StringUtils.hasText(attribute.getClazz())
-						&& !WebflowModelUtils.isReferencedBeanFound(context.getWebflowConfig(),
-								attribute.getName())) {
+						&& !context.isReferencedBeanFound(attribute.getName())) {
 					context.error(attribute, "INVALID_BEAN", MessageUtils.format(
 							"Referenced bean \"{0}\" cannot be found", attribute.getName()));
 				}
@@ -58,8 +56,7 @@ public class VariableValidationRule implements IValidationRule<Variable, Webflow
 			}
 			checkClassAttribute(attribute, context);
 			if (StringUtils.hasText(attribute.getBean())
-					&& !WebflowModelUtils.isReferencedBeanFound(context.getWebflowConfig(),
-							attribute.getBean())) {
+					&& !context.isReferencedBeanFound(attribute.getBean())) {
 				context.error(attribute, "INVALID_BEAN", MessageUtils.format(
 						"Referenced bean \"{0}\" cannot be found", attribute.getBean()));
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 Spring IDE Developers
+ * Copyright (c) 2007, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -41,6 +41,8 @@ public abstract class WebflowValidationRuleUtils {
 
 	protected static IType getJavaType(String className,
 			WebflowValidationContext context) {
+		// recorded even if it can't be found, as it might be added later
+		context.recordTypeReference(className);
 		IType type = JdtUtils.getJavaType(context.getWebflowConfig()
 				.getProject().getProject(), className);
 		if (type == null) {
@@ -50,6 +52,7 @@ public abstract class WebflowValidationRuleUtils {
 						.getProject().getProject(), clazz.getName());
 			}
 		}
+		context.recordTypeReference(type);
 		return type;
 	}
 
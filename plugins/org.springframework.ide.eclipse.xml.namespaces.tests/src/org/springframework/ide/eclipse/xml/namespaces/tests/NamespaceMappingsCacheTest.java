@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.xml.namespaces.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.ide.eclipse.xml.namespaces.internal.NamespaceMappings;
+import org.springframework.ide.eclipse.xml.namespaces.internal.NamespaceMappingsCache;
+
+import com.google.common.collect.ImmutableList;
+
+public class NamespaceMappingsCacheTest {
+
+	private static final String NAMESPACE = "http://www.example.org/schema/foo";
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void readsJarOnce() throws Exception {
+		File jar = createNamespaceJar("foo.jar");
+		NamespaceMappingsCache cache = new NamespaceMappingsCache(tmp.newFolder("state"));
+
+		NamespaceMappings mappings = cache.getMappings(jar.toURI().toURL());
+		assertEquals("org/example/foo.xsd", mappings.getSchemaMappings().get(NAMESPACE + "/foo.xsd"));
+		assertEquals("org.example.FooNamespaceHandler", mappings.getHandlerMappings().get(NAMESPACE));
+		assertEquals("foo", mappings.getToolingMappings().get(NAMESPACE + "@prefix"));
+		assertTrue(mappings.containsResource("org/example/foo.xsd"));
+		assertFalse(mappings.containsResource("org/example/bar.xsd"));
+		assertEquals(NAMESPACE, mappings.getTargetNamespace("org/example/foo.xsd"));
+
+		assertSame(mappings, cache.getMappings(jar.toURI().toURL()));
+		assertEquals(1, cache.getArchivesRead());
+	}
+
+	@Test
+	public void restoresSavedMappings() throws Exception {
+		File jar = createNamespaceJar("foo.jar");
+		File state = tmp.newFolder("state");
+		NamespaceMappingsCache cache = new NamespaceMappingsCache(state);
+		File iconFile = cache.getMappings(jar.toURI().toURL()).getIconFile("org/example/foo.gif");
+		assertNotNull(iconFile);
+		assertEquals("GIF89a", new String(Files.readAllBytes(iconFile.toPath())));
+		cache.save();
+
+		NamespaceMappingsCache restored = new NamespaceMappingsCache(state);
+		NamespaceMappings mappings = restored.getMappings(jar.toURI().toURL());
+		assertEquals(0, restored.getArchivesRead());
+		assertEquals(NAMESPACE, mappings.getTargetNamespace("org/example/foo.xsd"));
+		assertEquals(iconFile, mappings.getIconFile("org/example/foo.gif"));
+	}
+
+	@Test
+	public void rereadsChangedJar() throws Exception {
+		File jar = createNamespaceJar("foo.jar");
+		NamespaceMappingsCache cache = new NamespaceMappingsCache(tmp.newFolder("state"));
+		cache.getMappings(jar.toURI().toURL());
+
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar))) {
+			addEntry(zip, "META-INF/spring.schemas", "");
+		}
+		jar.setLastModified(jar.lastModified() + 2000);
+
+		NamespaceMappings mappings = cache.getMappings(jar.toURI().toURL());
+		assertTrue(mappings.getSchemaMappings().isEmpty());
+		assertNull(mappings.getTargetNamespace("org/example/foo.xsd"));
+		assertEquals(2, cache.getArchivesRead());
+	}
+
+	@Test
+	public void ordersJarsBeforeFolders() throws Exception {
+		File folder = tmp.newFolder("classes");
+		File jar = createNamespaceJar("foo.jar");
+		NamespaceMappingsCache cache = new NamespaceMappingsCache(tmp.newFolder("state"));
+
+		List<NamespaceMappings> mappings = cache.getMappings(ImmutableList.<URL>of(folder.toURI().toURL(),
+				jar.toURI().toURL(), new File(tmp.getRoot(), "missing.jar").toURI().toURL()));
+		assertEquals(2, mappings.size());
+		assertSame(cache.getMappings(jar.toURI().toURL()), mappings.get(0));
+		assertTrue(mappings.get(1).getSchemaMappings().isEmpty());
+	}
+
+	private File createNamespaceJar(String jarName) throws Exception {
+		File jar = tmp.newFile(jarName);
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar))) {
+			addEntry(zip, "META-INF/spring.handlers", "http\\://www.example.org/schema/foo=org.example.FooNamespaceHandler\n");
+			addEntry(zip, "META-INF/spring.schemas", "http\\://www.example.org/schema/foo/foo.xsd=org/example/foo.xsd\n");
+			addEntry(zip, "META-INF/spring.tooling", "http\\://www.example.org/schema/foo@name=Foo\n"
+					+ "http\\://www.example.org/schema/foo@prefix=foo\n"
+					+ "http\\://www.example.org/schema/foo@icon=org/example/foo.gif\n");
+			addEntry(zip, "org/example/foo.xsd", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+					+ "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"" + NAMESPACE + "\"/>\n");
+			addEntry(zip, "org/example/foo.gif", "GIF89a");
+		}
+		return jar;
+	}
+
+	private void addEntry(ZipOutputStream zip, String name, String content) throws Exception {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes());
+		zip.closeEntry();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 Spring IDE Developers
+ * Copyright (c) 2004, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.url.URLConstants;
 import org.osgi.service.url.URLStreamHandlerService;
+import org.springframework.ide.eclipse.xml.namespaces.internal.NamespaceMappingsCache;
 import org.springframework.ide.eclipse.xml.namespaces.internal.ProjectClasspathNamespaceDefinitionResolverCache;
 import org.springframework.ide.eclipse.xml.namespaces.model.INamespaceDefinitionResolver;
 import org.springframework.ide.eclipse.xml.namespaces.ui.XmlNamespacesUIImages;
@@ -94,6 +95,8 @@ public class SpringXmlNamespacesPlugin extends AbstractUIPlugin {
 
 	private ServiceRegistration<?> projectAwareUrlService = null;
 
+	private NamespaceMappingsCache namespaceMappingsCache = null;
+
 	@Override
 	protected void initializeImageRegistry(ImageRegistry registry) {
 		XmlNamespacesUIImages.initializeImageRegistry(registry);
@@ -145,6 +148,11 @@ public class SpringXmlNamespacesPlugin extends AbstractUIPlugin {
 		if (projectAwareUrlService != null) {
 			projectAwareUrlService.unregister();
 		}
+		synchronized (monitor) {
+			if (namespaceMappingsCache != null) {
+				namespaceMappingsCache.save();
+			}
+		}
 		super.stop(context);
 	}
 
@@ -197,6 +205,20 @@ public class SpringXmlNamespacesPlugin extends AbstractUIPlugin {
 		return getNamespaceDefinitionResolver();
 	}
 
+	/**
+	 * Returns the cache of the namespace mappings of the jars on the classpaths of workspace projects.
+	 * @since 3.9.13
+	 */
+	public static NamespaceMappingsCache getNamespaceMappingsCache() {
+		SpringXmlNamespacesPlugin instance = getDefault();
+		synchronized (instance.monitor) {
+			if (instance.namespaceMappingsCache == null) {
+				instance.namespaceMappingsCache = new NamespaceMappingsCache(instance.getStateLocation().toFile());
+			}
+			return instance.namespaceMappingsCache;
+		}
+	}
+
 	public static INamespaceDefinitionResolver getNamespaceDefinitionResolver() {
 		return NamespaceManagerProvider.get().getNamespaceDefinitionResolver();
 	}
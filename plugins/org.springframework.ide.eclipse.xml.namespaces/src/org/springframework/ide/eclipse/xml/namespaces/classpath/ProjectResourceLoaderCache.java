@@ -273,6 +273,22 @@ public class ProjectResourceLoaderCache {
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the given class path url refers to a jar or bundle. Resources are looked up in
+	 * these before the project's source and output folders.
+	 * @since 3.9.13
+	 */
+	public static boolean isJarUrl(URL url) {
+		String path = url.getPath();
+		if (path.endsWith(".jar") || path.endsWith(".zip")) {
+			return true;
+		}
+		else if (path.contains("/org.eclipse.osgi/bundles/")) {
+			return true;
+		}
+		return false;
+	}
+
 	public static boolean shouldFilter(String name) {
 		if ("commons-logging.properties".equals(name)) return true;
 		if (name != null && name.startsWith("META-INF/services/")) {
@@ -420,14 +436,7 @@ public class ProjectResourceLoaderCache {
 		}
 
 		private boolean shouldLoadFromParent(URL url) {
-			String path = url.getPath();
-			if (path.endsWith(".jar") || path.endsWith(".zip")) {
-				return true;
-			}
-			else if (path.contains("/org.eclipse.osgi/bundles/")) {
-				return true;
-			}
-			return false;
+			return isJarUrl(url);
 		}
 	}
 	
@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.xml.namespaces.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.springframework.ide.eclipse.xml.namespaces.SpringXmlNamespacesPlugin;
+import org.springframework.ide.eclipse.xml.namespaces.util.TargetNamespaceScanner;
+import org.springsource.ide.eclipse.commons.core.util.FileCopyUtils;
+
+/**
+ * The <code>META-INF/spring.handlers</code>, <code>spring.schemas</code> and <code>spring.tooling</code> mappings
+ * contributed by a single classpath entry, together with the schemas and icons they refer to.
+ * <p>
+ * {@link ProjectClasspathNamespaceDefinitionResolver} composes the namespace definitions of a project from the
+ * mappings of its classpath entries, which {@link NamespaceMappingsCache} shares between projects.
+ * @since 3.9.13
+ * @see NamespaceMappingsCache
+ */
+public abstract class NamespaceMappings implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String ICON_SUFFIX = "@icon";
+
+	private final Map<String, String> handlerMappings;
+
+	private final Map<String, String> schemaMappings;
+
+	private final Map<String, String> toolingMappings;
+
+	protected NamespaceMappings(Map<String, String> handlerMappings, Map<String, String> schemaMappings,
+			Map<String, String> toolingMappings) {
+		this.handlerMappings = handlerMappings;
+		this.schemaMappings = schemaMappings;
+		this.toolingMappings = toolingMappings;
+	}
+
+	public Map<String, String> getHandlerMappings() {
+		return Collections.unmodifiableMap(handlerMappings);
+	}
+
+	public Map<String, String> getSchemaMappings() {
+		return Collections.unmodifiableMap(schemaMappings);
+	}
+
+	public Map<String, String> getToolingMappings() {
+		return Collections.unmodifiableMap(toolingMappings);
+	}
+
+	/**
+	 * Returns <code>true</code> if this classpath entry contains the schema or icon with the given resource name.
+	 */
+	public abstract boolean containsResource(String resourceName);
+
+	/**
+	 * Returns the target namespace of the schema with the given resource name, or <code>null</code> if this
+	 * classpath entry doesn't contain the schema or it doesn't declare a target namespace.
+	 */
+	public abstract String getTargetNamespace(String resourceName);
+
+	/**
+	 * Returns a file containing the icon with the given resource name, or <code>null</code> if this classpath entry
+	 * doesn't contain the icon.
+	 */
+	public abstract File getIconFile(String resourceName);
+
+	private static Map<String, String> toMap(Properties properties) {
+		Map<String, String> result = new HashMap<String, String>();
+		for (String key : properties.stringPropertyNames()) {
+			result.put(key, properties.getProperty(key));
+		}
+		return result;
+	}
+
+	private static Map<String, String> loadMappings(InputStream stream) throws IOException {
+		Properties properties = new Properties();
+		if (stream != null) {
+			try {
+				properties.load(stream);
+			}
+			finally {
+				stream.close();
+			}
+		}
+		return toMap(properties);
+	}
+
+	private static boolean isIndexed(String resourceName, Set<String> icons) {
+		String name = resourceName.toLowerCase();
+		return name.endsWith(".xsd") || name.endsWith(".gif") || name.endsWith(".png") || icons.contains(resourceName);
+	}
+
+	private static Set<String> getIcons(Map<String, String> toolingMappings) {
+		Set<String> icons = new HashSet<String>();
+		for (Map.Entry<String, String> mapping : toolingMappings.entrySet()) {
+			if (mapping.getKey().endsWith(ICON_SUFFIX)) {
+				icons.add(mapping.getValue());
+			}
+		}
+		return icons;
+	}
+
+	/**
+	 * Mappings of a jar or zip file. The schemas and icons contained in the archive are indexed once, and their
+	 * target namespaces and extracted icon files are remembered, so that the archive doesn't need to be opened again
+	 * as long as its size and modification time don't change.
+	 */
+	static class ArchiveNamespaceMappings extends NamespaceMappings {
+
+		private static final long serialVersionUID = 1L;
+
+		/** Stands in for schemas without target namespace, which a {@link ConcurrentMap} can't hold */
+		private static final String NO_NAMESPACE = "";
+
+		private final String path;
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final Set<String> resources;
+
+		private final ConcurrentMap<String, String> targetNamespaces = new ConcurrentHashMap<String, String>();
+
+		private final ConcurrentMap<String, String> iconFiles = new ConcurrentHashMap<String, String>();
+
+		private transient NamespaceMappingsCache cache;
+
+		private ArchiveNamespaceMappings(File file, Map<String, String> handlerMappings,
+				Map<String, String> schemaMappings, Map<String, String> toolingMappings, Set<String> resources) {
+			super(handlerMappings, schemaMappings, toolingMappings);
+			this.path = file.getAbsolutePath();
+			this.length = file.length();
+			this.lastModified = file.lastModified();
+			this.resources = resources;
+		}
+
+		/**
+		 * Reads the mappings of the given archive, and the target namespaces of the schemas its own
+		 * <code>spring.schemas</code> refers to.
+		 */
+		static ArchiveNamespaceMappings read(File file, NamespaceMappingsCache cache) throws IOException {
+			ZipFile zip = new ZipFile(file);
+			try {
+				Map<String, String> handlerMappings = loadMappings(zip,
+						ProjectClasspathNamespaceDefinitionResolver.DEFAULT_HANDLER_MAPPINGS_LOCATION);
+				Map<String, String> schemaMappings = loadMappings(zip,
+						ProjectClasspathNamespaceDefinitionResolver.DEFAULT_SCHEMA_MAPPINGS_LOCATION);
+				Map<String, String> toolingMappings = loadMappings(zip,
+						ProjectClasspathNamespaceDefinitionResolver.DEFAULT_TOOLING_MAPPINGS_LOCATION);
+
+				Set<String> icons = getIcons(toolingMappings);
+				Set<String> resources = new HashSet<String>();
+				for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+					ZipEntry entry = entries.nextElement();
+					if (!entry.isDirectory() && isIndexed(entry.getName(), icons)) {
+						resources.add(entry.getName());
+					}
+				}
+
+				ArchiveNamespaceMappings mappings = new ArchiveNamespaceMappings(file, handlerMappings,
+						schemaMappings, toolingMappings, resources);
+				mappings.cache = cache;
+				for (String schemaLocation : schemaMappings.values()) {
+					if (schemaLocation.startsWith("/")) {
+						schemaLocation = schemaLocation.substring(1);
+					}
+					if (resources.contains(schemaLocation) && !mappings.targetNamespaces.containsKey(schemaLocation)) {
+						mappings.targetNamespaces.put(schemaLocation, scanTargetNamespace(zip, schemaLocation));
+					}
+				}
+				return mappings;
+			}
+			finally {
+				zip.close();
+			}
+		}
+
+		private static Map<String, String> loadMappings(ZipFile zip, String location) throws IOException {
+			ZipEntry entry = zip.getEntry(location);
+			return NamespaceMappings.loadMappings(entry != null ? zip.getInputStream(entry) : null);
+		}
+
+		private static String scanTargetNamespace(ZipFile zip, String resourceName) throws IOException {
+			InputStream stream = zip.getInputStream(zip.getEntry(resourceName));
+			try {
+				String namespaceUri = TargetNamespaceScanner.getTargetNamespace(stream);
+				return namespaceUri != null ? namespaceUri : NO_NAMESPACE;
+			}
+			finally {
+				stream.close();
+			}
+		}
+
+		void setCache(NamespaceMappingsCache cache) {
+			this.cache = cache;
+		}
+
+		String getPath() {
+			return path;
+		}
+
+		/**
+		 * Returns <code>true</code> if these mappings were read from the current version of the given file.
+		 */
+		boolean isCurrent(File file) {
+			return file.length() == length && file.lastModified() == lastModified;
+		}
+
+		@Override
+		public boolean containsResource(String resourceName) {
+			return resources.contains(resourceName);
+		}
+
+		@Override
+		public String getTargetNamespace(String resourceName) {
+			if (!resources.contains(resourceName)) {
+				return null;
+			}
+			String namespaceUri = targetNamespaces.get(resourceName);
+			if (namespaceUri == null) {
+				// a schema referenced from another classpath entry's spring.schemas
+				try {
+					ZipFile zip = new ZipFile(path);
+					try {
+						namespaceUri = scanTargetNamespace(zip, resourceName);
+					}
+					finally {
+						zip.close();
+					}
+				}
+				catch (IOException e) {
+					SpringXmlNamespacesPlugin.log(
+							String.format("Error reading schema '%s' from '%s'", resourceName, path), e);
+					return null;
+				}
+				targetNamespaces.put(resourceName, namespaceUri);
+				cache.markDirty();
+			}
+			return namespaceUri.length() > 0 ? namespaceUri : null;
+		}
+
+		@Override
+		public File getIconFile(String resourceName) {
+			if (!resources.contains(resourceName)) {
+				return null;
+			}
+			String fileName = iconFiles.get(resourceName);
+			if (fileName != null) {
+				File iconFile = new File(cache.getIconDirectory(), fileName);
+				if (iconFile.exists()) {
+					return iconFile;
+				}
+			}
+
+			fileName = getIconFilePrefix() + Integer.toHexString(resourceName.hashCode());
+			int ix = resourceName.lastIndexOf('.');
+			if (ix > 0) {
+				fileName += resourceName.substring(ix);
+			}
+			File iconFile = new File(cache.getIconDirectory(), fileName);
+			try {
+				iconFile.getParentFile().mkdirs();
+				ZipFile zip = new ZipFile(path);
+				try {
+					InputStream in = zip.getInputStream(zip.getEntry(resourceName));
+					OutputStream out = new FileOutputStream(iconFile);
+					FileCopyUtils.copy(in, out);
+				}
+				finally {
+					zip.close();
+				}
+			}
+			catch (IOException e) {
+				SpringXmlNamespacesPlugin.log(
+						String.format("Error extracting icon file '%s' from '%s'", resourceName, path), e);
+				return null;
+			}
+			iconFiles.put(resourceName, fileName);
+			cache.markDirty();
+			return iconFile;
+		}
+
+		/**
+		 * Returns the prefix of the names of the icon files extracted from this version of the archive.
+		 */
+		String getIconFilePrefix() {
+			return Integer.toHexString((path + '|' + length + '|' + lastModified).hashCode()) + "-";
+		}
+	}
+
+	/**
+	 * Mappings of a source or output folder. These are cheap to read and may change at any time, so they are read
+	 * anew for every resolver and not cached.
+	 */
+	static class DirectoryNamespaceMappings extends NamespaceMappings {
+
+		private static final long serialVersionUID = 1L;
+
+		private final File directory;
+
+		private DirectoryNamespaceMappings(File directory, Map<String, String> handlerMappings,
+				Map<String, String> schemaMappings, Map<String, String> toolingMappings) {
+			super(handlerMappings, schemaMappings, toolingMappings);
+			this.directory = directory;
+		}
+
+		static DirectoryNamespaceMappings read(File directory) throws IOException {
+			return new DirectoryNamespaceMappings(directory,
+					loadMappings(directory, ProjectClasspathNamespaceDefinitionResolver.DEFAULT_HANDLER_MAPPINGS_LOCATION),
+					loadMappings(directory, ProjectClasspathNamespaceDefinitionResolver.DEFAULT_SCHEMA_MAPPINGS_LOCATION),
+					loadMappings(directory, ProjectClasspathNamespaceDefinitionResolver.DEFAULT_TOOLING_MAPPINGS_LOCATION));
+		}
+
+		private static Map<String, String> loadMappings(File directory, String location) throws IOException {
+			File file = new File(directory, location);
+			return NamespaceMappings.loadMappings(file.isFile() ? new FileInputStream(file) : null);
+		}
+
+		@Override
+		public boolean containsResource(String resourceName) {
+			return new File(directory, resourceName).isFile();
+		}
+
+		@Override
+		public String getTargetNamespace(String resourceName) {
+			File file = new File(directory, resourceName);
+			if (!file.isFile()) {
+				return null;
+			}
+			try {
+				InputStream stream = new FileInputStream(file);
+				try {
+					return TargetNamespaceScanner.getTargetNamespace(stream);
+				}
+				finally {
+					stream.close();
+				}
+			}
+			catch (IOException e) {
+				SpringXmlNamespacesPlugin.log(String.format("Error reading schema '%s'", file), e);
+				return null;
+			}
+		}
+
+		@Override
+		public File getIconFile(String resourceName) {
+			File file = new File(directory, resourceName);
+			return file.isFile() ? file : null;
+		}
+	}
+
+}
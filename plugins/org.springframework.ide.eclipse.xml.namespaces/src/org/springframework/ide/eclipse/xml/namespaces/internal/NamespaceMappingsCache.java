@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.xml.namespaces.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.URIUtil;
+import org.springframework.ide.eclipse.xml.namespaces.SpringXmlNamespacesPlugin;
+import org.springframework.ide.eclipse.xml.namespaces.classpath.ProjectResourceLoaderCache;
+import org.springframework.ide.eclipse.xml.namespaces.internal.NamespaceMappings.ArchiveNamespaceMappings;
+import org.springframework.ide.eclipse.xml.namespaces.internal.NamespaceMappings.DirectoryNamespaceMappings;
+
+/**
+ * Cache of the {@link NamespaceMappings} of the jars on the classpaths of all projects in the workspace.
+ * <p>
+ * Jars are identified by their path, size and modification time, so each jar is read only once no matter how many
+ * projects refer to it. The cached mappings are written to the plug-in's state location when the plug-in stops and
+ * read back on first use, so that jars which didn't change don't need to be read again after a restart either.
+ * Source and output folders are read anew on each request.
+ * @since 3.9.13
+ */
+public class NamespaceMappingsCache {
+
+	private static final String STATE_FILE_NAME = "namespace-mappings.ser";
+
+	private static final String ICON_DIRECTORY_NAME = "namespace-icons";
+
+	/** Increment when the serialized form of {@link NamespaceMappings} changes */
+	private static final int STATE_FILE_VERSION = 1;
+
+	private final File stateFile;
+
+	private final File iconDirectory;
+
+	private ConcurrentMap<String, ArchiveNamespaceMappings> archives = null;
+
+	private final AtomicBoolean dirty = new AtomicBoolean();
+
+	private final AtomicLong archivesRead = new AtomicLong();
+
+	/**
+	 * Creates a cache that persists its state in the given directory.
+	 */
+	public NamespaceMappingsCache(File stateDirectory) {
+		this.stateFile = new File(stateDirectory, STATE_FILE_NAME);
+		this.iconDirectory = new File(stateDirectory, ICON_DIRECTORY_NAME);
+	}
+
+	/**
+	 * Returns the mappings of the given classpath entries, in the order {@link ProjectResourceLoaderCache} looks up
+	 * resources in: jars first, followed by folders. Entries that don't exist or can't be read are left out.
+	 */
+	public List<NamespaceMappings> getMappings(List<URL> classpath) {
+		List<NamespaceMappings> jars = new ArrayList<NamespaceMappings>();
+		List<NamespaceMappings> directories = new ArrayList<NamespaceMappings>();
+		for (URL url : classpath) {
+			NamespaceMappings mappings = getMappings(url);
+			if (mappings != null) {
+				if (ProjectResourceLoaderCache.isJarUrl(url)) {
+					jars.add(mappings);
+				}
+				else {
+					directories.add(mappings);
+				}
+			}
+		}
+		jars.addAll(directories);
+		return jars;
+	}
+
+	/**
+	 * Returns the mappings of the given classpath entry, or <code>null</code> if it doesn't exist or can't be read.
+	 */
+	public NamespaceMappings getMappings(URL url) {
+		File file;
+		try {
+			file = URIUtil.toFile(URIUtil.toURI(url));
+		}
+		catch (Exception e) {
+			return null;
+		}
+		if (file == null || !file.exists()) {
+			return null;
+		}
+
+		try {
+			if (file.isDirectory()) {
+				return DirectoryNamespaceMappings.read(file);
+			}
+
+			ConcurrentMap<String, ArchiveNamespaceMappings> archives = getArchives();
+			String path = file.getAbsolutePath();
+			ArchiveNamespaceMappings mappings = archives.get(path);
+			if (mappings == null || !mappings.isCurrent(file)) {
+				mappings = ArchiveNamespaceMappings.read(file, this);
+				archivesRead.incrementAndGet();
+				archives.put(path, mappings);
+				markDirty();
+			}
+			return mappings;
+		}
+		catch (IOException e) {
+			SpringXmlNamespacesPlugin.log(String.format("Error reading namespace mappings from '%s'", file), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the number of jars read since this cache was created, as opposed to answered from the cache.
+	 */
+	public long getArchivesRead() {
+		return archivesRead.get();
+	}
+
+	File getIconDirectory() {
+		return iconDirectory;
+	}
+
+	void markDirty() {
+		dirty.set(true);
+	}
+
+	/**
+	 * Writes the cached mappings to the state location if they changed since they were read. Mappings of jars that no
+	 * longer exist or changed since they were read are dropped, along with their extracted icons.
+	 */
+	public synchronized void save() {
+		if (archives == null || !dirty.getAndSet(false)) {
+			return;
+		}
+
+		Map<String, ArchiveNamespaceMappings> current = new HashMap<String, ArchiveNamespaceMappings>();
+		List<String> iconFilePrefixes = new ArrayList<String>();
+		for (ArchiveNamespaceMappings mappings : archives.values()) {
+			File file = new File(mappings.getPath());
+			if (file.exists() && mappings.isCurrent(file)) {
+				current.put(mappings.getPath(), mappings);
+				iconFilePrefixes.add(mappings.getIconFilePrefix());
+			}
+		}
+		deleteStaleIcons(iconFilePrefixes);
+
+		try {
+			stateFile.getParentFile().mkdirs();
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(stateFile)));
+			try {
+				out.writeInt(STATE_FILE_VERSION);
+				out.writeObject(current);
+			}
+			finally {
+				out.close();
+			}
+		}
+		catch (IOException e) {
+			SpringXmlNamespacesPlugin.log("Error saving namespace mappings", e);
+			stateFile.delete();
+		}
+	}
+
+	private void deleteStaleIcons(List<String> iconFilePrefixes) {
+		File[] iconFiles = iconDirectory.listFiles();
+		if (iconFiles == null) {
+			return;
+		}
+		for (File iconFile : iconFiles) {
+			boolean stale = true;
+			for (String prefix : iconFilePrefixes) {
+				if (iconFile.getName().startsWith(prefix)) {
+					stale = false;
+					break;
+				}
+			}
+			if (stale) {
+				iconFile.delete();
+			}
+		}
+	}
+
+	private synchronized ConcurrentMap<String, ArchiveNamespaceMappings> getArchives() {
+		if (archives == null) {
+			archives = new ConcurrentHashMap<String, ArchiveNamespaceMappings>(load());
+		}
+		return archives;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, ArchiveNamespaceMappings> load() {
+		if (stateFile.exists()) {
+			try {
+				ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(stateFile)));
+				try {
+					if (in.readInt() == STATE_FILE_VERSION) {
+						Map<String, ArchiveNamespaceMappings> archives = (Map<String, ArchiveNamespaceMappings>) in
+								.readObject();
+						for (ArchiveNamespaceMappings mappings : archives.values()) {
+							mappings.setCache(this);
+						}
+						return archives;
+					}
+				}
+				finally {
+					in.close();
+				}
+			}
+			catch (Exception e) {
+				// an unreadable state file just means that the jars are read again
+				SpringXmlNamespacesPlugin.logAsWarning(e);
+			}
+		}
+		return new HashMap<String, ArchiveNamespaceMappings>();
+	}
+
+}
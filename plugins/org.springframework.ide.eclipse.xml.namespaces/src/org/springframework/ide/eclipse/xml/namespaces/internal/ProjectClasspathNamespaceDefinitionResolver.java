@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2011 Spring IDE Developers
+ * Copyright (c) 2010, 2020 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,11 +13,10 @@ package org.springframework.ide.eclipse.xml.namespaces.internal;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.InputStream;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -31,16 +30,11 @@ import org.springframework.ide.eclipse.xml.namespaces.NamespaceManagerProvider;
 import org.springframework.ide.eclipse.xml.namespaces.SpringXmlNamespacesPlugin;
 import org.springframework.ide.eclipse.xml.namespaces.XmlNamespaceUtils;
 import org.springframework.ide.eclipse.xml.namespaces.classpath.ProjectResourceLoaderCache;
-import org.springframework.ide.eclipse.xml.namespaces.classpath.PropertiesLoaderUtils;
-import org.springframework.ide.eclipse.xml.namespaces.classpath.ResourceLoader;
 import org.springframework.ide.eclipse.xml.namespaces.model.INamespaceDefinition;
 import org.springframework.ide.eclipse.xml.namespaces.model.INamespaceDefinitionListener;
 import org.springframework.ide.eclipse.xml.namespaces.model.INamespaceDefinitionResolver;
 import org.springframework.ide.eclipse.xml.namespaces.model.NamespaceDefinition;
-import org.springframework.ide.eclipse.xml.namespaces.util.TargetNamespaceScanner;
 import org.springsource.ide.eclipse.commons.core.SpringCorePreferences;
-import org.springsource.ide.eclipse.commons.core.util.CollectionUtils;
-import org.springsource.ide.eclipse.commons.core.util.FileCopyUtils;
 import org.springsource.ide.eclipse.commons.frameworks.core.util.StringUtils;
 
 /**
@@ -101,7 +95,8 @@ public class ProjectClasspathNamespaceDefinitionResolver implements INamespaceDe
 	}
 
 	/**
-	 * Load all {@link NamespaceDefinition}s from the project classpath. Also handle extraction of icon file.
+	 * Load all {@link NamespaceDefinition}s from the project classpath. The mappings, schemas and icons of the
+	 * classpath entries come from the shared {@link NamespaceMappingsCache}.
 	 */
 	private void init() {
 
@@ -112,39 +107,33 @@ public class ProjectClasspathNamespaceDefinitionResolver implements INamespaceDe
 		// Add in namespace definitions from the classpath
 		if (XmlNamespaceUtils.useNamespacesFromClasspath(project)) {
 
-			ResourceLoader cls = ProjectResourceLoaderCache.getResourceLoader(project, null);
+			List<NamespaceMappings> classpathMappings = SpringXmlNamespacesPlugin.getNamespaceMappingsCache()
+					.getMappings(ProjectResourceLoaderCache.getClassPathUrls(project, null));
 
-			Map<String, String> handlerMappings = new HashMap<String, String>();
+			// later classpath entries override earlier ones, as when loading all properties from the classpath
 			Map<String, String> toolingMappings = new HashMap<String, String>();
 			Properties schemaMappings = new Properties();
-
-//			try {
-				Properties mappings = PropertiesLoaderUtils.loadAllProperties(DEFAULT_HANDLER_MAPPINGS_LOCATION, cls);
-				CollectionUtils.mergePropertiesIntoMap(mappings, handlerMappings);
-				schemaMappings = PropertiesLoaderUtils.loadAllProperties(DEFAULT_SCHEMA_MAPPINGS_LOCATION, cls);
-				mappings = PropertiesLoaderUtils.loadAllProperties(DEFAULT_TOOLING_MAPPINGS_LOCATION, cls);
-				CollectionUtils.mergePropertiesIntoMap(mappings, toolingMappings);
-//			}
-//			catch (IOException e) {
-//			}
+			for (NamespaceMappings mappings : classpathMappings) {
+				schemaMappings.putAll(mappings.getSchemaMappings());
+				toolingMappings.putAll(mappings.getToolingMappings());
+			}
 
 			for (Object xsd : schemaMappings.keySet()) {
 				String key = xsd.toString();
 
 				String schemaUri = schemaMappings.getProperty(key);
-				URL url = cls.getResource(schemaUri);
 
-				// fallback, if schema location starts with / and therefore fails to be found by classloader
-				if (url == null && schemaUri.startsWith("/")) {
+				// schema locations starting with / are looked up relative to the classpath roots as well
+				if (schemaUri.startsWith("/")) {
 					schemaUri = schemaUri.substring(1);
-					url = cls.getResource(schemaUri);
 				}
-				
-				if (url == null) {
+
+				NamespaceMappings schemaEntry = findResource(classpathMappings, schemaUri);
+				if (schemaEntry == null) {
 					continue;
 				}
 
-				String namespaceUri = TargetNamespaceScanner.getTargetNamespace(url);
+				String namespaceUri = schemaEntry.getTargetNamespace(schemaUri);
 				
 				if (StringUtils.hasText(namespaceUri)) {
 				
@@ -157,7 +146,7 @@ public class ProjectClasspathNamespaceDefinitionResolver implements INamespaceDe
 						namespaceDefinitionRegistry.get(namespaceUri).addUri(schemaUri);
 					}
 					else {
-						File iconFile = extractIcon(namespaceUri, icon, cls);
+						File iconFile = getIconFile(classpathMappings, icon);
 
 						NamespaceDefinition namespaceDefinition = new ExternalImageNamespaceDefinition(schemaMappings,
 								iconFile);
@@ -184,37 +173,26 @@ public class ProjectClasspathNamespaceDefinitionResolver implements INamespaceDe
 	}
 
 	/**
-	 * Extract icon files from the given classloader and store it on the filesystem for later use.
+	 * Returns the mappings of the first classpath entry that contains the given resource, like a class loader would
+	 * find it.
 	 */
-	private File extractIcon(String namespaceUri, String icon, ResourceLoader cls) {
-		if (StringUtils.hasLength(icon)) {
-			try {
-				File iconDir = SpringXmlNamespacesPlugin.getDefault().getStateLocation().append("images").toFile();
-				if (!iconDir.exists()) {
-					iconDir.mkdirs();
-					iconDir.deleteOnExit();
-				}
-
-				int ix = icon.lastIndexOf('.');
-				File iconFile = null;
-				if (ix > 0) {
-					iconFile = new File(iconDir, Integer.toString(namespaceUri.hashCode()) + icon.substring(ix));
-				}
-				else {
-					iconFile = new File(iconDir, Integer.toString(namespaceUri.hashCode()));
-				}
-
-				if (iconFile.exists()) {
-					return iconFile;
-				}
-
-				FileCopyUtils.copy(cls.getResourceAsStream(icon), new FileOutputStream(iconFile));
-				return iconFile;
+	private NamespaceMappings findResource(List<NamespaceMappings> classpathMappings, String resourceName) {
+		for (NamespaceMappings mappings : classpathMappings) {
+			if (mappings.containsResource(resourceName)) {
+				return mappings;
 			}
-			catch (Exception e) {
-				SpringXmlNamespacesPlugin.log(
-						String.format("Error extracting icon file '%s' for namespace '%s'", icon, namespaceUri), e);
-				return null;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the icon file extracted from the classpath for later use.
+	 */
+	private File getIconFile(List<NamespaceMappings> classpathMappings, String icon) {
+		if (StringUtils.hasLength(icon)) {
+			NamespaceMappings mappings = findResource(classpathMappings, icon);
+			if (mappings != null) {
+				return mappings.getIconFile(icon);
 			}
 		}
 		return null;